@@ -72,11 +72,10 @@ public class BenchmarkForOpenCV<T extends ImageSingleBand, D extends ImageSingle
 
 	public class Gaussian extends PerformerBase {
 		T output = (T) input._createNew(input.width, input.height);
-		T storage = (T) input._createNew(input.width, input.height);
 
 		@Override
 		public void process() {
-			GBlurImageOps.gaussian(input, output, -1, radius, storage);
+			GBlurImageOps.gaussian(input, output, -1, radius);
 		}
 	}
 
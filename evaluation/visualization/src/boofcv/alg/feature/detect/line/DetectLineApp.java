@@ -118,7 +118,7 @@ public class DetectLineApp<T extends ImageSingleBand, D extends ImageSingleBand>
 	@Override
 	public synchronized void setActiveAlgorithm(int indexFamily, String name, Object cookie) {
 		corruptPanel.corruptImage(input,inputCorrupted);
-		GBlurImageOps.gaussian(inputCorrupted, blur, -1,blurRadius, null);
+		GBlurImageOps.gaussian(inputCorrupted, blur, -1,blurRadius);
 
 		if( cookie instanceof DetectLine ) {
 			final DetectLine<T> detector = (DetectLine<T>) cookie;
@@ -117,7 +117,7 @@ public class VideoDisplayLinesApp<I extends ImageSingleBand, D extends ImageSing
 	protected void updateAlg(final I frame, BufferedImage buffImage) {
 
 		if( lineDetector instanceof DetectLine) {
-			GBlurImageOps.gaussian(frame, blur, -1, blurRadius, null);
+			GBlurImageOps.gaussian(frame, blur, -1, blurRadius);
 			final DetectLine<I> detector = (DetectLine<I>) lineDetector;
 
 			SwingUtilities.invokeLater(new Runnable() {
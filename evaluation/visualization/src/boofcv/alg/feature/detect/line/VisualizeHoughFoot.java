@@ -55,7 +55,7 @@ public class VisualizeHoughFoot<I extends ImageSingleBand, D extends ImageSingle
 		I blur = GeneralizedImageOps.createSingleBand(imageType, image.getWidth(), image.getHeight());
 
 		ConvertBufferedImage.convertFromSingle(image, input, imageType);
-		GBlurImageOps.gaussian(input, blur, -1, 2, null);
+		GBlurImageOps.gaussian(input, blur, -1, 2);
 
 		DetectLineHoughFoot<I,D> alg =  FactoryDetectLineAlgs.houghFoot(6, 12, 5, 25, 10, imageType, derivType);
 
@@ -57,7 +57,7 @@ public class VisualizeHoughPolar<I extends ImageSingleBand, D extends ImageSingl
 		I blur = GeneralizedImageOps.createSingleBand(imageType, image.getWidth(), image.getHeight());
 
 		ConvertBufferedImage.convertFromSingle(image, input, imageType);
-		GBlurImageOps.gaussian(input, blur, -1, 2, null);
+		GBlurImageOps.gaussian(input, blur, -1, 2);
 
 		DetectLineHoughPolar<I,D> alg =  FactoryDetectLineAlgs.houghPolar(5, 10, 2, Math.PI / 180, 25, 10, imageType, derivType);
 
@@ -165,7 +165,7 @@ public class ShowImageBlurApp<T extends ImageSingleBand>
 
 			switch (active) {
 				case 0:
-					GBlurImageOps.gaussian(bandIn, bandOut, -1, radius, bandStorage);
+					GBlurImageOps.gaussian(bandIn, bandOut, -1, radius);
 					break;
 
 				case 1:
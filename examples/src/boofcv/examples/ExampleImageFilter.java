@@ -59,7 +59,7 @@ public class ExampleImageFilter {
 		ImageSInt16 derivY = new ImageSInt16(input.width,input.height);
 
 		// Gaussian blur: Convolve a Gaussian kernel
-		BlurImageOps.gaussian(input,blurred,-1,blurRadius,null);
+		BlurImageOps.gaussian(input,blurred,-1,blurRadius);
 
 		// Calculate image's derivative
 		GradientSobel.process(blurred, derivX, derivY, FactoryImageBorderAlgs.extend(input));
@@ -80,7 +80,7 @@ public class ExampleImageFilter {
 		D derivY = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
 
 		// Gaussian blur: Convolve a Gaussian kernel
-		GBlurImageOps.gaussian(input, blurred, -1, blurRadius, null);
+		GBlurImageOps.gaussian(input, blurred, -1, blurRadius);
 
 		// Calculate image's derivative
 		GImageDerivativeOps.sobel(blurred, derivX, derivY, BorderType.EXTENDED);
@@ -123,7 +123,7 @@ public class ExampleImageFilter {
 		ImageSingleBand derivY = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
 
 		// Gaussian blur: Convolve a Gaussian kernel
-		GBlurImageOps.gaussian(input, blurred, -1, blurRadius, null);
+		GBlurImageOps.gaussian(input, blurred, -1, blurRadius);
 
 		// Calculate image's derivative
 		GImageDerivativeOps.sobel(blurred, derivX, derivY, BorderType.EXTENDED);
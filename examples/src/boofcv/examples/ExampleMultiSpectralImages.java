@@ -62,7 +62,7 @@ public class ExampleMultiSpectralImages {
 		for( int i = 0; i < image.getNumBands(); i++ ) {
 			// note that the generalized version of BlurImageOps is not being used, but the type
 			// specific version.
-			BlurImageOps.gaussian(image.getBand(i),blurred.getBand(i),-1,5,null);
+			BlurImageOps.gaussian(image.getBand(i),blurred.getBand(i),-1,5);
 		}
 		
 		// Declare the BufferedImage manually to ensure that the color bands have the same ordering on input
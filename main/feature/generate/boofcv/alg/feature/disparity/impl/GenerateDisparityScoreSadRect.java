@@ -22,6 +22,7 @@ import boofcv.misc.AutoTypeImage;
 import boofcv.misc.CodeGeneratorBase;
 
 import java.io.FileNotFoundException;
+import java.util.Arrays;
 
 /**
  * @author Peter Abeles
@@ -32,6 +33,7 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 	String dataAbr;
 	String bitWise;
 	String sumType;
+	boolean isInteger;
 
 	@Override
 	public void generate() throws FileNotFoundException {
@@ -45,6 +47,7 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 		typeInput = image.getSingleBandName();
 		bitWise = image.getBitWise();
 		sumType = image.getSumType();
+		isInteger = image.isInteger();
 
 		dataAbr = image.isInteger() ? "S32" : "F32";
 
@@ -53,17 +56,21 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 		printProcess();
 		printComputeFirstRow();
 		printComputeRemainingRows();
+		printCopy();
 		printTheRest();
 
 		out.println("}");
 	}
 
 	private void printPreamble() {
-		out.print("import boofcv.alg.InputSanityCheck;\n" +
+		String imports[] = new String[]{"ImageSingleBand",typeInput};
+		Arrays.sort(imports);
+
+		out.print("import boofcv.alg.feature.disparity.DisparityScoreRowFormat;\n" +
 				"import boofcv.alg.feature.disparity.DisparityScoreSadRect;\n" +
 				"import boofcv.alg.feature.disparity.DisparitySelect;\n" +
-				"import boofcv.struct.image.ImageSingleBand;\n" +
-				"import boofcv.struct.image."+typeInput+";\n" +
+				"import boofcv.struct.image."+imports[0]+";\n" +
+				"import boofcv.struct.image."+imports[1]+";\n" +
 				"\n" +
 				"/**\n" +
 				" * <p>\n" +
@@ -107,7 +114,18 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 
 	private void printProcess() {
 		out.print("\t@Override\n" +
-				"\tpublic void _process( "+typeInput+" left , "+typeInput+" right , Disparity disparity ) {\n" +
+				"\tpublic void _process( "+typeInput+" left , "+typeInput+" right , Disparity disparity ) {\n");
+		if( isInteger ) {
+			out.print("\t\tprocessBands(left, right, disparity, radiusY);\n");
+		} else {
+			out.print("\t\t// bands would sum the scores in a different order, changing the results\n" +
+					"\t\tprocessRows(left, right, disparity, 0, left.height);\n");
+		}
+		out.print("\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tprotected void processRows( "+typeInput+" left , "+typeInput+" right , Disparity disparity ,\n" +
+				"\t\t\t\t\t\t\t\tint row0 , int row1 ) {\n" +
 				"\t\tif( horizontalScore == null || verticalScore.length < lengthHorizontal ) {\n" +
 				"\t\t\thorizontalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
 				"\t\t\tverticalScore = new "+sumType+"[lengthHorizontal];\n" +
@@ -117,9 +135,9 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t\tcomputeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX);\n" +
 				"\n" +
 				"\t\t// initialize computation\n" +
-				"\t\tcomputeFirstRow(left, right);\n" +
+				"\t\tcomputeFirstRow(left, right, row0);\n" +
 				"\t\t// efficiently compute rest of the rows using previous results to avoid repeat computations\n" +
-				"\t\tcomputeRemainingRows(left, right);\n" +
+				"\t\tcomputeRemainingRows(left, right, row0, row1);\n" +
 				"\t}\n\n");
 	}
 
@@ -128,13 +146,13 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t * Initializes disparity calculation by finding the scores for the initial block of horizontal\n" +
 				"\t * rows.\n" +
 				"\t */\n" +
-				"\tprivate void computeFirstRow("+typeInput+" left, "+typeInput+" right ) {\n" +
+				"\tprivate void computeFirstRow("+typeInput+" left, "+typeInput+" right , int row0 ) {\n" +
 				"\t\t// compute horizontal scores for first row block\n" +
 				"\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
 				"\n" +
 				"\t\t\t"+sumType+" scores[] = horizontalScore[row];\n" +
 				"\n" +
-				"\t\t\tUtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
+				"\t\t\tUtilDisparityScore.computeScoreRow(left, right, row0 + row, scores,\n" +
 				"\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
 				"\t\t}\n" +
 				"\n" +
@@ -148,7 +166,7 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t\t}\n" +
 				"\n" +
 				"\t\t// compute disparity\n" +
-				"\t\tcomputeDisparity.process(radiusY, verticalScore);\n" +
+				"\t\tcomputeDisparity.process(row0 + radiusY, verticalScore);\n" +
 				"\t}\n\n");
 	}
 
@@ -158,10 +176,10 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t * When a new block is processes the last row/column is subtracted and the new row/column is\n" +
 				"\t * added.\n" +
 				"\t */\n" +
-				"\tprivate void computeRemainingRows( "+typeInput+" left, "+typeInput+" right )\n" +
+				"\tprivate void computeRemainingRows( "+typeInput+" left, "+typeInput+" right , int row0 , int row1 )\n" +
 				"\t{\n" +
-				"\t\tfor( int row = regionHeight; row < left.height; row++ ) {\n" +
-				"\t\t\tint oldRow = row%regionHeight;\n" +
+				"\t\tfor( int row = row0 + regionHeight; row < row1; row++ ) {\n" +
+				"\t\t\tint oldRow = (row - row0)%regionHeight;\n" +
 				"\n" +
 				"\t\t\t// subtract first row from vertical score\n" +
 				"\t\t\t"+sumType+" scores[] = horizontalScore[oldRow];\n" +
@@ -183,6 +201,14 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printCopy() {
+		out.print("\t@Override\n" +
+				"\tprotected DisparityScoreRowFormat<"+typeInput+", Disparity> copy() {\n" +
+				"\t\treturn new "+className+"<Disparity>(minDisparity,maxDisparity,radiusX,radiusY,\n" +
+				"\t\t\t\tcomputeDisparity.copy());\n" +
+				"\t}\n\n");
+	}
+
 	private void printTheRest() {
 		out.print("\t@Override\n" +
 				"\tpublic Class<"+typeInput+"> getInputType() {\n" +
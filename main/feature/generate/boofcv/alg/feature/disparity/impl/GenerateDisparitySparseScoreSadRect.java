@@ -75,46 +75,64 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"\n" +
 				"\t// scores up to the maximum baseline\n" +
 				"\t"+sumType+" scores[];\n" +
+				"\t// score of each column in the most recent region for every disparity\n" +
+				"\t"+sumType+" columns[];\n" +
 				"\n" +
 				"\tpublic "+className+"( int minDisparity , int maxDisparity, int radiusX, int radiusY) {\n" +
 				"\t\tsuper(minDisparity,maxDisparity,radiusX, radiusY);\n" +
 				"\n" +
 				"\t\tscores = new "+sumType+"[ maxDisparity ];\n" +
+				"\t\tcolumns = new "+sumType+"[ regionWidth*rangeDisparity ];\n" +
 				"\t}\n\n");
 	}
 
 	private void printProcess() {
 		out.print("\t@Override\n" +
-				"\tpublic boolean process( int x , int y ) {\n" +
-				"\t\t// adjust disparity for image border\n" +
-				"\t\tlocalMaxDisparity = Math.min(rangeDisparity,x-radiusX+1-minDisparity);\n" +
-				"\n" +
-				"\t\tif( localMaxDisparity <= 0 || x >= left.width-radiusX || y < radiusY || y >= left.height-radiusY )\n" +
-				"\t\t\treturn false;\n" +
-				"\n" +
-				"\t\tArrays.fill(scores,0);\n" +
+				"\tprotected void computeColumns( int y , int col0 , int col1 ) {\n" +
+				"\t\tfor( int col = col0; col <= col1; col++ ) {\n" +
+				"\t\t\tint indexColumn = (col % regionWidth)*rangeDisparity;\n" +
+				"\t\t\tArrays.fill(columns,indexColumn,indexColumn+localMaxDisparity,0);\n" +
+				"\t\t}\n" +
 				"\n" +
-				"\t\t// sum up horizontal errors in the region\n" +
+				"\t\t// sum up vertical errors in each column\n" +
 				"\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
 				"\t\t\t// pixel indexes\n" +
-				"\t\t\tint startLeft = left.startIndex + left.stride*(y-radiusY+row) + x-radiusX;\n" +
-				"\t\t\tint startRight = right.startIndex + right.stride*(y-radiusY+row) + x-radiusX-minDisparity;\n" +
+				"\t\t\tint indexLeft = left.startIndex + left.stride*(y-radiusY+row) + col0;\n" +
+				"\t\t\tint indexRight = right.startIndex + right.stride*(y-radiusY+row) + col0-minDisparity;\n" +
 				"\n" +
-				"\t\t\tfor( int i = 0; i < localMaxDisparity; i++ ) {\n" +
-				"\t\t\t\tint indexLeft = startLeft;\n" +
-				"\t\t\t\tint indexRight = startRight-i;\n" +
+				"\t\t\tfor( int col = col0; col <= col1; col++ , indexRight++ ) {\n" +
+				"\t\t\t\tint indexColumn = (col % regionWidth)*rangeDisparity;\n" +
+				"\t\t\t\t"+sumType+" valueLeft = left.data[ indexLeft++ ]"+bitWise+";\n" +
 				"\n" +
-				"\t\t\t\t"+sumType+" score = 0;\n" +
-				"\t\t\t\tfor( int j = 0; j < regionWidth; j++ ) {\n" +
-				"\t\t\t\t\t"+sumType+" diff = (left.data[ indexLeft++ ]"+bitWise+") - (right.data[ indexRight++ ]"+bitWise+");\n" +
+				"\t\t\t\tfor( int i = 0; i < localMaxDisparity; i++ ) {\n" +
+				"\t\t\t\t\t"+sumType+" diff = valueLeft - (right.data[ indexRight-i ]"+bitWise+");\n" +
 				"\n" +
-				"\t\t\t\t\tscore += Math.abs(diff);\n" +
+				"\t\t\t\t\tcolumns[indexColumn+i] += Math.abs(diff);\n" +
 				"\t\t\t\t}\n" +
-				"\t\t\t\tscores[i] += score;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
+				"\t}\n" +
 				"\n" +
-				"\t\treturn true;\n" +
+				"\t@Override\n" +
+				"\tprotected void sumColumns( int col0 ) {\n" +
+				"\t\tArrays.fill(scores,0);\n" +
+				"\n" +
+				"\t\t// sum up horizontal errors in the region\n" +
+				"\t\tfor( int col = col0; col < col0+regionWidth; col++ ) {\n" +
+				"\t\t\tint indexColumn = (col % regionWidth)*rangeDisparity;\n" +
+				"\n" +
+				"\t\t\tfor( int i = 0; i < localMaxDisparity; i++ ) {\n" +
+				"\t\t\t\tscores[i] += columns[indexColumn+i];\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic "+className+" copy() {\n" +
+				"\t\t"+className+" ret = new "+className+"(minDisparity,maxDisparity,radiusX,radiusY);\n" +
+				"\t\tif( left != null )\n" +
+				"\t\t\tret.setImages(left,right);\n" +
+				"\t\treturn ret;\n" +
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
@@ -123,6 +141,11 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
+				"\tpublic double getScore( int disparity ) {\n" +
+				"\t\treturn scores[disparity];\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
 				"\tpublic Class<"+typeInput+"> getImageType() {\n" +
 				"\t\treturn "+typeInput+".class;\n" +
 				"\t}\n\n");
@@ -103,6 +103,11 @@ public class GenerateSelectRectBasicWta extends CodeGeneratorBase {
 				"\tpublic Class<"+typeDisparity+"> getDisparityType() {\n" +
 				"\t\treturn "+typeDisparity+".class;\n" +
 				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic "+className+" copy() {\n" +
+				"\t\treturn new "+className+"();\n" +
+				"\t}\n" +
 				"}");
 	}
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.struct.feature.PackedTupleArray;
+
+
+/**
+ * Extension of {@link AssociateDescription} for implementations which can also associate descriptions
+ * stored inside of a {@link PackedTupleArray}.  The results are accessed using the same functions as when
+ * the input is a {@link org.ddogleg.struct.FastQueue}.  Whichever type of input was most recently specified
+ * for both source and destination is used.
+ *
+ * @param <Desc> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public interface AssociateDescriptionPacked<Desc> extends AssociateDescription<Desc> {
+
+	/**
+	 * Sets the list of source features.
+	 *
+	 * NOTE: A reference to the input list might be saved internally until the next call to this function.
+	 *
+	 * @param listSrc Packed list of features
+	 */
+	public void setSource( PackedTupleArray listSrc );
+
+	/**
+	 * Sets the list of destination features
+	 *
+	 * NOTE: A reference to the input list might be saved internally until the next call to this function.
+	 *
+	 * @param listDst Packed list of features
+	 */
+	public void setDestination( PackedTupleArray listDst );
+
+	/**
+	 * Returns true if packed descriptions can be associated with the current configuration.
+	 */
+	public boolean isPackedSupported();
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.FindUnassociated;
+import boofcv.alg.feature.associate.KdForest;
+import boofcv.struct.feature.*;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Matches features using approximate nearest neighbor search with a {@link KdForest}.  The forest is constructed
+ * from the source features, then each destination feature is matched to the nearest source feature.  Destination
+ * features are searched for concurrently.  Multiple matches for source features are possible while there will
+ * only be a unique match for each destination feature.
+ * </p>
+ *
+ * <p>
+ * Optionally, the ratio test [1] can be used to reject ambiguous matches.  The two nearest source features are
+ * found and the match is only accepted if the distance to the best is less than 'ratio' times the distance to
+ * the second best.
+ * </p>
+ *
+ * <p>
+ * The threshold is the maximum Euclidean distance, while the fit score of each match is the Euclidean distance
+ * squared.  This is the same as {@link AssociateNearestNeighbor}.  Works with {@link TupleDesc_F64} and
+ * {@link TupleDesc_F32}.  Descriptions are copied into a {@link PackedTupleArray_F64}.
+ * </p>
+ *
+ * <p>
+ * [1] Lowe, D. "Distinctive image features from scale-invariant keypoints." IJCV 2004
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AssociateKdForest<D extends TupleDesc>
+		implements AssociateDescription<D>
+{
+	// the approximate nearest neighbor search
+	private KdForest forest;
+	// Maximum number of points examined in each search.  <= 0 for an exact search
+	private int maxNodesSearched;
+	// ratio test threshold.  Disabled if >= 1
+	private double ratio = 1;
+
+	// the descriptions packed into a single array
+	private PackedTupleArray_F64 packedSrc = new PackedTupleArray_F64(1);
+	private PackedTupleArray_F64 packedDst = new PackedTupleArray_F64(1);
+	// used to convert descriptions which aren't TupleDesc_F64
+	private TupleDesc_F64 temp = new TupleDesc_F64(1);
+
+	// list of features in destination set that are to be searched for in the source list
+	private FastQueue<D> listDst;
+
+	// results of the search
+	private GrowQueue_I32 indexes = new GrowQueue_I32();
+	private GrowQueue_F64 distances = new GrowQueue_F64();
+
+	// List of final associated points
+	private FastQueue<AssociatedIndex> matches = new FastQueue<AssociatedIndex>(100,AssociatedIndex.class,true);
+
+	// creates a list of unassociated features from the list of matches
+	private FindUnassociated unassociated = new FindUnassociated();
+
+	// maximum distance away two points can be
+	private double maxDistance = -1;
+
+	/**
+	 * Configures association
+	 *
+	 * @param forest The nearest neighbor search
+	 * @param maxNodesSearched Maximum number of points examined in each search.  If &le; 0 then the search
+	 *                         is exact.
+	 * @param ratio Ratio test threshold.  Try 0.8.  If &ge; 1 then the ratio test is not used.
+	 */
+	public AssociateKdForest( KdForest forest , int maxNodesSearched , double ratio ) {
+		this.forest = forest;
+		this.maxNodesSearched = maxNodesSearched;
+		this.ratio = ratio;
+	}
+
+	@Override
+	public void setSource(FastQueue<D> listSrc) {
+		packedSrc = pack(listSrc,packedSrc);
+		forest.setPoints(packedSrc);
+	}
+
+	@Override
+	public void setDestination(FastQueue<D> listDst) {
+		this.listDst = listDst;
+	}
+
+	@Override
+	public void associate() {
+		packedDst = pack(listDst,packedDst);
+
+		boolean ratioTest = ratio < 1;
+		int k = ratioTest ? 2 : 1;
+		double ratioSq = ratio*ratio;
+
+		forest.findNearest(packedDst,maxDistance,k,maxNodesSearched,indexes,distances);
+
+		matches.reset();
+		for( int i = 0; i < listDst.size; i++ ) {
+			int indexSrc = indexes.data[i*k];
+			if( indexSrc < 0 )
+				continue;
+
+			double distance = distances.data[i*k];
+			if( ratioTest && indexes.data[i*k+1] >= 0 ) {
+				if( distance >= ratioSq*distances.data[i*k+1] )
+					continue;
+			}
+
+			matches.grow().setAssociation(indexSrc,i,distance);
+		}
+	}
+
+	/**
+	 * Copies the descriptions into a packed array.  A new array is declared if the descriptor length changed.
+	 */
+	private PackedTupleArray_F64 pack( FastQueue<D> list , PackedTupleArray_F64 storage ) {
+		if( list.size > 0 ) {
+			int dof = list.data[0].size();
+			if( storage.dof != dof )
+				storage = new PackedTupleArray_F64(dof);
+			if( temp.value.length != dof )
+				temp = new TupleDesc_F64(dof);
+		}
+
+		storage.reset();
+		storage.reserve(list.size);
+		for( int i = 0; i < list.size; i++ ) {
+			D d = list.data[i];
+			if( d instanceof TupleDesc_F64 ) {
+				storage.append((TupleDesc_F64)d);
+			} else {
+				for( int j = 0; j < temp.value.length; j++ )
+					temp.value[j] = d.getDouble(j);
+				storage.append(temp);
+			}
+		}
+		return storage;
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches,packedSrc.size());
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches,listDst.size());
+	}
+
+	@Override
+	public void setThreshold(double score) {
+		this.maxDistance = score;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return false;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return true;
+	}
+
+	public KdForest getForest() {
+		return forest;
+	}
+
+	public double getRatio() {
+		return ratio;
+	}
+
+	public void setRatio(double ratio) {
+		this.ratio = ratio;
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.FindUnassociated;
+import boofcv.alg.feature.associate.MultiIndexHashing_B;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * Matches binary features using {@link MultiIndexHashing_B}.  The source features are added to the index and
+ * each destination feature is then matched to its nearest neighbor in the source list.  Matches are exact and
+ * identical to a brute force search, with ties going to the source feature with the lower index.  Multiple
+ * matches for source features are possible while there will only be a unique match for each destination
+ * feature.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateMultiIndexHashing_B implements AssociateDescription<TupleDesc_B> {
+
+	// index used to search for the nearest source feature
+	private MultiIndexHashing_B alg;
+
+	// number of features in the source list
+	private int numSource;
+
+	// list of features in destination set that are to be searched for in the source list
+	private FastQueue<TupleDesc_B> listDst;
+
+	// storage for search results
+	private GrowQueue_I32 foundID = new GrowQueue_I32();
+	private GrowQueue_I32 foundDistance = new GrowQueue_I32();
+
+	// List of final associated points
+	private FastQueue<AssociatedIndex> matches = new FastQueue<AssociatedIndex>(100,AssociatedIndex.class,true);
+
+	// creates a list of unassociated features from the list of matches
+	private FindUnassociated unassociated = new FindUnassociated();
+
+	// maximum Hamming distance two features can be apart, inclusive
+	private int maxDistance;
+
+	public AssociateMultiIndexHashing_B(MultiIndexHashing_B alg) {
+		this.alg = alg;
+		this.maxDistance = alg.getNumBits();
+	}
+
+	@Override
+	public void setSource(FastQueue<TupleDesc_B> listSrc) {
+		alg.clear();
+		for( int i = 0; i < listSrc.size; i++ ) {
+			alg.add(listSrc.data[i]);
+		}
+		numSource = listSrc.size;
+	}
+
+	@Override
+	public void setDestination(FastQueue<TupleDesc_B> listDst) {
+		this.listDst = listDst;
+	}
+
+	@Override
+	public void associate() {
+		matches.reset();
+		for( int i = 0; i < listDst.size; i++ ) {
+			alg.searchNearest(listDst.data[i],1,maxDistance,foundID,foundDistance);
+			if( foundID.size == 0 )
+				continue;
+			matches.grow().setAssociation(foundID.data[0],i,foundDistance.data[0]);
+		}
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches,numSource);
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches,listDst.size());
+	}
+
+	/**
+	 * Associated features must have a Hamming distance less than this threshold.  Negative values or values larger
+	 * than the number of bits will allow any match.
+	 */
+	@Override
+	public void setThreshold(double score) {
+		if( score < 0 || score > alg.getNumBits() )
+			maxDistance = alg.getNumBits();
+		else
+			maxDistance = (int)Math.ceil(score)-1;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return false;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return true;
+	}
+
+	public MultiIndexHashing_B getIndex() {
+		return alg;
+	}
+}
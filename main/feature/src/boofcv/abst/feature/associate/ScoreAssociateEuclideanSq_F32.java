@@ -20,6 +20,7 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.feature.associate.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_F32;
 import boofcv.struct.feature.TupleDesc_F32;
 
 
@@ -30,12 +31,20 @@ import boofcv.struct.feature.TupleDesc_F32;
  *
  * @author Peter Abeles
  */
-public class ScoreAssociateEuclideanSq_F32 implements ScoreAssociation<TupleDesc_F32> {
+public class ScoreAssociateEuclideanSq_F32 implements ScoreAssociation<TupleDesc_F32>,
+		ScoreAssociationPacked<PackedTupleArray_F32>
+{
 	@Override
 	public double score(TupleDesc_F32 a, TupleDesc_F32 b) {
 		return DescriptorDistance.euclideanSq(a, b);
 	}
 
+	@Override
+	public double score(PackedTupleArray_F32 a, int indexA, PackedTupleArray_F32 b, int indexB) {
+		final int N = a.dof;
+		return DescriptorDistance.euclideanSq(a.data,indexA*N,b.data,indexB*N,N);
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
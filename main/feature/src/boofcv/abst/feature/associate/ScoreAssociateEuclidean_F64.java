@@ -20,6 +20,7 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.feature.associate.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 
 
@@ -30,12 +31,20 @@ import boofcv.struct.feature.TupleDesc_F64;
  *
  * @author Peter Abeles
  */
-public class ScoreAssociateEuclidean_F64 implements ScoreAssociation<TupleDesc_F64> {
+public class ScoreAssociateEuclidean_F64 implements ScoreAssociation<TupleDesc_F64>,
+		ScoreAssociationPacked<PackedTupleArray_F64>
+{
 	@Override
 	public double score(TupleDesc_F64 a, TupleDesc_F64 b) {
 		return DescriptorDistance.euclidean(a,b);
 	}
 
+	@Override
+	public double score(PackedTupleArray_F64 a, int indexA, PackedTupleArray_F64 b, int indexB) {
+		final int N = a.dof;
+		return Math.sqrt(DescriptorDistance.euclideanSq(a.data,indexA*N,b.data,indexB*N,N));
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
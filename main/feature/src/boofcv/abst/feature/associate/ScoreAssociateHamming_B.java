@@ -18,8 +18,9 @@
 
 package boofcv.abst.feature.associate;
 
-import boofcv.alg.feature.associate.HammingTable16;
+import boofcv.alg.feature.associate.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_B;
 import boofcv.struct.feature.TupleDesc_B;
 
 /**
@@ -28,24 +29,19 @@ import boofcv.struct.feature.TupleDesc_B;
  *
  * @author Peter Abeles
  */
-public class ScoreAssociateHamming_B implements ScoreAssociation<TupleDesc_B>{
-
-	HammingTable16 table = new HammingTable16();
+public class ScoreAssociateHamming_B implements ScoreAssociation<TupleDesc_B>,
+		ScoreAssociationPacked<PackedTupleArray_B>
+{
 
 	@Override
 	public double score(TupleDesc_B a, TupleDesc_B b) {
+		return DescriptorDistance.hamming(a,b);
+	}
 
-		int score = 0;
-
-		for( int i = 0; i < a.data.length; i++ ) {
-			int dataA = a.data[i];
-			int dataB = b.data[i];
-
-			score += table.lookup( (short)dataA , (short)dataB );
-			score += table.lookup( (short)(dataA >> 16) , (short)(dataB >> 16) );
-		}
-
-		return score;
+	@Override
+	public double score(PackedTupleArray_B a, int indexA, PackedTupleArray_B b, int indexB) {
+		final int N = a.numLongs;
+		return DescriptorDistance.hamming(a.data,indexA*N,b.data,indexB*N,N);
 	}
 
 	@Override
@@ -20,6 +20,7 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.feature.associate.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 
 /**
@@ -27,13 +28,21 @@ import boofcv.struct.feature.TupleDesc_F64;
  *
  * @author Peter Abeles
  */
-public class ScoreAssociateSad_F64 implements ScoreAssociation<TupleDesc_F64>{
+public class ScoreAssociateSad_F64 implements ScoreAssociation<TupleDesc_F64>,
+		ScoreAssociationPacked<PackedTupleArray_F64>
+{
 	@Override
 	public double score(TupleDesc_F64 a, TupleDesc_F64 b) {
 
 		return DescriptorDistance.sad(a, b);
 	}
 
+	@Override
+	public double score(PackedTupleArray_F64 a, int indexA, PackedTupleArray_F64 b, int indexB) {
+		final int N = a.dof;
+		return DescriptorDistance.sad(a.data,indexA*N,b.data,indexB*N,N);
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
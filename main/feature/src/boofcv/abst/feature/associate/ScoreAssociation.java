@@ -28,6 +28,10 @@ import boofcv.struct.feature.MatchScoreType;
  *
  * NOTES: To ensure that lower is better, correlation scores undergo a sign flip.
  *
+ * THREAD SAFETY: {@link #score} can be called from multiple threads at the same time, for example by
+ * {@link boofcv.alg.feature.associate.AssociateGreedy}.  Implementations must not modify internal state,
+ * such as work space arrays, inside of {@link #score}.
+ *
  * @param <Desc> Feature description type.
  *
  * @author Peter Abeles
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+/**
+ * Scores the fit quality between two descriptions which are stored inside of a
+ * {@link boofcv.struct.feature.PackedTupleArray}.  Must produce the same score as the
+ * {@link ScoreAssociation} it is implemented alongside, but avoids the overhead of accessing
+ * each description through its own object.
+ *
+ * @param <P> Type of packed descriptor array.
+ *
+ * @author Peter Abeles
+ */
+public interface ScoreAssociationPacked<P> {
+
+	/**
+	 * Compute the fit score between two packed features.  A better fit score will have a lower value.
+	 *
+	 * @param a Array containing the first feature
+	 * @param indexA Index of the first feature
+	 * @param b Array containing the second feature
+	 * @param indexB Index of the second feature
+	 * @return Quality of fit score.  Lower is better.
+	 */
+	public double score( P a , int indexA , P b , int indexB );
+}
@@ -22,6 +22,7 @@ import boofcv.alg.feature.associate.AssociateGreedy;
 import boofcv.alg.feature.associate.FindUnassociated;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
 import org.ddogleg.struct.FastQueue;
 import org.ddogleg.struct.GrowQueue_I32;
 
@@ -31,7 +32,7 @@ import org.ddogleg.struct.GrowQueue_I32;
  *
  * @author Peter Abeles
  */
-public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
+public class WrapAssociateGreedy<T> implements AssociateDescriptionPacked<T> {
 
 	AssociateGreedy<T> alg;
 
@@ -40,6 +41,13 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 	// reference to input list
 	FastQueue<T> listSrc;
 	FastQueue<T> listDst;
+	// reference to packed input lists
+	PackedTupleArray packedSrc;
+	PackedTupleArray packedDst;
+
+	// number of features in each list
+	int numSrc;
+	int numDst;
 
 	// indexes of unassociated features
 	GrowQueue_I32 unassocSrc = new GrowQueue_I32();
@@ -57,11 +65,30 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 	@Override
 	public void setSource(FastQueue<T> listSrc) {
 		this.listSrc = listSrc;
+		this.packedSrc = null;
 	}
 
 	@Override
 	public void setDestination(FastQueue<T> listDst) {
 		this.listDst = listDst;
+		this.packedDst = null;
+	}
+
+	@Override
+	public void setSource(PackedTupleArray listSrc) {
+		this.packedSrc = listSrc;
+		this.listSrc = null;
+	}
+
+	@Override
+	public void setDestination(PackedTupleArray listDst) {
+		this.packedDst = listDst;
+		this.listDst = null;
+	}
+
+	@Override
+	public boolean isPackedSupported() {
+		return alg.isPackedSupported();
 	}
 
 	@Override
@@ -72,13 +99,23 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 	@Override
 	public void associate() {
 		unassocSrc.reset();
-		alg.associate(listSrc,listDst);
+		if( packedSrc != null && packedDst != null ) {
+			numSrc = packedSrc.size();
+			numDst = packedDst.size();
+			alg.associate(packedSrc,packedDst);
+		} else if( listSrc != null && listDst != null ) {
+			numSrc = listSrc.size;
+			numDst = listDst.size;
+			alg.associate(listSrc,listDst);
+		} else {
+			throw new IllegalArgumentException("Source and destination must both be packed or both be a FastQueue");
+		}
 
 		int pairs[] = alg.getPairs();
 		double score[] = alg.getFitQuality();
 
 		matches.reset();
-		for( int i = 0; i < listSrc.size; i++ ) {
+		for( int i = 0; i < numSrc; i++ ) {
 			int dst = pairs[i];
 			if( dst >= 0 )
 				matches.grow().setAssociation(i,dst,score[i]);
@@ -94,7 +131,7 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 
 	@Override
 	public GrowQueue_I32 getUnassociatedDestination() {
-		return unassociated.checkDestination(matches,listDst.size);
+		return unassociated.checkDestination(matches,numDst);
 	}
 
 	@Override
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.image.ImageBase;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
+
+/**
+ * Extension of {@link DescribeRegionPoint} which can describe a set of points with a single function call.
+ * Implementations are free to process the points in parallel or in a more efficient order.
+ *
+ * @author Peter Abeles
+ */
+public interface DescribeRegionPointBatch<T extends ImageBase, Desc extends TupleDesc>
+	extends DescribeRegionPoint<T,Desc>
+{
+	/**
+	 * Describes a set of points inside the image passed to {@link #setImage}.  Produces the same results as
+	 * calling {@link #process(double, double, double, double, TupleDesc)} on each point.
+	 *
+	 * @param locations Location of each point.
+	 * @param orientations Orientation of each point.
+	 * @param scales Scale of each point.
+	 * @param descriptions (Output) Description of each point.  Reset and then grown to the number of points.  Must
+	 *                     declare descriptions of the correct length, e.g. with {@link #createDescription}.
+	 * @param success (Output) If a description could be computed for each point.  Resized.
+	 */
+	public void process( List<? extends Point2D_F64> locations ,
+						 GrowQueue_F64 orientations , GrowQueue_F64 scales ,
+						 FastQueue<Desc> descriptions , GrowQueue_B success );
+}
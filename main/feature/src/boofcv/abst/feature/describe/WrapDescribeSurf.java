@@ -23,13 +23,21 @@ import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
 
 
 /**
+ * Wrapper around {@link DescribePointSurf} for {@link DescribeRegionPointBatch}.
+ *
  * @author Peter Abeles
  */
 public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleBand>
-		implements DescribeRegionPoint<T,SurfFeature> {
+		implements DescribeRegionPointBatch<T,SurfFeature> {
 
 	// computes SURF feature descriptor
 	DescribePointSurf<II> surf;
@@ -68,6 +76,18 @@ public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleB
 		return true;
 	}
 
+	@Override
+	public void process(List<? extends Point2D_F64> locations,
+						GrowQueue_F64 orientations, GrowQueue_F64 scales,
+						FastQueue<SurfFeature> descriptions, GrowQueue_B success) {
+
+		surf.describe(locations, orientations, scales, descriptions);
+
+		success.resize(locations.size());
+		for( int i = 0; i < success.size; i++ )
+			success.data[i] = true;
+	}
+
 	@Override
 	public boolean requiresScale() {
 		return true;
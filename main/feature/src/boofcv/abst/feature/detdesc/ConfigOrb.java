@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link boofcv.alg.feature.detdesc.DetectDescribeOrb}.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigOrb implements Configuration {
+
+	/**
+	 * Maximum number of features detected across all the pyramid layers.  Typical value is 500.
+	 */
+	public int maxFeatures = 500;
+	/**
+	 * Scale factor between adjacent pyramid layers.  Must be greater than one.  Typical value is 1.2.
+	 */
+	public double scaleFactor = 1.2;
+	/**
+	 * Number of layers in the image pyramid.  Typical value is 8.
+	 */
+	public int numLayers = 8;
+	/**
+	 * Minimum difference between the center pixel and the circle for a FAST corner.  Typical value is 20.
+	 */
+	public int fastThreshold = 20;
+	/**
+	 * Minimum number of continuous pixels in the FAST circle.  9 to 12.  Typical value is 9.
+	 */
+	public int fastContinuous = 9;
+	/**
+	 * Radius of the window used to compute the Harris corner intensity.  Typical value is 3.
+	 */
+	public int harrisRadius = 3;
+	/**
+	 * Harris corner tuning parameter.  Typical value is 0.04.
+	 */
+	public double harrisK = 0.04;
+	/**
+	 * Radius of the BRIEF sample region and the orientation region.  Typical value is 15.
+	 */
+	public int radius = 15;
+	/**
+	 * Number of points sampled by the BRIEF descriptor, which is also the number of bits.  Typical value is 256.
+	 */
+	public int numPoints = 256;
+	/**
+	 * Amount of blur applied to each layer before sampling the descriptor.  Typical value is 2.
+	 */
+	public double blurSigma = 2;
+	/**
+	 * Radius of the blur applied to each layer before sampling the descriptor.  Typical value is 3.
+	 */
+	public int blurRadius = 3;
+	/**
+	 * Seed for the random number generator used to create the BRIEF sample pattern.
+	 */
+	public long seed = 0xBEEF;
+
+	public ConfigOrb(int maxFeatures, double scaleFactor, int numLayers, int fastThreshold) {
+		this.maxFeatures = maxFeatures;
+		this.scaleFactor = scaleFactor;
+		this.numLayers = numLayers;
+		this.fastThreshold = fastThreshold;
+	}
+
+	public ConfigOrb() {
+	}
+
+	@Override
+	public void checkValidity() {
+		if( scaleFactor <= 1 )
+			throw new IllegalArgumentException("scaleFactor must be greater than one");
+		if( numLayers <= 0 )
+			throw new IllegalArgumentException("numLayers must be greater than zero");
+		if( fastContinuous < 9 || fastContinuous > 12 )
+			throw new IllegalArgumentException("fastContinuous must be from 9 to 12");
+	}
+}
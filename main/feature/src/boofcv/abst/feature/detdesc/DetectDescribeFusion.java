@@ -19,12 +19,14 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.describe.DescribeRegionPointBatch;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.OrientationImage;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
 import georegression.struct.point.Point2D_F64;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
 import org.ddogleg.struct.GrowQueue_F64;
 
 /**
@@ -55,6 +57,8 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 	private GrowQueue_F64 featureScales = new GrowQueue_F64(10);
 	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
 	private FastQueue<Point2D_F64> location = new FastQueue<Point2D_F64>(10,Point2D_F64.class,false);
+	// which features could be described
+	private GrowQueue_B success = new GrowQueue_B(10);
 
 	/**
 	 * Configures the algorithm.
@@ -121,14 +125,49 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 				yaw = orientation.compute(p.x,p.y);
 			}
 
-			if( describe.process(p.x,p.y,yaw,scale,descs.grow()) ) {
-				featureScales.push(scale);
-				featureAngles.push(yaw);
-				location.add(p);
-			} else {
-				descs.removeTail();
+			featureScales.push(scale);
+			featureAngles.push(yaw);
+			location.add(p);
+		}
+
+		if( describe instanceof DescribeRegionPointBatch ) {
+			// let the describer process all the points at once
+			((DescribeRegionPointBatch<T,TD>)describe).process(location.toList(),
+					featureAngles, featureScales, descs, success);
+		} else {
+			success.resize(N);
+			for( int i = 0; i < N; i++ ) {
+				Point2D_F64 p = location.get(i);
+				success.data[i] = describe.process(p.x,p.y,featureAngles.data[i],featureScales.data[i],descs.grow());
+			}
+		}
+
+		removeFailed();
+	}
+
+	/**
+	 * Removes features which could not be described while preserving the order of the others
+	 */
+	private void removeFailed() {
+		int N = 0;
+		for( int i = 0; i < success.size; i++ ) {
+			if( !success.data[i] )
+				continue;
+			if( N != i ) {
+				// swap so that the description instances are recycled
+				TD tmp = descs.data[N];
+				descs.data[N] = descs.data[i];
+				descs.data[i] = tmp;
+				location.data[N] = location.data[i];
+				featureScales.data[N] = featureScales.data[i];
+				featureAngles.data[N] = featureAngles.data[i];
 			}
+			N++;
 		}
+		descs.size = N;
+		location.size = N;
+		featureScales.size = N;
+		featureAngles.size = N;
 	}
 
 	@Override
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.alg.feature.detdesc.DetectDescribeOrb;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_F64;
+
+/**
+ * Wrapper around {@link DetectDescribeOrb} for {@link DetectDescribePoint}.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDetectDescribeOrb implements DetectDescribePoint<ImageUInt8,TupleDesc_B> {
+
+	DetectDescribeOrb alg;
+
+	public WrapDetectDescribeOrb(DetectDescribeOrb alg) {
+		this.alg = alg;
+	}
+
+	@Override
+	public TupleDesc_B createDescription() {
+		return new TupleDesc_B(alg.getDescriptorLength());
+	}
+
+	@Override
+	public TupleDesc_B getDescription(int index) {
+		return alg.getFeatures().data[index];
+	}
+
+	@Override
+	public Class<TupleDesc_B> getDescriptionType() {
+		return TupleDesc_B.class;
+	}
+
+	@Override
+	public void detect(ImageUInt8 input) {
+		alg.process(input);
+	}
+
+	@Override
+	public int getNumberOfFeatures() {
+		return alg.getFeatures().size;
+	}
+
+	@Override
+	public Point2D_F64 getLocation(int featureIndex) {
+		return alg.getLocation().get(featureIndex);
+	}
+
+	@Override
+	public double getScale(int featureIndex) {
+		return alg.getFeatureScales().get(featureIndex);
+	}
+
+	@Override
+	public double getOrientation(int featureIndex) {
+		return alg.getFeatureAngles().get(featureIndex);
+	}
+
+	@Override
+	public boolean hasScale() {
+		return true;
+	}
+
+	@Override
+	public boolean hasOrientation() {
+		return true;
+	}
+}
@@ -19,6 +19,7 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.abst.feature.orientation.OrientationIntegral;
+import boofcv.abst.feature.orientation.OrientationIntegralBatch;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
 import boofcv.alg.transform.ii.GIntegralImageOps;
@@ -59,8 +60,9 @@ public class WrapDetectDescribeSurf
 	private SurfFeatureQueue features;
 	// detected scale points
 	private List<ScalePoint> foundPoints;
-	// orientation of features
+	// orientation and scale of features
 	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
+	private GrowQueue_F64 featureScales = new GrowQueue_F64(10);
 
 	public WrapDetectDescribeSurf(FastHessianFeatureDetector<II> detector,
 								  OrientationIntegral<II> orientation,
@@ -98,8 +100,6 @@ public class WrapDetectDescribeSurf
 		ii = GIntegralImageOps.transform(input, ii);
 		orientation.setImage(ii);
 		describe.setImage(ii);
-		features.reset();
-		featureAngles.reset();
 
 		// detect features
 		detector.detect(ii);
@@ -107,14 +107,25 @@ public class WrapDetectDescribeSurf
 		// describe the found interest points
 		foundPoints = detector.getFoundPoints();
 
+		featureScales.resize(foundPoints.size());
 		for( int i = 0; i < foundPoints.size(); i++ ) {
-			ScalePoint p = foundPoints.get(i);
+			featureScales.data[i] = foundPoints.get(i).scale;
+		}
 
-			orientation.setScale(p.scale);
-			double angle = orientation.compute(p.x,p.y);
-			describe.describe(p.x,p.y, angle, p.scale, features.grow());
-			featureAngles.push(angle);
+		// orientation is computed for all the points at once when supported
+		if( orientation instanceof OrientationIntegralBatch ) {
+			((OrientationIntegralBatch<II>)orientation).compute(foundPoints, featureScales, featureAngles);
+		} else {
+			featureAngles.resize(foundPoints.size());
+			for( int i = 0; i < foundPoints.size(); i++ ) {
+				ScalePoint p = foundPoints.get(i);
+				orientation.setScale(p.scale);
+				featureAngles.data[i] = orientation.compute(p.x,p.y);
+			}
 		}
+
+		// description is computed for all the points at once
+		describe.describe(foundPoints, featureAngles, featureScales, features);
 	}
 
 	@Override
@@ -33,6 +33,18 @@ public class ConfigGeneralDetector extends ConfigExtract {
 	 */
 	public int maxFeatures = -1;
 
+	/**
+	 * If > 0 then the image is broken up into square tiles of this width, which are processed independently
+	 * and in parallel.  See {@link boofcv.alg.feature.detect.interest.GeneralFeatureDetectorTiled}.
+	 * Default is 0.
+	 */
+	public int tileWidth = 0;
+
+	/**
+	 * When tiles are used, the maximum number of features inside a single tile.  Set to a value <= 0 for no
+	 * limit.  Default is -1.
+	 */
+	public int maxFeaturesPerTile = -1;
 
 	public ConfigGeneralDetector(int maxFeatures ,
 								 int radius, float threshold, int ignoreBorder, boolean useStrictRule,
@@ -51,6 +63,15 @@ public class ConfigGeneralDetector extends ConfigExtract {
 		this.maxFeatures = maxFeatures;
 	}
 
+	/**
+	 * Copies the configuration.
+	 */
+	public ConfigGeneralDetector( ConfigGeneralDetector orig ) {
+		this(orig.maxFeatures,orig);
+		this.tileWidth = orig.tileWidth;
+		this.maxFeaturesPerTile = orig.maxFeaturesPerTile;
+	}
+
 	public ConfigGeneralDetector(int maxFeatures , ConfigExtract config ) {
 		this.maxFeatures = maxFeatures;
 		if( config != null ) {
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for Semi-Global Matching (SGM) stereo disparity.
+ *
+ * @see boofcv.alg.feature.disparity.DisparitySgm
+ *
+ * @author Peter Abeles
+ */
+public class ConfigDisparitySgm implements Configuration {
+
+	/**
+	 * Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 */
+	public int minDisparity = 0;
+	/**
+	 * Maximum disparity that it will calculate.  Exclusive.
+	 */
+	public int maxDisparity = 64;
+
+	/**
+	 * Function used to compute the matching cost between two pixels
+	 */
+	public CostType cost = CostType.CENSUS;
+	/**
+	 * Radius of the window used to compute the cost.  For CENSUS it must be from 1 to 3.
+	 */
+	public int costRadius = 3;
+
+	/**
+	 * Penalty for a change in disparity of one.  Try 6 for CENSUS and 10 for SAD.
+	 */
+	public int penalty1 = 6;
+	/**
+	 * Penalty for a change in disparity greater than one.  Try 80 for CENSUS and 100 for SAD.
+	 */
+	public int penalty2 = 80;
+	/**
+	 * Number of paths the cost is aggregated along.  4 or 8.
+	 */
+	public int paths = 8;
+
+	/**
+	 * Maximum allowed aggregated cost.  Set to <= 0 to disable.
+	 */
+	public int maxError = -1;
+	/**
+	 * Tolerance for how different the left to right associated values can be.  Set to < 0 to disable.
+	 */
+	public int validateRtoL = 1;
+	/**
+	 * Tolerance for how similar optimal disparity is to other disparities.  Disable with a value <= 0.
+	 */
+	public double texture = -1;
+
+	/**
+	 * Number of rows in each tile.  Reduces memory on large images.  If <= 0 the whole image is processed at once.
+	 */
+	public int tileHeight = 0;
+	/**
+	 * Number of rows tiles overlap by
+	 */
+	public int tileOverlap = 20;
+
+	public ConfigDisparitySgm(int minDisparity, int maxDisparity) {
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+	}
+
+	public ConfigDisparitySgm() {
+	}
+
+	@Override
+	public void checkValidity() {
+		if( minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Min disparity must be >= 0 and < maxDisparity");
+		if( cost == CostType.CENSUS && (costRadius < 1 || costRadius > 3) )
+			throw new IllegalArgumentException("costRadius must be from 1 to 3 for CENSUS");
+		if( paths != 4 && paths != 8 )
+			throw new IllegalArgumentException("paths must be 4 or 8");
+		if( penalty1 < 0 || penalty2 < penalty1 )
+			throw new IllegalArgumentException("Penalties must be positive and penalty2 >= penalty1");
+	}
+
+	/**
+	 * Functions for computing the cost of matching two pixels
+	 */
+	public static enum CostType {
+		/**
+		 * Hamming distance between the census transform of each pixel
+		 */
+		CENSUS,
+		/**
+		 * Mean absolute difference inside a square window
+		 */
+		SAD
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.point.Point2D_I32;
+
+import java.util.List;
+
+/**
+ * Extension of {@link StereoDisparitySparse} which can compute the disparity at a set of points with a single
+ * function call.  Implementations are free to process the points in parallel or in a more efficient order.
+ *
+ * @author Peter Abeles
+ */
+public interface StereoDisparitySparseBatch<Image extends ImageSingleBand> extends StereoDisparitySparse<Image> {
+
+	/**
+	 * Calculates the disparity at each of the specified points.  Results are the same as calling
+	 * {@link #process(int, int)} on each point individually.
+	 *
+	 * @param pixels (Input) Points in the left image.
+	 * @param disparity (Output) Disparity at each point or NaN if no correspondence was found.  Must be at
+	 *                  least as long as the list of points.
+	 * @param score (Output) Fit score of the selected disparity at each point.  Lower scores are a better match.
+	 *              NaN if no correspondence was found.  Can be null.
+	 */
+	public void process( List<Point2D_I32> pixels , double disparity[] , double score[] );
+}
@@ -20,13 +20,34 @@ package boofcv.abst.feature.disparity;
 
 import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.alg.feature.disparity.SelectSparseStandardWta;
+import boofcv.alg.feature.disparity.impl.ImplSelectSparseBasicWta_F32;
+import boofcv.alg.feature.disparity.impl.ImplSelectSparseBasicWta_S32;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.point.Point2D_I32;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
+ * <p>
+ * Wrapper around {@link DisparitySparseScoreSadRect} for {@link StereoDisparitySparseBatch}.
+ * </p>
+ *
+ * <p>
+ * When processing a list of points, the points are sorted by row and then column so that
+ * {@link DisparitySparseScoreSadRect} can reuse the column scores of the previous point.  The sorted points are
+ * then split into blocks which are processed in parallel, each with its own copy of the algorithms.  If the
+ * algorithms can't be copied then all the points are processed in a single block.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class WrapDisparitySparseSadRect <ArrayData,T extends ImageSingleBand>
-		implements StereoDisparitySparse<T>
+		implements StereoDisparitySparseBatch<T>
 {
 	DisparitySparseScoreSadRect<ArrayData,T> computeScore;
 	DisparitySparseSelect<ArrayData> select;
@@ -34,6 +55,17 @@ public class WrapDisparitySparseSadRect <ArrayData,T extends ImageSingleBand>
 	// for an insignificant speed boost save this constant as a floating point number
 	double minDisparityFloat;
 
+	// width of the input image
+	int imageWidth;
+
+	// copies of the algorithms for each block of points.  The first element is the original.
+	List<DisparitySparseScoreSadRect<ArrayData,T>> blockScore = new ArrayList<DisparitySparseScoreSadRect<ArrayData,T>>();
+	List<DisparitySparseSelect<ArrayData>> blockSelect = new ArrayList<DisparitySparseSelect<ArrayData>>();
+
+	// points sorted by their location in the image.  Upper bits are the pixel index and lower bits are the
+	// point's index in the list
+	long sorted[] = new long[0];
+
 	public WrapDisparitySparseSadRect(DisparitySparseScoreSadRect<ArrayData,T> computeScore,
 									  DisparitySparseSelect<ArrayData> select ) {
 		this.computeScore = computeScore;
@@ -44,6 +76,10 @@ public class WrapDisparitySparseSadRect <ArrayData,T extends ImageSingleBand>
 	public void setImages(T imageLeft, T imageRight ) {
 		computeScore.setImages(imageLeft,imageRight);
 		minDisparityFloat = computeScore.getMinDisparity();
+		imageWidth = imageLeft.width;
+
+		// copies reference the previous images
+		blockScore.clear();
 	}
 
 	@Override
@@ -59,6 +95,99 @@ public class WrapDisparitySparseSadRect <ArrayData,T extends ImageSingleBand>
 		return false;
 	}
 
+	@Override
+	public void process( final List<Point2D_I32> pixels , final double disparity[] , final double score[] ) {
+		final int N = pixels.size();
+
+		if( sorted.length < N )
+			sorted = new long[N];
+		for( int i = 0; i < N; i++ ) {
+			Point2D_I32 p = pixels.get(i);
+			sorted[i] = (((long)p.y*imageWidth + p.x) << 32) | i;
+		}
+		Arrays.sort(sorted,0,N);
+
+		int regionArea = (2*computeScore.getRadiusX()+1)*(2*computeScore.getRadiusY()+1);
+		int rangeDisparity = computeScore.getMaxDisparity()-computeScore.getMinDisparity();
+		int maxBlocks = BoofConcurrency.computeBlocks(N,
+				BoofConcurrency.minimumRows(regionArea*rangeDisparity));
+
+		if( blockScore.isEmpty() )
+			blockScore.add(computeScore);
+		if( blockSelect.isEmpty() )
+			blockSelect.add(select);
+		while( blockScore.size() < maxBlocks ) {
+			DisparitySparseScoreSadRect<ArrayData,T> copy = computeScore.copy();
+			if( copy == null )
+				break;
+			blockScore.add(copy);
+		}
+		while( blockSelect.size() < maxBlocks ) {
+			DisparitySparseSelect<ArrayData> copy = copySelect();
+			if( copy == null )
+				break;
+			blockSelect.add(copy);
+		}
+		final int numBlocks = Math.min(maxBlocks,Math.min(blockScore.size(),blockSelect.size()));
+
+		BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int i0 = (int)((long)N*block/numBlocks);
+					int i1 = (int)((long)N*(block+1)/numBlocks);
+					processSorted(blockScore.get(block),blockSelect.get(block),pixels,i0,i1,disparity,score);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Creates a copy of the select algorithm if it is one of the known implementations
+	 *
+	 * @return Copy of select or null if it can't be copied
+	 */
+	@SuppressWarnings("unchecked")
+	private DisparitySparseSelect<ArrayData> copySelect() {
+		Object copy = null;
+		if( select instanceof SelectSparseStandardWta )
+			copy = ((SelectSparseStandardWta<ArrayData>)select).copy();
+		else if( select instanceof ImplSelectSparseBasicWta_F32 )
+			copy = ((ImplSelectSparseBasicWta_F32)select).copy();
+		else if( select instanceof ImplSelectSparseBasicWta_S32 )
+			copy = ((ImplSelectSparseBasicWta_S32)select).copy();
+		return (DisparitySparseSelect<ArrayData>)copy;
+	}
+
+	/**
+	 * Computes the disparity for points in the specified range of the sorted array
+	 */
+	private void processSorted( DisparitySparseScoreSadRect<ArrayData,T> computeScore ,
+								DisparitySparseSelect<ArrayData> select ,
+								List<Point2D_I32> pixels , int i0 , int i1 ,
+								double disparity[] , double score[] ) {
+		for( int i = i0; i < i1; i++ ) {
+			int index = (int)sorted[i];
+			Point2D_I32 p = pixels.get(index);
+
+			if( computeScore.process(p.x,p.y) &&
+					select.select(computeScore.getScore(),computeScore.getLocalMaxDisparity()) ) {
+				double found = select.getDisparity();
+				disparity[index] = minDisparityFloat + found;
+
+				if( score != null ) {
+					// score at the closest integer disparity
+					int d = Math.max(0,Math.min(computeScore.getLocalMaxDisparity()-1,(int)(found+0.5)));
+					score[index] = computeScore.getScore(d);
+				}
+			} else {
+				disparity[index] = Double.NaN;
+				if( score != null )
+					score[index] = Double.NaN;
+			}
+		}
+	}
+
 	@Override
 	public int getBorderX() {
 		return computeScore.getRadiusX();
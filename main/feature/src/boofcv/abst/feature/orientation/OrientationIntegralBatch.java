@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.orientation;
+
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
+
+/**
+ * Extension of {@link OrientationIntegral} which can estimate the orientation of a set of regions with a single
+ * function call.  Implementations are free to process the regions in parallel.
+ *
+ * @author Peter Abeles
+ */
+public interface OrientationIntegralBatch<II extends ImageSingleBand> extends OrientationIntegral<II> {
+
+	/**
+	 * Computes the orientation of several regions at once.  Produces the same results as calling
+	 * {@link #setScale(double)} and {@link #compute(double, double)} on each region.
+	 *
+	 * @param locations Center of each region.
+	 * @param scales Scale of each region.
+	 * @param angles (Output) Orientation of each region.  Resized to the number of regions.
+	 */
+	public void compute( List<? extends Point2D_F64> locations , GrowQueue_F64 scales , GrowQueue_F64 angles );
+}
@@ -19,11 +19,17 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.ScoreAssociationPacked;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.feature.PackedTupleArray;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastQueue;
 import org.ddogleg.struct.GrowQueue_F64;
 import org.ddogleg.struct.GrowQueue_I32;
 
+import java.util.Arrays;
+
 
 /**
  * <p>
@@ -39,12 +45,23 @@ import org.ddogleg.struct.GrowQueue_I32;
  * associated with feature in src.
  * </p>
  *
+ * <p>
+ * Scores are computed in tiles across multiple threads, see {@link BoofConcurrency}.  The full matrix of scores
+ * is never saved.  Instead the best score for each destination feature is found as the scores are computed,
+ * which is all that backwards validation needs.  Results are identical to single threaded processing.  The
+ * score function is called from multiple threads at the same time and must not modify its internal state.
+ * </p>
+ *
  * @param <D> Feature description type.
  *
  * @author Peter Abeles
  */
 public class AssociateGreedy<D> {
 
+	// number of destination features scored against each source feature at once.  Keeps the destination
+	// features being examined inside the cache while a block of source features is scored against them
+	private static final int TILE_SIZE = 256;
+
 	// computes association score
 	private ScoreAssociation<D> score;
 	// worst allowed fit score to associate
@@ -53,8 +70,13 @@ public class AssociateGreedy<D> {
 	private GrowQueue_F64 fitQuality = new GrowQueue_F64(100);
 	// stores indexes of associated
 	private GrowQueue_I32 pairs = new GrowQueue_I32(100);
-	// various
-	private GrowQueue_F64 workBuffer = new GrowQueue_F64(100);
+	// best score for each destination feature, computed independently for each block of source features
+	private FastQueue<ColumnBest> blocks = new FastQueue<ColumnBest>(ColumnBest.class,true) {
+		@Override
+		protected ColumnBest createInstance() {
+			return new ColumnBest();
+		}
+	};
 	// if true backwardsValidation is done
 	private boolean backwardsValidation;
 
@@ -76,51 +98,145 @@ public class AssociateGreedy<D> {
 	 * @param src Source list.
 	 * @param dst Destination list.
 	 */
-	public void associate( FastQueue<D> src ,
-						   FastQueue<D> dst )
+	public void associate( final FastQueue<D> src ,
+						   final FastQueue<D> dst )
+	{
+		associate(src.size, dst.size, new Scorer() {
+			@Override
+			public double score(int indexSrc, int indexDst) {
+				return score.score(src.data[indexSrc], dst.data[indexDst]);
+			}
+		});
+	}
+
+	/**
+	 * Associates two sets of packed descriptions.  Produces the same results as
+	 * {@link #associate(FastQueue, FastQueue)} but is much more cache friendly when the sets are large.
+	 * Can only be called if {@link #isPackedSupported()} returns true.
+	 *
+	 * @param src Source list.
+	 * @param dst Destination list.
+	 */
+	public void associate( final PackedTupleArray src ,
+						   final PackedTupleArray dst )
 	{
-		fitQuality.reset();
-		pairs.reset();
-		workBuffer.reset();
-
-//		System.out.println("Associate: "+src.size+"*"+dst.size+" = "+(src.size*dst.size)+" or "+(src.size*dst.size*8/1024/1024)+"MB");
-		fitQuality.setMaxSize(src.size);
-		workBuffer.setMaxSize(src.size*dst.size);
-		for( int i = 0; i < src.size; i++ ) {
-			D a = src.data[i];
-			double bestScore = maxFitError;
-			int bestIndex = -1;
-
-			for( int j = 0; j < dst.size; j++ ) {
-				D b = dst.data[j];
-
-				double fit = score.score(a,b);
-				workBuffer.push(fit);
-
-				if( fit < bestScore ) {
-					bestIndex = j;
-					bestScore = fit;
+		if( !isPackedSupported() )
+			throw new IllegalArgumentException("The score function does not support packed descriptions");
+
+		final ScoreAssociationPacked packed = (ScoreAssociationPacked)score;
+
+		associate(src.size(), dst.size(), new Scorer() {
+			@Override
+			public double score(int indexSrc, int indexDst) {
+				return packed.score(src, indexSrc, dst, indexDst);
+			}
+		});
+	}
+
+	/**
+	 * Scores every possible pair.  The source features are split into blocks which are processed by different
+	 * threads.  Instead of saving every score for backwards validation, the best score for each destination
+	 * feature and the number of source features with that score are found as the scores are computed.
+	 */
+	private void associate( final int numSrc , final int numDst , final Scorer scorer ) {
+		fitQuality.resize(numSrc);
+		pairs.resize(numSrc);
+
+		final int numBlocks = BoofConcurrency.computeBlocks(numSrc, BoofConcurrency.minimumRows(numDst));
+		blocks.reset();
+		for( int i = 0; i < numBlocks; i++ ) {
+			ColumnBest b = blocks.grow();
+			if( backwardsValidation )
+				b.reset(numDst);
+		}
+
+		BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for( int block = index0; block < index1; block++ ) {
+					int i0 = (int)((long)numSrc*block/numBlocks);
+					int i1 = (int)((long)numSrc*(block+1)/numBlocks);
+					scoreBlock(i0, i1, numDst, scorer, blocks.data[block]);
 				}
 			}
-			pairs.push(bestIndex);
-			fitQuality.push(bestScore);
+		});
+
+		if( backwardsValidation )
+			backwardsValidation(numSrc, numDst);
+	}
+
+	/**
+	 * Scores a block of source features against all the destination features.  The destination features
+	 * are processed in tiles which are small enough to stay inside the cache.
+	 */
+	private void scoreBlock( int i0 , int i1 , int numDst , Scorer scorer , ColumnBest column ) {
+		final double bestScores[] = fitQuality.data;
+		final int bestIndexes[] = pairs.data;
+		final double columnScore[] = column.score;
+		final int columnCount[] = column.count;
+
+		for( int i = i0; i < i1; i++ ) {
+			bestScores[i] = maxFitError;
+			bestIndexes[i] = -1;
 		}
 
-		if( backwardsValidation ) {
-			for( int i = 0; i < src.size; i++ ) {
-				int match = pairs.data[i];
-				if( match == -1 )
-					continue;
+		for( int j0 = 0; j0 < numDst; j0 += TILE_SIZE ) {
+			int j1 = Math.min(numDst, j0 + TILE_SIZE);
+
+			for( int i = i0; i < i1; i++ ) {
+				double bestScore = bestScores[i];
+				int bestIndex = bestIndexes[i];
 
-				double scoreToBeat = workBuffer.data[i*dst.size+match];
+				for( int j = j0; j < j1; j++ ) {
+					double fit = scorer.score(i,j);
+
+					if( fit < bestScore ) {
+						bestIndex = j;
+						bestScore = fit;
+					}
 
-				for( int j = 0; j < src.size; j++ , match += dst.size ) {
-					if( workBuffer.data[match] <= scoreToBeat && j != i) {
-						pairs.data[i] = -1;
-						fitQuality.data[i] = Double.MAX_VALUE;
-						break;
+					if( backwardsValidation ) {
+						if( fit < columnScore[j] ) {
+							columnScore[j] = fit;
+							columnCount[j] = 1;
+						} else if( fit == columnScore[j] ) {
+							columnCount[j]++;
+						}
 					}
 				}
+				bestScores[i] = bestScore;
+				bestIndexes[i] = bestIndex;
+			}
+		}
+	}
+
+	/**
+	 * Removes associations which are not mutually the best match for each other.  A match is kept only if
+	 * no other source feature has a score which is as good or better with the same destination feature.
+	 */
+	private void backwardsValidation( int numSrc , int numDst ) {
+		// combine the results from each block
+		ColumnBest total = blocks.data[0];
+		for( int block = 1; block < blocks.size; block++ ) {
+			ColumnBest b = blocks.data[block];
+			for( int j = 0; j < numDst; j++ ) {
+				if( b.score[j] < total.score[j] ) {
+					total.score[j] = b.score[j];
+					total.count[j] = b.count[j];
+				} else if( b.score[j] == total.score[j] ) {
+					total.count[j] += b.count[j];
+				}
+			}
+		}
+
+		for( int i = 0; i < numSrc; i++ ) {
+			int match = pairs.data[i];
+			if( match == -1 )
+				continue;
+
+			if( fitQuality.data[i] != total.score[match] || total.count[match] != 1 ) {
+				pairs.data[i] = -1;
+				fitQuality.data[i] = Double.MAX_VALUE;
 			}
 		}
 	}
@@ -150,6 +266,13 @@ public class AssociateGreedy<D> {
 		this.maxFitError = maxFitError;
 	}
 
+	/**
+	 * Returns true if the score function can be applied directly to packed descriptions.
+	 */
+	public boolean isPackedSupported() {
+		return score instanceof ScoreAssociationPacked;
+	}
+
 	public ScoreAssociation<D> getScore() {
 		return score;
 	}
@@ -157,4 +280,28 @@ public class AssociateGreedy<D> {
 	public boolean isBackwardsValidation() {
 		return backwardsValidation;
 	}
+
+	/**
+	 * Computes the score between a source and destination feature
+	 */
+	private interface Scorer {
+		double score( int indexSrc , int indexDst );
+	}
+
+	/**
+	 * Best score for each destination feature and how many source features had that score
+	 */
+	static class ColumnBest {
+		double score[] = new double[0];
+		int count[] = new int[0];
+
+		void reset( int numDst ) {
+			if( score.length < numDst ) {
+				score = new double[numDst];
+				count = new int[numDst];
+			}
+			Arrays.fill(score,0,numDst,Double.POSITIVE_INFINITY);
+			Arrays.fill(count,0,numDst,0);
+		}
+	}
 }
@@ -19,7 +19,9 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.AssociateDescriptionPacked;
 import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastQueue;
@@ -29,7 +31,8 @@ import org.ddogleg.struct.GrowQueue_I32;
 /**
  * Basic algorithm for specializing association for SURF features.  Two list of features are
  * created depending on the sign of the laplacian.  These lists are associated independently then
- * combined.
+ * combined.  If the association algorithm supports {@link AssociateDescriptionPacked} then the features
+ * are copied into packed arrays before being associated, which greatly reduces the number of cache misses.
  *
  * @author Peter Abeles
  */
@@ -45,6 +48,14 @@ public class AssociateSurfBasic {
 	FastQueue<Helper> dstPositive = new FastQueue<Helper>(10,Helper.class,true);
 	FastQueue<Helper> dstNegative = new FastQueue<Helper>(10,Helper.class,true);
 
+	// if true the features are copied into packed arrays, which are much faster to associate when
+	// there are a large number of features
+	boolean packed;
+	PackedTupleArray_F64 srcPositivePacked;
+	PackedTupleArray_F64 srcNegativePacked;
+	PackedTupleArray_F64 dstPositivePacked;
+	PackedTupleArray_F64 dstNegativePacked;
+
 	// stores output matches
 	FastQueue<AssociatedIndex> matches = new FastQueue<AssociatedIndex>(10,AssociatedIndex.class,true);
 
@@ -53,14 +64,24 @@ public class AssociateSurfBasic {
 
 	public AssociateSurfBasic(AssociateDescription<TupleDesc_F64> assoc) {
 		this.assoc = assoc;
+		this.packed = assoc instanceof AssociateDescriptionPacked &&
+				((AssociateDescriptionPacked)assoc).isPackedSupported();
 	}
 
 	public void setSrc( FastQueue<SurfFeature> src ) {
 		sort(src,srcPositive,srcNegative);
+		if( packed ) {
+			srcPositivePacked = pack(srcPositive,srcPositivePacked);
+			srcNegativePacked = pack(srcNegative,srcNegativePacked);
+		}
 	}
 
 	public void setDst( FastQueue<SurfFeature> dst ) {
 		sort(dst,dstPositive,dstNegative);
+		if( packed ) {
+			dstPositivePacked = pack(dstPositive,dstPositivePacked);
+			dstNegativePacked = pack(dstNegative,dstNegativePacked);
+		}
 	}
 
 	/**
@@ -75,6 +96,14 @@ public class AssociateSurfBasic {
 		tmp = srcNegative;
 		srcNegative = dstNegative;
 		dstNegative = tmp;
+
+		PackedTupleArray_F64 tmpPacked = srcPositivePacked;
+		srcPositivePacked = dstPositivePacked;
+		dstPositivePacked = tmpPacked;
+
+		tmpPacked = srcNegativePacked;
+		srcNegativePacked = dstNegativePacked;
+		dstNegativePacked = tmpPacked;
 	}
 
 	/**
@@ -87,33 +116,34 @@ public class AssociateSurfBasic {
 		unassociatedSrc.reset();
 
 		// find and add the matches
-		assoc.setSource((FastQueue)srcPositive);
-		assoc.setDestination((FastQueue) dstPositive);
+		associate(srcPositive,dstPositive,srcPositivePacked,dstPositivePacked);
+		associate(srcNegative,dstNegative,srcNegativePacked,dstNegativePacked);
+	}
+
+	/**
+	 * Associates features which have the same laplacian sign and adds the results to the output lists
+	 */
+	private void associate( FastQueue<Helper> src , FastQueue<Helper> dst ,
+							PackedTupleArray_F64 packedSrc , PackedTupleArray_F64 packedDst ) {
+		if( packed ) {
+			AssociateDescriptionPacked<TupleDesc_F64> p = (AssociateDescriptionPacked<TupleDesc_F64>)assoc;
+			p.setSource(packedSrc);
+			p.setDestination(packedDst);
+		} else {
+			assoc.setSource((FastQueue)src);
+			assoc.setDestination((FastQueue)dst);
+		}
 		assoc.associate();
 		FastQueue<AssociatedIndex> m = assoc.getMatches();
 		for( int i = 0; i < m.size; i++ ) {
 			AssociatedIndex a = m.data[i];
-			int globalSrcIndex = srcPositive.data[a.src].index;
-			int globalDstIndex = dstPositive.data[a.dst].index;
+			int globalSrcIndex = src.data[a.src].index;
+			int globalDstIndex = dst.data[a.dst].index;
 			matches.grow().setAssociation(globalSrcIndex,globalDstIndex,a.fitScore);
 		}
 		GrowQueue_I32 un = assoc.getUnassociatedSource();
 		for( int i = 0; i < un.size; i++ ) {
-			unassociatedSrc.add(srcPositive.data[un.get(i)].index);
-		}
-		assoc.setSource((FastQueue)srcNegative);
-		assoc.setDestination((FastQueue) dstNegative);
-		assoc.associate();
-		m = assoc.getMatches();
-		for( int i = 0; i < m.size; i++ ) {
-			AssociatedIndex a = m.data[i];
-			int globalSrcIndex = srcNegative.data[a.src].index;
-			int globalDstIndex = dstNegative.data[a.dst].index;
-			matches.grow().setAssociation(globalSrcIndex,globalDstIndex,a.fitScore);
-		}
-		un = assoc.getUnassociatedSource();
-		for( int i = 0; i < un.size; i++ ) {
-			unassociatedSrc.add(srcNegative.data[un.get(i)].index);
+			unassociatedSrc.add(src.data[un.get(i)].index);
 		}
 	}
 
@@ -144,6 +174,28 @@ public class AssociateSurfBasic {
 		}
 	}
 
+	/**
+	 * Copies the descriptions into a packed array.  A new array is declared if the storage is null or
+	 * has a different descriptor length.
+	 */
+	private static PackedTupleArray_F64 pack( FastQueue<Helper> list , PackedTupleArray_F64 storage ) {
+		int dof;
+		if( list.size > 0 )
+			dof = list.data[0].value.length;
+		else
+			dof = storage == null ? 1 : storage.dof;
+
+		if( storage == null || storage.dof != dof )
+			storage = new PackedTupleArray_F64(dof);
+
+		storage.reset();
+		storage.reserve(list.size);
+		for( int i = 0; i < list.size; i++ ) {
+			storage.append(list.data[i]);
+		}
+		return storage;
+	}
+
 	public int totalDestination() {
 		return dstNegative.size + dstPositive.size;
 	}
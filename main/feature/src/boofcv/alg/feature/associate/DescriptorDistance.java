@@ -21,7 +21,18 @@ package boofcv.alg.feature.associate;
 import boofcv.struct.feature.*;
 
 /**
+ * <p>
  * Series of simple functions for computing difference distance measures between two descriptors.
+ * </p>
+ *
+ * <p>
+ * The distance between two descriptors is computed in the inner most loop of every association algorithm.  Loops
+ * over floating point and byte arrays are unrolled and split the sum across several independent variables, which
+ * removes the dependency between each addition and lets the CPU work on several elements at once.  Binary
+ * descriptors are compared by counting the bits which are different using {@link Long#bitCount}, which the
+ * JVM replaces with a single instruction on processors that support it.  Functions which take in descriptors
+ * and their equivalent functions for packed arrays produce identical results.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -35,14 +46,7 @@ public class DescriptorDistance {
 	 * @return Euclidean distance
 	 */
 	public static double euclidean(TupleDesc_F64 a, TupleDesc_F64 b) {
-		final int N = a.value.length;
-		double total = 0;
-		for( int i = 0; i < N; i++ ) {
-			double d = a.value[i]-b.value[i];
-			total += d*d;
-		}
-
-		return Math.sqrt(total);
+		return Math.sqrt(euclideanSq(a,b));
 	}
 
 	/**
@@ -53,14 +57,42 @@ public class DescriptorDistance {
 	 * @return Euclidean distance squared
 	 */
 	public static double euclideanSq(TupleDesc_F64 a, TupleDesc_F64 b) {
-		final int N = a.value.length;
-		double total = 0;
-		for( int i = 0; i < N; i++ ) {
-			double d = a.value[i]-b.value[i];
-			total += d*d;
+		return euclideanSq(a.value,0,b.value,0,a.value.length);
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between two descriptors stored inside of arrays.  Used with
+	 * packed descriptors, see {@link PackedTupleArray_F64}.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first element
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first element
+	 * @param length Number of elements in the descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq(double a[], int offsetA, double b[], int offsetB, int length) {
+		double total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+
+		int i = offsetA, j = offsetB;
+		final int endUnrolled = offsetA + length - length%4;
+		for( ; i < endUnrolled; i += 4, j += 4 ) {
+			double d0 = a[i  ]-b[j  ];
+			double d1 = a[i+1]-b[j+1];
+			double d2 = a[i+2]-b[j+2];
+			double d3 = a[i+3]-b[j+3];
+			total0 += d0*d0;
+			total1 += d1*d1;
+			total2 += d2*d2;
+			total3 += d3*d3;
+		}
+		final int end = offsetA+length;
+		for( ; i < end; i++, j++ ) {
+			double d = a[i]-b[j];
+			total0 += d*d;
 		}
 
-		return total;
+		return (total0+total1) + (total2+total3);
 	}
 
 	/**
@@ -71,14 +103,42 @@ public class DescriptorDistance {
 	 * @return Euclidean distance squared
 	 */
 	public static double euclideanSq(TupleDesc_F32 a, TupleDesc_F32 b) {
-		final int N = a.value.length;
-		float total = 0;
-		for( int i = 0; i < N; i++ ) {
-			double d = a.value[i]-b.value[i];
-			total += d*d;
+		return euclideanSq(a.value,0,b.value,0,a.value.length);
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between two descriptors stored inside of arrays.  Used with
+	 * packed descriptors, see {@link PackedTupleArray_F32}.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first element
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first element
+	 * @param length Number of elements in the descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq(float a[], int offsetA, float b[], int offsetB, int length) {
+		float total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+
+		int i = offsetA, j = offsetB;
+		final int endUnrolled = offsetA + length - length%4;
+		for( ; i < endUnrolled; i += 4, j += 4 ) {
+			float d0 = a[i  ]-b[j  ];
+			float d1 = a[i+1]-b[j+1];
+			float d2 = a[i+2]-b[j+2];
+			float d3 = a[i+3]-b[j+3];
+			total0 += d0*d0;
+			total1 += d1*d1;
+			total2 += d2*d2;
+			total3 += d3*d3;
+		}
+		final int end = offsetA+length;
+		for( ; i < end; i++, j++ ) {
+			float d = a[i]-b[j];
+			total0 += d*d;
 		}
 
-		return total;
+		return (total0+total1) + (total2+total3);
 	}
 
 	/**
@@ -89,13 +149,36 @@ public class DescriptorDistance {
 	 * @return Correlation score
 	 */
 	public static double correlation( TupleDesc_F64 a, TupleDesc_F64 b) {
-		final int N = a.value.length;
-		double total = 0;
-		for( int i = 0; i < N; i++ ) {
-			total += a.value[i]*b.value[i];
+		return correlation(a.value,0,b.value,0,a.value.length);
+	}
+
+	/**
+	 * Correlation score between two descriptors stored inside of arrays.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first element
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first element
+	 * @param length Number of elements in the descriptor
+	 * @return Correlation score
+	 */
+	public static double correlation(double a[], int offsetA, double b[], int offsetB, int length) {
+		double total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+
+		int i = offsetA, j = offsetB;
+		final int endUnrolled = offsetA + length - length%4;
+		for( ; i < endUnrolled; i += 4, j += 4 ) {
+			total0 += a[i  ]*b[j  ];
+			total1 += a[i+1]*b[j+1];
+			total2 += a[i+2]*b[j+2];
+			total3 += a[i+3]*b[j+3];
+		}
+		final int end = offsetA+length;
+		for( ; i < end; i++, j++ ) {
+			total0 += a[i]*b[j];
 		}
 
-		return total;
+		return (total0+total1) + (total2+total3);
 	}
 
 	/**
@@ -112,12 +195,8 @@ public class DescriptorDistance {
 	 * @return NCC score
 	 */
 	public static double ncc(NccFeature a, NccFeature b) {
-		double top = 0;
-
 		final int N = a.value.length;
-		for( int i = 0; i < N; i++ ) {
-			top += a.value[i]*b.value[i];
-		}
+		double top = correlation(a.value,0,b.value,0,N);
 
 		return top/(N*a.sigma * b.sigma);
 	}
@@ -130,12 +209,24 @@ public class DescriptorDistance {
 	 * @return SAD score
 	 */
 	public static int sad(TupleDesc_U8 a, TupleDesc_U8 b) {
+		final byte[] dataA = a.value;
+		final byte[] dataB = b.value;
+		final int N = dataA.length;
+
+		int total0 = 0, total1 = 0, total2 = 0, total3 = 0;
 
-		int total = 0;
-		for( int i = 0; i < a.value.length; i++ ) {
-			total += Math.abs( (a.value[i] & 0xFF) - (b.value[i] & 0xFF));
+		int i = 0;
+		final int endUnrolled = N - N%4;
+		for( ; i < endUnrolled; i += 4 ) {
+			total0 += Math.abs( (dataA[i  ] & 0xFF) - (dataB[i  ] & 0xFF));
+			total1 += Math.abs( (dataA[i+1] & 0xFF) - (dataB[i+1] & 0xFF));
+			total2 += Math.abs( (dataA[i+2] & 0xFF) - (dataB[i+2] & 0xFF));
+			total3 += Math.abs( (dataA[i+3] & 0xFF) - (dataB[i+3] & 0xFF));
 		}
-		return total;
+		for( ; i < N; i++ ) {
+			total0 += Math.abs( (dataA[i] & 0xFF) - (dataB[i] & 0xFF));
+		}
+		return (total0+total1) + (total2+total3);
 	}
 
 	/**
@@ -146,12 +237,24 @@ public class DescriptorDistance {
 	 * @return SAD score
 	 */
 	public static int sad(TupleDesc_S8 a, TupleDesc_S8 b) {
+		final byte[] dataA = a.value;
+		final byte[] dataB = b.value;
+		final int N = dataA.length;
+
+		int total0 = 0, total1 = 0, total2 = 0, total3 = 0;
 
-		int total = 0;
-		for( int i = 0; i < a.value.length; i++ ) {
-			total += Math.abs( a.value[i] - b.value[i]);
+		int i = 0;
+		final int endUnrolled = N - N%4;
+		for( ; i < endUnrolled; i += 4 ) {
+			total0 += Math.abs( dataA[i  ] - dataB[i  ]);
+			total1 += Math.abs( dataA[i+1] - dataB[i+1]);
+			total2 += Math.abs( dataA[i+2] - dataB[i+2]);
+			total3 += Math.abs( dataA[i+3] - dataB[i+3]);
+		}
+		for( ; i < N; i++ ) {
+			total0 += Math.abs( dataA[i] - dataB[i]);
 		}
-		return total;
+		return (total0+total1) + (total2+total3);
 	}
 
 	/**
@@ -162,12 +265,35 @@ public class DescriptorDistance {
 	 * @return SAD score
 	 */
 	public static float sad(TupleDesc_F32 a, TupleDesc_F32 b) {
+		return sad(a.value,0,b.value,0,a.value.length);
+	}
+
+	/**
+	 * Sum of absolute difference (SAD) score between two descriptors stored inside of arrays.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first element
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first element
+	 * @param length Number of elements in the descriptor
+	 * @return SAD score
+	 */
+	public static float sad(float a[], int offsetA, float b[], int offsetB, int length) {
+		float total0 = 0, total1 = 0, total2 = 0, total3 = 0;
 
-		float total = 0;
-		for( int i = 0; i < a.value.length; i++ ) {
-			total += Math.abs( a.value[i] - b.value[i]);
+		int i = offsetA, j = offsetB;
+		final int endUnrolled = offsetA + length - length%4;
+		for( ; i < endUnrolled; i += 4, j += 4 ) {
+			total0 += Math.abs( a[i  ] - b[j  ]);
+			total1 += Math.abs( a[i+1] - b[j+1]);
+			total2 += Math.abs( a[i+2] - b[j+2]);
+			total3 += Math.abs( a[i+3] - b[j+3]);
 		}
-		return total;
+		final int end = offsetA+length;
+		for( ; i < end; i++, j++ ) {
+			total0 += Math.abs( a[i] - b[j]);
+		}
+		return (total0+total1) + (total2+total3);
 	}
 
 	/**
@@ -178,12 +304,35 @@ public class DescriptorDistance {
 	 * @return SAD score
 	 */
 	public static double sad(TupleDesc_F64 a, TupleDesc_F64 b) {
+		return sad(a.value,0,b.value,0,a.value.length);
+	}
+
+	/**
+	 * Sum of absolute difference (SAD) score between two descriptors stored inside of arrays.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first element
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first element
+	 * @param length Number of elements in the descriptor
+	 * @return SAD score
+	 */
+	public static double sad(double a[], int offsetA, double b[], int offsetB, int length) {
+		double total0 = 0, total1 = 0, total2 = 0, total3 = 0;
 
-		double total = 0;
-		for( int i = 0; i < a.value.length; i++ ) {
-			total += Math.abs( a.value[i] - b.value[i]);
+		int i = offsetA, j = offsetB;
+		final int endUnrolled = offsetA + length - length%4;
+		for( ; i < endUnrolled; i += 4, j += 4 ) {
+			total0 += Math.abs( a[i  ] - b[j  ]);
+			total1 += Math.abs( a[i+1] - b[j+1]);
+			total2 += Math.abs( a[i+2] - b[j+2]);
+			total3 += Math.abs( a[i+3] - b[j+3]);
+		}
+		final int end = offsetA+length;
+		for( ; i < end; i++, j++ ) {
+			total0 += Math.abs( a[i] - b[j]);
 		}
-		return total;
+		return (total0+total1) + (total2+total3);
 	}
 
 	/**
@@ -194,10 +343,45 @@ public class DescriptorDistance {
 	 * @return The hamming distance
 	 */
 	public static int hamming( TupleDesc_B a, TupleDesc_B b ) {
+		return hamming(a.data,0,b.data,0,a.data.length);
+	}
+
+	/**
+	 * Computes the hamming distance between two binary feature descriptors stored inside of arrays.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first element
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first element
+	 * @param length Number of ints in the descriptor
+	 * @return The hamming distance
+	 */
+	public static int hamming( int a[], int offsetA, int b[], int offsetB, int length ) {
 		int score = 0;
-		final int N = a.data.length;
-		for( int i = 0; i < N; i++ ) {
-			score += hamming(a.data[i] ^ b.data[i]);
+		final int end = offsetA+length;
+		for( int i = offsetA, j = offsetB; i < end; i++, j++ ) {
+			score += Integer.bitCount(a[i] ^ b[j]);
+		}
+		return score;
+	}
+
+	/**
+	 * Computes the hamming distance between two binary feature descriptors which have been packed into arrays
+	 * of longs.  Used with packed descriptors, see {@link PackedTupleArray_B}.  Processes twice as many bits
+	 * with each instruction as the equivalent function for ints.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first element
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first element
+	 * @param length Number of longs in the descriptor
+	 * @return The hamming distance
+	 */
+	public static int hamming( long a[], int offsetA, long b[], int offsetB, int length ) {
+		int score = 0;
+		final int end = offsetA+length;
+		for( int i = offsetA, j = offsetB; i < end; i++, j++ ) {
+			score += Long.bitCount(a[i] ^ b[j]);
 		}
 		return score;
 	}
@@ -209,12 +393,6 @@ public class DescriptorDistance {
 	 * @return The hamming distance
 	 */
 	public static int hamming( int val ) {
-		int distance = 0;
-
-		while( val != 0 ) {
-			val &= val - 1;
-			distance++;
-		}
-		return distance;
+		return Integer.bitCount(val);
 	}
 }
@@ -19,7 +19,8 @@
 package boofcv.alg.feature.associate;
 
 /**
- * Lookup table for hamming distance from 16-bit variables
+ * Lookup table for hamming distance from 16-bit variables.  On most processors the functions in
+ * {@link DescriptorDistance}, which count bits using a single instruction, are faster.
  *
  * @author Peter Abeles
  */
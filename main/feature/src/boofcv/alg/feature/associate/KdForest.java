@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.feature.PackedTupleArray_F64;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Forest of randomized K-D trees [1] for approximate nearest neighbor searches of descriptors with a high degree of
+ * freedom, e.g. SIFT and SURF.  Each tree splits its points at the median along one of the axes with the largest
+ * variance.  In a randomized forest the axis is selected randomly from the numConsiderSplit axes with the largest
+ * variance, so each tree partitions the space differently.  A forest with one tree which considers one axis is
+ * the standard K-D tree.  Searches are done using {@link KdForestSearchBbf}.
+ * </p>
+ *
+ * <p>
+ * Trees are stored inside of primitive arrays and the points are referred to by their index inside of the
+ * {@link PackedTupleArray_F64} passed to {@link #setPoints(PackedTupleArray_F64)}.  The points must not be
+ * modified while the forest is in use.  Once constructed the forest is only read from, so any number of
+ * searches can be performed concurrently as long as each thread has its own {@link KdForestSearchBbf}.
+ * </p>
+ *
+ * <p>
+ * [1] Silpa-Anan, C. and Hartley, R. "Optimised KD-trees for fast image descriptor matching." CVPR 2008
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class KdForest {
+
+	// maximum number of points which are sampled when computing the variance of each axis
+	private static final int SAMPLE_SIZE = 100;
+
+	// number of trees in the forest
+	private int numTrees;
+	// number of axes with the largest variance which are randomly selected from
+	private int numConsiderSplit;
+	// selects the split axis
+	private Random rand;
+
+	// the points which are being searched
+	PackedTupleArray_F64 points;
+	// the trees
+	Tree trees[];
+
+	// work space for constructing the trees
+	private int indexes[] = new int[0];
+	private double mean[] = new double[0];
+	private double variance[] = new double[0];
+	private int bestAxes[] = new int[0];
+
+	// storage for searches used by the batch query
+	private List<KdForestSearchBbf> searches = new ArrayList<KdForestSearchBbf>();
+
+	/**
+	 * Configures the forest.
+	 *
+	 * @param numTrees Number of trees in the forest.  Try 4 for a randomized forest or 1 for a K-D tree.
+	 * @param numConsiderSplit Number of axes with the largest variance that a split is randomly selected from.
+	 *                         Try 5 for a randomized forest or 1 for a K-D tree.
+	 * @param randomSeed Seed for the random number generator
+	 */
+	public KdForest( int numTrees , int numConsiderSplit , long randomSeed ) {
+		if( numTrees < 1 )
+			throw new IllegalArgumentException("There must be at least one tree");
+		if( numConsiderSplit < 1 )
+			throw new IllegalArgumentException("numConsiderSplit must be at least one");
+
+		this.numTrees = numTrees;
+		this.numConsiderSplit = numConsiderSplit;
+		this.rand = new Random(randomSeed);
+
+		trees = new Tree[numTrees];
+		for( int i = 0; i < numTrees; i++ ) {
+			trees[i] = new Tree();
+		}
+	}
+
+	/**
+	 * Constructs the forest from the set of points.
+	 *
+	 * @param points Points which are to be searched.  Reference is saved internally.
+	 */
+	public void setPoints( PackedTupleArray_F64 points ) {
+		this.points = points;
+
+		final int N = points.size();
+		final int dof = points.dof;
+
+		if( indexes.length < N )
+			indexes = new int[N];
+		if( mean.length < dof ) {
+			mean = new double[dof];
+			variance = new double[dof];
+		}
+		int numConsider = Math.min(numConsiderSplit,dof);
+		if( bestAxes.length < numConsider )
+			bestAxes = new int[numConsider];
+
+		for( int i = 0; i < numTrees; i++ ) {
+			Tree t = trees[i];
+			t.reset(Math.max(1,2*N-1));
+
+			for( int j = 0; j < N; j++ )
+				indexes[j] = j;
+
+			if( N > 0 )
+				construct(t, 0, N, numConsider);
+		}
+	}
+
+	/**
+	 * Recursively constructs the tree for the points in indexes from i0 to i1-1.
+	 *
+	 * @return Index of the node which was created
+	 */
+	private int construct( Tree tree , int i0 , int i1 , int numConsider ) {
+		int node = tree.numNodes++;
+
+		if( i1-i0 == 1 ) {
+			tree.split[node] = -1;
+			tree.left[node] = indexes[i0];
+			return node;
+		}
+
+		int axis = selectSplitAxis(i0, i1, numConsider);
+		int middle = (i0+i1)/2;
+		select(axis, i0, i1, middle);
+
+		tree.split[node] = axis;
+		tree.value[node] = points.data[indexes[middle]*points.dof+axis];
+		tree.left[node] = construct(tree, i0, middle, numConsider);
+		tree.right[node] = construct(tree, middle, i1, numConsider);
+
+		return node;
+	}
+
+	/**
+	 * Computes the variance along each axis using a sample of the points and randomly selects one of the
+	 * axes with the largest variance.
+	 */
+	private int selectSplitAxis( int i0 , int i1 , int numConsider ) {
+		final int dof = points.dof;
+		final double data[] = points.data;
+		final int end = Math.min(i1, i0 + SAMPLE_SIZE);
+		final int N = end-i0;
+
+		for( int k = 0; k < dof; k++ ) {
+			mean[k] = 0;
+			variance[k] = 0;
+		}
+		for( int i = i0; i < end; i++ ) {
+			int offset = indexes[i]*dof;
+			for( int k = 0; k < dof; k++ )
+				mean[k] += data[offset+k];
+		}
+		for( int k = 0; k < dof; k++ )
+			mean[k] /= N;
+		for( int i = i0; i < end; i++ ) {
+			int offset = indexes[i]*dof;
+			for( int k = 0; k < dof; k++ ) {
+				double d = data[offset+k]-mean[k];
+				variance[k] += d*d;
+			}
+		}
+
+		// find the axes with the largest variance, sorted from largest to smallest
+		int numFound = 0;
+		for( int k = 0; k < dof; k++ ) {
+			if( numFound < numConsider ) {
+				numFound++;
+			} else if( variance[k] <= variance[bestAxes[numFound-1]] ) {
+				continue;
+			}
+			int j = numFound-1;
+			while( j > 0 && variance[bestAxes[j-1]] < variance[k] ) {
+				bestAxes[j] = bestAxes[j-1];
+				j--;
+			}
+			bestAxes[j] = k;
+		}
+
+		if( numConsider == 1 )
+			return bestAxes[0];
+		return bestAxes[rand.nextInt(numConsider)];
+	}
+
+	/**
+	 * Rearranges indexes from i0 to i1-1 so that the point at 'target' has the value it would have if they were
+	 * sorted along the axis.  Points before it are less than or equal and points after are greater than or equal.
+	 */
+	private void select( int axis , int i0 , int i1 , int target ) {
+		final int dof = points.dof;
+		final double data[] = points.data;
+
+		int lo = i0, hi = i1-1;
+		while( lo < hi ) {
+			double pivot = data[indexes[(lo+hi) >>> 1]*dof+axis];
+			int i = lo, j = hi;
+			while( i <= j ) {
+				while( data[indexes[i]*dof+axis] < pivot ) i++;
+				while( data[indexes[j]*dof+axis] > pivot ) j--;
+				if( i <= j ) {
+					int tmp = indexes[i];
+					indexes[i] = indexes[j];
+					indexes[j] = tmp;
+					i++;
+					j--;
+				}
+			}
+			if( target <= j )
+				hi = j;
+			else if( target >= i )
+				lo = i;
+			else
+				break;
+		}
+	}
+
+	/**
+	 * Creates a new search for this forest.  Each thread must use its own search.
+	 *
+	 * @param maxNodesSearched Maximum number of points that are examined.  If &le; 0 then the search is exact.
+	 * @return New search.
+	 */
+	public KdForestSearchBbf createSearch( int maxNodesSearched ) {
+		return new KdForestSearchBbf(this,maxNodesSearched);
+	}
+
+	/**
+	 * <p>
+	 * Finds the k nearest neighbors of every query.  The queries are split up into blocks which are searched
+	 * concurrently, see {@link BoofConcurrency}.  The results are identical to searching each query in order.
+	 * </p>
+	 *
+	 * <p>
+	 * Results for query i are stored from index i*k to (i+1)*k-1 in the output, ordered from closest to farthest.
+	 * If fewer than k neighbors were found then the remaining indexes are set to -1 and the distances to
+	 * Double.MAX_VALUE.
+	 * </p>
+	 *
+	 * @param queries Points which are being searched for.
+	 * @param maxDistance Maximum Euclidean distance a neighbor can be from the query, exclusive.  If &le; 0 then
+	 *                    there is no limit.
+	 * @param k Number of neighbors to find for each query.
+	 * @param maxNodesSearched Maximum number of points that are examined.  If &le; 0 then the search is exact.
+	 * @param indexes (Output) Index of the neighbors.
+	 * @param distances (Output) Euclidean distance squared to each neighbor.
+	 */
+	public void findNearest( final PackedTupleArray_F64 queries , final double maxDistance , final int k ,
+							 int maxNodesSearched ,
+							 final GrowQueue_I32 indexes , final GrowQueue_F64 distances ) {
+		final int numQueries = queries.size();
+		indexes.resize(numQueries*k);
+		distances.resize(numQueries*k);
+
+		// estimate the cost of a single query so that small tasks are not split up
+		int numChecked = maxNodesSearched <= 0 ? points.size() : Math.min(points.size(),maxNodesSearched);
+		int costPerQuery = Math.max(1,numChecked*points.dof);
+		final int numBlocks = BoofConcurrency.computeBlocks(numQueries,
+				Math.max(1,BoofConcurrency.getMinimumPixels()/costPerQuery));
+
+		while( searches.size() < numBlocks )
+			searches.add(createSearch(maxNodesSearched));
+		for( int i = 0; i < numBlocks; i++ )
+			searches.get(i).setMaxNodesSearched(maxNodesSearched);
+
+		BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for( int block = index0; block < index1; block++ ) {
+					int q0 = (int)((long)numQueries*block/numBlocks);
+					int q1 = (int)((long)numQueries*(block+1)/numBlocks);
+
+					KdForestSearchBbf search = searches.get(block);
+					for( int q = q0; q < q1; q++ ) {
+						search.findNearest(queries.data, q*queries.dof, maxDistance, k);
+						int numFound = search.getNumFound();
+						for( int i = 0; i < k; i++ ) {
+							if( i < numFound ) {
+								indexes.data[q*k+i] = search.getIndex(i);
+								distances.data[q*k+i] = search.getDistance(i);
+							} else {
+								indexes.data[q*k+i] = -1;
+								distances.data[q*k+i] = Double.MAX_VALUE;
+							}
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns the points which are being searched
+	 */
+	public PackedTupleArray_F64 getPoints() {
+		return points;
+	}
+
+	public int getNumTrees() {
+		return numTrees;
+	}
+
+	/**
+	 * Storage for a single K-D tree.  Node 0 is the root.
+	 */
+	static class Tree {
+		// axis the node is split along.  -1 if it's a leaf
+		int split[] = new int[0];
+		// value the node is split at
+		double value[] = new double[0];
+		// index of the left child node or the point if it's a leaf
+		int left[] = new int[0];
+		// index of the right child node
+		int right[] = new int[0];
+		// number of nodes in the tree
+		int numNodes;
+
+		void reset( int maxNodes ) {
+			if( split.length < maxNodes ) {
+				split = new int[maxNodes];
+				value = new double[maxNodes];
+				left = new int[maxNodes];
+				right = new int[maxNodes];
+			}
+			numNodes = 0;
+		}
+	}
+}
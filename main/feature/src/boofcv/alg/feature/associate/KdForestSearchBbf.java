@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.PackedTupleArray_F64;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Best-bin-first [1] search for the k nearest neighbors inside of a {@link KdForest}.  Each tree is first descended
+ * to the leaf containing the query.  Branches which were not taken are saved in a priority queue ordered by their
+ * distance from the query along the split axis.  Branches are then explored in order until the maximum number
+ * of points has been examined or the closest remaining branch is farther away than the k-th best neighbor found.
+ * If there is no limit on the number of points examined then the search is exact.
+ * </p>
+ *
+ * <p>
+ * Points which are in multiple trees are only examined once.  Not thread safe, create a search for each
+ * thread using {@link KdForest#createSearch(int)}.
+ * </p>
+ *
+ * <p>
+ * [1] Beis, J. and Lowe, D. "Shape indexing using approximate nearest-neighbour search in high-dimensional
+ * spaces."  CVPR 1997
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class KdForestSearchBbf {
+
+	// the forest being searched
+	private KdForest forest;
+
+	// maximum number of points examined.  <= 0 for no limit
+	private int maxNodesSearched;
+
+	// priority queue of unexplored branches.  Binary min-heap
+	private double heapDistance[] = new double[32];
+	private int heapNode[] = new int[32];
+	private int heapTree[] = new int[32];
+	private int heapSize;
+
+	// marks which points have already been examined in the current search
+	private int visited[] = new int[0];
+	private int searchID;
+	// number of points examined
+	private int numChecked;
+
+	// the k best neighbors found, sorted from best to worst
+	private int bestIndex[] = new int[0];
+	private double bestDistance[] = new double[0];
+	private int numFound;
+	private int k;
+	// maximum distance squared that a neighbor can be
+	private double maxDistanceSq;
+
+	/**
+	 * Creates a search for the specified forest
+	 *
+	 * @param forest The forest which is searched
+	 * @param maxNodesSearched Maximum number of points that are examined.  If &le; 0 then the search is exact.
+	 */
+	public KdForestSearchBbf( KdForest forest , int maxNodesSearched ) {
+		this.forest = forest;
+		this.maxNodesSearched = maxNodesSearched;
+	}
+
+	/**
+	 * Searches for the k nearest neighbors of the query.  Results are accessed using {@link #getNumFound()},
+	 * {@link #getIndex(int)}, and {@link #getDistance(int)}.
+	 *
+	 * @param query Array containing the query
+	 * @param offset Index of the query's first element in the array
+	 * @param maxDistance Maximum Euclidean distance a neighbor can be from the query, exclusive.  If &le; 0 then
+	 *                    there is no limit.
+	 * @param k Number of neighbors it will search for.
+	 * @return true if at least one neighbor was found.
+	 */
+	public boolean findNearest( double query[] , int offset , double maxDistance , int k ) {
+		if( k < 1 )
+			throw new IllegalArgumentException("k must be at least one");
+
+		PackedTupleArray_F64 points = forest.points;
+
+		this.k = k;
+		this.numFound = 0;
+		this.numChecked = 0;
+		this.heapSize = 0;
+		this.maxDistanceSq = maxDistance <= 0 ? Double.MAX_VALUE : maxDistance*maxDistance;
+		if( bestIndex.length < k ) {
+			bestIndex = new int[k];
+			bestDistance = new double[k];
+		}
+
+		if( points == null || points.size() == 0 )
+			return false;
+
+		if( visited.length < points.size() ) {
+			visited = new int[points.size()];
+			searchID = 0;
+		}
+		if( ++searchID == Integer.MAX_VALUE ) {
+			Arrays.fill(visited,0);
+			searchID = 1;
+		}
+
+		KdForest.Tree trees[] = forest.trees;
+		for( int i = 0; i < trees.length; i++ ) {
+			descend(query, offset, i, 0);
+		}
+
+		while( heapSize > 0 ) {
+			if( maxNodesSearched > 0 && numChecked >= maxNodesSearched )
+				break;
+
+			double distance = heapDistance[0];
+			if( distance >= worstDistance() )
+				break;
+			int node = heapNode[0];
+			int tree = heapTree[0];
+			heapPop();
+
+			descend(query, offset, tree, node);
+		}
+
+		return numFound > 0;
+	}
+
+	/**
+	 * Descends the tree until it hits a leaf.  Branches not taken are added to the priority queue.
+	 */
+	private void descend( double query[] , int offset , int treeIndex , int node ) {
+		KdForest.Tree tree = forest.trees[treeIndex];
+
+		while( tree.split[node] >= 0 ) {
+			double d = query[offset+tree.split[node]] - tree.value[node];
+			int near, far;
+			if( d < 0 ) {
+				near = tree.left[node];
+				far = tree.right[node];
+			} else {
+				near = tree.right[node];
+				far = tree.left[node];
+			}
+
+			double distanceFar = d*d;
+			if( distanceFar < worstDistance() )
+				heapPush(distanceFar, far, treeIndex);
+
+			node = near;
+		}
+
+		checkPoint(query, offset, tree.left[node]);
+	}
+
+	/**
+	 * Computes the distance to the point and adds it to the list of best neighbors if it's good enough
+	 */
+	private void checkPoint( double query[] , int offset , int index ) {
+		if( visited[index] == searchID )
+			return;
+		visited[index] = searchID;
+		numChecked++;
+
+		PackedTupleArray_F64 points = forest.points;
+		double distance = DescriptorDistance.euclideanSq(query, offset, points.data, index*points.dof, points.dof);
+
+		if( distance >= worstDistance() )
+			return;
+
+		// insert into the sorted list of best neighbors
+		int i = numFound < k ? numFound++ : k-1;
+		while( i > 0 && bestDistance[i-1] > distance ) {
+			bestDistance[i] = bestDistance[i-1];
+			bestIndex[i] = bestIndex[i-1];
+			i--;
+		}
+		bestDistance[i] = distance;
+		bestIndex[i] = index;
+	}
+
+	/**
+	 * Distance a point must be less than to be added to the list of best neighbors
+	 */
+	private double worstDistance() {
+		return numFound < k ? maxDistanceSq : bestDistance[k-1];
+	}
+
+	private void heapPush( double distance , int node , int tree ) {
+		if( heapSize == heapDistance.length ) {
+			int length = heapSize*2;
+			heapDistance = Arrays.copyOf(heapDistance,length);
+			heapNode = Arrays.copyOf(heapNode,length);
+			heapTree = Arrays.copyOf(heapTree,length);
+		}
+
+		int i = heapSize++;
+		while( i > 0 ) {
+			int parent = (i-1) >> 1;
+			if( heapDistance[parent] <= distance )
+				break;
+			heapDistance[i] = heapDistance[parent];
+			heapNode[i] = heapNode[parent];
+			heapTree[i] = heapTree[parent];
+			i = parent;
+		}
+		heapDistance[i] = distance;
+		heapNode[i] = node;
+		heapTree[i] = tree;
+	}
+
+	private void heapPop() {
+		heapSize--;
+		if( heapSize == 0 )
+			return;
+
+		double distance = heapDistance[heapSize];
+		int node = heapNode[heapSize];
+		int tree = heapTree[heapSize];
+
+		int i = 0;
+		while( true ) {
+			int child = 2*i+1;
+			if( child >= heapSize )
+				break;
+			if( child+1 < heapSize && heapDistance[child+1] < heapDistance[child] )
+				child++;
+			if( distance <= heapDistance[child] )
+				break;
+			heapDistance[i] = heapDistance[child];
+			heapNode[i] = heapNode[child];
+			heapTree[i] = heapTree[child];
+			i = child;
+		}
+		heapDistance[i] = distance;
+		heapNode[i] = node;
+		heapTree[i] = tree;
+	}
+
+	/**
+	 * Number of neighbors found in the most recent search.  At most k.
+	 */
+	public int getNumFound() {
+		return numFound;
+	}
+
+	/**
+	 * Index of a neighbor found in the most recent search.  0 is the closest.
+	 *
+	 * @param which Which neighbor, from 0 to {@link #getNumFound()}-1
+	 * @return Index of the point in the forest
+	 */
+	public int getIndex( int which ) {
+		return bestIndex[which];
+	}
+
+	/**
+	 * Euclidean distance squared to a neighbor found in the most recent search.
+	 *
+	 * @param which Which neighbor, from 0 to {@link #getNumFound()}-1
+	 * @return Distance squared
+	 */
+	public double getDistance( int which ) {
+		return bestDistance[which];
+	}
+
+	/**
+	 * Number of points that were examined in the most recent search
+	 */
+	public int getNumChecked() {
+		return numChecked;
+	}
+
+	public int getMaxNodesSearched() {
+		return maxNodesSearched;
+	}
+
+	public void setMaxNodesSearched(int maxNodesSearched) {
+		this.maxNodesSearched = maxNodesSearched;
+	}
+}
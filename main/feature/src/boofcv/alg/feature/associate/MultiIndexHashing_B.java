@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Multi-index hashing [1] for exact nearest neighbor searches of binary descriptors using the Hamming distance.
+ * Each descriptor is broken up into m disjoint substrings and each substring is used as a key in its own hash
+ * table.  If two descriptors are within a Hamming distance of r then at least one of their substrings must be
+ * within a distance of floor(r/m).  Searches are done by looking up all the keys which are within a small
+ * distance of the query's substrings, then checking the full distance of each candidate.  For short search radii
+ * this only examines a small fraction of the descriptors.
+ * </p>
+ *
+ * <p>
+ * Descriptors can be added and removed at any time.  Each descriptor is assigned a unique ID when it is added,
+ * which is its index in the order it was added.  IDs of removed descriptors are not reused until
+ * {@link #clear()} is called.  Only a reference to each descriptor is saved and they must not be modified while
+ * inside the index.
+ * </p>
+ *
+ * <p>
+ * Substrings can be at most 32 bits long.  A good choice for the number of substrings is about
+ * numBits/log<sub>2</sub>(N), where N is the number of descriptors, e.g. 16 tables of 16-bits for a
+ * 256-bit descriptor and a database with about 65,000 descriptors.  Searches are not thread safe.
+ * </p>
+ *
+ * <p>
+ * [1] Norouzi, Mohammad, Ali Punjani, and David J. Fleet. "Fast search in hamming space with multi-index hashing."
+ * CVPR 2012
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MultiIndexHashing_B {
+
+	// number of bits in the descriptor
+	private int numBits;
+	// first bit in each substring
+	private int chunkStart[];
+	// number of bits in each substring
+	private int chunkLength[];
+
+	// hash table for each substring.  Maps the substring's value to the IDs of descriptors with that value
+	private List<Map<Integer,GrowQueue_I32>> tables;
+
+	// all descriptors which have been added.  Removed descriptors are set to null
+	private List<TupleDesc_B> descriptions = new ArrayList<TupleDesc_B>();
+	// number of descriptors which have not been removed
+	private int numActive;
+
+	// marks which descriptors have already been examined in the current search
+	private int visited[] = new int[0];
+	private int searchID;
+
+	// key for each substring in the query
+	private int queryKeys[];
+
+	// candidates encoded as (distance << 32 | id) so that they can be sorted by distance then ID
+	private long candidates[] = new long[10];
+	private int numCandidates;
+
+	/**
+	 * Configures the index
+	 *
+	 * @param numBits Number of bits in the descriptor.
+	 * @param numTables Number of substrings and hash tables.  Each substring can be at most 32 bits.
+	 */
+	public MultiIndexHashing_B( int numBits , int numTables ) {
+		if( numTables <= 0 || numTables > numBits )
+			throw new IllegalArgumentException("Number of tables must be from 1 to the number of bits");
+		if( (numBits+numTables-1)/numTables > 32 )
+			throw new IllegalArgumentException("Too few tables.  Substrings can be at most 32 bits long");
+
+		this.numBits = numBits;
+
+		chunkStart = new int[numTables];
+		chunkLength = new int[numTables];
+		int bit = 0;
+		for( int i = 0; i < numTables; i++ ) {
+			chunkStart[i] = bit;
+			chunkLength[i] = numBits/numTables + (i < numBits%numTables ? 1 : 0);
+			bit += chunkLength[i];
+		}
+
+		tables = new ArrayList<Map<Integer,GrowQueue_I32>>(numTables);
+		for( int i = 0; i < numTables; i++ ) {
+			tables.add(new HashMap<Integer, GrowQueue_I32>());
+		}
+		queryKeys = new int[numTables];
+	}
+
+	/**
+	 * Adds a descriptor to the index.
+	 *
+	 * @param desc The descriptor.  A reference is saved.
+	 * @return The descriptor's ID
+	 */
+	public int add( TupleDesc_B desc ) {
+		if( desc.numBits != numBits )
+			throw new IllegalArgumentException("Unexpected number of bits in descriptor");
+
+		int id = descriptions.size();
+		descriptions.add(desc);
+		numActive++;
+
+		for( int i = 0; i < tables.size(); i++ ) {
+			int key = extract(desc.data,chunkStart[i],chunkLength[i]);
+			GrowQueue_I32 bucket = tables.get(i).get(key);
+			if( bucket == null ) {
+				bucket = new GrowQueue_I32(1);
+				tables.get(i).put(key,bucket);
+			}
+			bucket.add(id);
+		}
+
+		return id;
+	}
+
+	/**
+	 * Removes a descriptor from the index.
+	 *
+	 * @param id The ID of the descriptor which is to be removed
+	 * @return true if it was removed or false if it had already been removed
+	 */
+	public boolean remove( int id ) {
+		TupleDesc_B desc = descriptions.get(id);
+		if( desc == null )
+			return false;
+
+		for( int i = 0; i < tables.size(); i++ ) {
+			int key = extract(desc.data,chunkStart[i],chunkLength[i]);
+			GrowQueue_I32 bucket = tables.get(i).get(key);
+
+			for( int j = 0; j < bucket.size; j++ ) {
+				if( bucket.data[j] == id ) {
+					bucket.data[j] = bucket.data[--bucket.size];
+					break;
+				}
+			}
+			if( bucket.size == 0 )
+				tables.get(i).remove(key);
+		}
+
+		descriptions.set(id,null);
+		numActive--;
+		return true;
+	}
+
+	/**
+	 * Removes all descriptors and resets the IDs
+	 */
+	public void clear() {
+		for( int i = 0; i < tables.size(); i++ ) {
+			tables.get(i).clear();
+		}
+		descriptions.clear();
+		numActive = 0;
+	}
+
+	/**
+	 * Finds all descriptors which are within the specified Hamming distance of the query.
+	 *
+	 * @param query The descriptor being searched for
+	 * @param radius Maximum Hamming distance, inclusive
+	 * @param foundID (Output) IDs of descriptors found, sorted by distance then ID
+	 * @param foundDistance (Output) Hamming distance of each found descriptor.  Can be null.
+	 */
+	public void searchRadius( TupleDesc_B query , int radius ,
+							  GrowQueue_I32 foundID , GrowQueue_I32 foundDistance ) {
+		startSearch(query);
+
+		// pigeonhole principle. At least one substring must be within this distance
+		int maxChunkDistance = radius/tables.size();
+		for( int d = 0; d <= maxChunkDistance && d <= maxChunkLength(); d++ ) {
+			if( searchChunks(query,d,radius) )
+				break;
+		}
+
+		sortCandidates();
+		saveResults(numCandidates,foundID,foundDistance);
+	}
+
+	/**
+	 * Finds the k nearest neighbors to the query.  Ties are broken by selecting the descriptor with the lower ID.
+	 *
+	 * @param query The descriptor being searched for
+	 * @param k Maximum number of neighbors it will return
+	 * @param maxDistance Maximum Hamming distance, inclusive, of a neighbor
+	 * @param foundID (Output) IDs of descriptors found, sorted by distance then ID
+	 * @param foundDistance (Output) Hamming distance of each found descriptor.  Can be null.
+	 */
+	public void searchNearest( TupleDesc_B query , int k , int maxDistance ,
+							   GrowQueue_I32 foundID , GrowQueue_I32 foundDistance ) {
+		startSearch(query);
+
+		int maxLength = maxChunkLength();
+		for( int d = 0; d <= maxLength; d++ ) {
+			if( searchChunks(query,d,maxDistance) )
+				break;
+
+			// Any descriptor not yet examined has a distance of at least this much
+			int bound = tables.size()*(d+1);
+			if( bound > maxDistance )
+				break;
+
+			int numSure = 0;
+			for( int i = 0; i < numCandidates; i++ ) {
+				if( (int)(candidates[i] >> 32) < bound )
+					numSure++;
+			}
+			if( numSure >= k )
+				break;
+		}
+
+		sortCandidates();
+		saveResults(Math.min(k,numCandidates),foundID,foundDistance);
+	}
+
+	/**
+	 * Examines all descriptors which have a substring at exactly the specified distance from the query.  If it
+	 * would be faster to examine all the descriptors instead then that is done.
+	 *
+	 * @return true if all the descriptors have been examined
+	 */
+	private boolean searchChunks( TupleDesc_B query , int chunkDistance , int maxDistance ) {
+		long numKeys = 0;
+		for( int i = 0; i < tables.size(); i++ ) {
+			numKeys += combinations(chunkLength[i], chunkDistance);
+		}
+
+		if( numKeys >= numActive ) {
+			for( int id = 0; id < descriptions.size(); id++ ) {
+				checkCandidate(query,id,maxDistance);
+			}
+			return true;
+		}
+
+		for( int i = 0; i < tables.size(); i++ ) {
+			int key = queryKeys[i];
+			Map<Integer,GrowQueue_I32> table = tables.get(i);
+
+			if( chunkDistance == 0 ) {
+				checkBucket(query,table.get(key),maxDistance);
+				continue;
+			}
+
+			// go through all bit masks with 'chunkDistance' bits set using Gosper's hack
+			long limit = 1L << chunkLength[i];
+			long mask = (1L << chunkDistance) - 1;
+			while( mask < limit ) {
+				checkBucket(query,table.get(key ^ (int)mask),maxDistance);
+
+				long c = mask & -mask;
+				long r = mask + c;
+				mask = (((r ^ mask) >>> 2) / c) | r;
+			}
+		}
+
+		return false;
+	}
+
+	private void checkBucket( TupleDesc_B query , GrowQueue_I32 bucket , int maxDistance ) {
+		if( bucket == null )
+			return;
+		for( int j = 0; j < bucket.size; j++ ) {
+			checkCandidate(query,bucket.data[j],maxDistance);
+		}
+	}
+
+	/**
+	 * Computes the full distance to the descriptor if it hasn't already been examined
+	 */
+	private void checkCandidate( TupleDesc_B query , int id , int maxDistance ) {
+		if( visited[id] == searchID )
+			return;
+		visited[id] = searchID;
+
+		TupleDesc_B desc = descriptions.get(id);
+		if( desc == null )
+			return;
+
+		int distance = DescriptorDistance.hamming(query,desc);
+		if( distance > maxDistance )
+			return;
+
+		if( numCandidates == candidates.length ) {
+			candidates = Arrays.copyOf(candidates,numCandidates*2);
+		}
+		candidates[numCandidates++] = ((long)distance << 32) | id;
+	}
+
+	private void startSearch( TupleDesc_B query ) {
+		if( query.numBits != numBits )
+			throw new IllegalArgumentException("Unexpected number of bits in descriptor");
+
+		if( visited.length < descriptions.size() ) {
+			visited = new int[ descriptions.size() + descriptions.size()/4 + 1 ];
+			searchID = 0;
+		}
+		if( ++searchID == 0 ) {
+			// handle overflow
+			Arrays.fill(visited,0);
+			searchID = 1;
+		}
+
+		for( int i = 0; i < tables.size(); i++ ) {
+			queryKeys[i] = extract(query.data,chunkStart[i],chunkLength[i]);
+		}
+		numCandidates = 0;
+	}
+
+	private void sortCandidates() {
+		Arrays.sort(candidates,0,numCandidates);
+	}
+
+	private void saveResults( int total , GrowQueue_I32 foundID , GrowQueue_I32 foundDistance ) {
+		foundID.reset();
+		if( foundDistance != null )
+			foundDistance.reset();
+
+		for( int i = 0; i < total; i++ ) {
+			foundID.add((int)candidates[i]);
+			if( foundDistance != null )
+				foundDistance.add((int)(candidates[i] >> 32));
+		}
+	}
+
+	private int maxChunkLength() {
+		return chunkLength[0];
+	}
+
+	/**
+	 * Extracts a sequence of bits from the descriptor and returns them as an integer
+	 *
+	 * @param data Descriptor data
+	 * @param bit0 First bit in the sequence
+	 * @param length Number of bits, at most 32
+	 */
+	protected static int extract( int[] data , int bit0 , int length ) {
+		int index = bit0 >> 5;
+		int offset = bit0 & 0x1F;
+
+		long value = (data[index] & 0xFFFFFFFFL) >>> offset;
+		if( offset + length > 32 )
+			value |= (data[index+1] & 0xFFFFFFFFL) << (32-offset);
+
+		if( length < 32 )
+			value &= (1L << length) - 1;
+
+		return (int)value;
+	}
+
+	/**
+	 * Number of ways k items can be selected from n
+	 */
+	protected static long combinations( int n , int k ) {
+		if( k > n )
+			return 0;
+		long total = 1;
+		for( int i = 0; i < k; i++ ) {
+			total = total*(n-i)/(i+1);
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the descriptor with the specified ID or null if it has been removed
+	 */
+	public TupleDesc_B getDescription( int id ) {
+		return descriptions.get(id);
+	}
+
+	/**
+	 * Number of descriptors in the index
+	 */
+	public int size() {
+		return numActive;
+	}
+
+	public int getNumBits() {
+		return numBits;
+	}
+
+	public int getNumTables() {
+		return tables.size();
+	}
+}
@@ -69,6 +69,9 @@ public class DescribePointSift {
 	private double[][] histograms;
 	private double[] gridWeights;
 
+	// adjusts descriptor element's weighting from center, before it is scaled by the descriptor length
+	private double weightSigma;
+
 	/**
 	 * Configures detector
 	 *
@@ -84,6 +87,7 @@ public class DescribePointSift {
 		this.numSamples = numSamples;
 		this.numHistBins = numHistBins;
 		this.sigmaToRadius = sigmaToRadius;
+		this.weightSigma = weightSigma;
 
 		angleStep = 2.0*Math.PI/numHistBins;
 
@@ -110,6 +114,17 @@ public class DescribePointSift {
 		this.ss = ss;
 	}
 
+	/**
+	 * Creates a new instance with the same configuration.  Internal storage is not shared.
+	 *
+	 * @return Copy of this algorithm
+	 */
+	public DescribePointSift copy() {
+		DescribePointSift ret = new DescribePointSift(gridWidth,numSamples,numHistBins,weightSigma,sigmaToRadius);
+		ret.setScaleSpace(ss);
+		return ret;
+	}
+
 	public void process(double c_x , double c_y , double scale , double orientation ,
 						SurfFeature desc ) {
 		// determine where this feature lies inside the scale-space
@@ -280,6 +295,14 @@ public class DescribePointSift {
 		}
 	}
 
+	/**
+	 * Number of pixels sampled when computing a descriptor
+	 */
+	public int getNumberOfSamples() {
+		int gridSampleLength = numSamples*gridWidth;
+		return gridSampleLength*gridSampleLength;
+	}
+
 	public int getDescriptorLength() {
 		return gridWidth*gridWidth*numHistBins;
 	}
@@ -22,6 +22,8 @@ import boofcv.alg.transform.ii.DerivativeIntegralImage;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.alg.transform.ii.IntegralKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.convolve.Kernel2D_F64;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.TupleDesc_F64;
@@ -30,6 +32,12 @@ import boofcv.struct.sparse.GradientValue;
 import boofcv.struct.sparse.SparseGradientSafe;
 import boofcv.struct.sparse.SparseImageGradient;
 import boofcv.struct.sparse.SparseScaleGradient;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>
@@ -94,6 +102,14 @@ public class DescribePointSurf<II extends ImageSingleBand> {
 	protected IntegralKernel kerXX;
 	protected IntegralKernel kerYY;
 
+	// configuration, saved so that copies can be created
+	protected double weightSigma;
+	protected boolean useHaar;
+	protected Class<II> inputType;
+
+	// copies of this algorithm used to describe points in parallel.  The first element is this instance
+	private List<DescribePointSurf<II>> workers = new ArrayList<DescribePointSurf<II>>();
+
 	/**
 	 * Creates a SURF descriptor of arbitrary dimension by changing how the local region is sampled.
 	 *
@@ -110,6 +126,9 @@ public class DescribePointSurf<II extends ImageSingleBand> {
 		this.widthLargeGrid = widthLargeGrid;
 		this.widthSubRegion = widthSubRegion;
 		this.widthSample = widthSample;
+		this.weightSigma = weightSigma;
+		this.useHaar = useHaar;
+		this.inputType = inputType;
 
 		int radius = (widthLargeGrid*widthSubRegion)/2;
 		weight = FactoryKernelGaussian.gaussianWidth(weightSigma, radius * 2);
@@ -304,6 +323,71 @@ public class DescribePointSurf<II extends ImageSingleBand> {
 		return lap > 0;
 	}
 
+	/**
+	 * <p>
+	 * Computes SURF descriptions for a set of points.  Produces the same results as calling
+	 * {@link #describe(double, double, double, double, SurfFeature)} on each point, but the points
+	 * are split up into blocks which are processed in parallel.  Each block is described by its own copy of
+	 * this algorithm, see {@link #copy()}.
+	 * </p>
+	 *
+	 * <p>
+	 * NOTE: Copies are only created when the work is split up.  Subclasses which override
+	 * {@link #describe(double, double, double, double, SurfFeature)} must also override {@link #copy()}.
+	 * </p>
+	 *
+	 * @param locations Location of each point.
+	 * @param angles Orientation of each point.
+	 * @param scales Scale of each point.
+	 * @param descriptions (Output) Description of each point.  Reset and then grown to the number of points.
+	 */
+	public void describe( final List<? extends Point2D_F64> locations ,
+						  final GrowQueue_F64 angles , final GrowQueue_F64 scales ,
+						  final FastQueue<SurfFeature> descriptions ) {
+		final int N = locations.size();
+
+		descriptions.reset();
+		for( int i = 0; i < N; i++ )
+			descriptions.grow();
+
+		// number of samples in the region is used as the cost of describing a point
+		int regionWidth = widthLargeGrid*widthSubRegion;
+		final int numBlocks = BoofConcurrency.computeBlocks(N,
+				Math.max(1,BoofConcurrency.getMinimumPixels()/(regionWidth*regionWidth)));
+
+		if( workers.isEmpty() )
+			workers.add(this);
+		while( workers.size() < numBlocks )
+			workers.add(copy());
+		for( int i = 1; i < numBlocks; i++ )
+			workers.get(i).setImage(ii);
+
+		BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for( int block = index0; block < index1; block++ ) {
+					int i0 = (int)((long)N*block/numBlocks);
+					int i1 = (int)((long)N*(block+1)/numBlocks);
+
+					DescribePointSurf<II> alg = workers.get(block);
+					for( int i = i0; i < i1; i++ ) {
+						Point2D_F64 p = locations.get(i);
+						alg.describe(p.x, p.y, angles.data[i], scales.data[i], descriptions.data[i]);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Creates a new instance with the same configuration.  Internal storage is not shared.
+	 *
+	 * @return Copy of this algorithm
+	 */
+	public DescribePointSurf<II> copy() {
+		return new DescribePointSurf<II>(widthLargeGrid,widthSubRegion,widthSample,weightSigma,useHaar,inputType);
+	}
+
 	public int getDescriptionLength() {
 		return featureDOF;
 	}
@@ -44,6 +44,10 @@ public class DescribePointSurfMod<II extends ImageSingleBand> extends DescribePo
 	// how many sample points sub-regions overlap.
 	private int overLap;
 
+	// sigmas used to compute the weights, saved so that copies can be created
+	private double sigmaLargeGrid;
+	private double sigmaSubRegion;
+
 	// used to weigh feature computation
 	private Kernel2D_F64 weightGrid;
 	private Kernel2D_F64 weightSub;
@@ -70,6 +74,8 @@ public class DescribePointSurfMod<II extends ImageSingleBand> extends DescribePo
 		super(widthLargeGrid, widthSubRegion, widthSample, 1, useHaar,imageType);
 
 		this.overLap = overLap;
+		this.sigmaLargeGrid = sigmaLargeGrid;
+		this.sigmaSubRegion = sigmaSubRegion;
 
 		weightGrid = FactoryKernelGaussian.gaussianWidth(sigmaLargeGrid, widthLargeGrid);
 		weightSub = FactoryKernelGaussian.gaussianWidth(sigmaSubRegion, widthSubRegion + 2 * overLap);
@@ -184,6 +190,12 @@ public class DescribePointSurfMod<II extends ImageSingleBand> extends DescribePo
 		}
 	}
 
+	@Override
+	public DescribePointSurfMod<II> copy() {
+		return new DescribePointSurfMod<II>(widthLargeGrid,widthSubRegion,widthSample,overLap,
+				sigmaLargeGrid,sigmaSubRegion,useHaar,inputType);
+	}
+
 	@Override
 	public int getRadius() {
 		return (widthLargeGrid*widthSubRegion+widthSample)/2 + overLap;
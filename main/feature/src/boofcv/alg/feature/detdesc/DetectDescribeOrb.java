@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.feature.describe.DescribePointBriefSO;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.feature.BriefFeatureQueue;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.affine.Affine2D_F32;
+import georegression.struct.point.Point2D_F64;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.sorting.QuickSelectArray;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+
+/**
+ * <p>
+ * ORB (Oriented FAST and Rotated BRIEF) feature detector and describer [1].  Features are detected at each layer in
+ * an image pyramid using FAST corners, which are then ranked using the Harris corner measure.  Only the N best
+ * features in each layer are kept, where N is proportional to the layer's area.  Orientation is found using the
+ * intensity centroid of a circular region around the corner and the descriptor is a steered BRIEF descriptor
+ * computed in the layer the feature was detected in.
+ * </p>
+ *
+ * <p>
+ * After the first image has been processed no additional memory is declared, as long as the image's shape does
+ * not grow.  Pyramid layers are computed one at a time by scaling the previous layer with bilinear interpolation
+ * and only two layers are stored in memory at any one time.
+ * </p>
+ *
+ * <p>
+ * [1] Ethan Rublee, Vincent Rabaud, Kurt Konolige, Gary Bradski, "ORB: an efficient alternative to SIFT or SURF"
+ * ICCV 2011
+ * </p>
+ *
+ * @see FastCornerIntensity
+ * @see DescribePointBriefSO
+ *
+ * @author Peter Abeles
+ */
+public class DetectDescribeOrb {
+
+	// detects FAST corners
+	protected FastCornerIntensity<ImageUInt8> fast;
+	// computes the steered BRIEF descriptor
+	protected DescribePointBriefSO<ImageUInt8> describe;
+
+	// maximum number of features across all the layers
+	protected int maxFeatures;
+	// scale factor between adjacent layers
+	protected double scaleFactor;
+	// number of layers in the pyramid
+	protected int numLayers;
+	// radius of the window used to compute the Harris corner intensity
+	protected int harrisRadius;
+	// Harris tuning parameter
+	protected double harrisK;
+
+	// radius of the region used to compute orientation
+	protected int orientationRadius;
+	// for each row in the orientation region, the maximum absolute value of x
+	protected int rowExtent[];
+	// features this close to the layer's border are not considered
+	protected int border;
+
+	// scales the previous layer into the next layer
+	protected ImageDistort<ImageUInt8> distort;
+	protected PixelTransformAffine_F32 transform = new PixelTransformAffine_F32();
+	protected Affine2D_F32 affine = new Affine2D_F32();
+	// storage for the pyramid layers.  Layers are written into them in an alternating fashion
+	protected ImageUInt8 layerA = new ImageUInt8(1,1);
+	protected ImageUInt8 layerB = new ImageUInt8(1,1);
+
+	// FAST corner intensity in the current layer
+	protected ImageFloat32 intensity = new ImageFloat32(1,1);
+	// FAST corners which survived non-maximum suppression
+	protected QueueCorner corners = new QueueCorner(100);
+	// negative Harris intensity for each corner and the index of the N best
+	protected float negHarris[] = new float[1];
+	protected int bestIndexes[] = new int[1];
+
+	// storage for features and their attributes
+	protected BriefFeatureQueue features;
+	protected GrowQueue_F64 featureScales;
+	protected GrowQueue_F64 featureAngles;
+	protected FastQueue<Point2D_F64> location;
+
+	/**
+	 * Configures the detector.
+	 *
+	 * @param fast Detects FAST corners
+	 * @param describe Computes steered BRIEF descriptor. The definition's radius is also used for orientation.
+	 * @param maxFeatures Maximum number of features detected across all the layers.  Try 500
+	 * @param scaleFactor Scale factor between adjacent pyramid layers.  Must be > 1.  Try 1.2
+	 * @param numLayers Number of layers in the pyramid.  Try 8
+	 * @param harrisRadius Radius of the Harris corner window.  Try 3
+	 * @param harrisK Harris corner tuning parameter.  Try 0.04
+	 */
+	public DetectDescribeOrb(FastCornerIntensity<ImageUInt8> fast,
+							 DescribePointBriefSO<ImageUInt8> describe,
+							 int maxFeatures, double scaleFactor, int numLayers,
+							 int harrisRadius, double harrisK)
+	{
+		if( scaleFactor <= 1 )
+			throw new IllegalArgumentException("scaleFactor must be greater than one");
+		if( numLayers <= 0 )
+			throw new IllegalArgumentException("numLayers must be greater than zero");
+
+		this.fast = fast;
+		this.describe = describe;
+		this.maxFeatures = maxFeatures;
+		this.scaleFactor = scaleFactor;
+		this.numLayers = numLayers;
+		this.harrisRadius = harrisRadius;
+		this.harrisK = harrisK;
+
+		orientationRadius = describe.getDefinition().radius;
+		rowExtent = new int[ orientationRadius+1 ];
+		for( int y = 0; y <= orientationRadius; y++ ) {
+			rowExtent[y] = (int)Math.sqrt(orientationRadius*orientationRadius - y*y);
+		}
+
+		// the +1 is for the Harris derivative and for bilinear interpolation
+		border = Math.max(Math.max(orientationRadius,harrisRadius+1),fast.getIgnoreBorder())+1;
+
+		distort = FactoryDistort.distort(FactoryInterpolation.bilinearPixelS(ImageUInt8.class), null, ImageUInt8.class);
+		distort.setModel(transform);
+
+		features = new BriefFeatureQueue(describe.getDefinition().getLength());
+		featureScales = new GrowQueue_F64(maxFeatures);
+		featureAngles = new GrowQueue_F64(maxFeatures);
+		location = new FastQueue<Point2D_F64>(maxFeatures,Point2D_F64.class,true);
+	}
+
+	/**
+	 * Detects and describes ORB features inside the image
+	 *
+	 * @param input input image
+	 */
+	public void process( ImageUInt8 input ) {
+		features.reset();
+		featureScales.reset();
+		featureAngles.reset();
+		location.reset();
+
+		// fraction of the features which are assigned to the next layer, based on its relative area
+		double factor = 1.0/(scaleFactor*scaleFactor);
+		double desiredInLayer = maxFeatures*(1.0-factor)/(1.0-Math.pow(factor,numLayers));
+		int remaining = maxFeatures;
+
+		ImageUInt8 prev = input;
+		double scale = 1;
+		for( int layerIndex = 0; layerIndex < numLayers; layerIndex++ ) {
+			ImageUInt8 layer;
+			if( layerIndex == 0 ) {
+				layer = input;
+			} else {
+				scale *= scaleFactor;
+				int width = (int)(input.width/scale);
+				int height = (int)(input.height/scale);
+				if( width <= 2*border || height <= 2*border )
+					break;
+
+				layer = prev == layerA ? layerB : layerA;
+				layer.reshape(width,height);
+				scaleLayer(prev,layer);
+			}
+
+			int quota = layerIndex == numLayers-1 ? remaining : Math.min(remaining,(int)Math.round(desiredInLayer));
+			remaining -= processLayer(layer, quota, scale,
+					input.width/(double)layer.width, input.height/(double)layer.height);
+
+			desiredInLayer *= factor;
+			prev = layer;
+		}
+	}
+
+	/**
+	 * Scales the previous pyramid layer into the next one
+	 */
+	protected void scaleLayer( ImageUInt8 prev , ImageUInt8 layer ) {
+		affine.a11 = (float)prev.width/(float)layer.width;
+		affine.a22 = (float)prev.height/(float)layer.height;
+		transform.set(affine);
+		distort.apply(prev,layer);
+	}
+
+	/**
+	 * Detects and describes features inside a single pyramid layer
+	 *
+	 * @return Number of features which were added
+	 */
+	protected int processLayer( ImageUInt8 layer , int quota , double scale , double scaleX , double scaleY ) {
+		if( quota <= 0 )
+			return 0;
+
+		intensity.reshape(layer.width,layer.height);
+		fast.process(layer,intensity);
+
+		selectCorners(layer, fast.getCandidates());
+
+		int N = corners.size;
+		int indexes[];
+		if( N > quota ) {
+			QuickSelectArray.selectIndex(negHarris,quota,N,bestIndexes);
+			indexes = bestIndexes;
+			N = quota;
+		} else {
+			indexes = null;
+		}
+
+		describe.setImage(layer);
+
+		for( int i = 0; i < N; i++ ) {
+			Point2D_I16 p = corners.data[indexes == null ? i : indexes[i]];
+
+			double angle = computeOrientation(layer,p.x,p.y);
+
+			describe.process(p.x,p.y,(float)angle,1,features.grow());
+			featureScales.push(scale);
+			featureAngles.push(angle);
+			location.grow().set(p.x*scaleX,p.y*scaleY);
+		}
+
+		return N;
+	}
+
+	/**
+	 * Applies non-maximum suppression to the FAST corners, removes corners too close to the border, and computes
+	 * the Harris intensity of the remaining corners.
+	 */
+	protected void selectCorners( ImageUInt8 layer , QueueCorner candidates ) {
+		corners.reset();
+		if( negHarris.length < candidates.size ) {
+			negHarris = new float[ candidates.size ];
+			bestIndexes = new int[ candidates.size ];
+		}
+
+		int x1 = layer.width-border;
+		int y1 = layer.height-border;
+
+		for( int i = 0; i < candidates.size; i++ ) {
+			Point2D_I16 c = candidates.data[i];
+			if( c.x < border || c.y < border || c.x >= x1 || c.y >= y1 )
+				continue;
+			if( !isLocalMaximum(c.x,c.y) )
+				continue;
+
+			// quick select finds the smallest values, the largest Harris intensities are desired
+			negHarris[corners.size] = -(float)computeHarris(layer,c.x,c.y);
+			corners.add(c.x,c.y);
+		}
+	}
+
+	/**
+	 * Checks to see if the FAST intensity is a local maximum in a 3x3 region.  Ties are broken by favoring
+	 * the pixel which comes first in raster order.
+	 */
+	protected boolean isLocalMaximum( int x , int y ) {
+		int stride = intensity.stride;
+		int index = intensity.startIndex + y*stride + x;
+		float value = intensity.data[index];
+
+		for( int i = -1; i <= 1; i++ ) {
+			int indexRow = index + i*stride;
+			for( int j = -1; j <= 1; j++ ) {
+				if( i == 0 && j == 0 )
+					continue;
+				float v = intensity.data[indexRow+j];
+				if( i < 0 || (i == 0 && j < 0) ) {
+					if( v >= value )
+						return false;
+				} else if( v > value ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the Harris corner intensity at the specified pixel using Sobel image derivatives.
+	 */
+	protected double computeHarris( ImageUInt8 image , int c_x , int c_y ) {
+		int stride = image.stride;
+		byte data[] = image.data;
+
+		int sumXX = 0, sumXY = 0, sumYY = 0;
+
+		for( int y = c_y - harrisRadius; y <= c_y + harrisRadius; y++ ) {
+			int index = image.startIndex + y*stride + c_x - harrisRadius;
+			for( int x = c_x - harrisRadius; x <= c_x + harrisRadius; x++ , index++ ) {
+				int a00 = data[index-stride-1] & 0xFF;
+				int a01 = data[index-stride] & 0xFF;
+				int a02 = data[index-stride+1] & 0xFF;
+				int a10 = data[index-1] & 0xFF;
+				int a12 = data[index+1] & 0xFF;
+				int a20 = data[index+stride-1] & 0xFF;
+				int a21 = data[index+stride] & 0xFF;
+				int a22 = data[index+stride+1] & 0xFF;
+
+				int dx = (a02 + 2*a12 + a22) - (a00 + 2*a10 + a20);
+				int dy = (a20 + 2*a21 + a22) - (a00 + 2*a01 + a02);
+
+				sumXX += dx*dx;
+				sumXY += dx*dy;
+				sumYY += dy*dy;
+			}
+		}
+
+		double xx = sumXX, xy = sumXY, yy = sumYY;
+		double trace = xx + yy;
+		return xx*yy - xy*xy - harrisK*trace*trace;
+	}
+
+	/**
+	 * Computes the orientation using the intensity centroid of a circular region.
+	 */
+	protected double computeOrientation( ImageUInt8 image , int c_x , int c_y ) {
+		int stride = image.stride;
+		byte data[] = image.data;
+		int center = image.startIndex + c_y*stride + c_x;
+
+		int m10 = 0, m01 = 0;
+
+		// center row
+		int r = rowExtent[0];
+		for( int u = -r; u <= r; u++ ) {
+			m10 += u*(data[center+u] & 0xFF);
+		}
+
+		// rows above and below are processed at the same time
+		for( int v = 1; v <= orientationRadius; v++ ) {
+			r = rowExtent[v];
+			int sumV = 0;
+			for( int u = -r; u <= r; u++ ) {
+				int below = data[center+v*stride+u] & 0xFF;
+				int above = data[center-v*stride+u] & 0xFF;
+				sumV += below - above;
+				m10 += u*(below + above);
+			}
+			m01 += v*sumV;
+		}
+
+		return Math.atan2(m01,m10);
+	}
+
+	public int getDescriptorLength() {
+		return describe.getDefinition().getLength();
+	}
+
+	public BriefFeatureQueue getFeatures() {
+		return features;
+	}
+
+	public GrowQueue_F64 getFeatureScales() {
+		return featureScales;
+	}
+
+	public GrowQueue_F64 getFeatureAngles() {
+		return featureAngles;
+	}
+
+	public FastQueue<Point2D_F64> getLocation() {
+		return location;
+	}
+}
@@ -22,6 +22,8 @@ import boofcv.alg.feature.describe.DescribePointSift;
 import boofcv.alg.feature.detect.interest.SiftDetector;
 import boofcv.alg.feature.detect.interest.SiftImageScaleSpace;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.SurfFeatureQueue;
@@ -30,10 +32,18 @@ import georegression.struct.point.Point2D_F64;
 import org.ddogleg.struct.FastQueue;
 import org.ddogleg.struct.GrowQueue_F64;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * SIFT where detection, orientation estimation, and describing are done all at once.  This
  * allows the image pyramid to only be computed once.
  *
+ * <p>
+ * The orientation and description of detected features is computed in parallel, see {@link BoofConcurrency}.
+ * Features are returned in the same order as when processed by a single thread.
+ * </p>
+ *
  * @see OrientationHistogramSift
  * @see SiftDetector
  * @see DescribePointSift
@@ -57,6 +67,10 @@ public class DetectDescribeSift {
 	protected GrowQueue_F64 featureAngles;
 	protected FastQueue<Point2D_F64> location;
 
+	// Computes orientation and descriptors for a block of detected features.  The first worker uses the
+	// algorithms and storage above and the others have their own copies
+	private List<Worker> workers = new ArrayList<Worker>();
+
 	public DetectDescribeSift(SiftImageScaleSpace ss,
 							  SiftDetector detector,
 							  OrientationHistogramSift orientation,
@@ -71,6 +85,8 @@ public class DetectDescribeSift {
 		featureScales = new GrowQueue_F64(100);
 		featureAngles = new GrowQueue_F64(100);
 		location = new FastQueue<Point2D_F64>(100,Point2D_F64.class,true);
+
+		workers.add(new Worker(orientation,describe,features,featureScales,featureAngles,location));
 	}
 
 	/**
@@ -93,28 +109,96 @@ public class DetectDescribeSift {
 		orientation.setScaleSpace(ss);
 		describe.setScaleSpace(ss);
 
-		FastQueue<ScalePoint> found = detector.getFoundPoints();
+		final FastQueue<ScalePoint> found = detector.getFoundPoints();
+
+		// computing the orientation and descriptor of a feature costs about as much as processing this many pixels
+		int pointCost = describe.getNumberOfSamples();
+		final int numBlocks = BoofConcurrency.computeBlocks(found.size,
+				Math.max(1,BoofConcurrency.getMinimumPixels()/pointCost));
+		while( workers.size() < numBlocks ) {
+			OrientationHistogramSift o = orientation.copy();
+			DescribePointSift d = describe.copy();
+			workers.add(new Worker(o,d,new SurfFeatureQueue(describe.getDescriptorLength()),
+					new GrowQueue_F64(100),new GrowQueue_F64(100),
+					new FastQueue<Point2D_F64>(100,Point2D_F64.class,true)));
+		}
+
+		BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int i0 = (int)((long)found.size*block/numBlocks);
+					int i1 = (int)((long)found.size*(block+1)/numBlocks);
+					workers.get(block).process(found,i0,i1);
+				}
+			}
+		});
+
+		// add features from the other blocks in order
+		for( int block = 1; block < numBlocks; block++ ) {
+			Worker w = workers.get(block);
+			for( int i = 0; i < w.features.size; i++ ) {
+				features.grow().setTo(w.features.data[i]);
+				featureScales.push(w.featureScales.data[i]);
+				featureAngles.push(w.featureAngles.data[i]);
+				location.grow().set(w.location.data[i]);
+			}
+		}
+	}
+
+	/**
+	 * Computes the orientation and descriptors for a range of detected points and saves the results
+	 */
+	private static class Worker {
+		OrientationHistogramSift orientation;
+		DescribePointSift describe;
+
+		SurfFeatureQueue features;
+		GrowQueue_F64 featureScales;
+		GrowQueue_F64 featureAngles;
+		FastQueue<Point2D_F64> location;
+
+		private Worker(OrientationHistogramSift orientation, DescribePointSift describe,
+					   SurfFeatureQueue features, GrowQueue_F64 featureScales, GrowQueue_F64 featureAngles,
+					   FastQueue<Point2D_F64> location) {
+			this.orientation = orientation;
+			this.describe = describe;
+			this.features = features;
+			this.featureScales = featureScales;
+			this.featureAngles = featureAngles;
+			this.location = location;
+		}
+
+		/**
+		 * Processes points with indexes from i0 to i1-1
+		 */
+		private void process( FastQueue<ScalePoint> found , int i0 , int i1 ) {
+			features.reset();
+			featureScales.reset();
+			featureAngles.reset();
+			location.reset();
 
-		for( int i = 0; i < found.size; i++ ) {
-			ScalePoint sp = found.data[i];
-			orientation.process(sp.x,sp.y,sp.scale);
+			for( int i = i0; i < i1; i++ ) {
+				ScalePoint sp = found.data[i];
+				orientation.process(sp.x,sp.y,sp.scale);
 
-			GrowQueue_F64 angles = orientation.getOrientations();
+				GrowQueue_F64 angles = orientation.getOrientations();
 
-			int imageIndex = orientation.getImageIndex();
-			double pixelScale = orientation.getPixelScale();
+				int imageIndex = orientation.getImageIndex();
+				double pixelScale = orientation.getPixelScale();
 
-			for( int j = 0; j < angles.size; j++ ) {
-				SurfFeature desc = features.grow();
+				for( int j = 0; j < angles.size; j++ ) {
+					SurfFeature desc = features.grow();
 
-				double yaw = angles.data[j];
+					double yaw = angles.data[j];
 
-				describe.process(sp.x,sp.y,sp.scale,yaw,imageIndex,pixelScale,desc);
+					describe.process(sp.x,sp.y,sp.scale,yaw,imageIndex,pixelScale,desc);
 
-				desc.laplacianPositive = sp.white;
-				featureScales.push(sp.scale);
-				featureAngles.push(yaw);
-				location.grow().set(sp.x,sp.y);
+					desc.laplacianPositive = sp.white;
+					featureScales.push(sp.scale);
+					featureAngles.push(yaw);
+					location.grow().set(sp.x,sp.y);
+				}
 			}
 		}
 	}
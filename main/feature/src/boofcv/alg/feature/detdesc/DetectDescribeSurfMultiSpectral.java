@@ -19,6 +19,7 @@
 package boofcv.alg.feature.detdesc;
 
 import boofcv.abst.feature.orientation.OrientationIntegral;
+import boofcv.abst.feature.orientation.OrientationIntegralBatch;
 import boofcv.alg.feature.describe.DescribePointSurfMultiSpectral;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
 import boofcv.struct.feature.ScalePoint;
@@ -58,6 +59,8 @@ public class DetectDescribeSurfMultiSpectral<II extends ImageSingleBand>
 	private List<ScalePoint> foundPoints;
 	// orientation of features
 	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
+	// scale of features
+	private GrowQueue_F64 featureScales = new GrowQueue_F64(10);
 
 	public DetectDescribeSurfMultiSpectral(FastHessianFeatureDetector<II> detector,
 										   OrientationIntegral<II> orientation,
@@ -90,7 +93,6 @@ public class DetectDescribeSurfMultiSpectral<II extends ImageSingleBand>
 		describe.setImage(grayII,colorII);
 
 		descriptions.reset();
-		featureAngles.reset();
 
 		// detect features
 		detector.detect(grayII);
@@ -98,14 +100,27 @@ public class DetectDescribeSurfMultiSpectral<II extends ImageSingleBand>
 		// describe the found interest points
 		foundPoints = detector.getFoundPoints();
 
+		featureScales.resize(foundPoints.size());
 		for( int i = 0; i < foundPoints.size(); i++ ) {
-			ScalePoint p = foundPoints.get(i);
-			orientation.setScale(p.scale);
-			double angle = orientation.compute(p.x,p.y);
+			featureScales.data[i] = foundPoints.get(i).scale;
+		}
+
+		// orientation is estimated for all the points at once when supported
+		if( orientation instanceof OrientationIntegralBatch ) {
+			((OrientationIntegralBatch<II>)orientation).compute(foundPoints, featureScales, featureAngles);
+		} else {
+			featureAngles.resize(foundPoints.size());
+			for( int i = 0; i < foundPoints.size(); i++ ) {
+				ScalePoint p = foundPoints.get(i);
+				orientation.setScale(p.scale);
+				featureAngles.data[i] = orientation.compute(p.x,p.y);
+			}
+		}
 
-			describe.describe(p.x, p.y, angle, p.scale, descriptions.grow());
+		for( int i = 0; i < foundPoints.size(); i++ ) {
+			ScalePoint p = foundPoints.get(i);
 
-			featureAngles.push(angle);
+			describe.describe(p.x, p.y, featureAngles.data[i], p.scale, descriptions.grow());
 		}
 	}
 
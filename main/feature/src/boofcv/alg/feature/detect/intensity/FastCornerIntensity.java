@@ -23,6 +23,7 @@ import boofcv.misc.DiscretizedCircle;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
+import org.ddogleg.struct.GrowQueue_I32;
 
 /**
  * <p>
@@ -108,13 +109,7 @@ public abstract class FastCornerIntensity<T extends ImageSingleBand> implements
 
 	public void process( T image , ImageFloat32 intensity ) {
 		candidates.reset();
-		this.image = image;
-
-		if( stride != image.stride ) {
-			stride = image.stride;
-			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
-		}
-		helper.setImage(image,offsets);
+		setImage(image);
 
 		for (int y = radius; y < image.height-radius; y++) {
 			int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
@@ -136,6 +131,49 @@ public abstract class FastCornerIntensity<T extends ImageSingleBand> implements
 		}
 	}
 
+	/**
+	 * Computes the feature intensity along a single row.  Only rows y-radius to y+radius in the image are read,
+	 * which allows the image to be processed as it is being read in.
+	 *
+	 * @param image Image being processed.
+	 * @param y The row being processed.  radius &le; y &lt; height-radius
+	 * @param x0 First column, inclusive. &ge; radius
+	 * @param x1 Last column, exclusive. &le; width-radius
+	 * @param intensity (Output) Intensity for column x is written to element offset+x.  Zero if not a corner.
+	 * @param offset Offset added to the column when writing intensity
+	 * @param candidates (Output) Column of each pixel which might be a corner is added to this list.
+	 */
+	public void processRow( T image , int y , int x0 , int x1 ,
+							float intensity[] , int offset , GrowQueue_I32 candidates ) {
+		setImage(image);
+
+		int index = image.startIndex + y*image.stride + x0;
+		for (int x = x0; x < x1; x++, index++) {
+
+			helper.setThresholds(index);
+
+			if( checkLower(index) ) {
+				intensity[offset+x] = helper.scoreLower(index);
+				candidates.add(x);
+			} else if( checkUpper(index)) {
+				intensity[offset+x] = helper.scoreUpper(index);
+				candidates.add(x);
+			} else {
+				intensity[offset+x] = 0;
+			}
+		}
+	}
+
+	private void setImage( T image ) {
+		this.image = image;
+
+		if( stride != image.stride ) {
+			stride = image.stride;
+			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
+		}
+		helper.setImage(image,offsets);
+	}
+
 	/**
 	 * Checks to see if the specified pixel qualifies as a corner with lower values
 	 */
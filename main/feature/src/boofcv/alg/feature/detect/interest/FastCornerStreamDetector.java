@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageSingleBand;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Detects {@link FastCornerIntensity FAST} corners one row at a time, as the image is read in.  Only the rows needed
+ * to compute the corner intensity and perform non-maximum suppression are saved.  A full intensity image
+ * is never computed.  Intended for use with line scan cameras and other sources which provide an image row by row.
+ * A corner at row y is found once row y + {@link #getSearchRadius() radius} + 3 has been processed.
+ * </p>
+ *
+ * <p>
+ * Non-maximum suppression is only performed on pixels which passed the FAST test.  The found corners are
+ * identical to and in the same order as {@link boofcv.alg.feature.detect.extract.NonMaxCandidate} applied to
+ * the output of {@link FastCornerIntensity#process}.  Only local maximums are detected.
+ * </p>
+ *
+ * @param <T> Input image type.
+ *
+ * @author Peter Abeles
+ */
+public class FastCornerStreamDetector<T extends ImageSingleBand> {
+
+	// computes the corner intensity
+	private FastCornerIntensity<T> fast;
+	// number of image rows needed to compute the intensity of a single row
+	private int windowRows;
+
+	// non-maximum suppression parameters
+	private int radius;
+	private float threshold;
+	private int ignoreBorder;
+	private boolean useStrictRule;
+
+	// copy of the most recent image rows.  Each row is saved twice so that the window is always continuous
+	private T buffer;
+	// sub-images used to read and write rows
+	private T window,bufferRow,inputRow;
+
+	// intensity of the most recent 2*radius+1 rows
+	private float intensity[] = new float[1];
+	// columns of pixels which might be corners in each row of intensity
+	private GrowQueue_I32 candidates[];
+
+	// found corners in the order they were found
+	private QueueCorner found = new QueueCorner(10);
+
+	// shape of the image
+	private int width,height;
+	// bounds of pixels which can be corners
+	private int endX,endY;
+	// number of rows which have been processed
+	private int rowsRead;
+	// corners have been found in all the rows before this one
+	private int rowsFinished;
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param fast Computes the FAST corner intensity
+	 * @param radius Radius of the non-maximum suppression region
+	 * @param threshold Minimum intensity of a corner
+	 * @param ignoreBorder Corners are not detected this close to the image border.  Increased to the FAST radius
+	 *                     if smaller.
+	 * @param useStrictRule If true the corner must be more intense than all its neighbors. If false, at least
+	 *                      as intense.
+	 */
+	public FastCornerStreamDetector(FastCornerIntensity<T> fast,
+									int radius, float threshold, int ignoreBorder, boolean useStrictRule ) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Search radius must be >= 1");
+
+		this.fast = fast;
+		this.radius = radius;
+		this.threshold = threshold;
+		this.ignoreBorder = Math.max(ignoreBorder,fast.getIgnoreBorder());
+		this.useStrictRule = useStrictRule;
+
+		windowRows = fast.getRadius()*2+1;
+		candidates = new GrowQueue_I32[radius*2+1];
+		for( int i = 0; i < candidates.length; i++ ) {
+			candidates[i] = new GrowQueue_I32();
+		}
+	}
+
+	/**
+	 * Detects corners inside the entire image.
+	 *
+	 * @param image Input image
+	 */
+	public void process( T image ) {
+		initialize(image.width,image.height);
+		for( int y = 0; y < image.height; y++ ) {
+			processRow(image,y);
+		}
+	}
+
+	/**
+	 * Must be called before the first row in an image is processed.
+	 *
+	 * @param width Width of the image
+	 * @param height Height of the image
+	 */
+	public void initialize( int width , int height ) {
+		this.width = width;
+		this.height = height;
+		endX = width - ignoreBorder;
+		endY = height - ignoreBorder;
+
+		if( buffer != null )
+			buffer.reshape(width,windowRows*2);
+		int length = width*candidates.length;
+		if( intensity.length < length )
+			intensity = new float[length];
+
+		rowsRead = 0;
+		rowsFinished = ignoreBorder;
+		found.reset();
+	}
+
+	/**
+	 * Processes the next row in the image.  Rows must be processed in order, starting from zero.
+	 * Corners which are found are added to the end of {@link #getFound()}.
+	 *
+	 * @param image Image containing the row
+	 * @param row Which row in 'image' is copied
+	 */
+	@SuppressWarnings("unchecked")
+	public void processRow( T image , int row ) {
+		if( rowsRead >= height )
+			throw new IllegalArgumentException("All the rows in the image have already been processed");
+		if( image.width != width )
+			throw new IllegalArgumentException("Unexpected image width");
+
+		if( buffer == null )
+			buffer = (T)image._createNew(width,windowRows*2);
+
+		// save the row in both halves of the buffer
+		int slot = rowsRead % windowRows;
+		inputRow = (T)image.subimage(0,row,width,row+1,inputRow);
+		bufferRow = (T)buffer.subimage(0,slot,width,slot+1,bufferRow);
+		bufferRow.setTo(inputRow);
+		bufferRow = (T)buffer.subimage(0,slot+windowRows,width,slot+windowRows+1,bufferRow);
+		bufferRow.setTo(inputRow);
+
+		// row at the center of the window
+		int fastRadius = fast.getRadius();
+		int y = rowsRead++ - fastRadius;
+		if( y < ignoreBorder || y >= endY )
+			return;
+
+		// compute the intensity of the center row
+		int start = (y-fastRadius) % windowRows;
+		window = (T)buffer.subimage(0,start,width,start+windowRows,window);
+		int ring = y % candidates.length;
+		candidates[ring].reset();
+		fast.processRow(window,fastRadius,ignoreBorder,endX,intensity,ring*width,candidates[ring]);
+
+		// check rows whose local region has been entirely computed
+		int last = y == endY-1 ? y : y - radius;
+		while( rowsFinished <= last ) {
+			findCorners(rowsFinished++);
+		}
+	}
+
+	/**
+	 * Checks the candidates in a row to see if they are local maximums
+	 */
+	private void findCorners( int y ) {
+		int ring = y % candidates.length;
+		GrowQueue_I32 columns = candidates[ring];
+
+		int y0 = Math.max(ignoreBorder, y - radius);
+		int y1 = Math.min(endY, y + radius + 1);
+
+		for( int i = 0; i < columns.size; i++ ) {
+			int x = columns.data[i];
+			float val = intensity[ring*width + x];
+			if( val < threshold || val == Float.MAX_VALUE )
+				continue;
+
+			int x0 = Math.max(ignoreBorder, x - radius);
+			int x1 = Math.min(endX, x + radius + 1);
+
+			if( isMaximum(x, y, val, x0, y0, x1, y1) )
+				found.add(x,y);
+		}
+	}
+
+	private boolean isMaximum( int cx , int cy , float val , int x0 , int y0 , int x1 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
+			int index = (y % candidates.length)*width + x0;
+			for( int x = x0; x < x1; x++ , index++ ) {
+				// don't compare the center point against itself
+				if( x == cx && y == cy )
+					continue;
+
+				if( useStrictRule ) {
+					if( val <= intensity[index] )
+						return false;
+				} else if( val < intensity[index] ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Corners found in the current image.  New corners are added to the end as rows are processed.
+	 */
+	public QueueCorner getFound() {
+		return found;
+	}
+
+	/**
+	 * Corners have been found in all the rows before the returned row.
+	 */
+	public int getRowsFinished() {
+		return rowsFinished;
+	}
+
+	public float getThreshold() {
+		return threshold;
+	}
+
+	public void setThreshold(float threshold) {
+		this.threshold = threshold;
+	}
+
+	public int getSearchRadius() {
+		return radius;
+	}
+
+	public int getIgnoreBorder() {
+		return ignoreBorder;
+	}
+}
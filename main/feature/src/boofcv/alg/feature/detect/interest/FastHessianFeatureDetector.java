@@ -23,6 +23,8 @@ import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
 import boofcv.core.image.border.FactoryImageBorderAlgs;
 import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
@@ -74,6 +76,12 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * The feature intensity for each size inside an octave is computed in parallel, see {@link BoofConcurrency}.
+ * Local maximums are then searched for one size at a time, so the found features are identical to the
+ * single threaded results.
+ * </p>
+ *
+ * <p>
  * [1] Herbert Bay, Andreas Ess, Tinne Tuytelaars, and Luc Van Gool, "Speeded-Up Robust Features (SURF)", CVIU June, 2008, Volume
  * 110, Issue 3, pages 346-359
  * </p>
@@ -91,9 +99,8 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	// the maximum number of returned feature per scale
 	private int maxFeaturesPerScale;
 
-	// local sub-space
+	// feature intensity for each size in an octave
 	private ImageFloat32 intensity[];
-	private int spaceIndex = 0;
 	private QueueCorner foundFeatures = new QueueCorner(100);
 
 	// List of found feature points
@@ -152,7 +159,7 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	 */
 	public void detect( II integral ) {
 		if( intensity == null ) {
-			intensity = new ImageFloat32[3];
+			intensity = new ImageFloat32[sizes.length];
 			for( int i = 0; i < intensity.length; i++ ) {
 				intensity[i] = new ImageFloat32(integral.width,integral.height);
 			}
@@ -192,7 +199,7 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	 * @param skip Pixel skip factor
 	 * @param featureSize which feature sizes should be detected.
 	 */
-	protected void detectOctave( II integral , int skip , int ...featureSize ) {
+	protected void detectOctave( final II integral , final int skip , final int ...featureSize ) {
 
 		int w = integral.width/skip;
 		int h = integral.height/skip;
@@ -202,18 +209,21 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 			intensity[i].reshape(w,h);
 		}
 
-		// compute feature intensity in each level
-		for( int i = 0; i < featureSize.length; i++ ) {
-			GIntegralImageFeatureIntensity.hessian(integral,skip,featureSize[i],intensity[spaceIndex]);
-
-			spaceIndex++;
-			if( spaceIndex >= 3 )
-				spaceIndex = 0;
-
-			// find maximum in scale space
-			if( i >= 2 ) {
-				findLocalScaleSpaceMax(featureSize,i-1,skip);
+		// compute feature intensity in each level.  Levels are independent of each other and are
+		// computed in parallel when the image is large enough
+		int minLevels = Math.max(1,BoofConcurrency.getMinimumPixels()/Math.max(1,w*h));
+		BoofConcurrency.loopBlocks(0,featureSize.length,minLevels,new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for( int i = index0; i < index1; i++ ) {
+					GIntegralImageFeatureIntensity.hessian(integral,skip,featureSize[i],intensity[i]);
+				}
 			}
+		});
+
+		// find maximum in scale space.  Always done in the same order so that the output is deterministic
+		for( int i = 1; i < featureSize.length-1; i++ ) {
+			findLocalScaleSpaceMax(featureSize,i,skip);
 		}
 	}
 
@@ -225,9 +235,9 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	 * @param skip How many pixels are skipped over.
 	 */
 	private void findLocalScaleSpaceMax(int []size, int level, int skip) {
-		int index0 = spaceIndex;
-		int index1 = (spaceIndex + 1) % 3;
-		int index2 = (spaceIndex + 2) % 3;
+		int index0 = level-1;
+		int index1 = level;
+		int index2 = level+1;
 
 		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
 		ImageFloat32 inten1 = intensity[index1];
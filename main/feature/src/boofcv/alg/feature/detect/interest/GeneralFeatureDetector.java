@@ -148,7 +148,7 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 		selectBest(intensityImage, foundMaximum, numSelectMax, true);
 	}
 
-	private void selectBest(ImageFloat32 intensityImage, QueueCorner found , int numSelect, boolean positive) {
+	protected void selectBest(ImageFloat32 intensityImage, QueueCorner found , int numSelect, boolean positive) {
 		if (numSelect > 0) {
 			selectBest.setN(numSelect);
 			selectBest.process(intensityImage, found,positive);
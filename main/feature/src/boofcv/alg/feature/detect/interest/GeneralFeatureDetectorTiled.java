@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.point.Point2D_I16;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Variant of {@link GeneralFeatureDetector} which breaks the image up into square tiles and detects features
+ * inside each tile independently.  Each tile is processed by its own {@link GeneralFeatureDetector} on a sub-image
+ * which is expanded by a margin large enough for the feature intensity and non-maximum suppression to be
+ * computed as if the whole image was being processed.  Optionally, the number of features inside each tile
+ * can be limited to encourage an even spread of features across the image.
+ * </p>
+ *
+ * <p>
+ * When the strict non-maximum rule is used the same features are found as {@link GeneralFeatureDetector}, but
+ * ordered by tile.  If a maximum number of features is specified then the most intense features are selected
+ * from all the tiles, after the per tile limit has been applied.  The intensity image is assembled from
+ * the tiles.
+ * </p>
+ *
+ * <p>
+ * CONCURRENCY: Tiles are processed in parallel.  The features found do not depend on the number of threads.
+ * See {@link BoofConcurrency}.
+ * </p>
+ *
+ * @param <I> Input image type.
+ * @param <D> Image derivative type.
+ *
+ * @author Peter Abeles
+ */
+public class GeneralFeatureDetectorTiled<I extends ImageSingleBand, D extends ImageSingleBand>
+		extends GeneralFeatureDetector<I,D>
+{
+	// creates the detectors which are used inside of each tile
+	private Factory<I,D> factory;
+
+	// width and height of a tile in pixels
+	private int tileWidth;
+	// maximum number of features inside a tile.  If <= 0 then there is no limit
+	private int maxFeaturesPerTile;
+	// additional margin around each tile for intensity algorithms which read past their ignore border
+	private int margin;
+
+	// detectors and storage for each block of tiles
+	private List<Worker> workers = new ArrayList<Worker>();
+
+	// features found inside each tile in image coordinates
+	private List<QueueCorner> tileMinimums = new ArrayList<QueueCorner>();
+	private List<QueueCorner> tileMaximums = new ArrayList<QueueCorner>();
+
+	// intensity image assembled from each tile
+	private ImageFloat32 intensityImage = new ImageFloat32(1,1);
+
+	// description of the tiles in the current image
+	private int tilesX;
+	private int imageWidth,imageHeight;
+	private int border;
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param factory Creates the detector used inside each tile.  Must create identically configured detectors.
+	 * @param tileWidth Width and height of a tile in pixels.
+	 * @param maxFeaturesPerTile Maximum number of features inside a single tile.  If <= 0 then there is no limit.
+	 * @param margin Additional margin around each tile.  Needed when the intensity algorithm reads pixels
+	 *               beyond its {@link boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity#getIgnoreBorder() ignore border}.
+	 */
+	public GeneralFeatureDetectorTiled( Factory<I,D> factory , int tileWidth , int maxFeaturesPerTile , int margin ) {
+		if( tileWidth <= 0 )
+			throw new IllegalArgumentException("Tile width must be > 0");
+		if( margin < 0 )
+			throw new IllegalArgumentException("Margin must be >= 0");
+
+		this.factory = factory;
+		this.tileWidth = tileWidth;
+		this.maxFeaturesPerTile = maxFeaturesPerTile;
+		this.margin = margin;
+
+		Worker first = createWorker();
+		workers.add(first);
+		this.intensity = first.detector.intensity;
+		this.extractor = first.detector.extractor;
+	}
+
+	@Override
+	public void process(final I image, final D derivX, final D derivY, final D derivXX, final D derivYY, final D derivXY) {
+		foundMinimum.reset();
+		foundMaximum.reset();
+
+		int numSelectMin = -1;
+		int numSelectMax = -1;
+		if( maxFeatures > 0 ) {
+			if( intensity.localMinimums() )
+				numSelectMin = excludeMinimum == null ? maxFeatures : maxFeatures - excludeMinimum.size;
+			if( intensity.localMaximums() )
+				numSelectMax = excludeMaximum == null ? maxFeatures : maxFeatures - excludeMaximum.size;
+
+			// return without processing if there is no room to detect any more features
+			if( numSelectMin <= 0 && numSelectMax <= 0 )
+				return;
+		}
+
+		imageWidth = image.width;
+		imageHeight = image.height;
+		intensityImage.reshape(imageWidth, imageHeight);
+
+		// pixels this far away from a tile are needed to compute its intensity and do non-maximum suppression
+		border = extractor.getIgnoreBorder() + extractor.getSearchRadius() + margin;
+
+		tilesX = (imageWidth+tileWidth-1)/tileWidth;
+		int tilesY = (imageHeight+tileWidth-1)/tileWidth;
+		final int numTiles = tilesX*tilesY;
+		while( tileMinimums.size() < numTiles ) {
+			tileMinimums.add(new QueueCorner(10));
+			tileMaximums.add(new QueueCorner(10));
+		}
+
+		final int numBlocks = BoofConcurrency.computeBlocks(numTiles,
+				Math.max(1,BoofConcurrency.getMinimumPixels()/(tileWidth*tileWidth)));
+		while( workers.size() < numBlocks ) {
+			Worker w = createWorker();
+			w.detector.setThreshold(getThreshold());
+			w.detector.setSearchRadius(extractor.getSearchRadius());
+			workers.add(w);
+		}
+
+		BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int t0 = (int)((long)numTiles*block/numBlocks);
+					int t1 = (int)((long)numTiles*(block+1)/numBlocks);
+					Worker w = workers.get(block);
+					for( int tile = t0; tile < t1; tile++ ) {
+						w.process(tile,image,derivX,derivY,derivXX,derivYY,derivXY);
+					}
+				}
+			}
+		});
+
+		// combine the results in the order of the tiles
+		for( int tile = 0; tile < numTiles; tile++ ) {
+			append(tileMinimums.get(tile),foundMinimum);
+			append(tileMaximums.get(tile),foundMaximum);
+		}
+
+		// optionally select the most intense features only
+		selectBest(intensityImage, foundMinimum, numSelectMin, false);
+		selectBest(intensityImage, foundMaximum, numSelectMax, true);
+	}
+
+	private Worker createWorker() {
+		GeneralFeatureDetector<I,D> detector = factory.create();
+		// features are selected after the results from the tile have been cropped
+		detector.setMaxFeatures(0);
+		return new Worker(detector);
+	}
+
+	private static void append( QueueCorner src , QueueCorner dst ) {
+		for( int i = 0; i < src.size; i++ ) {
+			dst.grow().set(src.get(i));
+		}
+	}
+
+	/**
+	 * Creates a new detector for processing the contents of a tile.
+	 */
+	public interface Factory<I extends ImageSingleBand, D extends ImageSingleBand> {
+		public GeneralFeatureDetector<I,D> create();
+	}
+
+	/**
+	 * Detects features inside of a tile using its own detector and storage
+	 */
+	private class Worker {
+		GeneralFeatureDetector<I,D> detector;
+		SelectNBestFeatures selectBest = new SelectNBestFeatures(10);
+
+		// exclude points which are inside the sub-image
+		QueueCorner excludeMin = new QueueCorner(10);
+		QueueCorner excludeMax = new QueueCorner(10);
+
+		// found points which are inside the tile
+		QueueCorner inside = new QueueCorner(10);
+
+		// sub-images of the input
+		I image;
+		D derivX,derivY,derivXX,derivYY,derivXY;
+		ImageFloat32 tileSrc,tileDst;
+
+		Worker(GeneralFeatureDetector<I, D> detector) {
+			this.detector = detector;
+		}
+
+		public void process( int tile , I image, D derivX, D derivY, D derivXX, D derivYY, D derivXY ) {
+			// region inside the tile
+			int x0 = (tile%tilesX)*tileWidth;
+			int y0 = (tile/tilesX)*tileWidth;
+			int x1 = Math.min(imageWidth,x0+tileWidth);
+			int y1 = Math.min(imageHeight,y0+tileWidth);
+
+			// region which is processed
+			int sx0 = Math.max(0,x0-border);
+			int sy0 = Math.max(0,y0-border);
+			int sx1 = Math.min(imageWidth,x1+border);
+			int sy1 = Math.min(imageHeight,y1+border);
+
+			this.image = subimage(image, sx0, sy0, sx1, sy1, this.image);
+			this.derivX = subimage(derivX, sx0, sy0, sx1, sy1, this.derivX);
+			this.derivY = subimage(derivY, sx0, sy0, sx1, sy1, this.derivY);
+			this.derivXX = subimage(derivXX, sx0, sy0, sx1, sy1, this.derivXX);
+			this.derivYY = subimage(derivYY, sx0, sy0, sx1, sy1, this.derivYY);
+			this.derivXY = subimage(derivXY, sx0, sy0, sx1, sy1, this.derivXY);
+
+			int numExcludeMin = setExclude(excludeMinimum, excludeMin, sx0, sy0, sx1, sy1, x0, y0, x1, y1);
+			int numExcludeMax = setExclude(excludeMaximum, excludeMax, sx0, sy0, sx1, sy1, x0, y0, x1, y1);
+			detector.setExcludeMinimum(excludeMinimum == null ? null : excludeMin);
+			detector.setExcludeMaximum(excludeMaximum == null ? null : excludeMax);
+
+			detector.process(this.image, this.derivX, this.derivY, this.derivXX, this.derivYY, this.derivXY);
+
+			// save the part of the intensity image inside the tile
+			ImageFloat32 tileIntensity = detector.getIntensity();
+			tileSrc = tileIntensity.subimage(x0-sx0,y0-sy0,x1-sx0,y1-sy0,tileSrc);
+			tileDst = intensityImage.subimage(x0,y0,x1,y1,tileDst);
+			tileDst.setTo(tileSrc);
+
+			int numMin = maxFeaturesPerTile > 0 ? maxFeaturesPerTile - numExcludeMin : -1;
+			int numMax = maxFeaturesPerTile > 0 ? maxFeaturesPerTile - numExcludeMax : -1;
+			selectInside(detector.getMinimums(), tileMinimums.get(tile), tileIntensity, numMin, false,
+					sx0, sy0, x0, y0, x1, y1);
+			selectInside(detector.getMaximums(), tileMaximums.get(tile), tileIntensity, numMax, true,
+					sx0, sy0, x0, y0, x1, y1);
+		}
+
+		/**
+		 * Converts excluded points inside the sub-image into sub-image coordinates and returns the number
+		 * which are inside the tile
+		 */
+		private int setExclude( QueueCorner all , QueueCorner local ,
+								int sx0, int sy0, int sx1, int sy1,
+								int x0, int y0, int x1, int y1 ) {
+			local.reset();
+			if( all == null )
+				return 0;
+
+			int total = 0;
+			for( int i = 0; i < all.size; i++ ) {
+				Point2D_I16 p = all.get(i);
+				if( p.x >= sx0 && p.x < sx1 && p.y >= sy0 && p.y < sy1 ) {
+					local.add(p.x - sx0, p.y - sy0);
+					if( p.x >= x0 && p.x < x1 && p.y >= y0 && p.y < y1 )
+						total++;
+				}
+			}
+			return total;
+		}
+
+		/**
+		 * Saves features inside the tile in image coordinates, optionally selecting the most intense
+		 */
+		private void selectInside( QueueCorner found , QueueCorner output , ImageFloat32 tileIntensity ,
+								   int numSelect , boolean positive ,
+								   int sx0, int sy0, int x0, int y0, int x1, int y1 ) {
+			output.reset();
+
+			inside.reset();
+			for( int i = 0; i < found.size; i++ ) {
+				Point2D_I16 p = found.get(i);
+				int x = p.x + sx0;
+				int y = p.y + sy0;
+				if( x >= x0 && x < x1 && y >= y0 && y < y1 )
+					inside.add(p);
+			}
+
+			QueueCorner selected = inside;
+			if( maxFeaturesPerTile > 0 ) {
+				if( numSelect <= 0 )
+					return;
+				selectBest.setN(numSelect);
+				selectBest.process(tileIntensity, inside, positive);
+				selected = selectBest.getBestCorners();
+			}
+
+			for( int i = 0; i < selected.size; i++ ) {
+				Point2D_I16 p = selected.get(i);
+				output.add(p.x + sx0, p.y + sy0);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends ImageSingleBand> T subimage( T image , int x0 , int y0 , int x1 , int y1 , T storage ) {
+		if( image == null )
+			return null;
+		return (T)image.subimage(x0, y0, x1, y1, storage);
+	}
+
+	@Override
+	public ImageFloat32 getIntensity() {
+		return intensityImage;
+	}
+
+	@Override
+	public void setThreshold(float threshold) {
+		for( int i = 0; i < workers.size(); i++ ) {
+			workers.get(i).detector.setThreshold(threshold);
+		}
+	}
+
+	@Override
+	public void setSearchRadius(int radius) {
+		for( int i = 0; i < workers.size(); i++ ) {
+			workers.get(i).detector.setSearchRadius(radius);
+		}
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public int getMaxFeaturesPerTile() {
+		return maxFeaturesPerTile;
+	}
+}
@@ -16,6 +16,7 @@
  * limitations under the License.
  */
 
+
 package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
@@ -25,12 +26,20 @@ import boofcv.alg.filter.kernel.KernelMath;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.factory.filter.convolve.FactoryConvolveSparse;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
 import georegression.struct.point.Point2D_I16;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static boofcv.alg.feature.detect.interest.FastHessianFeatureDetector.polyPeak;
 
@@ -57,10 +66,20 @@ import static boofcv.alg.feature.detect.interest.FastHessianFeatureDetector.poly
  * International Journal of Computer Vision, 60, 2 (2004), pp.91--110.
  * </p>
  *
+ * <p>
+ * CONCURRENCY: Local extremes are first found in each scale using the non-maximum suppression algorithm, one scale
+ * at a time.  Candidates from all the scales are then checked against the neighboring scales, tested for edges,
+ * and interpolated in parallel. The found features are in the same order as when processed in a single thread.
+ * See {@link BoofConcurrency}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class SiftDetector {
 
+	// rough number of operations needed to check a single candidate.  Used to decide how to split up the work
+	private static final int CANDIDATE_COST = 100;
+
 	// Contains the image's  scale space representation
 	protected SiftImageScaleSpace ss;
 
@@ -71,24 +90,30 @@ public class SiftDetector {
 
 	// target number of features for the extractor
 	private int maxFeatures;
-	// storage for found features
-	private QueueCorner foundPositive = new QueueCorner(10);
-	private QueueCorner foundNegative = new QueueCorner(10);
 
-	// List of found feature points
-	private FastQueue<ScalePoint> foundPoints = new FastQueue<ScalePoint>(10,ScalePoint.class,true);
+	// Description of each scale which features are detected inside of
+	private GrowQueue_I32 levelOctave = new GrowQueue_I32();
+	private GrowQueue_I32 levelScale = new GrowQueue_I32();
+	// Amount of blur applied to the image in each scale
+	private GrowQueue_F64 levelSigma = new GrowQueue_F64();
+	// correcting for how images are subsampled in each scale
+	private GrowQueue_F64 levelPixelOffset = new GrowQueue_F64();
 
-	// correcting for how images are subsampled
-	private double octavePixelOffset;
-	// Amount of blur applied to the current image being considered
-	private double currentSigma;
-	// Pixel scale factor for the current image being considered
-	private double currentPixelScale;
+	// storage for candidate features in each scale
+	private List<QueueCorner> levelNegative = new ArrayList<QueueCorner>();
+	private List<QueueCorner> levelPositive = new ArrayList<QueueCorner>();
+	// index of the first candidate in each scale.  Has one more element than the number of scales
+	private GrowQueue_I32 levelStart = new GrowQueue_I32();
 
-	// Computes image derivatives. used in edge rejection
-	private ImageConvolveSparse<ImageFloat32,?> derivXX;
-	private ImageConvolveSparse<ImageFloat32,?> derivXY;
-	private ImageConvolveSparse<ImageFloat32,?> derivYY;
+	// Feature for each candidate and if the candidate was accepted as a feature
+	private FastQueue<ScalePoint> candidatePoints = new FastQueue<ScalePoint>(10,ScalePoint.class,true);
+	private GrowQueue_B candidateValid = new GrowQueue_B();
+
+	// Checks candidates. One for each block of candidates being processed at the same time
+	private List<CandidateChecker> checkers = new ArrayList<CandidateChecker>();
+
+	// List of found feature points
+	private FastQueue<ScalePoint> foundPoints = new FastQueue<ScalePoint>(10,ScalePoint.class,true);
 
 	// Threshold for filtering out edges.
 	private double edgeThreshold;
@@ -113,135 +138,273 @@ public class SiftDetector {
 			sortBest = new SelectNBestFeatures(maxFeatures);
 		}
 
-		createDerivatives();
+		checkers.add(new CandidateChecker());
 
 		this.edgeThreshold = edgeThreshold;
 	}
 
 	/**
-	 * Define sparse image derivative operators.
+	 * Detects SIFT features inside the scale-space
+	 *
+	 * @param ss Scale-space of the image being processed
 	 */
-	private void createDerivatives() {
-		// TODO optimize usign a sparse kernel?
-		Kernel2D_F32 kerX = new Kernel2D_F32(3,
-				 0,0,0,
-				-1,0,1,
-				 0,0,0);
-		Kernel2D_F32 kerY = new Kernel2D_F32(3,
-				0,-1,0,
-				0, 0,0,
-				0, 1,0);
-		Kernel2D_F32 kerXX = KernelMath.convolve2D(kerX, kerX);
-		Kernel2D_F32 kerXY = KernelMath.convolve2D(kerX,kerY);
-		Kernel2D_F32 kerYY = KernelMath.convolve2D(kerY,kerY);
-
-		derivXX = FactoryConvolveSparse.create(ImageFloat32.class,kerXX);
-		derivXY = FactoryConvolveSparse.create(ImageFloat32.class,kerXY);
-		derivYY = FactoryConvolveSparse.create(ImageFloat32.class,kerYY);
-
-		// treat pixels outside the image border as having a value of zero
-		ImageBorder<ImageFloat32> border = FactoryImageBorder.value(ImageFloat32.class, 0);
-
-		derivXX.setImageBorder(border);
-		derivXY.setImageBorder(border);
-		derivYY.setImageBorder(border);
-	}
-
 	public void process( SiftImageScaleSpace ss ) {
 		// set up data structures
 		foundPoints.reset();
 		this.ss = ss;
-		octavePixelOffset = 0;
+
+		findCandidates();
+
+		final int totalCandidates = levelStart.data[levelStart.size-1];
+		candidatePoints.reset();
+		candidateValid.resize(totalCandidates);
+		for( int i = 0; i < totalCandidates; i++ )
+			candidatePoints.grow();
+
+		// check all the candidates
+		final int numBlocks = BoofConcurrency.computeBlocks(totalCandidates,
+				Math.max(1,BoofConcurrency.getMinimumPixels()/CANDIDATE_COST));
+		while( checkers.size() < numBlocks )
+			checkers.add(new CandidateChecker());
+
+		BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int c0 = (int)((long)totalCandidates*block/numBlocks);
+					int c1 = (int)((long)totalCandidates*(block+1)/numBlocks);
+					checkers.get(block).process(c0,c1);
+				}
+			}
+		});
+
+		// save the features in the same order they were found
+		for( int i = 0; i < totalCandidates; i++ ) {
+			if( candidateValid.data[i] )
+				foundPoints.grow().set(candidatePoints.data[i]);
+		}
+	}
+
+	/**
+	 * Finds local extremes inside each scale and saves them as candidate features
+	 */
+	private void findCandidates() {
+		levelOctave.reset();
+		levelScale.reset();
+		levelSigma.reset();
+		levelPixelOffset.reset();
+		levelStart.reset();
+
+		double octavePixelOffset = 0;
+		int totalCandidates = 0;
 
 		// extract features in each octave
 		for( int octave = 0; octave < ss.actualOctaves; octave++ ) {
 			// start processing at the second DOG since it needs the scales above and below
 			int indexDOG = octave*(ss.numScales-1)+1;
-			int indexScale = octave*ss.numScales+1;
 
-			currentPixelScale = ss.pixelScale[octave];
+			for( int scale = 1; scale < ss.numScales-2; scale++ , indexDOG++ ) {
+				int level = levelStart.size;
+				if( levelNegative.size() <= level ) {
+					levelNegative.add(new QueueCorner(10));
+					levelPositive.add(new QueueCorner(10));
+				}
+				QueueCorner foundNegative = levelNegative.get(level);
+				QueueCorner foundPositive = levelPositive.get(level);
 
-			ss.storage.reshape( ss.scale[indexScale].width , ss.scale[indexScale].height );
-
-			for( int scale = 1; scale < ss.numScales-2; scale++ , indexScale++,indexDOG++ ) {
-
-				// use the scale-space image as input for derivatives
-				derivXX.setImage(ss.scale[indexScale]);
-				derivXY.setImage(ss.scale[indexScale]);
-				derivYY.setImage(ss.scale[indexScale]);
+				detectFeatures(indexDOG,foundNegative,foundPositive);
 
+				levelOctave.push(octave);
+				levelScale.push(scale);
 				// the current scale factor being considered
-				currentSigma = ss.computeScaleSigma(octave,scale);
+				levelSigma.push(ss.computeScaleSigma(octave,scale));
+				levelPixelOffset.push(octavePixelOffset);
+				levelStart.push(totalCandidates);
 
-				detectFeatures(indexDOG);
+				totalCandidates += foundNegative.size + foundPositive.size;
 			}
 
 			// when the images are sub-sampled between octaves the sampling starts at pixel 1 in (x,y)
-			octavePixelOffset += currentPixelScale;
+			octavePixelOffset += ss.pixelScale[octave];
 		}
+		levelStart.push(totalCandidates);
 	}
 
 	/**
 	 * Detect features inside the specified scale.
 	 */
-	private void detectFeatures( int indexDOG ) {
+	private void detectFeatures( int indexDOG , QueueCorner foundNegative , QueueCorner foundPositive ) {
 		// set up data structures
 		foundNegative.reset();
 		foundPositive.reset();
 
-		// Local scale-space neighborhood
-		ImageFloat32 scale0 = ss.dog[indexDOG-1];
 		ImageFloat32 scale1 = ss.dog[indexDOG];
-		ImageFloat32 scale2 = ss.dog[indexDOG+1];
 
 		extractor.process(scale1,null,null,foundNegative,foundPositive);
 
-		addFoundFeatures(scale0,scale1,scale2,foundNegative,false);
-		addFoundFeatures(scale0,scale1,scale2,foundPositive,true);
+		// if configured to do so, only select the features with the highest intensity
+		if( sortBest != null ) {
+			selectBest(scale1,foundNegative,false);
+			selectBest(scale1,foundPositive,true);
+		}
+	}
+
+	/**
+	 * Replaces the found features with the ones with the highest intensity
+	 */
+	private void selectBest( ImageFloat32 intensity , QueueCorner found , boolean positive ) {
+		sortBest.process(intensity,found,positive);
+		QueueCorner best = sortBest.getBestCorners();
+
+		found.reset();
+		for( int i = 0; i < best.size; i++ ) {
+			found.add(best.data[i]);
+		}
 	}
 
-	private void addFoundFeatures( ImageFloat32 scale0, ImageFloat32 scale1, ImageFloat32 scale2,
-								   QueueCorner found , boolean positive ) {
+	/**
+	 * Checks the candidate features to see if they are local maximums in scale-space and not edges.  Each
+	 * thread has its own instance since the image derivatives are stateful.
+	 */
+	private class CandidateChecker {
+		// Computes image derivatives. used in edge rejection
+		private ImageConvolveSparse<ImageFloat32,?> derivXX;
+		private ImageConvolveSparse<ImageFloat32,?> derivXY;
+		private ImageConvolveSparse<ImageFloat32,?> derivYY;
+
+		private CandidateChecker() {
+			createDerivatives();
+		}
 
-		// if configured to do so, only select the features with the highest intensity
-		QueueCorner features;
-		if( sortBest != null ) {
-			sortBest.process(scale1,found,positive);
-			features = sortBest.getBestCorners();
-		} else {
-			features = found;
+		/**
+		 * Define sparse image derivative operators.
+		 */
+		private void createDerivatives() {
+			// TODO optimize usign a sparse kernel?
+			Kernel2D_F32 kerX = new Kernel2D_F32(3,
+					 0,0,0,
+					-1,0,1,
+					 0,0,0);
+			Kernel2D_F32 kerY = new Kernel2D_F32(3,
+					0,-1,0,
+					0, 0,0,
+					0, 1,0);
+			Kernel2D_F32 kerXX = KernelMath.convolve2D(kerX, kerX);
+			Kernel2D_F32 kerXY = KernelMath.convolve2D(kerX,kerY);
+			Kernel2D_F32 kerYY = KernelMath.convolve2D(kerY,kerY);
+
+			derivXX = FactoryConvolveSparse.create(ImageFloat32.class,kerXX);
+			derivXY = FactoryConvolveSparse.create(ImageFloat32.class,kerXY);
+			derivYY = FactoryConvolveSparse.create(ImageFloat32.class,kerYY);
+
+			// treat pixels outside the image border as having a value of zero
+			ImageBorder<ImageFloat32> border = FactoryImageBorder.value(ImageFloat32.class, 0);
+
+			derivXX.setImageBorder(border);
+			derivXY.setImageBorder(border);
+			derivYY.setImageBorder(border);
 		}
 
-		float signAdj = positive ? 1 : -1;
+		/**
+		 * Checks the candidates with indexes from c0 to c1-1
+		 */
+		private void process( int c0 , int c1 ) {
+			for( int level = 0; level < levelOctave.size; level++ ) {
+				int start = levelStart.data[level];
+				int end = levelStart.data[level+1];
+				if( end <= c0 || start >= c1 )
+					continue;
+
+				int octave = levelOctave.data[level];
+				int scale = levelScale.data[level];
+				int indexDOG = octave*(ss.numScales-1)+scale;
+				int indexScale = octave*ss.numScales+scale;
 
-		// precompute border for insignificant speed boost
-		int ignoreRadius = extractor.getIgnoreBorder();
-		int borderX = scale1.width-ignoreRadius-1;
-		int borderY = scale1.height-ignoreRadius-1;
+				// use the scale-space image as input for derivatives
+				derivXX.setImage(ss.scale[indexScale]);
+				derivXY.setImage(ss.scale[indexScale]);
+				derivYY.setImage(ss.scale[indexScale]);
 
-		// see if they are a local max in scale space
-		for( int i = 0; i < features.size; i++ ) {
-			Point2D_I16 p = features.data[i];
+				QueueCorner negative = levelNegative.get(level);
+				QueueCorner positive = levelPositive.get(level);
 
-			// discard points up against the image border since how it should be interpolated is undefined.  plus
-			// this makes it easier to write faster code
-			if( p.x <= ignoreRadius || p.y <= ignoreRadius || p.x >= borderX || p.y >= borderY )
-				continue;
+				checkFeatures(level,indexDOG,negative,false,start,c0,c1);
+				checkFeatures(level,indexDOG,positive,true,start+negative.size,c0,c1);
+			}
+		}
 
-			float value = scale1.unsafe_get(p.x, p.y);
-			if( isScaleSpaceMax(scale0,scale2,p.x,p.y,value,signAdj)
-					&& !isEdge(p.x,p.y) ) {
-				addPoint(scale0,scale1,scale2,p.x,p.y,value,signAdj,positive);
+		/**
+		 * Checks features in the list which are inside the range of candidates being processed.
+		 *
+		 * @param first Index of the first feature in the list in the combined list of candidates
+		 */
+		private void checkFeatures( int level , int indexDOG , QueueCorner features , boolean positive ,
+									int first , int c0 , int c1 ) {
+			// Local scale-space neighborhood
+			ImageFloat32 scale0 = ss.dog[indexDOG-1];
+			ImageFloat32 scale1 = ss.dog[indexDOG];
+			ImageFloat32 scale2 = ss.dog[indexDOG+1];
+
+			float signAdj = positive ? 1 : -1;
+
+			// precompute border for insignificant speed boost
+			int ignoreRadius = extractor.getIgnoreBorder();
+			int borderX = scale1.width-ignoreRadius-1;
+			int borderY = scale1.height-ignoreRadius-1;
+
+			int i0 = Math.max(0,c0-first);
+			int i1 = Math.min(features.size,c1-first);
+
+			// see if they are a local max in scale space
+			for( int i = i0; i < i1; i++ ) {
+				Point2D_I16 p = features.data[i];
+				boolean valid = false;
+
+				// discard points up against the image border since how it should be interpolated is undefined.  plus
+				// this makes it easier to write faster code
+				if( p.x > ignoreRadius && p.y > ignoreRadius && p.x < borderX && p.y < borderY ) {
+					float value = scale1.unsafe_get(p.x, p.y);
+					if( isScaleSpaceMax(scale0,scale2,p.x,p.y,value,signAdj)
+							&& !isEdge(p.x,p.y) ) {
+						computePoint(level,scale0,scale1,scale2,p.x,p.y,value,signAdj,positive,
+								candidatePoints.data[first+i]);
+						valid = true;
+					}
+				}
+				candidateValid.data[first+i] = valid;
 			}
 		}
+
+		/**
+		 * Performs an edge test to remove false positives.  See 4.1 in [1].
+		 */
+		private boolean isEdge( int x , int y ) {
+			if( edgeThreshold <= 0 )
+				return false;
+
+			double xx = derivXX.compute(x,y);
+			double xy = derivXY.compute(x,y);
+			double yy = derivYY.compute(x,y);
+
+			double Tr = xx + yy;
+			double det = xx*yy - xy*xy;
+			double value = Tr*Tr/det;
+
+			double threshold = edgeThreshold+2+1/edgeThreshold;
+
+			// The SIFT paper does not show absolute value here nor have I put enough thought into it
+			// to determine if this makes any sense.  However, it does seem to improve performance
+			// quite a bit.
+			return( Math.abs(value) > threshold);
+		}
 	}
 
 	/**
-	 * Adds the detected feature to the list.  Interpolates the feature's location in the image and scale
+	 * Computes the detected feature.  Interpolates the feature's location in the image and scale
 	 * using 2nd order polynomial instead.  This is a change from the paper.
 	 */
-	private void addPoint(ImageFloat32 scale0 , ImageFloat32 scale1, ImageFloat32 scale2,
-						  short x, short y, float value, float signAdj, boolean white ) {
+	private void computePoint(int level , ImageFloat32 scale0 , ImageFloat32 scale1, ImageFloat32 scale2,
+							  short x, short y, float value, float signAdj, boolean white , ScalePoint p ) {
 		value *= signAdj;
 		float x0 =  scale1.unsafe_get(x - 1, y)*signAdj;
 		float x2 =  scale1.unsafe_get(x + 1, y)*signAdj;
@@ -251,13 +414,14 @@ public class SiftDetector {
 		float s0 =  scale0.unsafe_get(x , y )*signAdj;
 		float s2 =  scale2.unsafe_get(x , y )*signAdj;
 
-		ScalePoint p = foundPoints.grow();
+		double currentPixelScale = ss.pixelScale[levelOctave.data[level]];
+		double octavePixelOffset = levelPixelOffset.data[level];
 
 		// when the image is down sampled it is sampled at pixel + 1
 		p.x = currentPixelScale*(x + polyPeak(x0, value, x2)) + octavePixelOffset;
 		p.y = currentPixelScale*(y + polyPeak(y0, value, y2)) + octavePixelOffset;
 
-		p.scale = currentSigma + currentPixelScale*ss.sigma*polyPeak(s0, value, s2);
+		p.scale = levelSigma.data[level] + currentPixelScale*ss.sigma*polyPeak(s0, value, s2);
 		p.white = white;
 	}
 
@@ -290,29 +454,6 @@ public class SiftDetector {
 		return true;
 	}
 
-	/**
-	 * Performs an edge test to remove false positives.  See 4.1 in [1].
-	 */
-	private boolean isEdge( int x , int y ) {
-		if( edgeThreshold <= 0 )
-			return false;
-
-		double xx = derivXX.compute(x,y);
-		double xy = derivXY.compute(x,y);
-		double yy = derivYY.compute(x,y);
-
-		double Tr = xx + yy;
-		double det = xx*yy - xy*xy;
-		double value = Tr*Tr/det;
-
-		double threshold = edgeThreshold+2+1/edgeThreshold;
-
-		// The SIFT paper does not show absolute value here nor have I put enough thought into it
-		// to determine if this makes any sense.  However, it does seem to improve performance
-		// quite a bit.
-		return( Math.abs(value) > threshold);
-	}
-
 	/**
 	 * Returns all the found points
 	 */
@@ -23,9 +23,14 @@ import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.misc.PixelMath;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Constructs the scale-space in which SIFT detects features.  An octave contains a set of scales.
  * Each octave is half the width/height of the previous octave.  Scales are computed inside an octave
@@ -42,6 +47,13 @@ import boofcv.struct.image.ImageFloat32;
  * octave.  The first octave is seeded with the input image or the input image scaled.
  * </p>
  *
+ * <p>
+ * CONCURRENCY: Scales inside an octave are computed from the previous scale and are blurred one after another,
+ * with each blur split into bands of rows.  The difference of Gaussian and derivative images of every scale
+ * in an octave are computed in parallel.  See {@link BoofConcurrency}.  The output is identical to the single
+ * threaded output.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class SiftImageScaleSpace {
@@ -78,8 +90,13 @@ public class SiftImageScaleSpace {
 	// Note that the octave's are recursively computed, so this is the blur magnitude from before
 	private double priorSigmaFirstScale[];
 
-	// Computes the image derivative
-	private ImageGradient<ImageFloat32,ImageFloat32> gradient = FactoryDerivative.three_F32();
+	// Computes the image derivative.  One for each block of scales being processed at the same time
+	private List<ImageGradient<ImageFloat32,ImageFloat32>> gradients = new ArrayList<ImageGradient<ImageFloat32,ImageFloat32>>();
+
+	// Blur applied to the first scale in an octave
+	private Kernel1D_F32 kernelFirst;
+	// Blur applied to the previous scale to compute scale 'i' in an octave.  Element 0 is not used.
+	private Kernel1D_F32 kernelScale[];
 
 	// storage for applying blur
 	protected ImageFloat32 storage;
@@ -131,6 +148,22 @@ public class SiftImageScaleSpace {
 		}
 		storage = new ImageFloat32(1,1);
 
+		// the amount of blur is the same in every octave so the kernels only need to be computed once
+		kernelFirst = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, -1);
+		kernelScale = new Kernel1D_F32[numScales];
+		for( int i = 1; i < numScales; i++ ) {
+			// sigmaA is the amount of blur already applied
+			double sigmaA = sigma*i;
+			// sigmaB is the desired amount of blur at this scale
+			double sigmaB = sigma*(i+1);
+
+			// compute the amount of blur which needs to be applied to get sigmaB
+			double amount = Math.sqrt(sigmaB*sigmaB - sigmaA*sigmaA);
+			kernelScale[i] = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, amount, -1);
+		}
+
+		gradients.add(FactoryDerivative.three_F32());
+
 		layerSigma = new double[totalImages];
 		for( int o = 0; o < numOctaves; o++ ) {
 			for( int s = 0; s < numScales; s++ ) {
@@ -151,10 +184,10 @@ public class SiftImageScaleSpace {
 			reshapeToInput(input.width * 2, input.height * 2);
 			upSample(input,scale[1]);
 
-			blurImage(scale[1],scale[0],sigma);
+			blurImage(scale[1],scale[0],kernelFirst);
 		} else {
 			reshapeToInput(input.width, input.height);
-			blurImage(input, scale[0], sigma);
+			blurImage(input, scale[0], kernelFirst);
 		}
 		constructRestOfOctave(0);
 
@@ -172,7 +205,7 @@ public class SiftImageScaleSpace {
 			}
 
 			downSample(scale[indexSeed],scale[indexStart+1]);
-			blurImage(scale[indexStart+1],scale[indexStart],sigma);
+			blurImage(scale[indexStart+1],scale[indexStart],kernelFirst);
 
 			constructRestOfOctave(o);
 		}
@@ -182,19 +215,46 @@ public class SiftImageScaleSpace {
 	 * Computes the image derivative for each layer in the pyramid.
 	 */
 	public void computeDerivatives() {
-		int maxScales = actualOctaves*numScales;
-		for( int i = 0; i < maxScales; i++ ) {
-			ImageFloat32 input = scale[i];
-			ImageFloat32 dx = derivX[i];
-			ImageFloat32 dy = derivY[i];
-
-			dx.reshape(input.width,input.height);
-			dy.reshape(input.width,input.height);
-
-			gradient.process(input,dx,dy);
+		for( int o = 0; o < actualOctaves; o++ ) {
+			final int indexFirst = o*numScales;
+			final int numBlocks = BoofConcurrency.computeBlocks(numScales,minimumScales(scale[indexFirst]));
+
+			while( gradients.size() < numBlocks )
+				gradients.add(FactoryDerivative.three_F32());
+
+			BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+				@Override
+				public void process(int block0, int block1) {
+					for( int block = block0; block < block1; block++ ) {
+						ImageGradient<ImageFloat32,ImageFloat32> gradient = gradients.get(block);
+						int s0 = numScales*block/numBlocks;
+						int s1 = numScales*(block+1)/numBlocks;
+
+						for( int i = indexFirst + s0; i < indexFirst + s1; i++ ) {
+							ImageFloat32 input = scale[i];
+							ImageFloat32 dx = derivX[i];
+							ImageFloat32 dy = derivY[i];
+
+							dx.reshape(input.width,input.height);
+							dy.reshape(input.width,input.height);
+
+							gradient.process(input,dx,dy);
+						}
+					}
+				}
+			});
 		}
 	}
 
+	/**
+	 * Minimum number of scales in an octave which are processed by a single thread
+	 *
+	 * @param image Image from the octave
+	 */
+	private static int minimumScales( ImageFloat32 image ) {
+		return Math.max(1,BoofConcurrency.getMinimumPixels()/Math.max(1,image.width*image.height));
+	}
+
 	/**
 	 * Returns the amount of blur which has been applied to the image in total at the specified scale
 	 * in the current octave
@@ -215,33 +275,35 @@ public class SiftImageScaleSpace {
 	 * Applies the specified amount of blur to the input image and stores the results in
 	 * the output image
 	 */
-	private void blurImage( ImageFloat32 input , ImageFloat32 output , double sigma ) {
-		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, -1);
-
-		storage.reshape(input.width,input.height);
-		ConvolveNormalized.horizontal(kernel, input, storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+	private void blurImage( ImageFloat32 input , ImageFloat32 output , Kernel1D_F32 kernel ) {
+		ConvolveNormalized.horizontalVertical(kernel, input, output, storage);
 	}
 
 	/**
 	 * Compute difference of Gaussian feature intensity across scale space
 	 */
 	public void computeFeatureIntensity() {
-		int indexDog = 0;
 		for( int o = 0; o < actualOctaves; o++ ) {
-			for( int i = 1; i < numScales; i++ , indexDog++ ) {
-				int indexScale = o*numScales + i;
-
-				PixelMath.subtract(scale[indexScale],scale[indexScale-1],dog[indexDog]);
-
-				// NOTE: In SIFT paper it states you don't need to do this adjustment.  However, since the difference
-				// between scales is not a constant factor in this implementation you do need to do it.
-
-				// compute adjustment to make it better approximate of the Laplacian of Gaussian detector
-				double k = (i+1)/(double)i;
-				double adjustment = k-1;
-				PixelMath.divide(dog[indexDog], (float) adjustment, dog[indexDog]);
-			}
+			final int octave = o;
+			BoofConcurrency.loopBlocks(1,numScales,minimumScales(scale[o*numScales]),new IntRangeTask() {
+				@Override
+				public void process(int i0, int i1) {
+					for( int i = i0; i < i1; i++ ) {
+						int indexScale = octave*numScales + i;
+						int indexDog = octave*(numScales-1) + i - 1;
+
+						PixelMath.subtract(scale[indexScale],scale[indexScale-1],dog[indexDog]);
+
+						// NOTE: In SIFT paper it states you don't need to do this adjustment.  However, since the difference
+						// between scales is not a constant factor in this implementation you do need to do it.
+
+						// compute adjustment to make it better approximate of the Laplacian of Gaussian detector
+						double k = (i+1)/(double)i;
+						double adjustment = k-1;
+						PixelMath.divide(dog[indexDog], (float) adjustment, dog[indexDog]);
+					}
+				}
+			});
 		}
 	}
 
@@ -254,50 +316,52 @@ public class SiftImageScaleSpace {
 
 		int indexScales = octave*numScales+1;
 		for( int i = 1; i < numScales; i++ , indexScales++ ) {
-			// sigmaA is the amount of blur already applied
-			double sigmaA = sigma*i;
-			// sigmaB is the desired amount of blur at this scale
-			double sigmaB = sigma*(i+1);
-
-			// compute the amount of blur which needs to be applied to get sigmaB
-			double amount = Math.sqrt(sigmaB*sigmaB - sigmaA*sigmaA);
-
 			// apply the blur
-			blurImage(scale[indexScales-1],scale[indexScales],amount);
+			blurImage(scale[indexScales-1],scale[indexScales],kernelScale[i]);
 		}
 	}
 
 	/**
 	 * Down samples an image by copying every other pixel, starting with pixel 1.
 	 */
-	protected static void downSample( ImageFloat32 from , ImageFloat32 to ) {
-
-		for( int y = 0; y < to.height; y++ ) {
-			for( int x = 0; x < to.width; x++ ) {
-				to.unsafe_set(x,y,from.unsafe_get(x*2+1,y*2+1));
+	protected static void downSample( final ImageFloat32 from , final ImageFloat32 to ) {
+
+		BoofConcurrency.loopRows(0,to.height,to.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					for( int x = 0; x < to.width; x++ ) {
+						to.unsafe_set(x,y,from.unsafe_get(x*2+1,y*2+1));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
 	 * Up-samples the input image.  Doubling its size.
 	 */
-	protected static void upSample( ImageFloat32 from , ImageFloat32 to ) {
-
-		for( int y = 0; y < from.height; y++ ) {
-			int yy = y*2;
-			int xx = 0;
-			for( int x = 0; x < from.width; x++ ) {
-				float v = from.unsafe_get(x,y);
-
-				to.unsafe_set(xx, yy, v);
-				to.unsafe_set(xx,yy+1,v);
-				xx++;
-				to.unsafe_set(xx,yy,v);
-				to.unsafe_set(xx,yy+1,v);
-				xx++;
+	protected static void upSample( final ImageFloat32 from , final ImageFloat32 to ) {
+
+		BoofConcurrency.loopRows(0,from.height,to.width*2,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int yy = y*2;
+					int xx = 0;
+					for( int x = 0; x < from.width; x++ ) {
+						float v = from.unsafe_get(x,y);
+
+						to.unsafe_set(xx, yy, v);
+						to.unsafe_set(xx,yy+1,v);
+						xx++;
+						to.unsafe_set(xx,yy,v);
+						to.unsafe_set(xx,yy+1,v);
+						xx++;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
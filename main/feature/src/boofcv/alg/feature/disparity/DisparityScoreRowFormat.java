@@ -19,8 +19,13 @@
 package boofcv.alg.feature.disparity;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.image.ImageSingleBand;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * <p>
  * Base class for all dense stereo disparity score algorithms whose score's can be processed by
@@ -36,6 +41,14 @@ import boofcv.struct.image.ImageSingleBand;
  * when writing.  Performance boost is about 20%-30% depending on max disparity and image size.
  * </p>
  *
+ * <p>
+ * CONCURRENCY: See {@link #processBands}.  The image is split into bands of rows which are processed in parallel,
+ * each with its own copy of the algorithm.  Bands overlap by the rows needed to compute the score of their
+ * first and last rows.  Integer scores are identical to the single threaded results.  Floating point scores
+ * would be summed in a different order in each band, so floating point implementations process the whole
+ * image sequentially.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public abstract class DisparityScoreRowFormat
@@ -56,6 +69,9 @@ public abstract class DisparityScoreRowFormat
 	// size of the region: radius*2 + 1
 	protected int regionWidth,regionHeight;
 
+	// instances which process each band of rows.  The first band is processed by this instance
+	private List<DisparityScoreRowFormat<Input,Disparity>> bands = new ArrayList<DisparityScoreRowFormat<Input,Disparity>>();
+
 	/**
 	 * Configures disparity calculation.
 	 *
@@ -107,6 +123,57 @@ public abstract class DisparityScoreRowFormat
 	 */
 	public abstract void _process( Input left , Input right , Disparity disparity );
 
+	/**
+	 * Computes the disparity by splitting the image into bands of rows, which are processed in parallel.
+	 * See {@link BoofConcurrency}.
+	 *
+	 * @param border Number of rows above and below a row which are needed to compute its score
+	 */
+	protected void processBands( final Input left , final Input right , final Disparity disparity ,
+								 final int border ) {
+		// rows in the disparity image which are computed
+		final int y0 = border;
+		final int y1 = left.height - border;
+
+		final int numBands = BoofConcurrency.computeBlocks(y1-y0,
+				Math.max(2*border+1,BoofConcurrency.minimumRows(lengthHorizontal)));
+		if( numBands <= 1 ) {
+			processRows(left, right, disparity, 0, left.height);
+			return;
+		}
+
+		if( bands.isEmpty() )
+			bands.add(this);
+		while( bands.size() < numBands )
+			bands.add(copy());
+		for( int i = 1; i < numBands; i++ )
+			bands.get(i).lengthHorizontal = lengthHorizontal;
+
+		BoofConcurrency.loopBlocks(0,numBands,1,new IntRangeTask() {
+			@Override
+			public void process(int band0, int band1) {
+				for( int band = band0; band < band1; band++ ) {
+					int r0 = y0 + (int)((long)(y1-y0)*band/numBands);
+					int r1 = y0 + (int)((long)(y1-y0)*(band+1)/numBands);
+					bands.get(band).processRows(left, right, disparity, r0 - border, r1 + border);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the score and disparity using the specified rows in the input image.
+	 *
+	 * @param row0 First row in the input image, inclusive.
+	 * @param row1 Last row in the input image, exclusive.
+	 */
+	protected abstract void processRows( Input left , Input right , Disparity disparity , int row0 , int row1 );
+
+	/**
+	 * Creates a new instance with the same configuration.  Used to process bands of rows in parallel.
+	 */
+	protected abstract DisparityScoreRowFormat<Input,Disparity> copy();
+
 	public abstract Class<Input> getInputType();
 
 	public abstract Class<Disparity> getDisparityType();
@@ -57,6 +57,14 @@ public interface DisparitySelect<Array , T extends ImageSingleBand> {
 	 */
 	public void process(int row, Array scoresArray);
 
+	/**
+	 * Creates a new instance with the same configuration.  Used when different parts of the image are
+	 * processed in parallel.
+	 *
+	 * @return New instance
+	 */
+	public DisparitySelect<Array,T> copy();
+
 	/**
 	 * Type of image the disparity is
 	 *
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageSingleBand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Dense stereo disparity using Semi-Global Matching (SGM).  The matching cost of each pixel is computed
+ * using {@link SgmCostFunction}, smoothed by aggregating it along several paths through the image with
+ * {@link SgmCostAggregation}, then the best disparity is selected with {@link DisparitySelect}.  The aggregated
+ * cost is passed to {@link DisparitySelect} one row at a time in the same format as
+ * {@link DisparityScoreRowFormat} with a region radius of zero, so sub-pixel interpolation, right to left
+ * validation, and the other selection options work the same way they do for region based algorithms.
+ * </p>
+ *
+ * <p>
+ * Memory usage is dominated by two short[] cost volumes with width*height*(maxDisparity-minDisparity) elements.
+ * To bound memory on large images the image can be processed in tiles of rows, see {@link #setTiling}.  Paths
+ * are cut at the tile border so tiles overlap by several rows to reduce the difference from processing
+ * the whole image at once.
+ * </p>
+ *
+ * <p>
+ * CONCURRENCY: Cost computation, aggregation, and selection are all done in parallel.  Results are
+ * identical to the single threaded results.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparitySgm<T extends ImageSingleBand, D extends ImageSingleBand> {
+
+	// the minimum disparity that it will check
+	protected int minDisparity;
+	// maximum allowed image disparity. exclusive
+	protected int maxDisparity;
+	// difference between max and min
+	protected int rangeDisparity;
+
+	// computes the matching cost
+	protected SgmCostFunction<T> costFunction;
+	// aggregates the cost along paths
+	protected SgmCostAggregation aggregation;
+	// selects the best disparity
+	protected DisparitySelect<int[],D> select;
+
+	// number of rows in a tile.  If <= 0 then the whole image is processed at once
+	protected int tileHeight = 0;
+	// number of rows tiles overlap by
+	protected int tileOverlap = 0;
+
+	// cost volume for the tile
+	short costs[] = new short[0];
+
+	// selectors and score rows used by each thread.  The first selector is the one passed in
+	List<DisparitySelect<int[],D>> selectors = new ArrayList<DisparitySelect<int[],D>>();
+	List<int[]> scores = new ArrayList<int[]>();
+
+	/**
+	 * Configures disparity calculation.
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param costFunction Computes the matching cost
+	 * @param aggregation Aggregates the cost along paths
+	 * @param select Selects the best disparity from the aggregated cost
+	 */
+	public DisparitySgm(int minDisparity, int maxDisparity,
+						SgmCostFunction<T> costFunction,
+						SgmCostAggregation aggregation,
+						DisparitySelect<int[],D> select ) {
+		if( maxDisparity <= 0 )
+			throw new IllegalArgumentException("Max disparity must be greater than zero");
+		if( minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Min disparity must be >= 0 and < maxDisparity");
+
+		int maxAggregated = aggregation.getPaths()*(costFunction.getMaxCost() + aggregation.getPenalty2());
+		if( maxAggregated > Short.MAX_VALUE )
+			throw new IllegalArgumentException("Aggregated cost can overflow a short.  Reduce penalty2. "+
+					"paths*(maxCost+penalty2) = "+maxAggregated);
+
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+		this.rangeDisparity = maxDisparity - minDisparity;
+		this.costFunction = costFunction;
+		this.aggregation = aggregation;
+		this.select = select;
+
+		costFunction.configure(minDisparity, maxDisparity);
+		selectors.add(select);
+	}
+
+	/**
+	 * Specifies how the image is broken up into tiles.  Tiles span the entire width of the image and
+	 * their height is specified here.
+	 *
+	 * @param tileHeight Number of rows in each tile.  If <= 0 then the whole image is processed at once.
+	 * @param tileOverlap Number of rows above and below the tile which are also processed.  Try 20.
+	 */
+	public void setTiling( int tileHeight , int tileOverlap ) {
+		if( tileOverlap < 0 )
+			throw new IllegalArgumentException("Tile overlap must be >= 0");
+		this.tileHeight = tileHeight;
+		this.tileOverlap = tileOverlap;
+	}
+
+	/**
+	 * Computes disparity between two stereo images
+	 *
+	 * @param left Left rectified stereo image. Input
+	 * @param right Right rectified stereo image. Input
+	 * @param disparity Disparity between the two images. Output
+	 */
+	public void process( T left , T right , D disparity ) {
+		InputSanityCheck.checkSameShape(left, right, disparity);
+
+		if( maxDisparity > left.width )
+			throw new RuntimeException(
+					"The maximum disparity is too large for this image size: max size "+left.width);
+
+		int tile = tileHeight <= 0 ? left.height : tileHeight;
+
+		for( int y0 = 0; y0 < left.height; y0 += tile ) {
+			int y1 = Math.min(left.height, y0 + tile);
+
+			int row0 = Math.max(0, y0 - tileOverlap);
+			int row1 = Math.min(left.height, y1 + tileOverlap);
+
+			processTile(left, right, disparity, row0, row1, y0, y1);
+		}
+	}
+
+	/**
+	 * Computes the disparity of rows y0 to y1 using the cost from rows row0 to row1
+	 */
+	private void processTile( T left , T right , D disparity , int row0 , int row1 , int y0 , int y1 ) {
+		int N = (row1-row0)*left.width*rangeDisparity;
+		if( costs.length < N )
+			costs = new short[N];
+
+		costFunction.process(left, right, row0, row1, costs);
+		aggregation.process(costs, left.width, row1-row0, rangeDisparity);
+
+		selectRows(disparity, aggregation.getAggregated(), row0, y0, y1);
+	}
+
+	/**
+	 * Converts the aggregated cost into the row format used by {@link DisparitySelect} and selects
+	 * the disparity.
+	 */
+	private void selectRows( final D disparity , final short aggregated[] ,
+							 final int row0 , final int y0 , final int y1 ) {
+		final int width = disparity.width;
+		final int numBlocks = BoofConcurrency.computeBlocks(y1-y0,
+				BoofConcurrency.minimumRows(width*rangeDisparity));
+
+		while( selectors.size() < numBlocks )
+			selectors.add(select.copy());
+		for( int i = 0; i < numBlocks; i++ ) {
+			if( i >= scores.size() )
+				scores.add(new int[width*rangeDisparity]);
+			else if( scores.get(i).length < width*rangeDisparity )
+				scores.set(i, new int[width*rangeDisparity]);
+		}
+
+		BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int r0 = y0 + (int)((long)(y1-y0)*block/numBlocks);
+					int r1 = y0 + (int)((long)(y1-y0)*(block+1)/numBlocks);
+
+					DisparitySelect<int[],D> s = selectors.get(block);
+					s.configure(disparity, minDisparity, maxDisparity, 0);
+					selectRows(aggregated, width, row0, r0, r1, s, scores.get(block));
+				}
+			}
+		});
+	}
+
+	private void selectRows( short aggregated[] , int width , int row0 , int y0 , int y1 ,
+							 DisparitySelect<int[],D> select , int score[] ) {
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = minDisparity; x < width; x++ ) {
+				int indexAggregated = ((y-row0)*width + x)*rangeDisparity;
+				int localRange = Math.min(rangeDisparity, x-minDisparity+1);
+
+				int indexScore = x - minDisparity;
+				for( int i = 0; i < localRange; i++ , indexScore += width ) {
+					score[indexScore] = aggregated[indexAggregated+i];
+				}
+			}
+			select.process(y, score);
+		}
+	}
+
+	public int getMinDisparity() {
+		return minDisparity;
+	}
+
+	public int getMaxDisparity() {
+		return maxDisparity;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	public int getTileOverlap() {
+		return tileOverlap;
+	}
+
+	public SgmCostFunction<T> getCostFunction() {
+		return costFunction;
+	}
+
+	public SgmCostAggregation getAggregation() {
+		return aggregation;
+	}
+
+	public Class<T> getInputType() {
+		return costFunction.getInputType();
+	}
+
+	public Class<D> getDisparityType() {
+		return select.getDisparityType();
+	}
+}
@@ -22,8 +22,17 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
+ * <p>
  * Computes disparity SAD scores using a rectangular region at the specified points only along
  * the x-axis. Scores are returned in an array where the index refers to the disparity.
+ * </p>
+ *
+ * <p>
+ * The score of a region is the sum of its columns.  Column scores from the most recently processed row are
+ * cached and reused, so when points along the same row are processed in order of increasing x-coordinate
+ * only the columns which were not in the previous region need to be computed.  Scores are the same
+ * no matter which order points are processed in.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -44,6 +53,12 @@ public abstract class DisparitySparseScoreSadRect< ArrayData , Input extends Ima
 	protected Input left;
 	protected Input right;
 
+	// row and range of columns, inclusive, which are in the column score cache
+	protected int cacheRow = -1;
+	protected int cacheCol0,cacheCol1;
+	// number of disparities computed for each column in the cache
+	protected int cacheDisparity;
+
 	/**
 	 * Configures disparity calculation.
 	 *
@@ -74,6 +89,7 @@ public abstract class DisparitySparseScoreSadRect< ArrayData , Input extends Ima
 
 		this.left = left;
 		this.right = right;
+		this.cacheRow = -1;
 	}
 
 	/**
@@ -82,8 +98,69 @@ public abstract class DisparitySparseScoreSadRect< ArrayData , Input extends Ima
 	 *
 	 * @param x x-coordinate of point
 	 * @param y y-coordinate of point.
+	 * @return true if the scores were computed or false if the point is too close to the image border
+	 */
+	public boolean process( int x , int y ) {
+		// adjust disparity for image border
+		localMaxDisparity = Math.min(rangeDisparity,x-radiusX+1-minDisparity);
+
+		if( localMaxDisparity <= 0 || x >= left.width-radiusX || y < radiusY || y >= left.height-radiusY )
+			return false;
+
+		int col0 = x-radiusX;
+		int col1 = x+radiusX;
+
+		// columns to the left of the cached region have been overwritten
+		if( y != cacheRow || localMaxDisparity != cacheDisparity || col0 < cacheCol0 ) {
+			cacheRow = y;
+			cacheDisparity = localMaxDisparity;
+			cacheCol1 = col0-1;
+		}
+
+		int start = Math.max(col0,cacheCol1+1);
+		if( start <= col1 )
+			computeColumns(y,start,col1);
+
+		cacheCol0 = col0;
+		cacheCol1 = col1;
+
+		sumColumns(col0);
+
+		return true;
+	}
+
+	/**
+	 * Computes the score of each column in the region centered at row y for each disparity up to
+	 * {@link #localMaxDisparity} and saves the results in the column cache.  Column 'c' is saved
+	 * at location c % regionWidth.  Must be overridden unless {@link #process(int, int)} is.
+	 *
+	 * @param y center of region y-axis
+	 * @param col0 first column, inclusive
+	 * @param col1 last column, inclusive
+	 */
+	protected void computeColumns( int y , int col0 , int col1 ) {
+		throw new UnsupportedOperationException("Override process() or computeColumns() and sumColumns()");
+	}
+
+	/**
+	 * Computes the score for each disparity by summing up the cached columns in the region which starts at col0.
+	 * Must be overridden unless {@link #process(int, int)} is.
+	 *
+	 * @param col0 First column in the region.
 	 */
-	public abstract boolean process( int x , int y );
+	protected void sumColumns( int col0 ) {
+		throw new UnsupportedOperationException("Override process() or computeColumns() and sumColumns()");
+	}
+
+	/**
+	 * Creates a new instance with the same configuration which references the same input images.  Used when
+	 * points are processed in parallel.  Returns null by default, which means points are processed one at a time.
+	 *
+	 * @return New instance or null if it can't be copied.
+	 */
+	public DisparitySparseScoreSadRect<ArrayData,Input> copy() {
+		return null;
+	}
 
 	/**
 	 * How many disparity values were considered.
@@ -115,5 +192,21 @@ public abstract class DisparitySparseScoreSadRect< ArrayData , Input extends Ima
 	 */
 	public abstract ArrayData getScore();
 
+	/**
+	 * Score of the specified disparity at the most recently processed point.
+	 *
+	 * @param disparity Disparity relative to the minimum disparity.
+	 * @return score
+	 */
+	public double getScore( int disparity ) {
+		Object scores = getScore();
+		if( scores instanceof int[] )
+			return ((int[])scores)[disparity];
+		else if( scores instanceof float[] )
+			return ((float[])scores)[disparity];
+		else
+			throw new IllegalArgumentException("Unknown score array type.  Override getScore(int)");
+	}
+
 	public abstract Class<Input> getImageType();
 }
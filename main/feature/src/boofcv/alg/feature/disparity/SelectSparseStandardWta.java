@@ -35,6 +35,8 @@ public abstract class SelectSparseStandardWta<ArrayType>
 
 	// maximum allowed error
 	protected int maxError;
+	// texture threshold as specified in the constructor
+	protected double texture;
 
 	/**
 	 *
@@ -43,6 +45,7 @@ public abstract class SelectSparseStandardWta<ArrayType>
 	 */
 	public SelectSparseStandardWta(int maxError, double texture) {
 		this.maxError = maxError <= 0 ? Integer.MAX_VALUE : maxError;
+		this.texture = texture;
 		setTexture(texture);
 	}
 
@@ -58,4 +61,14 @@ public abstract class SelectSparseStandardWta<ArrayType>
 		return disparity;
 	}
 
+	/**
+	 * Creates a new instance with the same configuration.  Used when points are processed in parallel.
+	 * Returns null by default, which means points are processed one at a time.
+	 *
+	 * @return New instance or null if it can't be copied.
+	 */
+	public SelectSparseStandardWta<ArrayType> copy() {
+		return null;
+	}
+
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Aggregates the matching cost along several 1D paths through the image, which is the core of Semi-Global
+ * Matching (SGM) [1].  The cost along path r at pixel p and disparity d is:<br>
+ * L<sub>r</sub>(p,d) = C(p,d) + min(L<sub>r</sub>(p-r,d), L<sub>r</sub>(p-r,d&plusmn;1) + P1,
+ * min<sub>i</sub> L<sub>r</sub>(p-r,i) + P2) - min<sub>i</sub> L<sub>r</sub>(p-r,i)<br>
+ * where P1 is the penalty for a small change in disparity and P2 for a large change.  The aggregated cost
+ * is the sum of L<sub>r</sub> across all paths.  Paths are horizontal and vertical when 4 paths are used,
+ * diagonals are included when 8 paths are used.
+ * </p>
+ *
+ * <p>
+ * Memory is kept compact by storing the aggregated cost in a short[] with the same format as the input
+ * cost volume (see {@link SgmCostFunction}).  Only the previous row along the path is saved for each path.
+ * L<sub>r</sub> is at most maxCost + P2, so the sum will fit inside a short if
+ * paths*(maxCost + P2) &le; {@link Short#MAX_VALUE}.
+ * </p>
+ *
+ * <p>
+ * CONCURRENCY: Paths are processed one at a time.  Horizontal paths are independent for each row and rows
+ * are processed in parallel.  All other paths depend on the previous row, so the pixels inside a row are
+ * processed in parallel.  Results are identical to the single threaded results.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, H. "Stereo Processing by Semiglobal Matching and Mutual Information"
+ * IEEE Transactions on Pattern Analysis and Machine Intelligence, 2008
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAggregation {
+
+	// direction of each path
+	private static final int PATHS_X[] = {1,-1,0,0,1,-1,1,-1};
+	private static final int PATHS_Y[] = {0,0,1,-1,1,1,-1,-1};
+
+	// penalty for a change in disparity of one
+	int penalty1;
+	// penalty for a change in disparity greater than one
+	int penalty2;
+	// number of paths
+	int paths;
+
+	// shape of the cost volume
+	int width,height,rangeDisparity;
+
+	// input cost volume
+	short costs[];
+	// aggregated cost along all paths
+	short aggregated[] = new short[0];
+
+	// cost along the path in the previous and current row. Used by non-horizontal paths
+	short previousRow[] = new short[0];
+	short currentRow[] = new short[0];
+	// minimum cost of each pixel in the previous and current row
+	int previousMin[] = new int[0];
+	int currentMin[] = new int[0];
+
+	// storage for horizontal paths.  One for each thread
+	List<short[]> workspace = new ArrayList<short[]>();
+
+	/**
+	 * Configures the penalties and number of paths.
+	 *
+	 * @param penalty1 Penalty for a change in disparity of one. Try 6 for census.
+	 * @param penalty2 Penalty for a change in disparity greater than one.  Must be &ge; penalty1. Try 80 for census.
+	 * @param paths Number of paths which are considered.  Must be 4 or 8.
+	 */
+	public SgmCostAggregation(int penalty1, int penalty2, int paths) {
+		if( paths != 4 && paths != 8 )
+			throw new IllegalArgumentException("Number of paths must be 4 or 8");
+		if( penalty1 < 0 || penalty2 < penalty1 )
+			throw new IllegalArgumentException("Penalties must be positive and penalty2 >= penalty1");
+		this.penalty1 = penalty1;
+		this.penalty2 = penalty2;
+		this.paths = paths;
+	}
+
+	/**
+	 * Aggregates the cost along all the paths.
+	 *
+	 * @param costs Cost volume.  Not modified.
+	 * @param width Number of columns in the cost volume
+	 * @param height Number of rows in the cost volume
+	 * @param rangeDisparity Number of disparities at each pixel
+	 */
+	public void process( short costs[] , int width , int height , int rangeDisparity ) {
+		this.costs = costs;
+		this.width = width;
+		this.height = height;
+		this.rangeDisparity = rangeDisparity;
+
+		int N = width*height*rangeDisparity;
+		if( aggregated.length < N )
+			aggregated = new short[N];
+		else
+			for( int i = 0; i < N; i++ )
+				aggregated[i] = 0;
+
+		if( previousRow.length < width*rangeDisparity ) {
+			previousRow = new short[width*rangeDisparity];
+			currentRow = new short[width*rangeDisparity];
+			previousMin = new int[width];
+			currentMin = new int[width];
+		}
+
+		for( int i = 0; i < paths; i++ ) {
+			if( PATHS_Y[i] == 0 )
+				aggregateHorizontal(PATHS_X[i]);
+			else
+				aggregateVertical(PATHS_X[i], PATHS_Y[i]);
+		}
+	}
+
+	/**
+	 * Aggregates along a horizontal path.  Each row is independent.
+	 */
+	private void aggregateHorizontal( final int dx ) {
+		final int numBlocks = BoofConcurrency.computeBlocks(height,
+				BoofConcurrency.minimumRows(width*rangeDisparity));
+
+		for( int i = 0; i < numBlocks; i++ ) {
+			if( i >= workspace.size() )
+				workspace.add(new short[2*rangeDisparity]);
+			else if( workspace.get(i).length < 2*rangeDisparity )
+				workspace.set(i, new short[2*rangeDisparity]);
+		}
+
+		BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int y0 = (int)((long)height*block/numBlocks);
+					int y1 = (int)((long)height*(block+1)/numBlocks);
+					aggregateRows(dx, y0, y1, workspace.get(block));
+				}
+			}
+		});
+	}
+
+	private void aggregateRows( int dx , int y0 , int y1 , short work[] ) {
+		int x0 = dx > 0 ? 0 : width-1;
+
+		for( int y = y0; y < y1; y++ ) {
+			// the cost along the path is saved in alternating halves of the work array
+			int indexCost = (y*width + x0)*rangeDisparity;
+			int minPrevious = startPath(indexCost, work, 0);
+			int indexPrevious = 0;
+
+			for( int i = 1, x = x0+dx; i < width; i++, x += dx ) {
+				indexCost = (y*width + x)*rangeDisparity;
+				int indexCurrent = rangeDisparity - indexPrevious;
+				minPrevious = updatePath(indexCost, work, indexPrevious, minPrevious, work, indexCurrent);
+				indexPrevious = indexCurrent;
+			}
+		}
+	}
+
+	/**
+	 * Aggregates along a path which goes up or down.  Rows are processed in order since each row depends
+	 * on the previous one.
+	 */
+	private void aggregateVertical( final int dx , int dy ) {
+		final int numBlocks = BoofConcurrency.computeBlocks(width,
+				Math.max(1,BoofConcurrency.getMinimumPixels()/rangeDisparity));
+
+		int y = dy > 0 ? 0 : height-1;
+
+		// the path starts at the first row
+		for( int x = 0; x < width; x++ ) {
+			previousMin[x] = startPath((y*width + x)*rangeDisparity, previousRow, x*rangeDisparity);
+		}
+
+		for( int i = 1; i < height; i++ ) {
+			y += dy;
+			final int row = y;
+			if( numBlocks <= 1 ) {
+				aggregateColumns(dx, row, 0, width);
+			} else {
+				BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+					@Override
+					public void process(int block0, int block1) {
+						int x0 = (int)((long)width*block0/numBlocks);
+						int x1 = (int)((long)width*block1/numBlocks);
+						aggregateColumns(dx, row, x0, x1);
+					}
+				});
+			}
+
+			short tmp[] = previousRow; previousRow = currentRow; currentRow = tmp;
+			int tmpMin[] = previousMin; previousMin = currentMin; currentMin = tmpMin;
+		}
+	}
+
+	private void aggregateColumns( int dx , int y , int x0 , int x1 ) {
+		for( int x = x0; x < x1; x++ ) {
+			int indexCost = (y*width + x)*rangeDisparity;
+			int prevX = x - dx;
+
+			if( prevX < 0 || prevX >= width ) {
+				// a new path starts at the image border
+				currentMin[x] = startPath(indexCost, currentRow, x*rangeDisparity);
+			} else {
+				currentMin[x] = updatePath(indexCost, previousRow, prevX*rangeDisparity, previousMin[prevX],
+						currentRow, x*rangeDisparity);
+			}
+		}
+	}
+
+	/**
+	 * The first pixel along a path has a cost that's the same as the input cost
+	 *
+	 * @return minimum cost across all disparities
+	 */
+	private int startPath( int indexCost , short current[] , int indexCurrent ) {
+		int min = Integer.MAX_VALUE;
+		for( int d = 0; d < rangeDisparity; d++ ) {
+			short c = costs[indexCost+d];
+			current[indexCurrent+d] = c;
+			aggregated[indexCost+d] += c;
+			if( c < min )
+				min = c;
+		}
+		return min;
+	}
+
+	/**
+	 * Computes the cost along the path for a pixel given the cost of the previous pixel along the path
+	 *
+	 * @return minimum cost across all disparities
+	 */
+	private int updatePath( int indexCost ,
+							short previous[] , int indexPrevious , int minPrevious ,
+							short current[] , int indexCurrent ) {
+		final int P1 = penalty1;
+		final int largeChange = minPrevious + penalty2;
+		final int end = rangeDisparity-1;
+
+		int min = Integer.MAX_VALUE;
+		for( int d = 0; d <= end; d++ ) {
+			int best = previous[indexPrevious+d];
+			if( d > 0 )
+				best = Math.min(best, previous[indexPrevious+d-1] + P1);
+			if( d < end )
+				best = Math.min(best, previous[indexPrevious+d+1] + P1);
+			best = Math.min(best, largeChange);
+
+			int cost = costs[indexCost+d] + best - minPrevious;
+			current[indexCurrent+d] = (short)cost;
+			aggregated[indexCost+d] += cost;
+			if( cost < min )
+				min = cost;
+		}
+		return min;
+	}
+
+	/**
+	 * Aggregated cost.  Same format as the input cost.
+	 */
+	public short[] getAggregated() {
+		return aggregated;
+	}
+
+	public int getPenalty1() {
+		return penalty1;
+	}
+
+	public int getPenalty2() {
+		return penalty2;
+	}
+
+	public int getPaths() {
+		return paths;
+	}
+}
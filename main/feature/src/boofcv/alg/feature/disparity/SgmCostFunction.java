@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Computes the matching cost of every pixel at every disparity for use in {@link DisparitySgm}.  Costs
+ * are stored in a compact short[] cost volume where all the disparities of a pixel are next to each other.
+ * </p>
+ *
+ * <p>
+ * Cost Format: The index of the cost for pixel (x,y) at disparity d is:<br>
+ * index = ((y-row0)*imgWidth + x)*(maxDisparity-minDisparity) + d-minDisparity<br>
+ * If x-d is outside the right image then the cost is set to {@link #getMaxCost()}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface SgmCostFunction<T extends ImageSingleBand> {
+
+	/**
+	 * Specifies the range of disparities which are considered
+	 *
+	 * @param minDisparity Minimum disparity that is considered.  Inclusive.
+	 * @param maxDisparity Maximum disparity that is considered.  Exclusive.
+	 */
+	public void configure( int minDisparity , int maxDisparity );
+
+	/**
+	 * Computes the cost for all pixels inside a band of rows.  Pixels outside the band are used when
+	 * computing the cost, so the results do not depend on how the image is split up.
+	 *
+	 * @param left Left rectified image.
+	 * @param right Right rectified image.
+	 * @param row0 First row in the band.  Inclusive.
+	 * @param row1 Last row in the band.  Exclusive.
+	 * @param costs Storage for the cost volume.  Must be at least (row1-row0)*width*range long.
+	 */
+	public void process( T left , T right , int row0 , int row1 , short costs[] );
+
+	/**
+	 * The largest value a cost can have
+	 */
+	public int getMaxCost();
+
+	/**
+	 * Type of input image
+	 */
+	public Class<T> getInputType();
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Computes the disparity score for a rectangular region using the Hamming distance between the
+ * {@link CensusTransform census transform} of each pixel, instead of the absolute difference used by
+ * {@link boofcv.alg.feature.disparity.DisparityScoreSadRect}.  The census transform only uses the relative
+ * intensity of pixels, making it insensitive to gain and bias differences between the two cameras.  The score
+ * is in the same format as {@link DisparityScoreRowFormat}, so any {@link DisparitySelect} for int[] scores
+ * can be used.
+ * </p>
+ *
+ * <p>
+ * The census transform is computed for each band of rows as it's processed.  Since the transform uses
+ * the image border instead of skipping it, the region border is the same as for SAD.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplDisparityScoreCensusRect_U8<Disparity extends ImageSingleBand>
+	extends DisparityScoreRowFormat<ImageUInt8,Disparity>
+{
+	// radius of the census window
+	int censusRadius;
+
+	// Computes disparity from scores
+	DisparitySelect<int[],Disparity> computeDisparity;
+
+	// census transform of the rows being processed
+	long censusLeft[] = new long[0];
+	long censusRight[] = new long[0];
+
+	// stores the local scores for the width of the region
+	int elementScore[];
+	// scores along horizontal axis for current block
+	int horizontalScore[][];
+	// summed scores along vertical axis
+	int verticalScore[];
+
+	/**
+	 * Configures disparity calculation.
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param regionRadiusX Radius of the rectangular region along x-axis.
+	 * @param regionRadiusY Radius of the rectangular region along y-axis.
+	 * @param censusRadius Radius of the census window. 1 to 3, inclusive.
+	 * @param computeDisparity Selects the disparity from the scores
+	 */
+	public ImplDisparityScoreCensusRect_U8( int minDisparity , int maxDisparity,
+											int regionRadiusX, int regionRadiusY, int censusRadius,
+											DisparitySelect<int[],Disparity> computeDisparity) {
+		super(minDisparity,maxDisparity,regionRadiusX,regionRadiusY);
+
+		if( censusRadius < 1 || censusRadius > 3 )
+			throw new IllegalArgumentException("Census radius must be from 1 to 3, inclusive");
+
+		this.censusRadius = censusRadius;
+		this.computeDisparity = computeDisparity;
+	}
+
+	@Override
+	public void _process( ImageUInt8 left , ImageUInt8 right , Disparity disparity ) {
+		processBands(left, right, disparity, radiusY);
+	}
+
+	@Override
+	protected void processRows( ImageUInt8 left , ImageUInt8 right , Disparity disparity ,
+								int row0 , int row1 ) {
+		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+			horizontalScore = new int[regionHeight][lengthHorizontal];
+			verticalScore = new int[lengthHorizontal];
+			elementScore = new int[ left.width ];
+		}
+
+		int N = (row1-row0)*left.width;
+		if( censusLeft.length < N ) {
+			censusLeft = new long[N];
+			censusRight = new long[N];
+		}
+		CensusTransform.squareRows(left, censusRadius, row0, row1, censusLeft, 0);
+		CensusTransform.squareRows(right, censusRadius, row0, row1, censusRight, 0);
+
+		computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX);
+
+		// initialize computation
+		computeFirstRow(left.width, row0);
+		// efficiently compute rest of the rows using previous results to avoid repeat computations
+		computeRemainingRows(left.width, row0, row1);
+	}
+
+	/**
+	 * Initializes disparity calculation by finding the scores for the initial block of horizontal
+	 * rows.
+	 */
+	private void computeFirstRow( int width , int row0 ) {
+		// compute horizontal scores for first row block
+		for( int row = 0; row < regionHeight; row++ ) {
+
+			int scores[] = horizontalScore[row];
+
+			UtilDisparityScore.computeScoreRowCensus(censusLeft, censusRight, row*width, width, scores,
+					minDisparity,maxDisparity,regionWidth,elementScore);
+		}
+
+		// compute score for the top possible row
+		for( int i = 0; i < lengthHorizontal; i++ ) {
+			int sum = 0;
+			for( int row = 0; row < regionHeight; row++ ) {
+				sum += horizontalScore[row][i];
+			}
+			verticalScore[i] = sum;
+		}
+
+		// compute disparity
+		computeDisparity.process(row0 + radiusY, verticalScore);
+	}
+
+	/**
+	 * Using previously computed results it efficiently finds the disparity in the remaining rows.
+	 * When a new block is processes the last row/column is subtracted and the new row/column is
+	 * added.
+	 */
+	private void computeRemainingRows( int width , int row0 , int row1 )
+	{
+		for( int row = row0 + regionHeight; row < row1; row++ ) {
+			int oldRow = (row - row0)%regionHeight;
+
+			// subtract first row from vertical score
+			int scores[] = horizontalScore[oldRow];
+			for( int i = 0; i < lengthHorizontal; i++ ) {
+				verticalScore[i] -= scores[i];
+			}
+
+			UtilDisparityScore.computeScoreRowCensus(censusLeft, censusRight, (row-row0)*width, width, scores,
+					minDisparity,maxDisparity,regionWidth,elementScore);
+
+			// add the new score
+			for( int i = 0; i < lengthHorizontal; i++ ) {
+				verticalScore[i] += scores[i];
+			}
+
+			// compute disparity
+			computeDisparity.process(row - regionHeight + 1 + radiusY, verticalScore);
+		}
+	}
+
+	@Override
+	protected DisparityScoreRowFormat<ImageUInt8, Disparity> copy() {
+		return new ImplDisparityScoreCensusRect_U8<Disparity>(minDisparity,maxDisparity,radiusX,radiusY,
+				censusRadius,computeDisparity.copy());
+	}
+
+	public int getCensusRadius() {
+		return censusRadius;
+	}
+
+	@Override
+	public Class<ImageUInt8> getInputType() {
+		return ImageUInt8.class;
+	}
+
+	@Override
+	public Class<Disparity> getDisparityType() {
+		return computeDisparity.getDisparityType();
+	}
+}
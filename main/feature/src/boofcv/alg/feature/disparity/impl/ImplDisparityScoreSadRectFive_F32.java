@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
 import boofcv.alg.feature.disparity.DisparityScoreWindowFive;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.struct.image.ImageFloat32;
@@ -63,7 +64,14 @@ public class ImplDisparityScoreSadRectFive_F32<Disparity extends ImageSingleBand
 
 	@Override
 	public void _process( ImageFloat32 left , ImageFloat32 right , Disparity disparity ) {
-		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+		// bands would sum the scores in a different order, changing the results
+		processRows(left, right, disparity, 0, left.height);
+	}
+
+	@Override
+	protected void processRows( ImageFloat32 left , ImageFloat32 right , Disparity disparity ,
+								int row0 , int row1 ) {
+		if( horizontalScore == null || fiveScore.length < lengthHorizontal ) {
 			horizontalScore = new float[regionHeight][lengthHorizontal];
 			verticalScore = new float[regionHeight][lengthHorizontal];
 			elementScore = new float[ left.width ];
@@ -73,16 +81,16 @@ public class ImplDisparityScoreSadRectFive_F32<Disparity extends ImageSingleBand
 		computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX*2);
 
 		// initialize computation
-		computeFirstRow(left, right);
+		computeFirstRow(left, right, row0);
 		// efficiently compute rest of the rows using previous results to avoid repeat computations
-		computeRemainingRows(left, right);
+		computeRemainingRows(left, right, row0, row1);
 	}
 
 	/**
 	 * Initializes disparity calculation by finding the scores for the initial block of horizontal
 	 * rows.
 	 */
-	private void computeFirstRow( ImageFloat32 left, ImageFloat32 right ) {
+	private void computeFirstRow( ImageFloat32 left, ImageFloat32 right , int row0 ) {
 		float firstRow[] = verticalScore[0];
 		activeVerticalScore = 1;
 
@@ -91,7 +99,7 @@ public class ImplDisparityScoreSadRectFive_F32<Disparity extends ImageSingleBand
 
 			float scores[] = horizontalScore[row];
 
-			UtilDisparityScore.computeScoreRow(left, right, row, scores,
+			UtilDisparityScore.computeScoreRow(left, right, row0 + row, scores,
 					minDisparity, maxDisparity, regionWidth, elementScore);
 		}
 
@@ -110,10 +118,10 @@ public class ImplDisparityScoreSadRectFive_F32<Disparity extends ImageSingleBand
 	 * When a new block is processes the last row/column is subtracted and the new row/column is
 	 * added.
 	 */
-	private void computeRemainingRows( ImageFloat32 left, ImageFloat32 right )
+	private void computeRemainingRows( ImageFloat32 left, ImageFloat32 right , int row0 , int row1 )
 	{
-		for( int row = regionHeight; row < left.height; row++ , activeVerticalScore++) {
-			int oldRow = row%regionHeight;
+		for( int row = row0 + regionHeight; row < row1; row++ , activeVerticalScore++) {
+			int oldRow = (row - row0)%regionHeight;
 			float previous[] = verticalScore[ (activeVerticalScore -1) % regionHeight ];
 			float active[] = verticalScore[ activeVerticalScore % regionHeight ];
 
@@ -193,6 +201,12 @@ public class ImplDisparityScoreSadRectFive_F32<Disparity extends ImageSingleBand
 		}
 	}
 
+	@Override
+	protected DisparityScoreRowFormat<ImageFloat32, Disparity> copy() {
+		return new ImplDisparityScoreSadRectFive_F32<Disparity>(minDisparity,maxDisparity,radiusX,radiusY,
+				computeDisparity.copy());
+	}
+
 	@Override
 	public Class<ImageFloat32> getInputType() {
 		return ImageFloat32.class;
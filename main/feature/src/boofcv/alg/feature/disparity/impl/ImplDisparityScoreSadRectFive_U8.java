@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
 import boofcv.alg.feature.disparity.DisparityScoreWindowFive;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.struct.image.ImageSingleBand;
@@ -63,7 +64,13 @@ public class ImplDisparityScoreSadRectFive_U8<Disparity extends ImageSingleBand>
 
 	@Override
 	public void _process( ImageUInt8 left , ImageUInt8 right , Disparity disparity ) {
-		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+		processBands(left, right, disparity, 2*radiusY);
+	}
+
+	@Override
+	protected void processRows( ImageUInt8 left , ImageUInt8 right , Disparity disparity ,
+								int row0 , int row1 ) {
+		if( horizontalScore == null || fiveScore.length < lengthHorizontal ) {
 			horizontalScore = new int[regionHeight][lengthHorizontal];
 			verticalScore = new int[regionHeight][lengthHorizontal];
 			elementScore = new int[ left.width ];
@@ -73,16 +80,16 @@ public class ImplDisparityScoreSadRectFive_U8<Disparity extends ImageSingleBand>
 		computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX*2);
 
 		// initialize computation
-		computeFirstRow(left, right);
+		computeFirstRow(left, right, row0);
 		// efficiently compute rest of the rows using previous results to avoid repeat computations
-		computeRemainingRows(left, right);
+		computeRemainingRows(left, right, row0, row1);
 	}
 
 	/**
 	 * Initializes disparity calculation by finding the scores for the initial block of horizontal
 	 * rows.
 	 */
-	private void computeFirstRow( ImageUInt8 left, ImageUInt8 right ) {
+	private void computeFirstRow( ImageUInt8 left, ImageUInt8 right , int row0 ) {
 		int firstRow[] = verticalScore[0];
 		activeVerticalScore = 1;
 
@@ -91,7 +98,7 @@ public class ImplDisparityScoreSadRectFive_U8<Disparity extends ImageSingleBand>
 
 			int scores[] = horizontalScore[row];
 
-			UtilDisparityScore.computeScoreRow(left, right, row, scores,
+			UtilDisparityScore.computeScoreRow(left, right, row0 + row, scores,
 					minDisparity, maxDisparity, regionWidth, elementScore);
 		}
 
@@ -110,10 +117,10 @@ public class ImplDisparityScoreSadRectFive_U8<Disparity extends ImageSingleBand>
 	 * When a new block is processes the last row/column is subtracted and the new row/column is
 	 * added.
 	 */
-	private void computeRemainingRows( ImageUInt8 left, ImageUInt8 right )
+	private void computeRemainingRows( ImageUInt8 left, ImageUInt8 right , int row0 , int row1 )
 	{
-		for( int row = regionHeight; row < left.height; row++ , activeVerticalScore++) {
-			int oldRow = row%regionHeight;
+		for( int row = row0 + regionHeight; row < row1; row++ , activeVerticalScore++) {
+			int oldRow = (row - row0)%regionHeight;
 			int previous[] = verticalScore[ (activeVerticalScore -1) % regionHeight ];
 			int active[] = verticalScore[ activeVerticalScore % regionHeight ];
 
@@ -193,6 +200,12 @@ public class ImplDisparityScoreSadRectFive_U8<Disparity extends ImageSingleBand>
 		}
 	}
 
+	@Override
+	protected DisparityScoreRowFormat<ImageUInt8, Disparity> copy() {
+		return new ImplDisparityScoreSadRectFive_U8<Disparity>(minDisparity,maxDisparity,radiusX,radiusY,
+				computeDisparity.copy());
+	}
+
 	@Override
 	public Class<ImageUInt8> getInputType() {
 		return ImageUInt8.class;
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
 import boofcv.alg.feature.disparity.DisparityScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.struct.image.ImageFloat32;
@@ -62,6 +63,13 @@ public class ImplDisparityScoreSadRect_F32<Disparity extends ImageSingleBand>
 
 	@Override
 	public void _process( ImageFloat32 left , ImageFloat32 right , Disparity disparity ) {
+		// bands would sum the scores in a different order, changing the results
+		processRows(left, right, disparity, 0, left.height);
+	}
+
+	@Override
+	protected void processRows( ImageFloat32 left , ImageFloat32 right , Disparity disparity ,
+								int row0 , int row1 ) {
 		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
 			horizontalScore = new float[regionHeight][lengthHorizontal];
 			verticalScore = new float[lengthHorizontal];
@@ -71,22 +79,22 @@ public class ImplDisparityScoreSadRect_F32<Disparity extends ImageSingleBand>
 		computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX);
 
 		// initialize computation
-		computeFirstRow(left, right);
+		computeFirstRow(left, right, row0);
 		// efficiently compute rest of the rows using previous results to avoid repeat computations
-		computeRemainingRows(left, right);
+		computeRemainingRows(left, right, row0, row1);
 	}
 
 	/**
 	 * Initializes disparity calculation by finding the scores for the initial block of horizontal
 	 * rows.
 	 */
-	private void computeFirstRow(ImageFloat32 left, ImageFloat32 right ) {
+	private void computeFirstRow(ImageFloat32 left, ImageFloat32 right , int row0 ) {
 		// compute horizontal scores for first row block
 		for( int row = 0; row < regionHeight; row++ ) {
 
 			float scores[] = horizontalScore[row];
 
-			UtilDisparityScore.computeScoreRow(left, right, row, scores,
+			UtilDisparityScore.computeScoreRow(left, right, row0 + row, scores,
 					minDisparity,maxDisparity,regionWidth,elementScore);
 		}
 
@@ -100,7 +108,7 @@ public class ImplDisparityScoreSadRect_F32<Disparity extends ImageSingleBand>
 		}
 
 		// compute disparity
-		computeDisparity.process(radiusY, verticalScore);
+		computeDisparity.process(row0 + radiusY, verticalScore);
 	}
 
 	/**
@@ -108,10 +116,10 @@ public class ImplDisparityScoreSadRect_F32<Disparity extends ImageSingleBand>
 	 * When a new block is processes the last row/column is subtracted and the new row/column is
 	 * added.
 	 */
-	private void computeRemainingRows( ImageFloat32 left, ImageFloat32 right )
+	private void computeRemainingRows( ImageFloat32 left, ImageFloat32 right , int row0 , int row1 )
 	{
-		for( int row = regionHeight; row < left.height; row++ ) {
-			int oldRow = row%regionHeight;
+		for( int row = row0 + regionHeight; row < row1; row++ ) {
+			int oldRow = (row - row0)%regionHeight;
 
 			// subtract first row from vertical score
 			float scores[] = horizontalScore[oldRow];
@@ -132,6 +140,12 @@ public class ImplDisparityScoreSadRect_F32<Disparity extends ImageSingleBand>
 		}
 	}
 
+	@Override
+	protected DisparityScoreRowFormat<ImageFloat32, Disparity> copy() {
+		return new ImplDisparityScoreSadRect_F32<Disparity>(minDisparity,maxDisparity,radiusX,radiusY,
+				computeDisparity.copy());
+	}
+
 	@Override
 	public Class<ImageFloat32> getInputType() {
 		return ImageFloat32.class;
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
 import boofcv.alg.feature.disparity.DisparityScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.struct.image.ImageSInt16;
@@ -62,6 +63,12 @@ public class ImplDisparityScoreSadRect_S16<Disparity extends ImageSingleBand>
 
 	@Override
 	public void _process( ImageSInt16 left , ImageSInt16 right , Disparity disparity ) {
+		processBands(left, right, disparity, radiusY);
+	}
+
+	@Override
+	protected void processRows( ImageSInt16 left , ImageSInt16 right , Disparity disparity ,
+								int row0 , int row1 ) {
 		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
 			horizontalScore = new int[regionHeight][lengthHorizontal];
 			verticalScore = new int[lengthHorizontal];
@@ -71,22 +78,22 @@ public class ImplDisparityScoreSadRect_S16<Disparity extends ImageSingleBand>
 		computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX);
 
 		// initialize computation
-		computeFirstRow(left, right);
+		computeFirstRow(left, right, row0);
 		// efficiently compute rest of the rows using previous results to avoid repeat computations
-		computeRemainingRows(left, right);
+		computeRemainingRows(left, right, row0, row1);
 	}
 
 	/**
 	 * Initializes disparity calculation by finding the scores for the initial block of horizontal
 	 * rows.
 	 */
-	private void computeFirstRow(ImageSInt16 left, ImageSInt16 right ) {
+	private void computeFirstRow(ImageSInt16 left, ImageSInt16 right , int row0 ) {
 		// compute horizontal scores for first row block
 		for( int row = 0; row < regionHeight; row++ ) {
 
 			int scores[] = horizontalScore[row];
 
-			UtilDisparityScore.computeScoreRow(left, right, row, scores,
+			UtilDisparityScore.computeScoreRow(left, right, row0 + row, scores,
 					minDisparity,maxDisparity,regionWidth,elementScore);
 		}
 
@@ -100,7 +107,7 @@ public class ImplDisparityScoreSadRect_S16<Disparity extends ImageSingleBand>
 		}
 
 		// compute disparity
-		computeDisparity.process(radiusY, verticalScore);
+		computeDisparity.process(row0 + radiusY, verticalScore);
 	}
 
 	/**
@@ -108,10 +115,10 @@ public class ImplDisparityScoreSadRect_S16<Disparity extends ImageSingleBand>
 	 * When a new block is processes the last row/column is subtracted and the new row/column is
 	 * added.
 	 */
-	private void computeRemainingRows( ImageSInt16 left, ImageSInt16 right )
+	private void computeRemainingRows( ImageSInt16 left, ImageSInt16 right , int row0 , int row1 )
 	{
-		for( int row = regionHeight; row < left.height; row++ ) {
-			int oldRow = row%regionHeight;
+		for( int row = row0 + regionHeight; row < row1; row++ ) {
+			int oldRow = (row - row0)%regionHeight;
 
 			// subtract first row from vertical score
 			int scores[] = horizontalScore[oldRow];
@@ -132,6 +139,12 @@ public class ImplDisparityScoreSadRect_S16<Disparity extends ImageSingleBand>
 		}
 	}
 
+	@Override
+	protected DisparityScoreRowFormat<ImageSInt16, Disparity> copy() {
+		return new ImplDisparityScoreSadRect_S16<Disparity>(minDisparity,maxDisparity,radiusX,radiusY,
+				computeDisparity.copy());
+	}
+
 	@Override
 	public Class<ImageSInt16> getInputType() {
 		return ImageSInt16.class;
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Implementation of {@link DisparitySparseScoreSadRect} which scores each region using the Hamming distance
+ * between the {@link CensusTransform census transform} of each pixel instead of the absolute difference.
+ * The census transform of both images is computed when the images are specified.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplDisparitySparseScoreCensusRect_U8 extends DisparitySparseScoreSadRect<int[],ImageUInt8> {
+
+	// radius of the census window
+	int censusRadius;
+
+	// census transform of the left and right images
+	ImageSInt64 censusLeft = new ImageSInt64(1,1);
+	ImageSInt64 censusRight = new ImageSInt64(1,1);
+
+	// scores up to the maximum baseline
+	int scores[];
+	// score of each column in the most recent region for every disparity
+	int columns[];
+
+	public ImplDisparitySparseScoreCensusRect_U8( int minDisparity , int maxDisparity,
+												  int radiusX, int radiusY, int censusRadius ) {
+		super(minDisparity,maxDisparity,radiusX, radiusY);
+
+		if( censusRadius < 1 || censusRadius > 3 )
+			throw new IllegalArgumentException("Census radius must be from 1 to 3, inclusive");
+
+		this.censusRadius = censusRadius;
+		scores = new int[ maxDisparity ];
+		columns = new int[ regionWidth*rangeDisparity ];
+	}
+
+	@Override
+	public void setImages(ImageUInt8 left, ImageUInt8 right) {
+		super.setImages(left, right);
+
+		censusLeft.reshape(left.width, left.height);
+		censusRight.reshape(right.width, right.height);
+		CensusTransform.square(left, censusRadius, censusLeft);
+		CensusTransform.square(right, censusRadius, censusRight);
+	}
+
+	@Override
+	protected void computeColumns( int y , int col0 , int col1 ) {
+		for( int col = col0; col <= col1; col++ ) {
+			int indexColumn = (col % regionWidth)*rangeDisparity;
+			Arrays.fill(columns,indexColumn,indexColumn+localMaxDisparity,0);
+		}
+
+		// sum up vertical errors in each column
+		for( int row = 0; row < regionHeight; row++ ) {
+			// pixel indexes
+			int indexLeft = censusLeft.startIndex + censusLeft.stride*(y-radiusY+row) + col0;
+			int indexRight = censusRight.startIndex + censusRight.stride*(y-radiusY+row) + col0-minDisparity;
+
+			for( int col = col0; col <= col1; col++ , indexRight++ ) {
+				int indexColumn = (col % regionWidth)*rangeDisparity;
+				long valueLeft = censusLeft.data[ indexLeft++ ];
+
+				for( int i = 0; i < localMaxDisparity; i++ ) {
+					columns[indexColumn+i] += Long.bitCount(valueLeft ^ censusRight.data[ indexRight-i ]);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void sumColumns( int col0 ) {
+		Arrays.fill(scores,0);
+
+		// sum up horizontal errors in the region
+		for( int col = col0; col < col0+regionWidth; col++ ) {
+			int indexColumn = (col % regionWidth)*rangeDisparity;
+
+			for( int i = 0; i < localMaxDisparity; i++ ) {
+				scores[i] += columns[indexColumn+i];
+			}
+		}
+	}
+
+	/**
+	 * Creates a copy which references the census transform computed by this instance.
+	 */
+	@Override
+	public ImplDisparitySparseScoreCensusRect_U8 copy() {
+		ImplDisparitySparseScoreCensusRect_U8 ret = new ImplDisparitySparseScoreCensusRect_U8(
+				minDisparity,maxDisparity,radiusX,radiusY,censusRadius);
+		ret.left = left;
+		ret.right = right;
+		ret.censusLeft = censusLeft;
+		ret.censusRight = censusRight;
+		return ret;
+	}
+
+	public int getCensusRadius() {
+		return censusRadius;
+	}
+
+	@Override
+	public int[] getScore() {
+		return scores;
+	}
+
+	@Override
+	public double getScore( int disparity ) {
+		return scores[disparity];
+	}
+
+	@Override
+	public Class<ImageUInt8> getImageType() {
+		return ImageUInt8.class;
+	}
+}
@@ -38,44 +38,62 @@ public class ImplDisparitySparseScoreSadRect_F32 extends DisparitySparseScoreSad
 
 	// scores up to the maximum baseline
 	float scores[];
+	// score of each column in the most recent region for every disparity
+	float columns[];
 
 	public ImplDisparitySparseScoreSadRect_F32( int minDisparity , int maxDisparity, int radiusX, int radiusY) {
 		super(minDisparity,maxDisparity,radiusX, radiusY);
 
 		scores = new float[ maxDisparity ];
+		columns = new float[ regionWidth*rangeDisparity ];
 	}
 
 	@Override
-	public boolean process( int x , int y ) {
-		// adjust disparity for image border
-		localMaxDisparity = Math.min(rangeDisparity,x-radiusX+1-minDisparity);
-
-		if( localMaxDisparity <= 0 || x >= left.width-radiusX || y < radiusY || y >= left.height-radiusY )
-			return false;
-
-		Arrays.fill(scores,0);
+	protected void computeColumns( int y , int col0 , int col1 ) {
+		for( int col = col0; col <= col1; col++ ) {
+			int indexColumn = (col % regionWidth)*rangeDisparity;
+			Arrays.fill(columns,indexColumn,indexColumn+localMaxDisparity,0);
+		}
 
-		// sum up horizontal errors in the region
+		// sum up vertical errors in each column
 		for( int row = 0; row < regionHeight; row++ ) {
 			// pixel indexes
-			int startLeft = left.startIndex + left.stride*(y-radiusY+row) + x-radiusX;
-			int startRight = right.startIndex + right.stride*(y-radiusY+row) + x-radiusX-minDisparity;
+			int indexLeft = left.startIndex + left.stride*(y-radiusY+row) + col0;
+			int indexRight = right.startIndex + right.stride*(y-radiusY+row) + col0-minDisparity;
 
-			for( int i = 0; i < localMaxDisparity; i++ ) {
-				int indexLeft = startLeft;
-				int indexRight = startRight-i;
+			for( int col = col0; col <= col1; col++ , indexRight++ ) {
+				int indexColumn = (col % regionWidth)*rangeDisparity;
+				float valueLeft = left.data[ indexLeft++ ];
 
-				float score = 0;
-				for( int j = 0; j < regionWidth; j++ ) {
-					float diff = (left.data[ indexLeft++ ]) - (right.data[ indexRight++ ]);
+				for( int i = 0; i < localMaxDisparity; i++ ) {
+					float diff = valueLeft - (right.data[ indexRight-i ]);
 
-					score += Math.abs(diff);
+					columns[indexColumn+i] += Math.abs(diff);
 				}
-				scores[i] += score;
 			}
 		}
+	}
 
-		return true;
+	@Override
+	protected void sumColumns( int col0 ) {
+		Arrays.fill(scores,0);
+
+		// sum up horizontal errors in the region
+		for( int col = col0; col < col0+regionWidth; col++ ) {
+			int indexColumn = (col % regionWidth)*rangeDisparity;
+
+			for( int i = 0; i < localMaxDisparity; i++ ) {
+				scores[i] += columns[indexColumn+i];
+			}
+		}
+	}
+
+	@Override
+	public ImplDisparitySparseScoreSadRect_F32 copy() {
+		ImplDisparitySparseScoreSadRect_F32 ret = new ImplDisparitySparseScoreSadRect_F32(minDisparity,maxDisparity,radiusX,radiusY);
+		if( left != null )
+			ret.setImages(left,right);
+		return ret;
 	}
 
 	@Override
@@ -83,6 +101,11 @@ public class ImplDisparitySparseScoreSadRect_F32 extends DisparitySparseScoreSad
 		return scores;
 	}
 
+	@Override
+	public double getScore( int disparity ) {
+		return scores[disparity];
+	}
+
 	@Override
 	public Class<ImageFloat32> getImageType() {
 		return ImageFloat32.class;
@@ -38,44 +38,62 @@ public class ImplDisparitySparseScoreSadRect_U8 extends DisparitySparseScoreSadR
 
 	// scores up to the maximum baseline
 	int scores[];
+	// score of each column in the most recent region for every disparity
+	int columns[];
 
 	public ImplDisparitySparseScoreSadRect_U8( int minDisparity , int maxDisparity, int radiusX, int radiusY) {
 		super(minDisparity,maxDisparity,radiusX, radiusY);
 
 		scores = new int[ maxDisparity ];
+		columns = new int[ regionWidth*rangeDisparity ];
 	}
 
 	@Override
-	public boolean process( int x , int y ) {
-		// adjust disparity for image border
-		localMaxDisparity = Math.min(rangeDisparity,x-radiusX+1-minDisparity);
-
-		if( localMaxDisparity <= 0 || x >= left.width-radiusX || y < radiusY || y >= left.height-radiusY )
-			return false;
-
-		Arrays.fill(scores,0);
+	protected void computeColumns( int y , int col0 , int col1 ) {
+		for( int col = col0; col <= col1; col++ ) {
+			int indexColumn = (col % regionWidth)*rangeDisparity;
+			Arrays.fill(columns,indexColumn,indexColumn+localMaxDisparity,0);
+		}
 
-		// sum up horizontal errors in the region
+		// sum up vertical errors in each column
 		for( int row = 0; row < regionHeight; row++ ) {
 			// pixel indexes
-			int startLeft = left.startIndex + left.stride*(y-radiusY+row) + x-radiusX;
-			int startRight = right.startIndex + right.stride*(y-radiusY+row) + x-radiusX-minDisparity;
+			int indexLeft = left.startIndex + left.stride*(y-radiusY+row) + col0;
+			int indexRight = right.startIndex + right.stride*(y-radiusY+row) + col0-minDisparity;
 
-			for( int i = 0; i < localMaxDisparity; i++ ) {
-				int indexLeft = startLeft;
-				int indexRight = startRight-i;
+			for( int col = col0; col <= col1; col++ , indexRight++ ) {
+				int indexColumn = (col % regionWidth)*rangeDisparity;
+				int valueLeft = left.data[ indexLeft++ ]& 0xFF;
 
-				int score = 0;
-				for( int j = 0; j < regionWidth; j++ ) {
-					int diff = (left.data[ indexLeft++ ]& 0xFF) - (right.data[ indexRight++ ]& 0xFF);
+				for( int i = 0; i < localMaxDisparity; i++ ) {
+					int diff = valueLeft - (right.data[ indexRight-i ]& 0xFF);
 
-					score += Math.abs(diff);
+					columns[indexColumn+i] += Math.abs(diff);
 				}
-				scores[i] += score;
 			}
 		}
+	}
 
-		return true;
+	@Override
+	protected void sumColumns( int col0 ) {
+		Arrays.fill(scores,0);
+
+		// sum up horizontal errors in the region
+		for( int col = col0; col < col0+regionWidth; col++ ) {
+			int indexColumn = (col % regionWidth)*rangeDisparity;
+
+			for( int i = 0; i < localMaxDisparity; i++ ) {
+				scores[i] += columns[indexColumn+i];
+			}
+		}
+	}
+
+	@Override
+	public ImplDisparitySparseScoreSadRect_U8 copy() {
+		ImplDisparitySparseScoreSadRect_U8 ret = new ImplDisparitySparseScoreSadRect_U8(minDisparity,maxDisparity,radiusX,radiusY);
+		if( left != null )
+			ret.setImages(left,right);
+		return ret;
 	}
 
 	@Override
@@ -83,6 +101,11 @@ public class ImplDisparitySparseScoreSadRect_U8 extends DisparitySparseScoreSadR
 		return scores;
 	}
 
+	@Override
+	public double getScore( int disparity ) {
+		return scores[disparity];
+	}
+
 	@Override
 	public Class<ImageUInt8> getImageType() {
 		return ImageUInt8.class;
@@ -65,4 +65,9 @@ public class ImplSelectRectBasicWta_F32_U8 extends SelectRectBasicWta<float[],Im
 	public Class<ImageUInt8> getDisparityType() {
 		return ImageUInt8.class;
 	}
+
+	@Override
+	public ImplSelectRectBasicWta_F32_U8 copy() {
+		return new ImplSelectRectBasicWta_F32_U8();
+	}
 }
\ No newline at end of file
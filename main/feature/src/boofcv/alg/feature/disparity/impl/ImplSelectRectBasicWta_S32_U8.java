@@ -65,4 +65,9 @@ public class ImplSelectRectBasicWta_S32_U8 extends SelectRectBasicWta<int[],Imag
 	public Class<ImageUInt8> getDisparityType() {
 		return ImageUInt8.class;
 	}
+
+	@Override
+	public ImplSelectRectBasicWta_S32_U8 copy() {
+		return new ImplSelectRectBasicWta_S32_U8();
+	}
 }
\ No newline at end of file
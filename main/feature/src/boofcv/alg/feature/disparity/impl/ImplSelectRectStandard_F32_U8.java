@@ -49,4 +49,11 @@ public class ImplSelectRectStandard_F32_U8 extends ImplSelectRectStandardBase_F3
 	public Class<ImageUInt8> getDisparityType() {
 		return ImageUInt8.class;
 	}
+
+	@Override
+	public ImplSelectRectStandard_F32_U8 copy() {
+		ImplSelectRectStandard_F32_U8 ret = new ImplSelectRectStandard_F32_U8(maxError,rightToLeftTolerance,0);
+		ret.textureThreshold = textureThreshold;
+		return ret;
+	}
 }
@@ -49,4 +49,11 @@ public class ImplSelectRectStandard_S32_U8 extends ImplSelectRectStandardBase_S3
 	public Class<ImageUInt8> getDisparityType() {
 		return ImageUInt8.class;
 	}
+
+	@Override
+	public ImplSelectRectStandard_S32_U8 copy() {
+		ImplSelectRectStandard_S32_U8 ret = new ImplSelectRectStandard_S32_U8(maxError,rightToLeftTolerance,0);
+		ret.textureThreshold = textureThreshold;
+		return ret;
+	}
 }
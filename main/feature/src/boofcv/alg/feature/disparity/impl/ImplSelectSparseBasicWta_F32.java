@@ -53,4 +53,11 @@ public class ImplSelectSparseBasicWta_F32 implements DisparitySparseSelect<float
 	public double getDisparity() {
 		return disparity;
 	}
+
+	/**
+	 * Creates a new instance.  Used when points are processed in parallel.
+	 */
+	public ImplSelectSparseBasicWta_F32 copy() {
+		return new ImplSelectSparseBasicWta_F32();
+	}
 }
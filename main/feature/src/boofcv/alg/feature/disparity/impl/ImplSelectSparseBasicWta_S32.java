@@ -53,4 +53,11 @@ public class ImplSelectSparseBasicWta_S32 implements DisparitySparseSelect<int[]
 	public double getDisparity() {
 		return disparity;
 	}
+
+	/**
+	 * Creates a new instance.  Used when points are processed in parallel.
+	 */
+	public ImplSelectSparseBasicWta_S32 copy() {
+		return new ImplSelectSparseBasicWta_S32();
+	}
 }
@@ -82,4 +82,9 @@ public class ImplSelectSparseStandardWta_F32 extends SelectSparseStandardWta<flo
 		return true;
 	}
 
+	@Override
+	public ImplSelectSparseStandardWta_F32 copy() {
+		return new ImplSelectSparseStandardWta_F32(maxError,texture);
+	}
+
 }
@@ -83,4 +83,9 @@ public class ImplSelectSparseStandardWta_S32 extends SelectSparseStandardWta<int
 		return true;
 	}
 
+	@Override
+	public ImplSelectSparseStandardWta_S32 copy() {
+		return new ImplSelectSparseStandardWta_S32(maxError,texture);
+	}
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.SgmCostFunction;
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Matching cost for {@link boofcv.alg.feature.disparity.DisparitySgm} which is the Hamming distance between
+ * the {@link CensusTransform census transform} of the two pixels.  Since only the relative intensity is used
+ * it is insensitive to gain and bias differences between the two cameras.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplSgmCostCensus_U8 implements SgmCostFunction<ImageUInt8> {
+
+	// radius of the census window
+	int radius;
+	// number of bits in the census descriptor
+	int numBits;
+
+	// range of disparities considered
+	int minDisparity;
+	int rangeDisparity;
+
+	// census transform of pixels inside the band of rows
+	long censusLeft[] = new long[0];
+	long censusRight[] = new long[0];
+
+	/**
+	 * Configures the census transform
+	 *
+	 * @param radius Radius of the census window.  Number of bits is (2*radius+1)^2 - 1. 1 to 3, inclusive.
+	 */
+	public ImplSgmCostCensus_U8(int radius) {
+		if( radius < 1 || radius > 3 )
+			throw new IllegalArgumentException("Radius must be from 1 to 3, inclusive");
+		this.radius = radius;
+		int width = 2*radius+1;
+		this.numBits = width*width-1;
+	}
+
+	@Override
+	public void configure(int minDisparity, int maxDisparity) {
+		this.minDisparity = minDisparity;
+		this.rangeDisparity = maxDisparity - minDisparity;
+	}
+
+	@Override
+	public void process(final ImageUInt8 left, final ImageUInt8 right,
+						final int row0, final int row1, final short[] costs) {
+		int N = (row1-row0)*left.width;
+		if( censusLeft.length < N ) {
+			censusLeft = new long[N];
+			censusRight = new long[N];
+		}
+
+		BoofConcurrency.loopRows(row0,row1,left.width*numBits,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				CensusTransform.squareRows(left, radius, y0, y1, censusLeft, (y0-row0)*left.width);
+				CensusTransform.squareRows(right, radius, y0, y1, censusRight, (y0-row0)*left.width);
+			}
+		});
+
+		BoofConcurrency.loopRows(row0,row1,left.width*rangeDisparity,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				computeCost(left.width, y0, y1, row0, costs);
+			}
+		});
+	}
+
+	/**
+	 * Computes the Hamming distance between the left and right census for each pixel and disparity
+	 */
+	private void computeCost( int width , int y0 , int y1 , int row0 , short costs[] ) {
+		for( int y = y0; y < y1; y++ ) {
+			int indexCensus = (y-row0)*width;
+			int indexCost = (y-row0)*width*rangeDisparity;
+
+			for( int x = 0; x < width; x++ , indexCost += rangeDisparity ) {
+				long valueLeft = censusLeft[indexCensus+x];
+
+				// disparities which are inside the right image
+				int localRange = Math.max(0,Math.min(rangeDisparity, x-minDisparity+1));
+
+				int indexRight = indexCensus + x - minDisparity;
+				for( int i = 0; i < localRange; i++ ) {
+					costs[indexCost+i] = (short)Long.bitCount(valueLeft ^ censusRight[indexRight-i]);
+				}
+				for( int i = localRange; i < rangeDisparity; i++ ) {
+					costs[indexCost+i] = (short)numBits;
+				}
+			}
+		}
+	}
+
+	@Override
+	public int getMaxCost() {
+		return numBits;
+	}
+
+	@Override
+	public Class<ImageUInt8> getInputType() {
+		return ImageUInt8.class;
+	}
+}
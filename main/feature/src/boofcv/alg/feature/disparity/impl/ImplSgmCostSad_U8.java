@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.SgmCostFunction;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Matching cost for {@link boofcv.alg.feature.disparity.DisparitySgm} which is the mean absolute difference
+ * between pixels inside a square window.  The mean is used instead of the sum so that the cost is always
+ * from 0 to 255 and the same penalties can be used with different window sizes.  Pixels outside the image
+ * are set to the value of the closest pixel inside the image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplSgmCostSad_U8 implements SgmCostFunction<ImageUInt8> {
+
+	// radius of the window
+	int radius;
+	// number of pixels inside the window
+	int area;
+
+	// range of disparities considered
+	int minDisparity;
+	int rangeDisparity;
+
+	// sum of the absolute difference along each column in the window.  One for each thread
+	List<int[]> columnSums = new ArrayList<int[]>();
+
+	/**
+	 * Configures the window size
+	 *
+	 * @param radius Radius of the square window. >= 0
+	 */
+	public ImplSgmCostSad_U8(int radius) {
+		if( radius < 0 )
+			throw new IllegalArgumentException("Radius must be >= 0");
+		this.radius = radius;
+		this.area = (2*radius+1)*(2*radius+1);
+	}
+
+	@Override
+	public void configure(int minDisparity, int maxDisparity) {
+		this.minDisparity = minDisparity;
+		this.rangeDisparity = maxDisparity - minDisparity;
+	}
+
+	@Override
+	public void process(final ImageUInt8 left, final ImageUInt8 right,
+						final int row0, final int row1, final short[] costs) {
+		final int numBlocks = BoofConcurrency.computeBlocks(row1-row0,
+				BoofConcurrency.minimumRows(left.width*rangeDisparity));
+
+		for( int i = 0; i < numBlocks; i++ ) {
+			if( i >= columnSums.size() )
+				columnSums.add(new int[left.width]);
+			else if( columnSums.get(i).length < left.width )
+				columnSums.set(i, new int[left.width]);
+		}
+
+		BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int y0 = row0 + (int)((long)(row1-row0)*block/numBlocks);
+					int y1 = row0 + (int)((long)(row1-row0)*(block+1)/numBlocks);
+					computeRows(left, right, y0, y1, row0, costs, columnSums.get(block));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the cost for every disparity in the specified rows.  The column sums are updated
+	 * as the window slides down, then the window sum is updated as it slides across the row.
+	 */
+	private void computeRows( ImageUInt8 left , ImageUInt8 right , int y0 , int y1 , int row0 ,
+							  short costs[] , int columnSum[] ) {
+		final int w = left.width;
+		final int h = left.height;
+		final int maxCost = getMaxCost();
+
+		for( int i = 0; i < rangeDisparity; i++ ) {
+			int d = minDisparity + i;
+
+			// initial column sums for the first row
+			for( int x = d; x < w; x++ )
+				columnSum[x] = 0;
+			for( int k = -radius; k <= radius; k++ ) {
+				addRow(left, right, Math.min(h-1,Math.max(0,y0+k)), d, columnSum, 1);
+			}
+
+			for( int y = y0; y < y1; y++ ) {
+				if( y > y0 ) {
+					// slide the window down one row
+					addRow(left, right, Math.max(0, y-1-radius), d, columnSum, -1);
+					addRow(left, right, Math.min(h-1, y+radius), d, columnSum, 1);
+				}
+
+				int indexCost = (y-row0)*w*rangeDisparity + i;
+
+				// the right pixel is outside the image
+				for( int x = 0; x < d; x++ , indexCost += rangeDisparity )
+					costs[indexCost] = (short)maxCost;
+
+				// sum up the column sums inside the window
+				int sum = 0;
+				for( int k = -radius; k <= radius; k++ )
+					sum += columnSum[Math.min(w-1,Math.max(d,d+k))];
+				costs[indexCost] = (short)(sum/area);
+				indexCost += rangeDisparity;
+
+				for( int x = d+1; x < w; x++ , indexCost += rangeDisparity ) {
+					sum += columnSum[Math.min(w-1,x+radius)] - columnSum[Math.max(d,x-1-radius)];
+					costs[indexCost] = (short)(sum/area);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the absolute difference between the left and right image along a row to the column sums
+	 */
+	private static void addRow( ImageUInt8 left , ImageUInt8 right , int y , int d ,
+								int columnSum[] , int sign ) {
+		int indexLeft = left.startIndex + y*left.stride + d;
+		int indexRight = right.startIndex + y*right.stride;
+
+		for( int x = d; x < left.width; x++ ) {
+			int diff = (left.data[indexLeft++] & 0xFF) - (right.data[indexRight++] & 0xFF);
+			columnSum[x] += sign*Math.abs(diff);
+		}
+	}
+
+	@Override
+	public int getMaxCost() {
+		return 255;
+	}
+
+	@Override
+	public Class<ImageUInt8> getInputType() {
+		return ImageUInt8.class;
+	}
+}
@@ -67,6 +67,13 @@ public class SelectRectSubpixel {
 		public Class<ImageFloat32> getDisparityType() {
 			return ImageFloat32.class;
 		}
+
+		@Override
+		public S32_F32 copy() {
+			S32_F32 ret = new S32_F32(maxError,rightToLeftTolerance,0);
+			ret.textureThreshold = textureThreshold;
+			return ret;
+		}
 	}
 
 	/**
@@ -97,5 +104,12 @@ public class SelectRectSubpixel {
 		public Class<ImageFloat32> getDisparityType() {
 			return ImageFloat32.class;
 		}
+
+		@Override
+		public F32_F32 copy() {
+			F32_F32 ret = new F32_F32(maxError,rightToLeftTolerance,0);
+			ret.textureThreshold = textureThreshold;
+			return ret;
+		}
 	}
 }
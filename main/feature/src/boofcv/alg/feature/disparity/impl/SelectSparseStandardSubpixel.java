@@ -57,6 +57,10 @@ public class SelectSparseStandardSubpixel {
 			}
 		}
 
+		@Override
+		public S32 copy() {
+			return new S32(maxError,texture);
+		}
 	}
 
 	public static class F32 extends ImplSelectSparseStandardWta_F32 {
@@ -88,5 +92,9 @@ public class SelectSparseStandardSubpixel {
 			}
 		}
 
+		@Override
+		public F32 copy() {
+			return new F32(maxError,texture);
+		}
 	}
 }
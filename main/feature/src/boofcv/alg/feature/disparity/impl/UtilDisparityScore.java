@@ -79,6 +79,57 @@ public class UtilDisparityScore {
 		}
 	}
 
+	/**
+	 * Computes disparity score for an entire row using the Hamming distance between census transforms.
+	 * Produces the same format as {@link #computeScoreRow(ImageUInt8, ImageUInt8, int, int[], int, int, int, int[])}.
+	 *
+	 * @param censusLeft Census transform of the left image
+	 * @param censusRight Census transform of the right image
+	 * @param indexRow Index of the row's first pixel in the census arrays
+	 * @param width Number of pixels in a row
+	 * @param scores Storage for disparity scores.
+	 * @param minDisparity Minimum disparity to consider
+	 * @param maxDisparity Maximum disparity to consider
+	 * @param regionWidth Size of the sample region's width
+	 * @param elementScore Storage for scores of individual pixels
+	 */
+	public static void computeScoreRowCensus(long censusLeft[], long censusRight[], int indexRow, int width,
+											 int[] scores, int minDisparity , int maxDisparity , int regionWidth ,
+											 int elementScore[] ) {
+
+		// disparity as the outer loop to maximize common elements in inner loops, reducing redundant calculations
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+			int dispFromMin = d - minDisparity;
+
+			// number of individual columns the error is computed in
+			final int colMax = width-d;
+			// number of regions that a score/error is computed in
+			final int scoreMax = colMax-regionWidth;
+
+			// indexes that data is read to/from for different data structures
+			int indexScore = width*dispFromMin + dispFromMin;
+			int indexLeft = indexRow + d;
+			int indexRight = indexRow;
+
+			// Fill elementScore with the Hamming distance of individual elements for this row at disparity d
+			for( int rCol = 0; rCol < colMax; rCol++ ) {
+				elementScore[rCol] = Long.bitCount(censusLeft[indexLeft++] ^ censusRight[indexRight++]);
+			}
+
+			// score at the first column
+			int score = 0;
+			for( int i = 0; i < regionWidth; i++ )
+				score += elementScore[i];
+
+			scores[indexScore++] = score;
+
+			// scores for the remaining columns
+			for( int col = 0; col < scoreMax; col++ , indexScore++ ) {
+				scores[indexScore] = score += elementScore[col+regionWidth] - elementScore[col];
+			}
+		}
+	}
+
 	/**
 	 * compute the score for each element all at once to encourage the JVM to optimize and
 	 * encourage the JVM to optimize this section of code.
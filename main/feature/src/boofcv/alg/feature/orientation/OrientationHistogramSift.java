@@ -124,6 +124,17 @@ public class OrientationHistogramSift {
 		this.ss = ss;
 	}
 
+	/**
+	 * Creates a new instance with the same configuration.  Internal storage is not shared.
+	 *
+	 * @return Copy of this algorithm
+	 */
+	public OrientationHistogramSift copy() {
+		OrientationHistogramSift ret = new OrientationHistogramSift(histogram.length,sigmaToRadius,sigmaEnlarge);
+		ret.setScaleSpace(ss);
+		return ret;
+	}
+
 	/**
 	 * Estimates the orientation(s) of a region at the specified location and scale
 	 *
@@ -18,13 +18,20 @@
 
 package boofcv.alg.feature.orientation;
 
-import boofcv.abst.feature.orientation.OrientationIntegral;
+import boofcv.abst.feature.orientation.OrientationIntegralBatch;
 import boofcv.alg.feature.describe.SurfDescribeOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.convolve.Kernel2D_F64;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.sparse.GradientValue;
 import boofcv.struct.sparse.SparseScaleGradient;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -35,7 +42,7 @@ import boofcv.struct.sparse.SparseScaleGradient;
  * @author Peter Abeles
  */
 public abstract class OrientationIntegralBase<II extends ImageSingleBand,G extends GradientValue>
-		implements OrientationIntegral<II>
+		implements OrientationIntegralBatch<II>
 {
 	// integral image transform of input image
 	protected II ii;
@@ -49,6 +56,8 @@ public abstract class OrientationIntegralBase<II extends ImageSingleBand,G exten
 
 	// optional weights
 	protected Kernel2D_F64 weights;
+	// sigma used to compute the weights
+	protected double weightSigma;
 
 	// size of sample kernels
 	protected int sampleWidth;
@@ -60,6 +69,10 @@ public abstract class OrientationIntegralBase<II extends ImageSingleBand,G exten
 	protected SparseScaleGradient<II,G> g;
 
 	Class<II> integralType;
+
+	// copies of this algorithm used to process regions in parallel.  The first element is this instance
+	private List<OrientationIntegralBase<II,G>> workers = new ArrayList<OrientationIntegralBase<II,G>>();
+
 	/**
 	 * Configure orientation estimation.
 	 *
@@ -76,6 +89,7 @@ public abstract class OrientationIntegralBase<II extends ImageSingleBand,G exten
 		this.sampleWidth = sampleWidth;
 		this.width = radius*2+1;
 		this.integralType = integralType;
+		this.weightSigma = weightSigma;
 		if( weightSigma != 0 )
 			this.weights = FactoryKernelGaussian.gaussian(2,true, 64, weightSigma,radius);
 
@@ -94,6 +108,61 @@ public abstract class OrientationIntegralBase<II extends ImageSingleBand,G exten
 		g.setImage(ii);
 	}
 
+	/**
+	 * Regions are split up into blocks and each block is processed by its own copy of this algorithm,
+	 * see {@link #copy()}.  If no copy can be made then all the regions are processed by this instance.
+	 */
+	@Override
+	public void compute( final List<? extends Point2D_F64> locations ,
+						 final GrowQueue_F64 scales , final GrowQueue_F64 angles ) {
+		final int N = locations.size();
+		angles.resize(N);
+
+		// number of samples in the region is used as the cost of processing a region
+		int maxBlocks = BoofConcurrency.computeBlocks(N,
+				Math.max(1,BoofConcurrency.getMinimumPixels()/(width*width)));
+
+		if( workers.isEmpty() )
+			workers.add(this);
+		while( workers.size() < maxBlocks ) {
+			OrientationIntegralBase<II,G> worker = copy();
+			if( worker == null )
+				break;
+			workers.add(worker);
+		}
+		final int numBlocks = Math.min(maxBlocks,workers.size());
+		for( int i = 1; i < numBlocks; i++ )
+			workers.get(i).setImage(ii);
+
+		BoofConcurrency.loopBlocks(0, numBlocks, 1, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for( int block = index0; block < index1; block++ ) {
+					int i0 = (int)((long)N*block/numBlocks);
+					int i1 = (int)((long)N*(block+1)/numBlocks);
+
+					OrientationIntegralBase<II,G> alg = workers.get(block);
+					for( int i = i0; i < i1; i++ ) {
+						Point2D_F64 p = locations.get(i);
+						alg.setScale(scales.data[i]);
+						angles.data[i] = alg.compute(p.x, p.y);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Creates a new instance with the same configuration.  Internal storage is not shared.  Used to
+	 * process regions in parallel.  Returns null by default, which means the regions are processed
+	 * one at a time.
+	 *
+	 * @return Copy of this algorithm or null if it can't be copied.
+	 */
+	public OrientationIntegralBase<II,G> copy() {
+		return null;
+	}
+
 	@Override
 	public Class<II> getImageType() {
 		return integralType;
@@ -48,6 +48,11 @@ public class ImplOrientationAverageGradientIntegral<T extends ImageSingleBand,G
 		super(radius,period,sampleWidth,weightSigma,imageType);
 	}
 
+	@Override
+	public ImplOrientationAverageGradientIntegral<T,G> copy() {
+		return new ImplOrientationAverageGradientIntegral<T,G>(radius,period,sampleWidth,weightSigma,getImageType());
+	}
+
 	@Override
 	public double compute(double c_x, double c_y) {
 
@@ -85,6 +85,11 @@ public class ImplOrientationImageAverageIntegral<T extends ImageSingleBand,G ext
 		sampler.setScale(scale);
 	}
 
+	@Override
+	public ImplOrientationImageAverageIntegral<T,G> copy() {
+		return new ImplOrientationImageAverageIntegral<T,G>(radius,period,sampleWidth,weightSigma,getImageType());
+	}
+
 	@Override
 	public double compute(double c_x, double c_y) {
 
@@ -76,6 +76,11 @@ public class ImplOrientationSlidingWindowIntegral
 		order = new int[ angles.length ];
 	}
 
+	@Override
+	public ImplOrientationSlidingWindowIntegral<T,G> copy() {
+		return new ImplOrientationSlidingWindowIntegral<T,G>(period,windowSize,radius,weightSigma,sampleWidth,getImageType());
+	}
+
 	@Override
 	public double compute(double c_x, double c_y) {
 
@@ -20,6 +20,8 @@ package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
 import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.KdForest;
+import boofcv.alg.feature.associate.MultiIndexHashing_B;
 import boofcv.struct.feature.*;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
@@ -99,6 +101,48 @@ public class FactoryAssociation {
 		return new AssociateNearestNeighbor<TupleDesc_F64>(nn,dimension);
 	}
 
+	/**
+	 * Approximate association using a forest of randomized K-D trees and best-bin-first search, implemented
+	 * in BoofCV with primitive arrays.  Destination features are searched for concurrently.  Set numTrees and
+	 * numConsiderSplit to 1 for a standard K-D tree.
+	 *
+	 * @see AssociateKdForest
+	 * @see KdForest
+	 *
+	 * @param maxNodesSearched  Maximum number of points examined in each search.  Controls speed and accuracy.
+	 *                          If &le; 0 then the search is exact.
+	 * @param numTrees Number of trees in the forest.  Try 4.
+	 * @param numConsiderSplit Number of axes with the largest variance that each split is randomly selected from.
+	 *                         Try 5.
+	 * @param ratio Ratio test threshold used to reject ambiguous matches.  Try 0.8 or 1 to disable.
+	 * @param randomSeed Seed used by random number generator
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static <D extends TupleDesc> AssociateDescription<D> kdForest( int maxNodesSearched ,
+																		   int numTrees ,
+																		   int numConsiderSplit ,
+																		   double ratio ,
+																		   long randomSeed ) {
+		KdForest forest = new KdForest(numTrees,numConsiderSplit,randomSeed);
+
+		return new AssociateKdForest<D>(forest,maxNodesSearched,ratio);
+	}
+
+	/**
+	 * Exact association of binary descriptors using multi-index hashing.  Much faster than a brute force search
+	 * when there are many features and most good matches are only a small Hamming distance apart.
+	 *
+	 * @see AssociateMultiIndexHashing_B
+	 * @see MultiIndexHashing_B
+	 *
+	 * @param numBits Number of bits in the descriptor
+	 * @param numTables Number of substrings the descriptor is broken up into.  Try numBits/16
+	 * @return Association using multi-index hashing
+	 */
+	public static AssociateDescription<TupleDesc_B> multiIndexHashing( int numBits , int numTables ) {
+		return new AssociateMultiIndexHashing_B(new MultiIndexHashing_B(numBits,numTables));
+	}
+
 	/**
 	 * Given a feature descriptor type it returns a "reasonable" default {@link ScoreAssociation}.
 	 *
@@ -27,26 +27,38 @@ import boofcv.abst.feature.detect.interest.ConfigFastHessian;
 import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.*;
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.alg.feature.describe.DescribePointBriefSO;
 import boofcv.alg.feature.describe.DescribePointSift;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.describe.DescribePointSurfMod;
 import boofcv.alg.feature.describe.DescribePointSurfMultiSpectral;
+import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;
+import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
+import boofcv.alg.feature.detdesc.DetectDescribeOrb;
 import boofcv.alg.feature.detdesc.DetectDescribeSift;
 import boofcv.alg.feature.detdesc.DetectDescribeSurfMultiSpectral;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
 import boofcv.alg.feature.detect.interest.SiftDetector;
 import boofcv.alg.feature.detect.interest.SiftImageScaleSpace;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
 import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
 import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
 
 /**
  * Creates instances of {@link DetectDescribePoint} for different feature detectors/describers.
@@ -184,6 +196,38 @@ public class FactoryDetectDescribe {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Creates an ORB (Oriented FAST and Rotated BRIEF) feature detector and describer.  FAST corners are
+	 * detected in an image pyramid, ranked by Harris corner intensity, oriented with the intensity centroid and
+	 * described using a steered BRIEF descriptor.  The sample pattern is randomly generated from a fixed seed.
+	 * </p>
+	 *
+	 * @see DetectDescribeOrb
+	 *
+	 * @param config Configuration for ORB.  Pass in null for default options.
+	 * @return ORB
+	 */
+	public static DetectDescribePoint<ImageUInt8,TupleDesc_B> orb( ConfigOrb config ) {
+		if( config == null )
+			config = new ConfigOrb();
+		config.checkValidity();
+
+		FastCornerIntensity<ImageUInt8> fast =
+				FactoryIntensityPointAlg.fast(config.fastThreshold, config.fastContinuous, ImageUInt8.class);
+
+		BlurFilter<ImageUInt8> filter =
+				FactoryBlurFilter.gaussian(ImageUInt8.class, config.blurSigma, config.blurRadius);
+		BinaryCompareDefinition_I32 definition =
+				FactoryBriefDefinition.gaussian2(new Random(config.seed), config.radius, config.numPoints);
+		DescribePointBriefSO<ImageUInt8> describe = FactoryDescribePointAlgs.briefso(definition, filter);
+
+		DetectDescribeOrb alg = new DetectDescribeOrb(fast,describe,config.maxFeatures,config.scaleFactor,
+				config.numLayers,config.harrisRadius,config.harrisK);
+
+		return new WrapDetectDescribeOrb(alg);
+	}
+
 	/**
 	 * Given independent algorithms for feature detection, orientation, and describing, create a new
 	 * {@link DetectDescribePoint}.
@@ -26,7 +26,9 @@ import boofcv.abst.filter.blur.MedianImageFilter;
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
 import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
+import boofcv.alg.feature.detect.interest.FastCornerStreamDetector;
 import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetectorTiled;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
@@ -44,6 +46,10 @@ import boofcv.struct.image.ImageSingleBand;
  * computed along the image border then it will be full of zeros.  In that case the ignore border region
  * needs to be increased for non-max suppression or else it might generate a false positive.
  * </p>
+ * <p>
+ * If {@link ConfigGeneralDetector#tileWidth} is set then a {@link GeneralFeatureDetectorTiled} is returned, which
+ * processes the image in tiles and in parallel.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -59,7 +65,16 @@ public class FactoryDetectPoint {
 	 */
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
 	GeneralFeatureDetector<T, D> createHarris(ConfigGeneralDetector configDetector,
-											  boolean weighted, Class<D> derivType) {
+											  final boolean weighted, final Class<D> derivType) {
+		if( configDetector.tileWidth > 0 ) {
+			final ConfigGeneralDetector c = untiled(configDetector);
+			return createTiled(configDetector, 0, new GeneralFeatureDetectorTiled.Factory<T, D>() {
+				@Override
+				public GeneralFeatureDetector<T, D> create() {
+					return createHarris(new ConfigGeneralDetector(c), weighted, derivType);
+				}
+			});
+		}
 		GradientCornerIntensity<D> cornerIntensity =
 				FactoryIntensityPointAlg.harris(configDetector.radius, 0.04f, weighted, derivType);
 		return createGeneral(cornerIntensity, configDetector);
@@ -75,7 +90,16 @@ public class FactoryDetectPoint {
 	 */
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
 	GeneralFeatureDetector<T, D> createShiTomasi(ConfigGeneralDetector configDetector,
-												 boolean weighted, Class<D> derivType) {
+												 final boolean weighted, final Class<D> derivType) {
+		if( configDetector.tileWidth > 0 ) {
+			final ConfigGeneralDetector c = untiled(configDetector);
+			return createTiled(configDetector, 0, new GeneralFeatureDetectorTiled.Factory<T, D>() {
+				@Override
+				public GeneralFeatureDetector<T, D> create() {
+					return createShiTomasi(new ConfigGeneralDetector(c), weighted, derivType);
+				}
+			});
+		}
 		GradientCornerIntensity<D> cornerIntensity =
 				FactoryIntensityPointAlg.shiTomasi(configDetector.radius, weighted, derivType);
 		return createGeneral(cornerIntensity, configDetector);
@@ -89,7 +113,16 @@ public class FactoryDetectPoint {
 	 * @see boofcv.alg.feature.detect.intensity.KitRosCornerIntensity
 	 */
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
-	GeneralFeatureDetector<T, D> createKitRos(ConfigGeneralDetector configDetector, Class<D> derivType) {
+	GeneralFeatureDetector<T, D> createKitRos(ConfigGeneralDetector configDetector, final Class<D> derivType) {
+		if( configDetector.tileWidth > 0 ) {
+			final ConfigGeneralDetector c = untiled(configDetector);
+			return createTiled(configDetector, 0, new GeneralFeatureDetectorTiled.Factory<T, D>() {
+				@Override
+				public GeneralFeatureDetector<T, D> create() {
+					return createKitRos(new ConfigGeneralDetector(c), derivType);
+				}
+			});
+		}
 		GeneralFeatureIntensity<T, D> intensity = new WrapperKitRosCornerIntensity<T, D>(derivType);
 		return createGeneral(intensity, configDetector);
 	}
@@ -105,12 +138,23 @@ public class FactoryDetectPoint {
 	@SuppressWarnings("UnnecessaryLocalVariable")
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
 	GeneralFeatureDetector<T, D> createFast( ConfigFast configFast ,
-											 ConfigGeneralDetector configDetector , Class<T> imageType) {
+											 ConfigGeneralDetector configDetector , final Class<T> imageType) {
 
 		if( configFast == null )
 			configFast = new ConfigFast();
 		configFast.checkValidity();
 
+		if( configDetector.tileWidth > 0 ) {
+			final ConfigFast f = configFast;
+			final ConfigGeneralDetector c = untiled(configDetector);
+			return createTiled(configDetector, 0, new GeneralFeatureDetectorTiled.Factory<T, D>() {
+				@Override
+				public GeneralFeatureDetector<T, D> create() {
+					return createFast(f, new ConfigGeneralDetector(c), imageType);
+				}
+			});
+		}
+
 		ConfigGeneralDetector d = configDetector;
 
 		FastCornerIntensity<T> alg = FactoryIntensityPointAlg.fast(configFast.pixelTol, configFast.minContinuous, imageType);
@@ -120,6 +164,28 @@ public class FactoryDetectPoint {
 		return createGeneral(intensity, configExtract);
 	}
 
+	/**
+	 * Creates a Fast corner detector which processes the image one row at a time without computing an
+	 * intensity image.  The maximum number of features and tile settings in the configuration are ignored.
+	 *
+	 * @param configFast Configuration for FAST feature detector
+	 * @param configDetector Configuration for feature extractor.
+	 * @param imageType       Type of input image.
+	 * @see FastCornerStreamDetector
+	 */
+	public static <T extends ImageSingleBand>
+	FastCornerStreamDetector<T> createFastStream( ConfigFast configFast ,
+												  ConfigGeneralDetector configDetector , Class<T> imageType) {
+
+		if( configFast == null )
+			configFast = new ConfigFast();
+		configFast.checkValidity();
+
+		FastCornerIntensity<T> alg = FactoryIntensityPointAlg.fast(configFast.pixelTol, configFast.minContinuous, imageType);
+		return new FastCornerStreamDetector<T>(alg,configDetector.radius,configDetector.threshold,
+				configDetector.radius,true);
+	}
+
 	/**
 	 * Creates a median filter corner detector.
 	 *
@@ -128,7 +194,17 @@ public class FactoryDetectPoint {
 	 * @see boofcv.alg.feature.detect.intensity.MedianCornerIntensity
 	 */
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
-	GeneralFeatureDetector<T, D> createMedian(ConfigGeneralDetector configDetector, Class<T> imageType) {
+	GeneralFeatureDetector<T, D> createMedian(ConfigGeneralDetector configDetector, final Class<T> imageType) {
+		if( configDetector.tileWidth > 0 ) {
+			final ConfigGeneralDetector c = untiled(configDetector);
+			// the median filter reads pixels outside of the ignore border
+			return createTiled(configDetector, configDetector.radius, new GeneralFeatureDetectorTiled.Factory<T, D>() {
+				@Override
+				public GeneralFeatureDetector<T, D> create() {
+					return createMedian(new ConfigGeneralDetector(c), imageType);
+				}
+			});
+		}
 		MedianImageFilter<T> medianFilter = FactoryBlurFilter.median(imageType, configDetector.radius);
 		GeneralFeatureIntensity<T, D> intensity = new WrapperMedianCornerIntensity<T, D>(medianFilter, imageType);
 		return createGeneral(intensity, configDetector);
@@ -143,8 +219,17 @@ public class FactoryDetectPoint {
 	 * @see HessianBlobIntensity
 	 */
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
-	GeneralFeatureDetector<T, D> createHessian(HessianBlobIntensity.Type type,
-											   ConfigGeneralDetector configDetector, Class<D> derivType) {
+	GeneralFeatureDetector<T, D> createHessian(final HessianBlobIntensity.Type type,
+											   ConfigGeneralDetector configDetector, final Class<D> derivType) {
+		if( configDetector.tileWidth > 0 ) {
+			final ConfigGeneralDetector c = untiled(configDetector);
+			return createTiled(configDetector, 0, new GeneralFeatureDetectorTiled.Factory<T, D>() {
+				@Override
+				public GeneralFeatureDetector<T, D> create() {
+					return createHessian(type, new ConfigGeneralDetector(c), derivType);
+				}
+			});
+		}
 		GeneralFeatureIntensity<T, D> intensity = FactoryIntensityPoint.hessian(type, derivType);
 		return createGeneral(intensity, configDetector);
 	}
@@ -156,6 +241,11 @@ public class FactoryDetectPoint {
 		return createGeneral(intensity, config);
 	}
 
+	/**
+	 * Creates a detector from the provided intensity algorithm.  Tiles are not supported since only a
+	 * single instance of the intensity algorithm is available and {@link ConfigGeneralDetector#tileWidth} is
+	 * ignored.
+	 */
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
 	GeneralFeatureDetector<T, D> createGeneral(GeneralFeatureIntensity<T, D> intensity,
 											   ConfigGeneralDetector config ) {
@@ -166,4 +256,27 @@ public class FactoryDetectPoint {
 
 		return det;
 	}
+
+	/**
+	 * Creates a tiled detector using the tile settings in the configuration
+	 */
+	private static <T extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureDetector<T, D> createTiled( ConfigGeneralDetector config , int margin ,
+											  GeneralFeatureDetectorTiled.Factory<T, D> factory ) {
+		GeneralFeatureDetectorTiled<T, D> det =
+				new GeneralFeatureDetectorTiled<T, D>(factory, config.tileWidth, config.maxFeaturesPerTile, margin);
+		det.setMaxFeatures(config.maxFeatures);
+		return det;
+	}
+
+	/**
+	 * Copy of the configuration for detectors inside a single tile
+	 */
+	private static ConfigGeneralDetector untiled( ConfigGeneralDetector config ) {
+		ConfigGeneralDetector c = new ConfigGeneralDetector(config);
+		c.maxFeatures = -1;
+		c.tileWidth = 0;
+		c.maxFeaturesPerTile = -1;
+		return c;
+	}
 }
@@ -35,5 +35,13 @@ public enum DisparityAlgorithms {
 	 *
 	 * @see boofcv.alg.feature.disparity.DisparityScoreWindowFive
 	 */
-	RECT_FIVE
+	RECT_FIVE,
+	/**
+	 * Rectangular region scored using the Hamming distance between census transforms.  Less sensitive
+	 * to lighting differences between the two cameras than SAD.  Only {@link boofcv.struct.image.ImageUInt8}
+	 * images are supported.  The per pixel error is the number of bits which differ, from 0 to 24.
+	 *
+	 * @see boofcv.alg.feature.disparity.impl.ImplDisparityScoreCensusRect_U8
+	 */
+	RECT_CENSUS
 }
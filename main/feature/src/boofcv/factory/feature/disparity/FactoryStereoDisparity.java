@@ -18,14 +18,19 @@
 
 package boofcv.factory.feature.disparity;
 
+import boofcv.abst.feature.disparity.ConfigDisparitySgm;
 import boofcv.abst.feature.disparity.StereoDisparity;
 import boofcv.abst.feature.disparity.StereoDisparitySparse;
 import boofcv.abst.feature.disparity.WrapDisparitySadRect;
+import boofcv.abst.feature.disparity.WrapDisparitySgm;
 import boofcv.abst.feature.disparity.WrapDisparitySparseSadRect;
 import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
 import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.alg.feature.disparity.DisparitySgm;
 import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.alg.feature.disparity.SgmCostAggregation;
+import boofcv.alg.feature.disparity.SgmCostFunction;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt16;
 import boofcv.struct.image.ImageSingleBand;
@@ -57,13 +62,19 @@ import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
 @SuppressWarnings("unchecked")
 public class FactoryStereoDisparity {
 
+	/**
+	 * Radius of the census window used by {@link DisparityAlgorithms#RECT_CENSUS}
+	 */
+	public static final int CENSUS_RADIUS = 2;
+
 	/**
 	 * <p>
 	 * Crates algorithms for computing dense disparity images up to pixel level accuracy.
 	 * </p>
 	 *
 	 * <p>
-	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.
+	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.  For RECT_CENSUS the
+	 * per pixel error is the number of bits which differ.
 	 * </p>
 	 *
 	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
@@ -130,6 +141,13 @@ public class FactoryStereoDisparity {
 				}
 				break;
 
+			case RECT_CENSUS:
+				if( imageType == ImageUInt8.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparityCensusRect_U8(minDisparity,
+							maxDisparity,regionRadiusX,regionRadiusY,CENSUS_RADIUS,select);
+				}
+				break;
+
 			default:
 				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
 
@@ -146,7 +164,8 @@ public class FactoryStereoDisparity {
 	 * </p>
 	 *
 	 * <p>
-	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.
+	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.  For RECT_CENSUS the
+	 * per pixel error is the number of bits which differ.
 	 * </p>
 	 *
 	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
@@ -213,6 +232,13 @@ public class FactoryStereoDisparity {
 				}
 				break;
 
+			case RECT_CENSUS:
+				if( imageType == ImageUInt8.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparityCensusRect_U8(minDisparity,
+							maxDisparity,regionRadiusX,regionRadiusY,CENSUS_RADIUS,select);
+				}
+				break;
+
 			default:
 				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
 
@@ -223,6 +249,49 @@ public class FactoryStereoDisparity {
 		return new WrapDisparitySadRect<T,ImageFloat32>(alg);
 	}
 
+	/**
+	 * <p>
+	 * Dense disparity using Semi-Global Matching (SGM).  Unlike region based algorithms the matching cost is
+	 * smoothed along several paths through the image, which produces better results on surfaces with little
+	 * texture.  Disparity is computed with sub-pixel accuracy.
+	 * </p>
+	 *
+	 * <p>
+	 * Memory usage is width*height*(maxDisparity-minDisparity)*4 bytes.  On large images set
+	 * {@link ConfigDisparitySgm#tileHeight} to bound memory.
+	 * </p>
+	 *
+	 * @param config Configuration
+	 * @return SGM disparity algorithm
+	 */
+	public static StereoDisparity<ImageUInt8,ImageFloat32> sgm( ConfigDisparitySgm config ) {
+		config.checkValidity();
+
+		SgmCostFunction<ImageUInt8> cost;
+		switch( config.cost ) {
+			case CENSUS:
+				cost = costSgmCensus_U8(config.costRadius);
+				break;
+
+			case SAD:
+				cost = costSgmSad_U8(config.costRadius);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown cost "+config.cost);
+		}
+
+		SgmCostAggregation aggregation = new SgmCostAggregation(config.penalty1,config.penalty2,config.paths);
+		DisparitySelect<int[],ImageFloat32> select =
+				selectDisparitySubpixel_S32(config.maxError, config.validateRtoL, config.texture);
+
+		DisparitySgm<ImageUInt8,ImageFloat32> alg = new DisparitySgm<ImageUInt8,ImageFloat32>(
+				config.minDisparity,config.maxDisparity,cost,aggregation,select);
+		alg.setTiling(config.tileHeight,config.tileOverlap);
+
+		return new WrapDisparitySgm<ImageUInt8,ImageFloat32>(alg);
+	}
+
 	/**
 	 * WTA algorithms that computes disparity on a sparse per-pixel basis as requested..
 	 *
@@ -245,6 +314,34 @@ public class FactoryStereoDisparity {
 					 double texture ,
 					 boolean subpixelInterpolation ,
 					 Class<T> imageType ) {
+		return regionSparseWta(DisparityAlgorithms.RECT,minDisparity,maxDisparity,regionRadiusX,regionRadiusY,
+				maxPerPixelError,texture,subpixelInterpolation,imageType);
+	}
+
+	/**
+	 * WTA algorithms that computes disparity on a sparse per-pixel basis as requested.
+	 *
+	 * @param whichAlg Which algorithm. RECT or RECT_CENSUS
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param regionRadiusX Radius of the rectangular region along x-axis.
+	 * @param regionRadiusY Radius of the rectangular region along y-axis.
+	 * @param maxPerPixelError Maximum allowed error in a region per pixel.  Set to < 0 to disable.
+	 * @param texture Tolerance for how similar optimal region is to other region.  Closer to zero is more tolerant.
+	 *                Try 0.1
+	 * @param subpixelInterpolation
+	 * @param imageType Type of input image.
+	 * @param <T> Image type
+	 * @return Sparse disparity algorithm
+	 */
+	public static <T extends ImageSingleBand> StereoDisparitySparse<T>
+	regionSparseWta( DisparityAlgorithms whichAlg ,
+					 int minDisparity , int maxDisparity,
+					 int regionRadiusX, int regionRadiusY ,
+					 double maxPerPixelError ,
+					 double texture ,
+					 boolean subpixelInterpolation ,
+					 Class<T> imageType ) {
 
 		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
 
@@ -255,11 +352,17 @@ public class FactoryStereoDisparity {
 			else
 				select = selectDisparitySparse_S32((int) maxError, texture);
 
-			DisparitySparseScoreSadRect<int[],ImageUInt8>
-					score = scoreDisparitySparseSadRect_U8(minDisparity,maxDisparity, regionRadiusX, regionRadiusY);
+			DisparitySparseScoreSadRect<int[],ImageUInt8> score;
+			if( whichAlg == DisparityAlgorithms.RECT )
+				score = scoreDisparitySparseSadRect_U8(minDisparity,maxDisparity, regionRadiusX, regionRadiusY);
+			else if( whichAlg == DisparityAlgorithms.RECT_CENSUS )
+				score = scoreDisparitySparseCensusRect_U8(minDisparity,maxDisparity,
+						regionRadiusX, regionRadiusY, CENSUS_RADIUS);
+			else
+				throw new IllegalArgumentException("Algorithm not supported: "+whichAlg);
 
 			return new WrapDisparitySparseSadRect(score,select);
-		} else if( imageType == ImageFloat32.class ) {
+		} else if( imageType == ImageFloat32.class && whichAlg == DisparityAlgorithms.RECT ) {
 			DisparitySparseSelect<float[]> select;
 			if( subpixelInterpolation )
 				select = selectDisparitySparseSubpixel_F32((int) maxError, texture);
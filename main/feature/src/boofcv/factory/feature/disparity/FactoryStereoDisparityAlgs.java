@@ -136,6 +136,15 @@ public class FactoryStereoDisparityAlgs {
 				maxDisparity,regionRadiusX,regionRadiusY,computeDisparity);
 	}
 
+	public static <T extends ImageSingleBand> DisparityScoreRowFormat<ImageUInt8,T>
+	scoreDisparityCensusRect_U8( int minDisparity , int maxDisparity,
+								 int regionRadiusX, int regionRadiusY, int censusRadius,
+								 DisparitySelect<int[],T> computeDisparity)
+	{
+		return new ImplDisparityScoreCensusRect_U8<T>(minDisparity,
+				maxDisparity,regionRadiusX,regionRadiusY,censusRadius,computeDisparity);
+	}
+
 	public static DisparitySparseScoreSadRect<int[],ImageUInt8>
 	scoreDisparitySparseSadRect_U8( int minDisparity , int maxDisparity,
 									int regionRadiusX, int regionRadiusY )
@@ -151,4 +160,20 @@ public class FactoryStereoDisparityAlgs {
 		return new ImplDisparitySparseScoreSadRect_F32(minDisparity,
 				maxDisparity,regionRadiusX,regionRadiusY);
 	}
+
+	public static DisparitySparseScoreSadRect<int[],ImageUInt8>
+	scoreDisparitySparseCensusRect_U8( int minDisparity , int maxDisparity,
+									   int regionRadiusX, int regionRadiusY, int censusRadius )
+	{
+		return new ImplDisparitySparseScoreCensusRect_U8(minDisparity,
+				maxDisparity,regionRadiusX,regionRadiusY,censusRadius);
+	}
+
+	public static SgmCostFunction<ImageUInt8> costSgmCensus_U8( int radius ) {
+		return new ImplSgmCostCensus_U8(radius);
+	}
+
+	public static SgmCostFunction<ImageUInt8> costSgmSad_U8( int radius ) {
+		return new ImplSgmCostSad_U8(radius);
+	}
 }
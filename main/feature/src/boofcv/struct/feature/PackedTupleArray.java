@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+/**
+ * <p>
+ * Stores a set of tuple descriptors inside a single primitive array.  Each descriptor occupies a fixed number
+ * of consecutive elements, making it much more cache friendly than a list of individual {@link TupleDesc}
+ * objects.  Use this when a large number of descriptors is being compared against each other, e.g. brute force
+ * association.
+ * </p>
+ *
+ * <p>
+ * Individual descriptors can be viewed as a {@link TupleDesc} using {@link #getTemp(int)}, which copies the data
+ * into an internal instance, or {@link #getCopy(int, TupleDesc)}.
+ * </p>
+ *
+ * @param <D> Type of descriptor being stored
+ *
+ * @author Peter Abeles
+ */
+public interface PackedTupleArray<D extends TupleDesc> {
+
+	/**
+	 * Discards all the stored descriptors without releasing memory.
+	 */
+	public void reset();
+
+	/**
+	 * Ensures that there is enough memory to store the specified number of descriptors.  Previously stored
+	 * descriptors are not modified.
+	 *
+	 * @param numDescriptors Total number of descriptors
+	 */
+	public void reserve( int numDescriptors );
+
+	/**
+	 * Copies the descriptor into the end of the array.
+	 *
+	 * @param description The descriptor which is to be copied
+	 */
+	public void append( D description );
+
+	/**
+	 * Returns an internal descriptor which has been filled with the specified descriptor.  The same instance
+	 * is returned with each call.
+	 *
+	 * @param index Index of the descriptor
+	 * @return Internal descriptor.  Don't save a reference to it.
+	 */
+	public D getTemp( int index );
+
+	/**
+	 * Copies the specified descriptor into the provided storage.
+	 *
+	 * @param index Index of the descriptor
+	 * @param storage Where the descriptor is written to.
+	 */
+	public void getCopy( int index , D storage );
+
+	/**
+	 * Number of descriptors stored
+	 */
+	public int size();
+
+	/**
+	 * Number of array elements used by each descriptor
+	 */
+	public int getStride();
+
+	/**
+	 * Type of descriptor being stored
+	 */
+	public Class<D> getDescriptionType();
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+/**
+ * Packed array of {@link TupleDesc_B}.  All the descriptors are stored inside a single array of longs, which
+ * allows the hamming distance to be computed 64-bits at a time.  Each long contains two of the descriptor's ints,
+ * with the lower index int in the lower 32-bits.
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_B implements PackedTupleArray<TupleDesc_B> {
+
+	// number of bits in each descriptor
+	public int numBits;
+	// number of ints in each TupleDesc_B
+	public int numInts;
+	// number of longs used to store each descriptor
+	public int numLongs;
+	// storage for descriptors.  Descriptor i starts at index i*numLongs
+	public long data[];
+	// number of descriptors stored
+	public int numElements;
+
+	// used when a descriptor is requested as a TupleDesc
+	protected TupleDesc_B temp;
+
+	/**
+	 * Specifies the descriptor's length
+	 *
+	 * @param numBits Number of bits in each descriptor
+	 */
+	public PackedTupleArray_B(int numBits) {
+		if( numBits <= 0 )
+			throw new IllegalArgumentException("The number of bits must be more than zero");
+		this.temp = new TupleDesc_B(numBits);
+		this.numBits = numBits;
+		this.numInts = temp.data.length;
+		this.numLongs = (numInts+1)/2;
+		this.data = new long[ numLongs*10 ];
+	}
+
+	@Override
+	public void reset() {
+		numElements = 0;
+	}
+
+	@Override
+	public void reserve(int numDescriptors) {
+		if( data.length >= numDescriptors*numLongs )
+			return;
+
+		long tmp[] = new long[ numDescriptors*numLongs ];
+		System.arraycopy(data,0,tmp,0,numElements*numLongs);
+		data = tmp;
+	}
+
+	@Override
+	public void append(TupleDesc_B description) {
+		if( description.numBits != numBits || description.data.length < numInts )
+			throw new IllegalArgumentException("Unexpected number of bits");
+
+		if( (numElements+1)*numLongs > data.length )
+			reserve(numElements*2+10);
+
+		int index = numElements*numLongs;
+		int i = 0;
+		for( ; i+1 < numInts; i += 2 ) {
+			data[index++] = (description.data[i] & 0xFFFFFFFFL) | ((long)description.data[i+1] << 32);
+		}
+		if( i < numInts ) {
+			data[index] = description.data[i] & 0xFFFFFFFFL;
+		}
+		numElements++;
+	}
+
+	@Override
+	public TupleDesc_B getTemp(int index) {
+		unpack(index,temp.data);
+		return temp;
+	}
+
+	@Override
+	public void getCopy(int index, TupleDesc_B storage) {
+		storage.numBits = numBits;
+		unpack(index,storage.data);
+	}
+
+	/**
+	 * Copies the specified descriptor into an array of ints
+	 */
+	private void unpack( int index , int output[] ) {
+		int indexData = index*numLongs;
+		int i = 0;
+		for( ; i+1 < numInts; i += 2 ) {
+			long value = data[indexData++];
+			output[i] = (int)value;
+			output[i+1] = (int)(value >>> 32);
+		}
+		if( i < numInts ) {
+			output[i] = (int)data[indexData];
+		}
+	}
+
+	@Override
+	public int size() {
+		return numElements;
+	}
+
+	@Override
+	public int getStride() {
+		return numLongs;
+	}
+
+	@Override
+	public Class<TupleDesc_B> getDescriptionType() {
+		return TupleDesc_B.class;
+	}
+}
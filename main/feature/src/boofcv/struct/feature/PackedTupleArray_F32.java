@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+/**
+ * Packed array of {@link TupleDesc_F32}.  All the descriptors are stored inside a single array of floats.
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_F32 implements PackedTupleArray<TupleDesc_F32> {
+
+	// number of elements in each descriptor
+	public int dof;
+	// storage for descriptors.  Descriptor i starts at index i*dof
+	public float data[];
+	// number of descriptors stored
+	public int numElements;
+
+	// used when a descriptor is requested as a TupleDesc
+	protected TupleDesc_F32 temp;
+
+	/**
+	 * Specifies the descriptor's length
+	 *
+	 * @param dof Number of elements in each descriptor
+	 */
+	public PackedTupleArray_F32(int dof) {
+		if( dof <= 0 )
+			throw new IllegalArgumentException("The descriptor length must be more than zero");
+		this.dof = dof;
+		this.data = new float[ dof*10 ];
+		this.temp = new TupleDesc_F32(dof);
+	}
+
+	@Override
+	public void reset() {
+		numElements = 0;
+	}
+
+	@Override
+	public void reserve(int numDescriptors) {
+		if( data.length >= numDescriptors*dof )
+			return;
+
+		float tmp[] = new float[ numDescriptors*dof ];
+		System.arraycopy(data,0,tmp,0,numElements*dof);
+		data = tmp;
+	}
+
+	@Override
+	public void append(TupleDesc_F32 description) {
+		if( description.value.length != dof )
+			throw new IllegalArgumentException("Unexpected descriptor length");
+
+		if( (numElements+1)*dof > data.length )
+			reserve(numElements*2+10);
+
+		System.arraycopy(description.value,0,data,numElements*dof,dof);
+		numElements++;
+	}
+
+	@Override
+	public TupleDesc_F32 getTemp(int index) {
+		System.arraycopy(data,index*dof,temp.value,0,dof);
+		return temp;
+	}
+
+	@Override
+	public void getCopy(int index, TupleDesc_F32 storage) {
+		System.arraycopy(data,index*dof,storage.value,0,dof);
+	}
+
+	@Override
+	public int size() {
+		return numElements;
+	}
+
+	@Override
+	public int getStride() {
+		return dof;
+	}
+
+	@Override
+	public Class<TupleDesc_F32> getDescriptionType() {
+		return TupleDesc_F32.class;
+	}
+}
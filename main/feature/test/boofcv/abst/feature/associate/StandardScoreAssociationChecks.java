@@ -19,11 +19,15 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.TupleDesc;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 /**
  * General tests for scoring associations.
@@ -73,4 +77,43 @@ public abstract class StandardScoreAssociationChecks<T> {
 			assertTrue(scorePerfect != 0);
 		}
 	}
+
+	/**
+	 * Creates an empty packed array which can store the descriptions.  Only override if the
+	 * score supports packed descriptions.
+	 */
+	public PackedTupleArray createPacked() {
+		return null;
+	}
+
+	/**
+	 * The packed score must produce exactly the same results as the regular score
+	 */
+	@Test
+	public void packedIdenticalToTuple() {
+		ScoreAssociation<T> alg = createScore();
+		PackedTupleArray packed = createPacked();
+
+		if( packed == null ) {
+			assertFalse(alg instanceof ScoreAssociationPacked);
+			return;
+		}
+
+		ScoreAssociationPacked algPacked = (ScoreAssociationPacked)alg;
+
+		List<T> list = new ArrayList<T>();
+		for( int i = 0; i < 5; i++ ) {
+			T d = createDescription();
+			list.add(d);
+			packed.append((TupleDesc)d);
+		}
+
+		for( int i = 0; i < list.size(); i++ ) {
+			for( int j = 0; j < list.size(); j++ ) {
+				double expected = alg.score(list.get(i),list.get(j));
+				double found = algPacked.score(packed,i,packed,j);
+				assertTrue(expected == found);
+			}
+		}
+	}
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.KdForest;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateKdForest extends StandardAssociateDescriptionChecks<TupleDesc_F64> {
+
+	public TestAssociateKdForest() {
+		super(TupleDesc_F64.class);
+	}
+
+	@Override
+	public AssociateDescription<TupleDesc_F64> createAlg() {
+		// exact search will produce perfect results
+		return new AssociateKdForest<TupleDesc_F64>(new KdForest(2,1,234),-1,1);
+	}
+
+	@Override
+	protected TupleDesc_F64 c(double value) {
+		TupleDesc_F64 s = new TupleDesc_F64(1);
+		s.value[0] = value;
+		return s;
+	}
+
+	/**
+	 * Ambiguous matches should be rejected by the ratio test
+	 */
+	@Test
+	public void ratioTest() {
+		FastQueue<TupleDesc_F64> src = new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,false);
+		FastQueue<TupleDesc_F64> dst = new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,false);
+
+		src.add(c(1)); src.add(c(1.2)); src.add(c(10));
+		// ambiguous
+		dst.add(c(1.1));
+		// unambiguous
+		dst.add(c(10.1));
+
+		AssociateKdForest<TupleDesc_F64> alg = new AssociateKdForest<TupleDesc_F64>(new KdForest(1,1,234),-1,0.8);
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		assertEquals(1,matches.size);
+		assertEquals(2,matches.get(0).src);
+		assertEquals(1,matches.get(0).dst);
+		assertEquals(0.01,matches.get(0).fitScore,1e-8);
+
+		// turn off the ratio test and both should be matched
+		alg.setRatio(1);
+		alg.associate();
+		assertEquals(2,alg.getMatches().size);
+	}
+
+	@Test
+	public void descriptionF32() {
+		FastQueue<TupleDesc_F32> src = new FastQueue<TupleDesc_F32>(TupleDesc_F32.class,false);
+		FastQueue<TupleDesc_F32> dst = new FastQueue<TupleDesc_F32>(TupleDesc_F32.class,false);
+
+		for( int i = 0; i < 10; i++ ) {
+			TupleDesc_F32 a = new TupleDesc_F32(2);
+			a.value[0] = i; a.value[1] = -i;
+			src.add(a);
+			TupleDesc_F32 b = new TupleDesc_F32(2);
+			b.value[0] = 9-i+0.1f; b.value[1] = -(9-i);
+			dst.add(b);
+		}
+
+		AssociateKdForest<TupleDesc_F32> alg = new AssociateKdForest<TupleDesc_F32>(new KdForest(1,1,234),-1,1);
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		assertEquals(10,matches.size);
+		for( int i = 0; i < 10; i++ ) {
+			assertEquals(9-i,matches.get(i).src);
+			assertEquals(i,matches.get(i).dst);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.DescriptorDistance;
+import boofcv.alg.feature.associate.MultiIndexHashing_B;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateMultiIndexHashing_B {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against a brute force association
+	 */
+	@Test
+	public void compareToBruteForce() {
+		FastQueue<TupleDesc_B> src = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+		FastQueue<TupleDesc_B> dst = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+
+		for( int i = 0; i < 200; i++ ) {
+			src.add(random());
+		}
+		for( int i = 0; i < 150; i++ ) {
+			if( i % 3 == 0 ) {
+				dst.add(random());
+			} else {
+				TupleDesc_B d = src.get(rand.nextInt(src.size)).copy();
+				for( int j = 0; j < 10; j++ ) {
+					int bit = rand.nextInt(256);
+					d.data[bit/32] ^= 1 << (bit%32);
+				}
+				dst.add(d);
+			}
+		}
+
+		AssociateMultiIndexHashing_B alg = new AssociateMultiIndexHashing_B(new MultiIndexHashing_B(256,16));
+		assertTrue(MatchScoreType.NORM_ERROR == alg.getScoreType());
+		alg.setSource(src);
+		alg.setDestination(dst);
+
+		for( double threshold : new double[]{15,60,Double.MAX_VALUE} ) {
+			alg.setThreshold(threshold);
+			alg.associate();
+			FastQueue<AssociatedIndex> matches = alg.getMatches();
+
+			int count = 0;
+			for( int i = 0; i < dst.size; i++ ) {
+				int best = -1;
+				int bestDistance = Integer.MAX_VALUE;
+				for( int j = 0; j < src.size; j++ ) {
+					int d = DescriptorDistance.hamming(src.get(j),dst.get(i));
+					if( d < bestDistance ) {
+						bestDistance = d;
+						best = j;
+					}
+				}
+				if( bestDistance >= threshold )
+					continue;
+
+				AssociatedIndex a = matches.get(count++);
+				assertEquals(best,a.src);
+				assertEquals(i,a.dst);
+				assertEquals(bestDistance,a.fitScore,1e-8);
+			}
+			assertEquals(count,matches.size);
+			assertEquals(dst.size-count,alg.getUnassociatedDestination().size);
+		}
+	}
+
+	/**
+	 * The threshold is exclusive
+	 */
+	@Test
+	public void checkSetThreshold() {
+		FastQueue<TupleDesc_B> src = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+		FastQueue<TupleDesc_B> dst = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+
+		src.add(new TupleDesc_B(64));
+		src.add(new TupleDesc_B(64));
+		dst.add(new TupleDesc_B(64));
+		dst.get(0).data[0] = 0x07;
+
+		AssociateMultiIndexHashing_B alg = new AssociateMultiIndexHashing_B(new MultiIndexHashing_B(64,4));
+		alg.setSource(src);
+		alg.setDestination(dst);
+
+		alg.setThreshold(3);
+		alg.associate();
+		assertEquals(0,alg.getMatches().size);
+		assertEquals(2,alg.getUnassociatedSource().size);
+
+		alg.setThreshold(3.5);
+		alg.associate();
+		assertEquals(1,alg.getMatches().size);
+		// ties go to the first source feature
+		assertEquals(0,alg.getMatches().get(0).src);
+		assertEquals(1,alg.getUnassociatedSource().size);
+		assertEquals(1,alg.getUnassociatedSource().get(0));
+	}
+
+	private TupleDesc_B random() {
+		TupleDesc_B d = new TupleDesc_B(256);
+		for( int j = 0; j < d.data.length; j++ )
+			d.data[j] = rand.nextInt();
+		return d;
+	}
+}
@@ -19,6 +19,8 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F32;
 import boofcv.struct.feature.TupleDesc_F32;
 import org.junit.Test;
 
@@ -34,6 +36,11 @@ public class TestScoreAssociateEuclideanSq_F32 extends StandardScoreAssociationC
 		super(MatchScoreType.NORM_ERROR);
 	}
 
+	@Override
+	public PackedTupleArray createPacked() {
+		return new PackedTupleArray_F32(5);
+	}
+
 	@Override
 	public ScoreAssociation<TupleDesc_F32> createScore() {
 		return new ScoreAssociateEuclideanSq_F32();
@@ -19,6 +19,8 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.junit.Test;
 
@@ -34,6 +36,11 @@ public class TestScoreAssociateEuclidean_F64 extends StandardScoreAssociationChe
 		super(MatchScoreType.NORM_ERROR);
 	}
 
+	@Override
+	public PackedTupleArray createPacked() {
+		return new PackedTupleArray_F64(5);
+	}
+
 	@Override
 	public ScoreAssociation<TupleDesc_F64> createScore() {
 		return new ScoreAssociateEuclidean_F64();
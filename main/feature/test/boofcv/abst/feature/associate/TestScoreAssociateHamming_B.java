@@ -20,6 +20,8 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.feature.associate.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_B;
 import boofcv.struct.feature.TupleDesc_B;
 import org.junit.Test;
 
@@ -56,6 +58,11 @@ public class TestScoreAssociateHamming_B extends StandardScoreAssociationChecks<
 		}
 	}
 
+	@Override
+	public PackedTupleArray createPacked() {
+		return new PackedTupleArray_B(5);
+	}
+
 	@Override
 	public ScoreAssociation<TupleDesc_B> createScore() {
 		return new ScoreAssociateHamming_B();
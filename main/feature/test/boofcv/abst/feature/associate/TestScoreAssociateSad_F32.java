@@ -19,6 +19,8 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F32;
 import boofcv.struct.feature.TupleDesc_F32;
 import org.junit.Test;
 
@@ -33,6 +35,11 @@ public class TestScoreAssociateSad_F32 extends StandardScoreAssociationChecks<Tu
 		super(MatchScoreType.NORM_ERROR);
 	}
 
+	@Override
+	public PackedTupleArray createPacked() {
+		return new PackedTupleArray_F32(5);
+	}
+
 	@Override
 	public ScoreAssociation<TupleDesc_F32> createScore() {
 		return new ScoreAssociateSad_F32();
@@ -19,9 +19,15 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Peter Abeles
  */
@@ -51,6 +57,48 @@ public class TestWrapAssociateGreedy {
 		}.allTests();
 	}
 
+	@Test
+	public void packed() {
+		ScoreAssociateEuclidean_F64 score = new ScoreAssociateEuclidean_F64();
+		AssociateGreedy<TupleDesc_F64> greedy = new AssociateGreedy<TupleDesc_F64>(score,true);
+		WrapAssociateGreedy<TupleDesc_F64> alg = new WrapAssociateGreedy<TupleDesc_F64>(greedy);
+		alg.setThreshold(0.5);
+
+		PackedTupleArray_F64 src = new PackedTupleArray_F64(1);
+		PackedTupleArray_F64 dst = new PackedTupleArray_F64(1);
+		src.append(createFeature(1)); src.append(createFeature(2)); src.append(createFeature(3));
+		dst.append(createFeature(3.1)); dst.append(createFeature(10)); dst.append(createFeature(0.9));
+
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		assertEquals(2,matches.size);
+		assertEquals(0,matches.get(0).src);
+		assertEquals(2,matches.get(0).dst);
+		assertEquals(2,matches.get(1).src);
+		assertEquals(0,matches.get(1).dst);
+
+		GrowQueue_I32 unassociated = alg.getUnassociatedSource();
+		assertEquals(1,unassociated.size);
+		assertEquals(1,unassociated.get(0));
+		unassociated = alg.getUnassociatedDestination();
+		assertEquals(1,unassociated.size);
+		assertEquals(1,unassociated.get(0));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void packed_mixedInput() {
+		ScoreAssociateEuclidean_F64 score = new ScoreAssociateEuclidean_F64();
+		AssociateGreedy<TupleDesc_F64> greedy = new AssociateGreedy<TupleDesc_F64>(score,true);
+		WrapAssociateGreedy<TupleDesc_F64> alg = new WrapAssociateGreedy<TupleDesc_F64>(greedy);
+
+		alg.setSource(new PackedTupleArray_F64(1));
+		alg.setDestination(new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,false));
+		alg.associate();
+	}
+
 	private static abstract class StandardTests extends StandardAssociateDescriptionChecks<TupleDesc_F64>
 	{
 		public StandardTests() {
@@ -19,6 +19,7 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.describe.DescribeRegionPointBatch;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.OrientationImage;
 import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
@@ -30,8 +31,13 @@ import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageType;
 import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -64,6 +70,34 @@ public class TestDetectDescribeFusion {
 		}
 	}
 
+	/**
+	 * Same as {@link #checkFeatureNotInBounds()} but the points are described in a batch
+	 */
+	@Test
+	public void checkFeatureNotInBounds_batch() {
+
+		InterestPointDetector detector = new DummyDetector();
+		DummyRegionPointBatch describe = new DummyRegionPointBatch();
+
+		DetectDescribeFusion alg = new DetectDescribeFusion(detector,null,describe);
+
+		alg.detect(new ImageFloat32(2,2));
+
+		// all the points should have been passed in at once
+		assertEquals(0, describe.calls);
+		assertEquals(1, describe.batchCalls);
+
+		// one feature should not be inside the image
+		assertEquals(9, alg.getNumberOfFeatures());
+
+		for( int i = 0; i < 9; i++ ) {
+			assertEquals(2,alg.getScale(i),1e-8);
+			assertEquals(1,alg.getOrientation(i),1e-8);
+			assertTrue(alg.getDescription(i) != null);
+			assertTrue(alg.getLocation(i) != null);
+		}
+	}
+
 	@Test
 	public void checkWithOrientation() {
 		final InterestPointDetector<ImageFloat32> detector = FactoryInterestPoint.fastHessian(null);
@@ -166,4 +200,21 @@ public class TestDetectDescribeFusion {
 		@Override
 		public ImageType getImageType() {return null;}
 	}
+
+	public static class DummyRegionPointBatch extends DummyRegionPoint implements DescribeRegionPointBatch {
+
+		int batchCalls = 0;
+
+		@Override
+		public void process(List locations, GrowQueue_F64 orientations, GrowQueue_F64 scales,
+							FastQueue descriptions, GrowQueue_B success) {
+			batchCalls++;
+			descriptions.reset();
+			success.reset();
+			for( int i = 0; i < locations.size(); i++ ) {
+				descriptions.grow();
+				success.push(i != 5);
+			}
+		}
+	}
 }
@@ -18,6 +18,7 @@
 
 package boofcv.abst.feature.disparity;
 
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
 import boofcv.alg.feature.disparity.DisparityScoreSadRect;
 import boofcv.struct.image.ImageFloat32;
 import org.junit.Test;
@@ -59,6 +60,16 @@ public class TestWrapDisparitySadRect {
 		public void _process(ImageFloat32 left, ImageFloat32 right, ImageFloat32 imageFloat32) {
 		}
 
+		@Override
+		protected void processRows(ImageFloat32 left, ImageFloat32 right, ImageFloat32 imageFloat32,
+								   int row0, int row1) {
+		}
+
+		@Override
+		protected DisparityScoreRowFormat<ImageFloat32, ImageFloat32> copy() {
+			return new Foo(minDisparity,maxDisparity,radiusX,radiusY);
+		}
+
 		@Override
 		public Class<ImageFloat32> getInputType() {
 			return ImageFloat32.class;
@@ -18,14 +18,23 @@
 
 package boofcv.abst.feature.disparity;
 
+import boofcv.alg.feature.disparity.DisparitySparseSelect;
 import boofcv.alg.feature.disparity.impl.ImplDisparitySparseScoreSadRect_F32;
+import boofcv.alg.feature.disparity.impl.ImplDisparitySparseScoreSadRect_U8;
 import boofcv.alg.feature.disparity.impl.ImplSelectSparseBasicWta_F32;
+import boofcv.alg.feature.disparity.impl.ImplSelectSparseBasicWta_S32;
+import boofcv.alg.feature.disparity.impl.SelectSparseStandardSubpixel;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.feature.disparity.DisparityAlgorithms;
 import boofcv.factory.feature.disparity.FactoryStereoDisparity;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
@@ -77,4 +86,112 @@ public class TestWrapDisparitySparseSadRect {
 		}
 	}
 
+	/**
+	 * Process a list of points in parallel and compare against processing each point individually
+	 */
+	@Test
+	public void processList() {
+		int minDisparity = 3;
+		int maxDisparity = 12;
+
+		final ImageUInt8 left = new ImageUInt8(w,h);
+		final ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 100);
+		ImageMiscOps.fillUniform(right, rand, 0, 100);
+
+		final StereoDisparitySparseBatch<ImageUInt8> alg =
+				new WrapDisparitySparseSadRect<int[],ImageUInt8>(
+						new ImplDisparitySparseScoreSadRect_U8(minDisparity,maxDisparity,r,r),
+						new SelectSparseStandardSubpixel.S32(-1,0.1));
+		StereoDisparitySparse<ImageUInt8> single =
+				new WrapDisparitySparseSadRect<int[],ImageUInt8>(
+						new ImplDisparitySparseScoreSadRect_U8(minDisparity,maxDisparity,r,r),
+						new SelectSparseStandardSubpixel.S32(-1,0.1));
+
+		// points in random order which include duplicates and points outside the image
+		final List<Point2D_I32> pixels = new ArrayList<Point2D_I32>();
+		for( int i = 0; i < 400; i++ ) {
+			pixels.add(new Point2D_I32(rand.nextInt(w+10)-5,rand.nextInt(h+10)-5));
+		}
+
+		final double disparity[] = new double[ pixels.size() ];
+		final double score[] = new double[ pixels.size() ];
+
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				// process twice to make sure the copies are updated with the new images
+				alg.setImages(right,left);
+				alg.process(pixels,disparity,score);
+				alg.setImages(left,right);
+				alg.process(pixels,disparity,score);
+			}
+		});
+
+		single.setImages(left,right);
+		int total = 0;
+		for( int i = 0; i < pixels.size(); i++ ) {
+			Point2D_I32 p = pixels.get(i);
+			if( single.process(p.x,p.y) ) {
+				assertEquals(single.getDisparity(),disparity[i],0);
+				assertTrue(score[i] >= 0);
+				total++;
+			} else {
+				assertTrue(Double.isNaN(disparity[i]));
+				assertTrue(Double.isNaN(score[i]));
+			}
+		}
+		assertTrue(total > 50);
+	}
+
+	/**
+	 * If the select algorithm can't be copied then the points should all be processed by the original
+	 */
+	@Test
+	public void processList_noCopy() {
+		int minDisparity = 3;
+		int maxDisparity = 12;
+
+		final ImageUInt8 left = new ImageUInt8(w,h);
+		final ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 100);
+		ImageMiscOps.fillUniform(right, rand, 0, 100);
+
+		final ImplSelectSparseBasicWta_S32 original = new ImplSelectSparseBasicWta_S32();
+		DisparitySparseSelect<int[]> select = new DisparitySparseSelect<int[]>() {
+			@Override
+			public boolean select(int[] scores, int maxDisparity) {
+				return original.select(scores,maxDisparity);
+			}
+
+			@Override
+			public double getDisparity() {
+				return original.getDisparity();
+			}
+		};
+
+		final StereoDisparitySparseBatch<ImageUInt8> alg =
+				new WrapDisparitySparseSadRect<int[],ImageUInt8>(
+						new ImplDisparitySparseScoreSadRect_U8(minDisparity,maxDisparity,r,r),select);
+
+		final List<Point2D_I32> pixels = new ArrayList<Point2D_I32>();
+		for( int i = 0; i < 100; i++ ) {
+			pixels.add(new Point2D_I32(rand.nextInt(w),rand.nextInt(h)));
+		}
+		final double disparity[] = new double[ pixels.size() ];
+
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				alg.setImages(left,right);
+				alg.process(pixels,disparity,null);
+			}
+		});
+
+		for( int i = 0; i < pixels.size(); i++ ) {
+			Point2D_I32 p = pixels.get(i);
+			if( alg.process(p.x,p.y) )
+				assertEquals(alg.getDisparity(),disparity[i],0);
+			else
+				assertTrue(Double.isNaN(disparity[i]));
+		}
+	}
 }
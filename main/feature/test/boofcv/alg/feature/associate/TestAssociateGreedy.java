@@ -20,11 +20,18 @@ package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofTesting;
 import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -101,6 +108,168 @@ public class TestAssociateGreedy {
 		assertEquals(2,fitScore[3],1e-5);
 	}
 
+	/**
+	 * Associating packed descriptions should produce identical results
+	 */
+	@Test
+	public void packed() {
+		Random rand = new Random(234);
+
+		for( int i = 0; i < 2; i++ ) {
+			boolean backwards = i == 1;
+
+			FastQueue<TupleDesc_F64> a = createRandom(rand,60);
+			FastQueue<TupleDesc_F64> b = createRandom(rand,45);
+
+			AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<TupleDesc_F64>(score,backwards);
+			alg.setMaxFitError(0.7);
+			alg.associate(a,b);
+
+			int expectedPairs[] = alg.getPairs().clone();
+			double expectedFit[] = alg.getFitQuality().clone();
+
+			assertTrue(alg.isPackedSupported());
+			alg.associate(pack(a),pack(b));
+
+			for( int j = 0; j < a.size; j++ ) {
+				assertEquals(expectedPairs[j],alg.getPairs()[j]);
+				assertTrue(expectedFit[j] == alg.getFitQuality()[j]);
+			}
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void packed_notSupported() {
+		ScoreAssociation<TupleDesc_F64> score = new ScoreAssociation<TupleDesc_F64>() {
+			@Override
+			public double score(TupleDesc_F64 a, TupleDesc_F64 b) {
+				return DescriptorDistance.euclidean(a,b);
+			}
+
+			@Override
+			public MatchScoreType getScoreType() {
+				return MatchScoreType.NORM_ERROR;
+			}
+		};
+
+		AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<TupleDesc_F64>(score,false);
+		assertFalse(alg.isPackedSupported());
+		alg.associate(new PackedTupleArray_F64(2),new PackedTupleArray_F64(2));
+	}
+
+	/**
+	 * Compare against a brute force implementation which saves every score.  Data is discretized so that there
+	 * are lots of ties.  Large enough to be split into multiple tiles and threads.
+	 */
+	@Test
+	public void compareToFullMatrix() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				Random rand = new Random(234);
+				FastQueue<TupleDesc_F64> a = createRandom(rand,301);
+				FastQueue<TupleDesc_F64> b = createRandom(rand,655);
+				for( int i = 0; i < a.size; i++ )
+					discretize(a.get(i));
+				for( int i = 0; i < b.size; i++ )
+					discretize(b.get(i));
+
+				for( int i = 0; i < 2; i++ ) {
+					boolean backwards = i == 1;
+
+					AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<TupleDesc_F64>(score,backwards);
+					alg.setMaxFitError(0.8);
+					alg.associate(a,b);
+
+					int expectedPairs[] = new int[a.size];
+					double expectedFit[] = new double[a.size];
+					fullMatrix(a,b,0.8,backwards,expectedPairs,expectedFit);
+
+					int numMatched = 0;
+					for( int j = 0; j < a.size; j++ ) {
+						assertEquals(expectedPairs[j],alg.getPairs()[j]);
+						assertTrue(expectedFit[j] == alg.getFitQuality()[j]);
+						if( expectedPairs[j] >= 0 )
+							numMatched++;
+					}
+					assertTrue(numMatched > 0);
+				}
+			}
+		});
+	}
+
+	private void discretize( TupleDesc_F64 d ) {
+		for( int i = 0; i < d.value.length; i++ )
+			d.value[i] = (int)(d.value[i]*3);
+	}
+
+	/**
+	 * Original implementation which saves the score of every pair
+	 */
+	private void fullMatrix( FastQueue<TupleDesc_F64> src , FastQueue<TupleDesc_F64> dst ,
+							 double maxFitError , boolean backwards ,
+							 int pairs[] , double fitQuality[] ) {
+		double work[] = new double[src.size*dst.size];
+
+		for( int i = 0; i < src.size; i++ ) {
+			double bestScore = maxFitError;
+			int bestIndex = -1;
+			for( int j = 0; j < dst.size; j++ ) {
+				double fit = score.score(src.get(i),dst.get(j));
+				work[i*dst.size+j] = fit;
+				if( fit < bestScore ) {
+					bestIndex = j;
+					bestScore = fit;
+				}
+			}
+			pairs[i] = bestIndex;
+			fitQuality[i] = bestScore;
+		}
+
+		if( !backwards )
+			return;
+
+		for( int i = 0; i < src.size; i++ ) {
+			int match = pairs[i];
+			if( match == -1 )
+				continue;
+
+			double scoreToBeat = work[i*dst.size+match];
+
+			for( int j = 0; j < src.size; j++ , match += dst.size ) {
+				if( work[match] <= scoreToBeat && j != i) {
+					pairs[i] = -1;
+					fitQuality[i] = Double.MAX_VALUE;
+					break;
+				}
+			}
+		}
+	}
+
+	private FastQueue<TupleDesc_F64> createRandom( Random rand , int total )
+	{
+		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
+			@Override
+			protected TupleDesc_F64 createInstance() {
+				return new TupleDesc_F64(4);
+			}
+		};
+
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_F64 d = ret.grow();
+			for( int j = 0; j < d.value.length; j++ )
+				d.value[j] = rand.nextDouble();
+		}
+
+		return ret;
+	}
+
+	private PackedTupleArray_F64 pack( FastQueue<TupleDesc_F64> list ) {
+		PackedTupleArray_F64 ret = new PackedTupleArray_F64(list.get(0).value.length);
+		for( int i = 0; i < list.size; i++ )
+			ret.append(list.get(i));
+		return ret;
+	}
+
 	private FastQueue<TupleDesc_F64> createData( double ...values )
 	{
 		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
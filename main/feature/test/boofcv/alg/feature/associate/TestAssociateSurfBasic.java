@@ -23,12 +23,15 @@ import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
 import boofcv.abst.feature.associate.ScoreAssociation;
 import boofcv.factory.feature.associate.FactoryAssociation;
 import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastQueue;
 import org.ddogleg.struct.GrowQueue_I32;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 
@@ -108,6 +111,69 @@ public class TestAssociateSurfBasic {
 		}
 	}
 
+	/**
+	 * Results should be identical when packed descriptions are associated internally
+	 */
+	@Test
+	public void packedIdentical() {
+		Random rand = new Random(234);
+
+		FastQueue<SurfFeature> src = new FastQueue<SurfFeature>(10,SurfFeature.class,false);
+		FastQueue<SurfFeature> dst = new FastQueue<SurfFeature>(10,SurfFeature.class,false);
+
+		for( int i = 0; i < 50; i++ ) {
+			src.add(createDesc(rand.nextBoolean(), rand.nextDouble() * 10));
+			dst.add(createDesc(rand.nextBoolean(), rand.nextDouble() * 10));
+		}
+
+		// this score doesn't support packed descriptions
+		ScoreAssociation<TupleDesc_F64> score = new ScoreAssociation<TupleDesc_F64>() {
+			@Override
+			public double score(TupleDesc_F64 a, TupleDesc_F64 b) {
+				return DescriptorDistance.euclidean(a,b);
+			}
+
+			@Override
+			public MatchScoreType getScoreType() {
+				return MatchScoreType.NORM_ERROR;
+			}
+		};
+		AssociateSurfBasic expected = new AssociateSurfBasic(FactoryAssociation.greedy(score, 20, true));
+		AssociateSurfBasic found = createAlg();
+
+		assertFalse(expected.packed);
+		assertTrue(found.packed);
+
+		expected.setSrc(src); expected.setDst(dst);
+		found.setSrc(src); found.setDst(dst);
+
+		// swap twice to make sure the packed lists are swapped along with everything else
+		for( int trial = 0; trial < 2; trial++ ) {
+			expected.associate();
+			found.associate();
+
+			FastQueue<AssociatedIndex> e = expected.getMatches();
+			FastQueue<AssociatedIndex> f = found.getMatches();
+
+			assertTrue(e.size > 0);
+			assertEquals(e.size, f.size);
+			for( int i = 0; i < e.size; i++ ) {
+				assertEquals(e.get(i).src,f.get(i).src);
+				assertEquals(e.get(i).dst,f.get(i).dst);
+				assertTrue(e.get(i).fitScore == f.get(i).fitScore);
+			}
+
+			GrowQueue_I32 ue = expected.getUnassociatedSrc();
+			GrowQueue_I32 uf = found.getUnassociatedSrc();
+			assertEquals(ue.size,uf.size);
+			for( int i = 0; i < ue.size; i++ )
+				assertEquals(ue.get(i),uf.get(i));
+
+			expected.swapLists();
+			found.swapLists();
+		}
+	}
+
 	private AssociateSurfBasic createAlg() {
 
 		ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateEuclidean_F64();
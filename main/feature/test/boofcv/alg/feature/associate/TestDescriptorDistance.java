@@ -177,6 +177,59 @@ public class TestDescriptorDistance {
 		}
 	}
 
+	@Test
+	public void hamming_long() {
+		long a[] = new long[10];
+		long b[] = new long[10];
+		TupleDesc_B descA = new TupleDesc_B(6*64);
+		TupleDesc_B descB = new TupleDesc_B(6*64);
+
+		for( int numTries = 0; numTries < 20; numTries++ ) {
+			for( int i = 0; i < 6; i++ ) {
+				a[i+1] = rand.nextLong();
+				b[i+3] = rand.nextLong();
+				descA.data[i*2] = (int)a[i+1];
+				descA.data[i*2+1] = (int)(a[i+1] >>> 32);
+				descB.data[i*2] = (int)b[i+3];
+				descB.data[i*2+1] = (int)(b[i+3] >>> 32);
+			}
+
+			assertEquals(hamming(descA,descB),DescriptorDistance.hamming(a,1,b,3,6));
+		}
+	}
+
+	/**
+	 * The loops are unrolled.  Compare against a simple implementation for arrays with lengths that aren't
+	 * a multiple of the number of unrolled elements and descriptors which don't start at the beginning of the array
+	 */
+	@Test
+	public void arrays_variousLengths() {
+		for( int length = 0; length < 10; length++ ) {
+			double a[] = new double[length+2];
+			double b[] = new double[length+5];
+			float af[] = new float[a.length];
+			float bf[] = new float[b.length];
+			for( int i = 0; i < a.length; i++ )
+				af[i] = (float)(a[i] = rand.nextGaussian());
+			for( int i = 0; i < b.length; i++ )
+				bf[i] = (float)(b[i] = rand.nextGaussian());
+
+			double euclideanSq = 0, correlation = 0, sad = 0;
+			for( int i = 0; i < length; i++ ) {
+				double d = a[i+2]-b[i+5];
+				euclideanSq += d*d;
+				correlation += a[i+2]*b[i+5];
+				sad += Math.abs(d);
+			}
+
+			assertEquals(euclideanSq,DescriptorDistance.euclideanSq(a,2,b,5,length),1e-8);
+			assertEquals(correlation,DescriptorDistance.correlation(a,2,b,5,length),1e-8);
+			assertEquals(sad,DescriptorDistance.sad(a,2,b,5,length),1e-8);
+			assertEquals(euclideanSq,DescriptorDistance.euclideanSq(af,2,bf,5,length),1e-4);
+			assertEquals(sad,DescriptorDistance.sad(af,2,bf,5,length),1e-4);
+		}
+	}
+
 	@Test
 	public void hamming_int() {
 		assertEquals(0,DescriptorDistance.hamming(0));
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.PackedTupleArray_F64;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestKdForest {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Check the structure of each tree.  Every point should be in exactly one leaf and every point should
+	 * be on the correct side of each split
+	 */
+	@Test
+	public void setPoints_structure() {
+		PackedTupleArray_F64 points = createPoints(200,6);
+
+		KdForest alg = new KdForest(3,4,234);
+		alg.setPoints(points);
+
+		for( int i = 0; i < alg.getNumTrees(); i++ ) {
+			KdForest.Tree tree = alg.trees[i];
+			assertEquals(2*points.size()-1,tree.numNodes);
+
+			int count[] = new int[points.size()];
+			checkNode(tree,0,points,new double[6],new double[6],count);
+			for( int j = 0; j < count.length; j++ )
+				assertEquals(1,count[j]);
+		}
+	}
+
+	private void checkNode( KdForest.Tree tree , int node , PackedTupleArray_F64 points ,
+							double lower[] , double upper[] , int count[] ) {
+		if( tree.split[node] < 0 ) {
+			int index = tree.left[node];
+			count[index]++;
+			for( int k = 0; k < points.dof; k++ ) {
+				double v = points.data[index*points.dof+k];
+				if( lower[k] != 0 ) assertTrue(v >= lower[k]);
+				if( upper[k] != 0 ) assertTrue(v <= upper[k]);
+			}
+			return;
+		}
+
+		int axis = tree.split[node];
+		double value = tree.value[node];
+
+		double before = upper[axis];
+		upper[axis] = value;
+		checkNode(tree,tree.left[node],points,lower,upper,count);
+		upper[axis] = before;
+
+		before = lower[axis];
+		lower[axis] = value;
+		checkNode(tree,tree.right[node],points,lower,upper,count);
+		lower[axis] = before;
+	}
+
+	/**
+	 * Points which are identical along every axis should still produce a balanced tree
+	 */
+	@Test
+	public void setPoints_duplicates() {
+		PackedTupleArray_F64 points = new PackedTupleArray_F64(3);
+		TupleDesc_F64 d = new TupleDesc_F64(3);
+		for( int i = 0; i < 50; i++ )
+			points.append(d);
+
+		KdForest alg = new KdForest(1,1,234);
+		alg.setPoints(points);
+		assertEquals(99,alg.trees[0].numNodes);
+
+		KdForestSearchBbf search = alg.createSearch(-1);
+		assertTrue(search.findNearest(d.value,0,-1,3));
+		assertEquals(3,search.getNumFound());
+		assertEquals(0,search.getDistance(2),0);
+	}
+
+	/**
+	 * The batch query should produce the same results as searching one at a time
+	 */
+	@Test
+	public void findNearest_batch() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				PackedTupleArray_F64 points = createPoints(300,8);
+				PackedTupleArray_F64 queries = createPoints(101,8);
+
+				KdForest alg = new KdForest(4,5,234);
+				alg.setPoints(points);
+
+				GrowQueue_I32 indexes = new GrowQueue_I32();
+				GrowQueue_F64 distances = new GrowQueue_F64();
+
+				int k = 3;
+				alg.findNearest(queries,0.45,k,20,indexes,distances);
+				assertEquals(queries.size()*k,indexes.size);
+
+				KdForestSearchBbf search = alg.createSearch(20);
+				int total = 0;
+				for( int i = 0; i < queries.size(); i++ ) {
+					search.findNearest(queries.data,i*queries.dof,0.45,k);
+					for( int j = 0; j < k; j++ ) {
+						if( j < search.getNumFound() ) {
+							assertEquals(search.getIndex(j),indexes.get(i*k+j));
+							assertEquals(search.getDistance(j),distances.get(i*k+j),0);
+							total++;
+						} else {
+							assertEquals(-1,indexes.get(i*k+j));
+							assertEquals(Double.MAX_VALUE,distances.get(i*k+j),0);
+						}
+					}
+				}
+				// sanity check, make sure there were some results
+				assertTrue(total > 0 && total < queries.size()*k);
+			}
+		});
+	}
+
+	private PackedTupleArray_F64 createPoints( int total , int dof ) {
+		PackedTupleArray_F64 points = new PackedTupleArray_F64(dof);
+		TupleDesc_F64 d = new TupleDesc_F64(dof);
+		for( int i = 0; i < total; i++ ) {
+			for( int j = 0; j < dof; j++ )
+				d.value[j] = rand.nextDouble();
+			points.append(d);
+		}
+		return points;
+	}
+}
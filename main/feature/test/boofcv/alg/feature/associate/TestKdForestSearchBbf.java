@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.PackedTupleArray_F64;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestKdForestSearchBbf {
+
+	Random rand = new Random(234);
+
+	/**
+	 * With no limit on the number of nodes the search should be exact
+	 */
+	@Test
+	public void exact() {
+		exact(1,1);
+		exact(4,5);
+	}
+
+	private void exact( int numTrees , int numConsiderSplit ) {
+		PackedTupleArray_F64 points = createPoints(400,5);
+		PackedTupleArray_F64 queries = createPoints(50,5);
+
+		KdForest forest = new KdForest(numTrees,numConsiderSplit,234);
+		forest.setPoints(points);
+		KdForestSearchBbf alg = forest.createSearch(-1);
+
+		for( int k = 1; k <= 3; k++ ) {
+			for( int i = 0; i < queries.size(); i++ ) {
+				double expected[] = bruteForce(points,queries,i);
+
+				assertTrue(alg.findNearest(queries.data,i*queries.dof,-1,k));
+				assertEquals(k,alg.getNumFound());
+				for( int j = 0; j < k; j++ ) {
+					int index = alg.getIndex(j);
+					double distance = DescriptorDistance.euclideanSq(queries.data,i*queries.dof,
+							points.data,index*points.dof,points.dof);
+					assertEquals(expected[j],alg.getDistance(j),0);
+					assertEquals(distance,alg.getDistance(j),0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Neighbors must be closer than the maximum distance
+	 */
+	@Test
+	public void maxDistance() {
+		PackedTupleArray_F64 points = createPoints(400,5);
+		PackedTupleArray_F64 queries = createPoints(50,5);
+
+		KdForest forest = new KdForest(1,1,234);
+		forest.setPoints(points);
+		KdForestSearchBbf alg = forest.createSearch(-1);
+
+		double maxDistance = 0.3;
+		int numNone = 0;
+		for( int i = 0; i < queries.size(); i++ ) {
+			double expected[] = bruteForce(points,queries,i);
+			int expectedFound = 0;
+			while( expectedFound < 2 && expected[expectedFound] < maxDistance*maxDistance )
+				expectedFound++;
+
+			assertEquals(expectedFound > 0,alg.findNearest(queries.data,i*queries.dof,maxDistance,2));
+			assertEquals(expectedFound,alg.getNumFound());
+			if( expectedFound == 0 )
+				numNone++;
+		}
+		assertTrue(numNone > 0 && numNone < queries.size());
+	}
+
+	/**
+	 * An approximate search should examine a limited number of points and still usually find the best
+	 */
+	@Test
+	public void approximate() {
+		PackedTupleArray_F64 points = createPoints(2000,10);
+		PackedTupleArray_F64 queries = createPoints(100,10);
+
+		KdForest forest = new KdForest(4,5,234);
+		forest.setPoints(points);
+		KdForestSearchBbf alg = forest.createSearch(200);
+
+		int numCorrect = 0;
+		for( int i = 0; i < queries.size(); i++ ) {
+			double expected[] = bruteForce(points,queries,i);
+			assertTrue(alg.findNearest(queries.data,i*queries.dof,-1,2));
+			// the limit can be exceeded by at most the depth of a descent into each tree
+			assertTrue(alg.getNumChecked() <= 200+4);
+			assertTrue(alg.getDistance(0) <= alg.getDistance(1));
+			if( alg.getDistance(0) == expected[0] )
+				numCorrect++;
+		}
+		assertTrue(numCorrect > 50);
+	}
+
+	@Test
+	public void noPoints() {
+		KdForest forest = new KdForest(2,1,234);
+		forest.setPoints(new PackedTupleArray_F64(3));
+		KdForestSearchBbf alg = forest.createSearch(-1);
+
+		assertFalse(alg.findNearest(new double[3],0,-1,1));
+		assertEquals(0,alg.getNumFound());
+	}
+
+	/**
+	 * Sorted distance squared from the query to every point
+	 */
+	private double[] bruteForce( PackedTupleArray_F64 points , PackedTupleArray_F64 queries , int which ) {
+		double distances[] = new double[points.size()];
+		for( int i = 0; i < points.size(); i++ ) {
+			distances[i] = DescriptorDistance.euclideanSq(queries.data,which*queries.dof,
+					points.data,i*points.dof,points.dof);
+		}
+		Arrays.sort(distances);
+		return distances;
+	}
+
+	private PackedTupleArray_F64 createPoints( int total , int dof ) {
+		PackedTupleArray_F64 points = new PackedTupleArray_F64(dof);
+		TupleDesc_F64 d = new TupleDesc_F64(dof);
+		for( int i = 0; i < total; i++ ) {
+			for( int j = 0; j < dof; j++ )
+				d.value[j] = rand.nextDouble();
+			points.append(d);
+		}
+		return points;
+	}
+}
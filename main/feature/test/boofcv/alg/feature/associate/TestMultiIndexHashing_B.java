@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMultiIndexHashing_B {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void extract() {
+		int data[] = new int[]{0xF0F0F0F0,0x12345678};
+
+		assertEquals(0xF0,MultiIndexHashing_B.extract(data,0,8));
+		assertEquals(0x0F,MultiIndexHashing_B.extract(data,4,8));
+		assertEquals(0xF0F0F0F0,MultiIndexHashing_B.extract(data,0,32));
+		// crosses the boundary between two ints
+		assertEquals(0x8F,MultiIndexHashing_B.extract(data,28,8));
+		assertEquals(0x12345678,MultiIndexHashing_B.extract(data,32,32));
+	}
+
+	@Test
+	public void combinations() {
+		assertEquals(1,MultiIndexHashing_B.combinations(16,0));
+		assertEquals(16,MultiIndexHashing_B.combinations(16,1));
+		assertEquals(120,MultiIndexHashing_B.combinations(16,2));
+		assertEquals(601080390,MultiIndexHashing_B.combinations(32,16));
+		assertEquals(0,MultiIndexHashing_B.combinations(3,4));
+	}
+
+	/**
+	 * Compare nearest neighbor results against a brute force search.  Includes substrings of different lengths.
+	 */
+	@Test
+	public void searchNearest() {
+		for( int numTables : new int[]{9,16,23} ) {
+			List<TupleDesc_B> list = createDescriptions(256,300);
+			MultiIndexHashing_B alg = new MultiIndexHashing_B(256,numTables);
+			for( TupleDesc_B d : list )
+				alg.add(d);
+
+			GrowQueue_I32 foundID = new GrowQueue_I32();
+			GrowQueue_I32 foundDistance = new GrowQueue_I32();
+
+			for( int trial = 0; trial < 50; trial++ ) {
+				TupleDesc_B query = perturb(list.get(rand.nextInt(list.size())),rand.nextInt(40));
+
+				for( int k : new int[]{1,5} ) {
+					for( int maxDistance : new int[]{20,256} ) {
+						alg.searchNearest(query,k,maxDistance,foundID,foundDistance);
+						checkResults(list,query,maxDistance,k,foundID,foundDistance);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void searchRadius() {
+		List<TupleDesc_B> list = createDescriptions(128,300);
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(128,8);
+		for( TupleDesc_B d : list )
+			alg.add(d);
+
+		GrowQueue_I32 foundID = new GrowQueue_I32();
+		GrowQueue_I32 foundDistance = new GrowQueue_I32();
+
+		for( int trial = 0; trial < 50; trial++ ) {
+			TupleDesc_B query = perturb(list.get(rand.nextInt(list.size())),rand.nextInt(20));
+			int radius = rand.nextInt(30);
+
+			alg.searchRadius(query,radius,foundID,foundDistance);
+			checkResults(list,query,radius,Integer.MAX_VALUE,foundID,foundDistance);
+		}
+	}
+
+	@Test
+	public void add_remove() {
+		List<TupleDesc_B> list = createDescriptions(64,50);
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(64,4);
+		for( int i = 0; i < list.size(); i++ )
+			assertEquals(i,alg.add(list.get(i)));
+		assertEquals(50,alg.size());
+
+		GrowQueue_I32 foundID = new GrowQueue_I32();
+
+		alg.searchNearest(list.get(10),1,64,foundID,null);
+		assertEquals(10,foundID.get(0));
+
+		assertTrue(alg.remove(10));
+		assertFalse(alg.remove(10));
+		assertEquals(49,alg.size());
+		assertTrue(alg.getDescription(10) == null);
+
+		alg.searchNearest(list.get(10),1,64,foundID,null);
+		assertTrue(foundID.get(0) != 10);
+
+		// IDs are not reused
+		assertEquals(50,alg.add(list.get(10)));
+		alg.searchNearest(list.get(10),1,64,foundID,null);
+		assertEquals(50,foundID.get(0));
+
+		alg.clear();
+		assertEquals(0,alg.size());
+		alg.searchNearest(list.get(10),1,64,foundID,null);
+		assertEquals(0,foundID.size);
+		assertEquals(0,alg.add(list.get(10)));
+	}
+
+	/**
+	 * Brute force check of the results.  The found neighbors must be sorted by distance then ID
+	 */
+	private void checkResults( List<TupleDesc_B> list , TupleDesc_B query , int maxDistance , int k ,
+							   GrowQueue_I32 foundID , GrowQueue_I32 foundDistance ) {
+		List<Integer> expected = new ArrayList<Integer>();
+		for( int d = 0; d <= maxDistance && expected.size() < k; d++ ) {
+			for( int i = 0; i < list.size() && expected.size() < k; i++ ) {
+				if( DescriptorDistance.hamming(query,list.get(i)) == d )
+					expected.add(i);
+			}
+		}
+
+		assertEquals(expected.size(),foundID.size);
+		assertEquals(expected.size(),foundDistance.size);
+		for( int i = 0; i < expected.size(); i++ ) {
+			int id = expected.get(i);
+			assertEquals(id,foundID.get(i));
+			assertEquals(DescriptorDistance.hamming(query,list.get(id)),foundDistance.get(i));
+		}
+	}
+
+	/**
+	 * Creates a set of random descriptors with a few near duplicates
+	 */
+	private List<TupleDesc_B> createDescriptions( int numBits , int total ) {
+		List<TupleDesc_B> list = new ArrayList<TupleDesc_B>();
+		for( int i = 0; i < total; i++ ) {
+			if( i > 0 && rand.nextInt(5) == 0 ) {
+				list.add( perturb(list.get(rand.nextInt(i)),rand.nextInt(4)));
+			} else {
+				TupleDesc_B d = new TupleDesc_B(numBits);
+				for( int j = 0; j < d.data.length; j++ )
+					d.data[j] = rand.nextInt();
+				list.add(d);
+			}
+		}
+		return list;
+	}
+
+	private TupleDesc_B perturb( TupleDesc_B original , int numFlips ) {
+		TupleDesc_B d = original.copy();
+		for( int i = 0; i < numFlips; i++ ) {
+			int bit = rand.nextInt(d.numBits);
+			d.data[bit/32] ^= 1 << (bit%32);
+		}
+		return d;
+	}
+}
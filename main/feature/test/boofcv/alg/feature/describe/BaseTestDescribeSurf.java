@@ -23,11 +23,16 @@ import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureQueue;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.sparse.SparseImageGradient;
 import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.GrowQueue_F64;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -207,4 +212,66 @@ public abstract class BaseTestDescribeSurf<I extends ImageSingleBand,II extends
 			assertEquals(0,feat.value[i+3],1e-4);
 		}
 	}
+
+	/**
+	 * Batch processing, with the work split up between threads, should produce identical results
+	 */
+	@Test
+	public void describe_batch() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				GImageMiscOps.fillUniform(ii, rand, 0, 100);
+				alg.setImage(ii);
+
+				List<Point2D_F64> locations = new ArrayList<Point2D_F64>();
+				GrowQueue_F64 angles = new GrowQueue_F64();
+				GrowQueue_F64 scales = new GrowQueue_F64();
+				for( int i = 0; i < 30; i++ ) {
+					// include points along the border
+					locations.add(new Point2D_F64(rand.nextDouble()*width,rand.nextDouble()*height));
+					angles.push((rand.nextDouble()-0.5)*2*Math.PI);
+					scales.push(rand.nextDouble()*2+0.5);
+				}
+
+				SurfFeatureQueue found = new SurfFeatureQueue(alg.getDescriptionLength());
+				// call it twice to make sure the previous results are cleared
+				alg.describe(locations, angles, scales, found);
+				alg.describe(locations, angles, scales, found);
+
+				assertEquals(locations.size(), found.size);
+				for( int i = 0; i < locations.size(); i++ ) {
+					Point2D_F64 p = locations.get(i);
+					SurfFeature expected = alg.createDescription();
+					alg.describe(p.x, p.y, angles.get(i), scales.get(i), expected);
+
+					SurfFeature f = found.get(i);
+					assertEquals(expected.laplacianPositive, f.laplacianPositive);
+					for( int j = 0; j < expected.value.length; j++ )
+						assertTrue(expected.value[j] == f.value[j]);
+				}
+			}
+		});
+	}
+
+	/**
+	 * A copy should produce the same results as the original
+	 */
+	@Test
+	public void copy() {
+		GImageMiscOps.fillUniform(ii, rand, 0, 100);
+		alg.setImage(ii);
+		DescribePointSurf<II> copy = alg.copy();
+		copy.setImage(ii);
+
+		assertTrue(alg.getClass() == copy.getClass());
+		assertEquals(alg.getDescriptionLength(), copy.getDescriptionLength());
+		assertEquals(alg.getRadius(), copy.getRadius());
+
+		SurfFeature expected = alg.createDescription();
+		SurfFeature found = copy.createDescription();
+		alg.describe(c_x,c_y, 0.5, 1.2, expected);
+		copy.describe(c_x,c_y, 0.5, 1.2, found);
+
+		assertTrue(isSimilar(expected,found));
+	}
 }
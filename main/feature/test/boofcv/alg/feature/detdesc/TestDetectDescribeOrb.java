@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detdesc.ConfigOrb;
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.alg.feature.describe.DescribePointBriefSO;
+import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * High level functionality is tested by {@link boofcv.abst.feature.detdesc.TestWrapDetectDescribeOrb}.
+ *
+ * @author Peter Abeles
+ */
+public class TestDetectDescribeOrb {
+
+	Random rand = new Random(234);
+
+	ConfigOrb config = new ConfigOrb();
+	DetectDescribeOrb alg;
+
+	public TestDetectDescribeOrb() {
+		alg = create(config.maxFeatures);
+	}
+
+	private DetectDescribeOrb create( int maxFeatures ) {
+		FastCornerIntensity<ImageUInt8> fast =
+				FactoryIntensityPointAlg.fast(config.fastThreshold, config.fastContinuous, ImageUInt8.class);
+		BlurFilter<ImageUInt8> filter = FactoryBlurFilter.gaussian(ImageUInt8.class, config.blurSigma, config.blurRadius);
+		DescribePointBriefSO<ImageUInt8> describe = FactoryDescribePointAlgs.briefso(
+				FactoryBriefDefinition.gaussian2(new Random(config.seed), config.radius, config.numPoints), filter);
+
+		return new DetectDescribeOrb(fast,describe,maxFeatures,config.scaleFactor,
+				config.numLayers,config.harrisRadius,config.harrisK);
+	}
+
+	/**
+	 * The total number of features should not exceed the maximum and features should come from multiple layers
+	 */
+	@Test
+	public void maxFeatures() {
+		ImageUInt8 image = new ImageUInt8(300,250);
+		ImageMiscOps.fillUniform(image, rand, 0, 100);
+
+		alg = create(60);
+		alg.process(image);
+
+		int N = alg.getFeatures().size;
+		assertTrue(N <= 60 && N > 40);
+		assertEquals(N, alg.getLocation().size);
+		assertEquals(N, alg.getFeatureScales().size);
+		assertEquals(N, alg.getFeatureAngles().size);
+
+		// first layer gets the largest share and scales should never decrease
+		int numFirst = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( alg.getFeatureScales().get(i) == 1 )
+				numFirst++;
+			if( i > 0 )
+				assertTrue(alg.getFeatureScales().get(i) >= alg.getFeatureScales().get(i-1));
+		}
+		assertTrue(numFirst > N/8 && numFirst < N);
+	}
+
+	/**
+	 * Orientation should point towards the bright side of the region
+	 */
+	@Test
+	public void computeOrientation() {
+		ImageUInt8 image = new ImageUInt8(60,50);
+
+		ImageMiscOps.fillRectangle(image, 200, 30, 0, 30, 50);
+		assertEquals(0, alg.computeOrientation(image, 30, 25), 1e-8);
+
+		ImageMiscOps.fill(image, 0);
+		ImageMiscOps.fillRectangle(image, 200, 0, 25, 60, 25);
+		assertEquals(Math.PI/2, alg.computeOrientation(image, 30, 25), 1e-8);
+
+		ImageMiscOps.fill(image, 0);
+		ImageMiscOps.fillRectangle(image, 200, 0, 0, 30, 25);
+		assertEquals(-3*Math.PI/4, alg.computeOrientation(image, 29, 24), 1e-8);
+
+		// sub-images should produce the same results
+		ImageUInt8 sub = BoofTesting.createSubImageOf(image);
+		assertEquals(-3*Math.PI/4, alg.computeOrientation(sub, 29, 24), 1e-8);
+	}
+
+	/**
+	 * A corner should have a much stronger response than an edge or a flat region
+	 */
+	@Test
+	public void computeHarris() {
+		ImageUInt8 image = new ImageUInt8(30,30);
+
+		assertEquals(0, alg.computeHarris(image, 15, 15), 1e-8);
+
+		ImageMiscOps.fillRectangle(image, 200, 15, 0, 15, 30);
+		double edge = alg.computeHarris(image, 15, 15);
+
+		ImageMiscOps.fill(image, 0);
+		ImageMiscOps.fillRectangle(image, 200, 15, 15, 15, 15);
+		double corner = alg.computeHarris(image, 15, 15);
+
+		assertTrue(edge < 0);
+		assertTrue(corner > 0);
+	}
+
+	@Test
+	public void getDescriptorLength() {
+		assertEquals(config.numPoints, alg.getDescriptorLength());
+	}
+
+	@Test
+	public void getFeatures() {
+		assertTrue(alg.features == alg.getFeatures());
+	}
+
+	@Test
+	public void getFeatureScales() {
+		assertTrue(alg.featureScales == alg.getFeatureScales());
+	}
+
+	@Test
+	public void getFeatureAngles() {
+		assertTrue(alg.featureAngles == alg.getFeatureAngles());
+	}
+
+	@Test
+	public void getLocation() {
+		assertTrue(alg.location == alg.getLocation());
+	}
+}
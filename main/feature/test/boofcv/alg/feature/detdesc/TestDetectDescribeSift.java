@@ -22,9 +22,20 @@ import boofcv.alg.feature.describe.DescribePointSift;
 import boofcv.alg.feature.detect.interest.SiftDetector;
 import boofcv.alg.feature.detect.interest.SiftImageScaleSpace;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.GrowQueue_F64;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -70,4 +81,49 @@ public class TestDetectDescribeSift {
 	public void getLocation() {
 		assertTrue(alg.location == alg.getLocation());
 	}
+
+	/**
+	 * Features found when run in parallel should be identical to and in the same order as the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		final ImageFloat32 input = new ImageFloat32(160,140);
+		ImageMiscOps.fillUniform(input,new Random(234),0,200);
+
+		final List<SurfFeature> expected = new ArrayList<SurfFeature>();
+		final List<Point2D_F64> expectedLoc = new ArrayList<Point2D_F64>();
+		final GrowQueue_F64 expectedScales = new GrowQueue_F64();
+		final GrowQueue_F64 expectedAngles = new GrowQueue_F64();
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				alg.process(input);
+				for( int i = 0; i < alg.getFeatures().size; i++ ) {
+					expected.add(alg.getFeatures().get(i).copy());
+					expectedLoc.add(alg.getLocation().get(i).copy());
+				}
+				expectedScales.addAll(alg.getFeatureScales());
+				expectedAngles.addAll(alg.getFeatureAngles());
+				assertTrue(expected.size() > 10);
+			}
+		}, new Runnable() {
+			public void run() {
+				alg.process(input);
+
+				assertEquals(expected.size(),alg.getFeatures().size);
+				for( int i = 0; i < expected.size(); i++ ) {
+					SurfFeature e = expected.get(i);
+					SurfFeature f = alg.getFeatures().get(i);
+					assertEquals(e.laplacianPositive,f.laplacianPositive);
+					for( int j = 0; j < e.value.length; j++ )
+						assertTrue(e.value[j] == f.value[j]);
+
+					assertTrue(expectedLoc.get(i).x == alg.getLocation().get(i).x);
+					assertTrue(expectedLoc.get(i).y == alg.getLocation().get(i).y);
+					assertTrue(expectedScales.get(i) == alg.getFeatureScales().get(i));
+					assertTrue(expectedAngles.get(i) == alg.getFeatureAngles().get(i));
+				}
+			}
+		});
+	}
 }
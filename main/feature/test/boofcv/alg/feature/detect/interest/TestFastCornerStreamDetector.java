@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.alg.feature.detect.extract.NonMaxCandidate;
+import boofcv.alg.feature.detect.extract.NonMaxCandidateRelaxed;
+import boofcv.alg.feature.detect.extract.NonMaxCandidateStrict;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastCornerStreamDetector {
+
+	Random rand = new Random(234);
+
+	int width = 80;
+	int height = 65;
+
+	/**
+	 * Compare against non-maximum suppression being applied to the full intensity image
+	 */
+	@Test
+	public void compareToFullImage() {
+		Class types[] = new Class[]{ImageUInt8.class,ImageFloat32.class};
+
+		for( Class type : types ) {
+			for( int radius = 1; radius <= 3; radius++ ) {
+				for( int border = 0; border <= 5; border += 5 ) {
+					compareToFullImage(type, radius, border, true);
+					compareToFullImage(type, radius, border, false);
+				}
+			}
+		}
+	}
+
+	private void compareToFullImage( Class type , int radius , int border , boolean strict ) {
+		ImageSingleBand image = GeneralizedImageOps.createSingleBand(type, width, height);
+		GImageMiscOps.fillUniform(image, rand, 0, 100);
+
+		FastCornerIntensity fast = FactoryIntensityPointAlg.fast(15, 9, type);
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		fast.process(image,intensity);
+
+		NonMaxCandidate nonmax = strict ? new NonMaxCandidateStrict() : new NonMaxCandidateRelaxed();
+		nonmax.setSearchRadius(radius);
+		nonmax.setThresholdMax(20);
+		nonmax.setBorder(Math.max(border,fast.getIgnoreBorder()));
+		QueueCorner expected = new QueueCorner(10);
+		nonmax.process(intensity,null,fast.getCandidates(),null,expected);
+		assertTrue(expected.size > 10);
+
+		FastCornerStreamDetector alg = new FastCornerStreamDetector(
+				FactoryIntensityPointAlg.fast(15, 9, type),radius,20,border,strict);
+		alg.process(image);
+
+		checkIdentical(expected, alg.getFound());
+
+		// process it again to make sure it's reset correctly
+		alg.process(image);
+		checkIdentical(expected, alg.getFound());
+	}
+
+	/**
+	 * Feed in rows from separate images and see if corners are found as soon as possible
+	 */
+	@Test
+	public void processRow() {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(image, rand, 0, 100);
+
+		int radius = 2;
+		FastCornerStreamDetector<ImageUInt8> full = new FastCornerStreamDetector<ImageUInt8>(
+				FactoryIntensityPointAlg.fast(15, 9, ImageUInt8.class),radius,20,0,true);
+		full.process(image);
+
+		FastCornerStreamDetector<ImageUInt8> alg = new FastCornerStreamDetector<ImageUInt8>(
+				FactoryIntensityPointAlg.fast(15, 9, ImageUInt8.class),radius,20,0,true);
+		alg.initialize(width,height);
+		ImageUInt8 row = new ImageUInt8(width,1);
+		for( int y = 0; y < height; y++ ) {
+			row.setTo(image.subimage(0,y,width,y+1,null));
+			alg.processRow(row,0);
+
+			// all the corners which can be found should have been found.  The last rows are all finished at once
+			int center = y-3;
+			int finished = center >= height-4 ? height-3 : Math.max(3,center-radius+1);
+			assertEquals(finished, alg.getRowsFinished());
+			QueueCorner found = alg.getFound();
+			for( int i = 0; i < found.size; i++ ) {
+				assertTrue(found.get(i).y < finished);
+			}
+		}
+
+		checkIdentical(full.getFound(), alg.getFound());
+	}
+
+	/**
+	 * Too many rows are passed in
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void processRow_tooMany() {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		FastCornerStreamDetector<ImageUInt8> alg = new FastCornerStreamDetector<ImageUInt8>(
+				FactoryIntensityPointAlg.fast(15, 9, ImageUInt8.class),2,20,0,true);
+		alg.process(image);
+		alg.processRow(image,0);
+	}
+
+	private void checkIdentical( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		for( int i = 0; i < expected.size; i++ ) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+}
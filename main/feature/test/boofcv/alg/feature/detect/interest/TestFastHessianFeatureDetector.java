@@ -20,9 +20,20 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.ii.IntegralImageOps;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -40,6 +51,40 @@ public class TestFastHessianFeatureDetector extends GenericFeatureDetector {
 		return new FastHessianFeatureDetector(extractor,maxFeatures, 1, 9,4,4);
 	}
 
+	/**
+	 * Features found when run in parallel should be identical to and in the same order as the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = new ImageFloat32(160,140);
+		ImageMiscOps.fillUniform(input,new Random(234),0,200);
+		final ImageFloat32 integral = IntegralImageOps.transform(input,null);
+
+		final FastHessianFeatureDetector<ImageFloat32> alg = (FastHessianFeatureDetector<ImageFloat32>)createDetector(-1);
+		final List<ScalePoint> expected = new ArrayList<ScalePoint>();
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				alg.detect(integral);
+				for( ScalePoint p : alg.getFoundPoints() )
+					expected.add(p.copy());
+				assertTrue(expected.size() > 10);
+			}
+		}, new Runnable() {
+			public void run() {
+				alg.detect(integral);
+				List<ScalePoint> found = alg.getFoundPoints();
+
+				assertEquals(expected.size(),found.size());
+				for( int i = 0; i < expected.size(); i++ ) {
+					ScalePoint e = expected.get(i);
+					ScalePoint f = found.get(i);
+					assertTrue(e.x == f.x && e.y == f.y && e.scale == f.scale);
+				}
+			}
+		});
+	}
+
 	@SuppressWarnings({"unchecked"})
 	@Override
 	protected int detectFeature(ImageFloat32 input, Object detector) {
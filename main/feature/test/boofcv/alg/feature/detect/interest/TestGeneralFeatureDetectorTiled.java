@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I16;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGeneralFeatureDetectorTiled {
+
+	Random rand = new Random(234);
+
+	int width = 137;
+	int height = 91;
+
+	ImageFloat32 input = new ImageFloat32(width,height);
+	ImageFloat32 derivX = new ImageFloat32(width,height);
+	ImageFloat32 derivY = new ImageFloat32(width,height);
+	ImageFloat32 derivXX = new ImageFloat32(width,height);
+	ImageFloat32 derivYY = new ImageFloat32(width,height);
+	ImageFloat32 derivXY = new ImageFloat32(width,height);
+
+	public TestGeneralFeatureDetectorTiled() {
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		GImageDerivativeOps.sobel(input, derivX, derivY, BorderType.EXTENDED);
+		GImageDerivativeOps.hessianSobel(derivX, derivY, derivXX, derivYY, derivXY, BorderType.EXTENDED);
+	}
+
+	/**
+	 * When the number of features is not limited the same features should be found as when the whole image
+	 * is processed at once
+	 */
+	@Test
+	public void compareToUntiled() {
+		for( int i = 0; i < 4; i++ ) {
+			GeneralFeatureDetector<ImageFloat32,ImageFloat32> expected = create(i,new ConfigGeneralDetector(-1,2,1));
+			ConfigGeneralDetector config = new ConfigGeneralDetector(-1,2,1);
+			config.tileWidth = 20;
+			GeneralFeatureDetector<ImageFloat32,ImageFloat32> found = create(i,config);
+			assertTrue(found instanceof GeneralFeatureDetectorTiled);
+
+			process(expected);
+			process(found);
+
+			assertTrue(expected.getMaximums().size > 20);
+			assertEquals(toList(expected.getMaximums()), toList(found.getMaximums()));
+			assertEquals(toList(expected.getMinimums()), toList(found.getMinimums()));
+		}
+	}
+
+	/**
+	 * Excluded features should not be returned and should influence features around them
+	 */
+	@Test
+	public void exclude() {
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> expected = create(0,new ConfigGeneralDetector(-1,2,1));
+		ConfigGeneralDetector config = new ConfigGeneralDetector(-1,2,1);
+		config.tileWidth = 20;
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> found = create(0,config);
+
+		process(expected);
+		QueueCorner exclude = new QueueCorner(10);
+		for( int i = 0; i < expected.getMaximums().size; i += 3 ) {
+			exclude.add(expected.getMaximums().get(i));
+		}
+
+		expected.setExcludeMaximum(exclude);
+		found.setExcludeMaximum(exclude);
+		process(expected);
+		process(found);
+
+		List<Integer> listFound = toList(found.getMaximums());
+		assertEquals(toList(expected.getMaximums()), listFound);
+		for( int i = 0; i < exclude.size; i++ ) {
+			Point2D_I16 p = exclude.get(i);
+			assertFalse(listFound.contains(p.y*width+p.x));
+		}
+	}
+
+	/**
+	 * Each tile should contain no more than the specified number of features, and those should be the most intense
+	 */
+	@Test
+	public void maxFeaturesPerTile() {
+		int tileWidth = 30;
+		ConfigGeneralDetector config = new ConfigGeneralDetector(-1,1,1);
+		config.tileWidth = tileWidth;
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> all = create(0,config);
+		config.maxFeaturesPerTile = 4;
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> found = create(0,config);
+
+		process(all);
+		process(found);
+
+		int tilesX = (width+tileWidth-1)/tileWidth;
+		int tilesY = (height+tileWidth-1)/tileWidth;
+		int countAll[] = new int[tilesX*tilesY];
+		int countFound[] = new int[tilesX*tilesY];
+		float weakest[] = new float[tilesX*tilesY];
+		float strongest[] = new float[tilesX*tilesY];
+		for( int i = 0; i < weakest.length; i++ ) {
+			weakest[i] = Float.MAX_VALUE;
+			strongest[i] = -Float.MAX_VALUE;
+		}
+
+		ImageFloat32 intensity = found.getIntensity();
+		for( int i = 0; i < found.getMaximums().size; i++ ) {
+			Point2D_I16 p = found.getMaximums().get(i);
+			int tile = (p.y/tileWidth)*tilesX + p.x/tileWidth;
+			countFound[tile]++;
+			weakest[tile] = Math.min(weakest[tile],intensity.get(p.x,p.y));
+		}
+		List<Integer> listFound = toList(found.getMaximums());
+		for( int i = 0; i < all.getMaximums().size; i++ ) {
+			Point2D_I16 p = all.getMaximums().get(i);
+			int tile = (p.y/tileWidth)*tilesX + p.x/tileWidth;
+			countAll[tile]++;
+			if( !listFound.contains(p.y*width+p.x))
+				strongest[tile] = Math.max(strongest[tile],intensity.get(p.x,p.y));
+		}
+
+		for( int i = 0; i < countAll.length; i++ ) {
+			assertEquals(Math.min(4,countAll[i]),countFound[i]);
+			// features which were not selected should be weaker than the ones which were
+			assertTrue(strongest[i] <= weakest[i]);
+		}
+	}
+
+	/**
+	 * The total number of features should be limited when max features is set
+	 */
+	@Test
+	public void maxFeatures() {
+		ConfigGeneralDetector config = new ConfigGeneralDetector(15,2,1);
+		config.tileWidth = 20;
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> found = create(0,config);
+
+		process(found);
+		assertEquals(15, found.getMaximums().size);
+	}
+
+	/**
+	 * Features found when run in parallel should be identical to and in the same order as the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		ConfigGeneralDetector config = new ConfigGeneralDetector(50,2,1);
+		config.tileWidth = 25;
+		config.maxFeaturesPerTile = 5;
+		final GeneralFeatureDetector<ImageFloat32,ImageFloat32> alg = create(3,config);
+		final QueueCorner expectedMin = new QueueCorner();
+		final QueueCorner expectedMax = new QueueCorner();
+		final ImageFloat32 expectedIntensity = new ImageFloat32(width,height);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				process(alg);
+				copy(alg.getMinimums(),expectedMin);
+				copy(alg.getMaximums(),expectedMax);
+				expectedIntensity.setTo(alg.getIntensity());
+				assertTrue(expectedMax.size > 10);
+			}
+		}, new Runnable() {
+			public void run() {
+				process(alg);
+
+				checkIdentical(expectedMin, alg.getMinimums());
+				checkIdentical(expectedMax, alg.getMaximums());
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						assertTrue(expectedIntensity.get(x,y) == alg.getIntensity().get(x,y));
+					}
+				}
+			}
+		});
+	}
+
+	private GeneralFeatureDetector<ImageFloat32,ImageFloat32> create( int which , ConfigGeneralDetector config ) {
+		switch( which ) {
+			case 0: return FactoryDetectPoint.createShiTomasi(config, false, ImageFloat32.class);
+			case 1: return FactoryDetectPoint.createFast(null, config, ImageFloat32.class);
+			case 2: return FactoryDetectPoint.createMedian(config, ImageFloat32.class);
+			case 3: return FactoryDetectPoint.createHessian(HessianBlobIntensity.Type.DETERMINANT, config, ImageFloat32.class);
+		}
+		throw new RuntimeException("Unknown");
+	}
+
+	private void process( GeneralFeatureDetector<ImageFloat32,ImageFloat32> alg ) {
+		alg.process(input, derivX, derivY, derivXX, derivYY, derivXY);
+	}
+
+	private List<Integer> toList( QueueCorner points ) {
+		List<Integer> ret = new ArrayList<Integer>();
+		for( int i = 0; i < points.size; i++ ) {
+			Point2D_I16 p = points.get(i);
+			ret.add(p.y*width+p.x);
+		}
+		Collections.sort(ret);
+		return ret;
+	}
+
+	private void copy( QueueCorner points , QueueCorner output ) {
+		output.reset();
+		for( int i = 0; i < points.size; i++ ) {
+			output.add(points.get(i));
+		}
+	}
+
+	private void checkIdentical( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		for( int i = 0; i < expected.size; i++ ) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+}
@@ -19,13 +19,18 @@
 package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -92,4 +97,41 @@ public class TestSiftDetector extends GenericFeatureDetector {
 		assertTrue(countWhite>0);
 		assertTrue(countBlack>0);
 	}
+
+	/**
+	 * Features found when run in parallel should be identical to and in the same order as the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		final ImageFloat32 input = new ImageFloat32(160,140);
+		ImageMiscOps.fillUniform(input,new Random(234),0,200);
+
+		final SiftDetector alg = FactoryInterestPointAlgs.siftDetector(new ConfigSiftDetector(2,1,200,5));
+		final List<ScalePoint> expected = new ArrayList<ScalePoint>();
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				ss.constructPyramid(input);
+				ss.computeFeatureIntensity();
+				alg.process(ss);
+				for( ScalePoint p : alg.getFoundPoints().toList() )
+					expected.add(p.copy());
+				assertTrue(expected.size() > 10);
+			}
+		}, new Runnable() {
+			public void run() {
+				ss.constructPyramid(input);
+				ss.computeFeatureIntensity();
+				alg.process(ss);
+				List<ScalePoint> found = alg.getFoundPoints().toList();
+
+				assertEquals(expected.size(),found.size());
+				for( int i = 0; i < expected.size(); i++ ) {
+					ScalePoint e = expected.get(i);
+					ScalePoint f = found.get(i);
+					assertTrue(e.x == f.x && e.y == f.y && e.scale == f.scale && e.white == f.white);
+				}
+			}
+		});
+	}
 }
@@ -192,4 +192,44 @@ public class TestSiftImageScaleSpace {
 			assertEquals(sum1,sum2,1e-6);
 		}
 	}
+
+	/**
+	 * The scale-space computed in parallel should be identical to the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		for( boolean doubleInput : new boolean[]{false,true}) {
+			final SiftImageScaleSpace ss1 = new SiftImageScaleSpace(1.6f, 5, 4, doubleInput);
+			final SiftImageScaleSpace ss2 = new SiftImageScaleSpace(1.6f, 5, 4, doubleInput);
+
+			final ImageFloat32 input = new ImageFloat32(90,80);
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			BoofTesting.checkConcurrent(new Runnable() {
+				public void run() {
+					ss1.constructPyramid(input);
+					ss1.computeFeatureIntensity();
+					ss1.computeDerivatives();
+				}
+			}, new Runnable() {
+				public void run() {
+					ss2.constructPyramid(input);
+					ss2.computeFeatureIntensity();
+					ss2.computeDerivatives();
+				}
+			});
+
+			assertEquals(ss1.actualOctaves,ss2.actualOctaves);
+			int numScales = ss1.actualOctaves*ss1.numScales;
+			for( int i = 0; i < numScales; i++ ) {
+				BoofTesting.assertEquals(ss1.scale[i],ss2.scale[i],0);
+				BoofTesting.assertEquals(ss1.derivX[i],ss2.derivX[i],0);
+				BoofTesting.assertEquals(ss1.derivY[i],ss2.derivY[i],0);
+			}
+			int numDog = ss1.actualOctaves*(ss1.numScales-1);
+			for( int i = 0; i < numDog; i++ ) {
+				BoofTesting.assertEquals(ss1.dog[i],ss2.dog[i],0);
+			}
+		}
+	}
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.feature.disparity.impl.ImplSgmCostCensus_U8;
+import boofcv.alg.feature.disparity.impl.ImplSgmCostSad_U8;
+import boofcv.alg.feature.disparity.impl.SelectRectSubpixel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparitySgm {
+
+	Random rand = new Random(234);
+
+	int w = 60, h = 45;
+	int minDisparity = 2, maxDisparity = 20;
+
+	ImageUInt8 left = new ImageUInt8(w,h);
+	ImageUInt8 right = new ImageUInt8(w,h);
+
+	/**
+	 * The right image is the left image shifted by a known amount.  See if the disparity is found
+	 */
+	@Test
+	public void knownDisparity() {
+		int disparity = 7;
+		createShifted(disparity);
+
+		checkKnownDisparity(new ImplSgmCostCensus_U8(3), 6, 80, disparity);
+		checkKnownDisparity(new ImplSgmCostSad_U8(1), 10, 100, disparity);
+	}
+
+	private void checkKnownDisparity( SgmCostFunction<ImageUInt8> cost , int P1 , int P2 , int disparity ) {
+		for( int paths = 4; paths <= 8; paths += 4 ) {
+			DisparitySgm<ImageUInt8,ImageFloat32> alg = createAlg(cost,P1,P2,paths);
+
+			ImageFloat32 found = new ImageFloat32(w,h);
+			alg.process(left,right,found);
+
+			int total = 0, correct = 0;
+			for( int y = 0; y < h; y++ ) {
+				for( int x = disparity; x < w; x++ ) {
+					total++;
+					if( Math.abs(found.get(x,y) + minDisparity - disparity) < 0.5 )
+						correct++;
+				}
+			}
+			assertTrue(correct > 0.95*total);
+		}
+	}
+
+	/**
+	 * If the tiles overlap the entire image the results should be the same as processing the whole image
+	 */
+	@Test
+	public void tiling() {
+		createShifted(5);
+
+		DisparitySgm<ImageUInt8,ImageFloat32> alg = createAlg(new ImplSgmCostCensus_U8(2), 6, 80, 8);
+
+		ImageFloat32 expected = new ImageFloat32(w,h);
+		alg.process(left,right,expected);
+
+		alg.setTiling(10,h);
+		ImageFloat32 found = new ImageFloat32(w,h);
+		alg.process(left,right,found);
+
+		BoofTesting.assertEquals(expected,found,0);
+
+		// smaller overlap will produce slightly different results, but should be mostly the same
+		alg.setTiling(10,5);
+		ImageMiscOps.fill(found,0);
+		alg.process(left,right,found);
+
+		int same = 0;
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				if( expected.get(x,y) == found.get(x,y))
+					same++;
+			}
+		}
+		assertTrue(same > 0.9*w*h);
+	}
+
+	/**
+	 * Results should be identical when processed by multiple threads
+	 */
+	@Test
+	public void concurrent() {
+		createShifted(5);
+
+		final DisparitySgm<ImageUInt8,ImageFloat32> alg = createAlg(new ImplSgmCostSad_U8(1), 10, 100, 8);
+		final ImageFloat32 expected = new ImageFloat32(w,h);
+		final ImageFloat32 found = new ImageFloat32(w,h);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				alg.process(left,right,expected);
+			}
+		}, new Runnable() {
+			public void run() {
+				alg.process(left,right,found);
+			}
+		});
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Penalties which can cause the aggregated cost to overflow should be rejected
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void checkOverflow() {
+		createAlg(new ImplSgmCostSad_U8(1), 10, 4000, 8);
+	}
+
+	private DisparitySgm<ImageUInt8,ImageFloat32> createAlg( SgmCostFunction<ImageUInt8> cost ,
+															 int P1 , int P2 , int paths ) {
+		SgmCostAggregation aggregation = new SgmCostAggregation(P1,P2,paths);
+		DisparitySelect<int[],ImageFloat32> select = new SelectRectSubpixel.S32_F32(-1,1,-1);
+		return new DisparitySgm<ImageUInt8,ImageFloat32>(minDisparity,maxDisparity,cost,aggregation,select);
+	}
+
+	private void createShifted( int disparity ) {
+		ImageMiscOps.fillUniform(left, rand, 0, 200);
+		ImageMiscOps.fillUniform(right, rand, 0, 200);
+
+		for( int y = 0; y < h; y++ ) {
+			for( int x = disparity; x < w; x++ ) {
+				right.set(x-disparity,y,left.get(x,y));
+			}
+		}
+	}
+}
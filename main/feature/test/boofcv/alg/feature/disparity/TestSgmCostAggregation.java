@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAggregation {
+
+	Random rand = new Random(234);
+
+	int w = 20, h = 15, range = 7;
+
+	/**
+	 * Compare against a naive implementation which computes the cost of each path for the entire image
+	 */
+	@Test
+	public void compareToNaive() {
+		short costs[] = randomCosts();
+
+		for( int paths = 4; paths <= 8; paths += 4 ) {
+			SgmCostAggregation alg = new SgmCostAggregation(3,20,paths);
+			alg.process(costs,w,h,range);
+
+			int expected[] = naive(costs,3,20,paths);
+			short found[] = alg.getAggregated();
+			for( int i = 0; i < expected.length; i++ ) {
+				assertEquals(expected[i],found[i]);
+			}
+		}
+	}
+
+	/**
+	 * Process a larger image first to make sure left over data in the internal storage isn't used
+	 */
+	@Test
+	public void changeShape() {
+		SgmCostAggregation alg = new SgmCostAggregation(3,20,8);
+
+		short larger[] = new short[(w+5)*(h+2)*(range+1)];
+		for( int i = 0; i < larger.length; i++ )
+			larger[i] = (short)rand.nextInt(30);
+		alg.process(larger,w+5,h+2,range+1);
+
+		short costs[] = randomCosts();
+		alg.process(costs,w,h,range);
+
+		int expected[] = naive(costs,3,20,8);
+		for( int i = 0; i < expected.length; i++ ) {
+			assertEquals(expected[i],alg.getAggregated()[i]);
+		}
+	}
+
+	/**
+	 * Results should be identical when processed by multiple threads
+	 */
+	@Test
+	public void concurrent() {
+		final short costs[] = randomCosts();
+
+		final SgmCostAggregation alg = new SgmCostAggregation(3,20,8);
+		final short expected[] = new short[w*h*range];
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				alg.process(costs,w,h,range);
+				System.arraycopy(alg.getAggregated(),0,expected,0,expected.length);
+			}
+		}, new Runnable() {
+			public void run() {
+				alg.process(costs,w,h,range);
+			}
+		});
+
+		for( int i = 0; i < w*h*range; i++ ) {
+			assertEquals(expected[i],alg.getAggregated()[i]);
+		}
+	}
+
+	private short[] randomCosts() {
+		short costs[] = new short[w*h*range];
+		for( int i = 0; i < costs.length; i++ )
+			costs[i] = (short)rand.nextInt(30);
+		return costs;
+	}
+
+	private int[] naive( short costs[] , int P1 , int P2 , int paths ) {
+		int dirX[] = {1,-1,0,0,1,-1,1,-1};
+		int dirY[] = {0,0,1,-1,1,1,-1,-1};
+
+		int sum[] = new int[w*h*range];
+
+		for( int path = 0; path < paths; path++ ) {
+			int dx = dirX[path], dy = dirY[path];
+			int L[] = new int[w*h*range];
+
+			for( int iy = 0; iy < h; iy++ ) {
+				int y = dy >= 0 ? iy : h-1-iy;
+				for( int ix = 0; ix < w; ix++ ) {
+					int x = dx >= 0 ? ix : w-1-ix;
+					int px = x-dx, py = y-dy;
+
+					for( int d = 0; d < range; d++ ) {
+						int c = costs[(y*w+x)*range+d];
+						int value;
+						if( px < 0 || px >= w || py < 0 || py >= h ) {
+							value = c;
+						} else {
+							int indexPrev = (py*w+px)*range;
+							int minPrev = Integer.MAX_VALUE;
+							for( int i = 0; i < range; i++ )
+								minPrev = Math.min(minPrev,L[indexPrev+i]);
+
+							int best = L[indexPrev+d];
+							if( d > 0 ) best = Math.min(best,L[indexPrev+d-1]+P1);
+							if( d < range-1 ) best = Math.min(best,L[indexPrev+d+1]+P1);
+							best = Math.min(best,minPrev+P2);
+							value = c + best - minPrev;
+						}
+						L[(y*w+x)*range+d] = value;
+						sum[(y*w+x)*range+d] += value;
+					}
+				}
+			}
+		}
+		return sum;
+	}
+}
@@ -133,4 +133,36 @@ public abstract class ChecksImplDisparityScoreSadRectFive<Image extends ImageSin
 
 		BoofTesting.assertEquals(found, expected, 1);
 	}
+
+	/**
+	 * Processing the image in row bands using multiple threads should produce the same output
+	 * as processing it in a single pass.  Floating point images are filled with fractional
+	 * values, which would expose any change in the order the scores are summed.
+	 */
+	@Test
+	public void concurrent() {
+		int w = 60, h = 80;
+		final Image left = GeneralizedImageOps.createSingleBand(imageType,w, h);
+		final Image right = GeneralizedImageOps.createSingleBand(imageType,w, h);
+
+		GImageMiscOps.fillUniform(left, rand, 0, 20);
+		GImageMiscOps.fillUniform(right, rand, 0, 20);
+
+		final DisparityScoreWindowFive<Image,Disparity> alg = createAlg(2,12,3,2,compDisp);
+
+		final Disparity expected = GeneralizedImageOps.createSingleBand(disparityType,w,h);
+		final Disparity found = GeneralizedImageOps.createSingleBand(disparityType,w,h);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				alg.process(left,right,expected);
+			}
+		}, new Runnable() {
+			public void run() {
+				alg.process(left,right,found);
+			}
+		});
+
+		BoofTesting.assertEquals(found, expected, 0);
+	}
 }
@@ -107,4 +107,61 @@ public abstract class ChecksImplDisparitySparseScoreSadRect<Image extends ImageS
 			}
 		}
 	}
+
+	/**
+	 * The scores should not depend on the order points are processed in or on which instance processes them
+	 */
+	@Test
+	public void processOrder() {
+		int w = 30, h = 25;
+		Image left = GeneralizedImageOps.createSingleBand(imageType, w, h);
+		Image right = GeneralizedImageOps.createSingleBand(imageType,w, h);
+		GImageMiscOps.fillUniform(left, rand, 0, 20);
+		GImageMiscOps.fillUniform(right, rand, 0, 20);
+
+		int minDisparity = 2, maxDisparity = 10;
+		DisparitySparseScoreSadRect<ArrayData,Image> alg = createSparse(minDisparity,maxDisparity,3,2);
+		alg.setImages(left,right);
+		DisparitySparseScoreSadRect<ArrayData,Image> copy = alg.copy();
+		DisparitySparseScoreSadRect<ArrayData,Image> walk = createSparse(minDisparity,maxDisparity,3,2);
+		walk.setImages(left,right);
+
+		for( int trial = 0; trial < 500; trial++ ) {
+			// points are often along the same row and near the previous point
+			int x = rand.nextInt(w);
+			int y = rand.nextInt(3) + h/2;
+
+			// a new instance has nothing cached
+			DisparitySparseScoreSadRect<ArrayData,Image> expected = createSparse(minDisparity,maxDisparity,3,2);
+			expected.setImages(left,right);
+
+			boolean valid = expected.process(x,y);
+			assertEquals(valid,alg.process(x,y));
+			assertEquals(valid,copy.process(x,y));
+			assertEquals(valid,walk.process(x,y));
+
+			if( !valid )
+				continue;
+
+			assertEquals(expected.getLocalMaxDisparity(),alg.getLocalMaxDisparity());
+			for( int i = 0; i < expected.getLocalMaxDisparity(); i++ ) {
+				assertEquals(expected.getScore(i),alg.getScore(i),0);
+				assertEquals(expected.getScore(i),copy.getScore(i),0);
+			}
+
+			// move along the row in order
+			for( int i = 1; i <= 3; i++ ) {
+				expected = createSparse(minDisparity,maxDisparity,3,2);
+				expected.setImages(left,right);
+
+				valid = expected.process(x+i,y);
+				assertEquals(valid,walk.process(x+i,y));
+				if( !valid )
+					break;
+
+				for( int j = 0; j < expected.getLocalMaxDisparity(); j++ )
+					assertEquals(expected.getScore(j),walk.getScore(j),0);
+			}
+		}
+	}
 }
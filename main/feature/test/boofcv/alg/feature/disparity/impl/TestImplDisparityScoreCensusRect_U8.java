@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplDisparityScoreCensusRect_U8 {
+
+	Random rand = new Random(234);
+
+	int w = 30, h = 25;
+
+	/**
+	 * Compare to a naive implementation which computes the score of each region independently
+	 */
+	@Test
+	public void compareToNaive() {
+		ImageUInt8 left = new ImageUInt8(w,h);
+		ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 20);
+		ImageMiscOps.fillUniform(right, rand, 0, 20);
+
+		compareToNaive(left, right, 0, 10, 3, 2, 2);
+		compareToNaive(left, right, 4, 10, 3, 2, 1);
+		compareToNaive(left, right, 2, 12, 1, 3, 3);
+	}
+
+	private void compareToNaive(ImageUInt8 left, ImageUInt8 right,
+								int minDisparity, int maxDisparity,
+								int radiusX, int radiusY, int censusRadius )
+	{
+		ImplDisparityScoreCensusRect_U8<ImageUInt8> alg = new ImplDisparityScoreCensusRect_U8<ImageUInt8>(
+				minDisparity,maxDisparity,radiusX,radiusY,censusRadius,new ImplSelectRectBasicWta_S32_U8());
+
+		ImageUInt8 found = new ImageUInt8(w,h);
+		alg.process(left,right,found);
+
+		ImageSInt64 censusLeft = CensusTransform.square(left, censusRadius, (ImageSInt64)null);
+		ImageSInt64 censusRight = CensusTransform.square(right, censusRadius, (ImageSInt64)null);
+
+		for( int y = radiusY; y < h-radiusY; y++ ) {
+			for( int x = radiusX+minDisparity; x < w-radiusX; x++ ) {
+				// select the disparity with the smallest score.  Ties go to the smaller disparity
+				int localMax = Math.min(maxDisparity, x-radiusX+1);
+				int best = Integer.MAX_VALUE;
+				int bestDisparity = -1;
+				for( int d = minDisparity; d < localMax; d++ ) {
+					int score = 0;
+					for( int i = -radiusY; i <= radiusY; i++ ) {
+						for( int j = -radiusX; j <= radiusX; j++ ) {
+							score += Long.bitCount(censusLeft.get(x+j,y+i) ^ censusRight.get(x+j-d,y+i));
+						}
+					}
+					if( score < best ) {
+						best = score;
+						bestDisparity = d;
+					}
+				}
+
+				assertEquals(x+" "+y,bestDisparity-minDisparity,found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Results should be identical when the rows are split between threads
+	 */
+	@Test
+	public void concurrent() {
+		int w = 60, h = 80;
+		final ImageUInt8 left = new ImageUInt8(w,h);
+		final ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 20);
+		ImageMiscOps.fillUniform(right, rand, 0, 20);
+
+		final ImplDisparityScoreCensusRect_U8<ImageUInt8> alg = new ImplDisparityScoreCensusRect_U8<ImageUInt8>(
+				2,12,3,2,2,new ImplSelectRectStandard_S32_U8(-1,2,0.1));
+
+		final ImageUInt8 expected = new ImageUInt8(w,h);
+		final ImageUInt8 found = new ImageUInt8(w,h);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				alg.process(left,right,expected);
+			}
+		}, new Runnable() {
+			public void run() {
+				alg.process(left,right,found);
+			}
+		});
+
+		BoofTesting.assertEquals(found, expected, 0);
+	}
+}
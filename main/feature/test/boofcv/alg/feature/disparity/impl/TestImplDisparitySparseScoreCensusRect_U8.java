@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplDisparitySparseScoreCensusRect_U8 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compute disparity using the equivalent dense algorithm and see if the sparse one produces the
+	 * same results.
+	 */
+	@Test
+	public void compareToDense() {
+		int w = 20, h = 25;
+		ImageUInt8 left = new ImageUInt8(w,h);
+		ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 20);
+		ImageMiscOps.fillUniform(right, rand, 0, 20);
+
+		compareToDense(left, right, 0);
+		compareToDense(left, right, 2);
+	}
+
+	private void compareToDense(ImageUInt8 left, ImageUInt8 right, int minDisparity) {
+		int w = left.width; int h = left.height;
+		int maxDisparity = 10;
+		int radiusX = 3;
+		int radiusY = 2;
+		int censusRadius = 2;
+
+		ImplDisparityScoreCensusRect_U8<ImageUInt8> denseAlg = new ImplDisparityScoreCensusRect_U8<ImageUInt8>(
+				minDisparity,maxDisparity,radiusX,radiusY,censusRadius,new ImplSelectRectBasicWta_S32_U8());
+		ImplDisparitySparseScoreCensusRect_U8 alg = new ImplDisparitySparseScoreCensusRect_U8(
+				minDisparity,maxDisparity,radiusX,radiusY,censusRadius);
+		ImplSelectSparseBasicWta_S32 selectAlg = new ImplSelectSparseBasicWta_S32();
+
+		ImageUInt8 expected = new ImageUInt8(w,h);
+		denseAlg.process(left, right, expected);
+		alg.setImages(left,right);
+
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				if( !alg.process(x,y) )  {
+					assertEquals(x+" "+y,expected.get(x,y),0);
+				} else {
+					selectAlg.select(alg.getScore(),alg.getLocalMaxDisparity());
+					int found = (int)(alg.getMinDisparity()+selectAlg.getDisparity());
+
+					assertEquals(x+" "+y,minDisparity+expected.get(x,y),found);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Scores should not depend on the order points are processed in.  Copies should produce the same scores.
+	 */
+	@Test
+	public void processOrder() {
+		int w = 30, h = 25;
+		ImageUInt8 left = new ImageUInt8(w,h);
+		ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 20);
+		ImageMiscOps.fillUniform(right, rand, 0, 20);
+
+		ImplDisparitySparseScoreCensusRect_U8 alg = new ImplDisparitySparseScoreCensusRect_U8(2,10,3,2,2);
+		alg.setImages(left,right);
+		ImplDisparitySparseScoreCensusRect_U8 copy = alg.copy();
+
+		for( int trial = 0; trial < 500; trial++ ) {
+			int x = rand.nextInt(w);
+			int y = rand.nextInt(3) + h/2;
+
+			// a new instance has nothing cached
+			ImplDisparitySparseScoreCensusRect_U8 expected = new ImplDisparitySparseScoreCensusRect_U8(2,10,3,2,2);
+			expected.setImages(left,right);
+
+			boolean valid = expected.process(x,y);
+			assertEquals(valid,alg.process(x,y));
+			assertEquals(valid,copy.process(x,y));
+
+			for( int i = 0; valid && i < expected.getLocalMaxDisparity(); i++ ) {
+				assertEquals(expected.getScore()[i],alg.getScore()[i]);
+				assertEquals(expected.getScore()[i],copy.getScore()[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplSgmCostCensus_U8 {
+
+	Random rand = new Random(234);
+
+	int w = 30, h = 25;
+	int minDisparity = 2, maxDisparity = 12;
+
+	/**
+	 * Compare against a naive implementation of census and Hamming distance
+	 */
+	@Test
+	public void compareToNaive() {
+		ImageUInt8 left = new ImageUInt8(w,h);
+		ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 30);
+		ImageMiscOps.fillUniform(right, rand, 0, 30);
+
+		for( int radius = 1; radius <= 3; radius++ ) {
+			ImplSgmCostCensus_U8 alg = new ImplSgmCostCensus_U8(radius);
+			alg.configure(minDisparity,maxDisparity);
+
+			int range = maxDisparity-minDisparity;
+			short costs[] = new short[w*h*range];
+			alg.process(left, right, 0, h, costs);
+
+			assertEquals((2*radius+1)*(2*radius+1)-1,alg.getMaxCost());
+
+			for( int y = 0; y < h; y++ ) {
+				for( int x = 0; x < w; x++ ) {
+					for( int i = 0; i < range; i++ ) {
+						int d = minDisparity + i;
+						int expected;
+						if( x-d < 0 )
+							expected = alg.getMaxCost();
+						else
+							expected = Long.bitCount(census(left,x,y,radius) ^ census(right,x-d,y,radius));
+
+						assertEquals(expected,costs[(y*w+x)*range+i]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The cost computed for a band of rows should be the same as when the whole image is processed
+	 */
+	@Test
+	public void band() {
+		ImageUInt8 left = new ImageUInt8(w,h);
+		ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 30);
+		ImageMiscOps.fillUniform(right, rand, 0, 30);
+
+		ImplSgmCostCensus_U8 alg = new ImplSgmCostCensus_U8(2);
+		alg.configure(minDisparity,maxDisparity);
+
+		int range = maxDisparity-minDisparity;
+		short expected[] = new short[w*h*range];
+		alg.process(left, right, 0, h, expected);
+
+		int row0 = 4, row1 = 11;
+		short found[] = new short[w*(row1-row0)*range];
+		alg.process(left, right, row0, row1, found);
+
+		for( int i = 0; i < found.length; i++ ) {
+			assertEquals(expected[row0*w*range+i],found[i]);
+		}
+	}
+
+	private long census( ImageUInt8 image , int x , int y , int radius ) {
+		int center = image.get(x,y);
+		long bits = 0;
+		for( int i = -radius; i <= radius; i++ ) {
+			for( int j = -radius; j <= radius; j++ ) {
+				if( i == 0 && j == 0 )
+					continue;
+				int xx = Math.min(image.width-1,Math.max(0,x+j));
+				int yy = Math.min(image.height-1,Math.max(0,y+i));
+				bits <<= 1;
+				if( image.get(xx,yy) < center )
+					bits |= 1;
+			}
+		}
+		return bits;
+	}
+}
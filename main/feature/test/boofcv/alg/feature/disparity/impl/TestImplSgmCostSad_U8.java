@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplSgmCostSad_U8 {
+
+	Random rand = new Random(234);
+
+	int w = 30, h = 25;
+	int minDisparity = 2, maxDisparity = 12;
+
+	/**
+	 * Compare against a naive implementation of the mean absolute difference
+	 */
+	@Test
+	public void compareToNaive() {
+		ImageUInt8 left = new ImageUInt8(w,h);
+		ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 200);
+		ImageMiscOps.fillUniform(right, rand, 0, 200);
+
+		for( int radius = 0; radius <= 2; radius++ ) {
+			ImplSgmCostSad_U8 alg = new ImplSgmCostSad_U8(radius);
+			alg.configure(minDisparity,maxDisparity);
+
+			int range = maxDisparity-minDisparity;
+			short costs[] = new short[w*h*range];
+			alg.process(left, right, 0, h, costs);
+
+			assertEquals(255,alg.getMaxCost());
+
+			for( int y = 0; y < h; y++ ) {
+				for( int x = 0; x < w; x++ ) {
+					for( int i = 0; i < range; i++ ) {
+						int d = minDisparity + i;
+						int expected = x-d < 0 ? alg.getMaxCost() : naive(left,right,x,y,d,radius);
+
+						assertEquals(expected,costs[(y*w+x)*range+i]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The cost computed for a band of rows should be the same as when the whole image is processed
+	 */
+	@Test
+	public void band() {
+		ImageUInt8 left = new ImageUInt8(w,h);
+		ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 200);
+		ImageMiscOps.fillUniform(right, rand, 0, 200);
+
+		ImplSgmCostSad_U8 alg = new ImplSgmCostSad_U8(2);
+		alg.configure(minDisparity,maxDisparity);
+
+		int range = maxDisparity-minDisparity;
+		short expected[] = new short[w*h*range];
+		alg.process(left, right, 0, h, expected);
+
+		int row0 = 4, row1 = 11;
+		short found[] = new short[w*(row1-row0)*range];
+		alg.process(left, right, row0, row1, found);
+
+		for( int i = 0; i < found.length; i++ ) {
+			assertEquals(expected[row0*w*range+i],found[i]);
+		}
+	}
+
+	/**
+	 * Results should be identical when the rows are split between threads
+	 */
+	@Test
+	public void concurrent() {
+		final ImageUInt8 left = new ImageUInt8(w,h);
+		final ImageUInt8 right = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 200);
+		ImageMiscOps.fillUniform(right, rand, 0, 200);
+
+		final ImplSgmCostSad_U8 alg = new ImplSgmCostSad_U8(2);
+		alg.configure(minDisparity,maxDisparity);
+
+		int range = maxDisparity-minDisparity;
+		final short expected[] = new short[w*h*range];
+		final short found[] = new short[w*h*range];
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				alg.process(left, right, 0, h, expected);
+			}
+		}, new Runnable() {
+			public void run() {
+				alg.process(left, right, 0, h, found);
+				assertTrue(alg.columnSums.size() > 1);
+			}
+		});
+
+		for( int i = 0; i < expected.length; i++ ) {
+			assertEquals(expected[i],found[i]);
+		}
+	}
+
+	/**
+	 * Mean absolute difference inside the window.  Coordinates outside the region where both images
+	 * overlap are clamped to the closest pixel inside of it.
+	 */
+	private int naive( ImageUInt8 left , ImageUInt8 right , int x , int y , int d , int radius ) {
+		int sum = 0;
+		for( int i = -radius; i <= radius; i++ ) {
+			for( int j = -radius; j <= radius; j++ ) {
+				int xx = Math.min(left.width-1,Math.max(d,x+j));
+				int yy = Math.min(left.height-1,Math.max(0,y+i));
+				sum += Math.abs(left.get(xx,yy) - right.get(xx-d,yy));
+			}
+		}
+		return sum/((2*radius+1)*(2*radius+1));
+	}
+}
@@ -19,11 +19,20 @@
 package boofcv.alg.feature.orientation;
 
 import boofcv.abst.feature.orientation.OrientationIntegral;
+import boofcv.abst.feature.orientation.OrientationIntegralBatch;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
 import georegression.metric.UtilAngle;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.GrowQueue_F64;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 
@@ -65,6 +74,7 @@ public class GenericOrientationIntegralTests<T extends ImageSingleBand> {
 		setScale();
 		checkSubImages();
 		checkBorderExplode();
+		checkBatch();
 	}
 
 	/**
@@ -162,6 +172,45 @@ public class GenericOrientationIntegralTests<T extends ImageSingleBand> {
 		assertTrue( angle+" "+found,UtilAngle.dist(angle,found) < angleTolerance );
 	}
 
+	/**
+	 * Batch processing, with the work split up between threads, should produce identical results
+	 */
+	public void checkBatch() {
+		if( !(alg instanceof OrientationIntegralBatch) )
+			return;
+		final OrientationIntegralBatch<T> batch = (OrientationIntegralBatch<T>)alg;
+
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				Random rand = new Random(234);
+				createOrientedImage(0.5);
+				// add noise so that each region has a different orientation
+				for( int i = 0; i < 200; i++ ) {
+					int x = rand.nextInt(width), y = rand.nextInt(height);
+					GeneralizedImageOps.set(ii,x,y,GeneralizedImageOps.get(ii,x,y)+rand.nextInt(500));
+				}
+				alg.setImage(ii);
+
+				List<Point2D_F64> locations = new ArrayList<Point2D_F64>();
+				GrowQueue_F64 scales = new GrowQueue_F64();
+				for( int i = 0; i < 25; i++ ) {
+					locations.add(new Point2D_F64(rand.nextDouble()*width,rand.nextDouble()*height));
+					scales.push(rand.nextDouble()+0.5);
+				}
+
+				GrowQueue_F64 found = new GrowQueue_F64();
+				batch.compute(locations,scales,found);
+
+				assertEquals(locations.size(),found.size);
+				for( int i = 0; i < locations.size(); i++ ) {
+					Point2D_F64 p = locations.get(i);
+					alg.setScale(scales.get(i));
+					assertTrue(alg.compute(p.x,p.y) == found.get(i));
+				}
+			}
+		});
+	}
+
 	/**
 	 * Creates an integral image where the whole image has a gradient in the specified direction.
 	 * @param angle
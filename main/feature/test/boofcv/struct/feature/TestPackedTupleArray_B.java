@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedTupleArray_B {
+
+	Random rand = new Random(234);
+
+	int NUM_BITS = 40;
+
+	@Test
+	public void constructor() {
+		PackedTupleArray_B alg = new PackedTupleArray_B(NUM_BITS);
+		assertEquals(NUM_BITS,alg.numBits);
+		assertEquals(2,alg.numInts);
+		assertEquals(1,alg.numLongs);
+		assertEquals(1,alg.getStride());
+
+		alg = new PackedTupleArray_B(70);
+		assertEquals(3,alg.numInts);
+		assertEquals(2,alg.numLongs);
+		assertEquals(2,alg.getStride());
+	}
+
+	@Test
+	public void append_getCopy() {
+		PackedTupleArray_B alg = new PackedTupleArray_B(NUM_BITS);
+
+		TupleDesc_B expected[] = new TupleDesc_B[35];
+		for( int i = 0; i < expected.length; i++ ) {
+			expected[i] = createDesc();
+			alg.append(expected[i]);
+		}
+
+		assertEquals(expected.length,alg.size());
+
+		TupleDesc_B found = new TupleDesc_B(NUM_BITS);
+		for( int i = 0; i < expected.length; i++ ) {
+			alg.getCopy(i,found);
+			assertEquals(NUM_BITS,found.numBits);
+			for( int j = 0; j < found.data.length; j++ ) {
+				assertEquals(expected[i].data[j],found.data[j]);
+			}
+		}
+	}
+
+	/**
+	 * Descriptors with an odd number of ints only use the lower half of their last long
+	 */
+	@Test
+	public void append_getCopy_oddInts() {
+		int numBits = 70;
+		PackedTupleArray_B alg = new PackedTupleArray_B(numBits);
+
+		TupleDesc_B expected[] = new TupleDesc_B[15];
+		for( int i = 0; i < expected.length; i++ ) {
+			expected[i] = new TupleDesc_B(numBits);
+			for( int j = 0; j < expected[i].data.length; j++ )
+				expected[i].data[j] = rand.nextInt();
+			alg.append(expected[i]);
+		}
+
+		TupleDesc_B found = new TupleDesc_B(numBits);
+		for( int i = 0; i < expected.length; i++ ) {
+			alg.getCopy(i,found);
+			for( int j = 0; j < found.data.length; j++ ) {
+				assertEquals(expected[i].data[j],found.data[j]);
+			}
+			assertEquals(0,alg.data[i*alg.numLongs+1] >>> 32);
+		}
+	}
+
+	@Test
+	public void getTemp() {
+		PackedTupleArray_B alg = new PackedTupleArray_B(NUM_BITS);
+
+		TupleDesc_B a = createDesc();
+		TupleDesc_B b = createDesc();
+		alg.append(a);
+		alg.append(b);
+
+		TupleDesc_B found = alg.getTemp(1);
+		for( int j = 0; j < found.data.length; j++ )
+			assertEquals(b.data[j],found.data[j]);
+
+		// the same instance is recycled
+		assertTrue(found == alg.getTemp(0));
+		for( int j = 0; j < found.data.length; j++ )
+			assertEquals(a.data[j],found.data[j]);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void append_wrongLength() {
+		PackedTupleArray_B alg = new PackedTupleArray_B(NUM_BITS);
+		alg.append(new TupleDesc_B(NUM_BITS+32));
+	}
+
+	private TupleDesc_B createDesc() {
+		TupleDesc_B d = new TupleDesc_B(NUM_BITS);
+		for( int i = 0; i < d.data.length; i++ )
+			d.data[i] = rand.nextInt();
+		return d;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedTupleArray_F64 {
+
+	Random rand = new Random(234);
+
+	int DOF = 7;
+
+	@Test
+	public void append_getCopy() {
+		PackedTupleArray_F64 alg = new PackedTupleArray_F64(DOF);
+
+		TupleDesc_F64 expected[] = new TupleDesc_F64[35];
+		for( int i = 0; i < expected.length; i++ ) {
+			expected[i] = createDesc();
+			alg.append(expected[i]);
+		}
+
+		assertEquals(expected.length,alg.size());
+		assertEquals(DOF,alg.getStride());
+
+		TupleDesc_F64 found = new TupleDesc_F64(DOF);
+		for( int i = 0; i < expected.length; i++ ) {
+			alg.getCopy(i,found);
+			for( int j = 0; j < DOF; j++ ) {
+				assertEquals(expected[i].value[j],found.value[j],0);
+				assertEquals(expected[i].value[j],alg.data[i*DOF+j],0);
+			}
+		}
+	}
+
+	@Test
+	public void getTemp() {
+		PackedTupleArray_F64 alg = new PackedTupleArray_F64(DOF);
+
+		TupleDesc_F64 a = createDesc();
+		TupleDesc_F64 b = createDesc();
+		alg.append(a);
+		alg.append(b);
+
+		TupleDesc_F64 found = alg.getTemp(1);
+		for( int j = 0; j < DOF; j++ )
+			assertEquals(b.value[j],found.value[j],0);
+
+		// the same instance is recycled
+		assertTrue(found == alg.getTemp(0));
+		for( int j = 0; j < DOF; j++ )
+			assertEquals(a.value[j],found.value[j],0);
+	}
+
+	@Test
+	public void reserve_reset() {
+		PackedTupleArray_F64 alg = new PackedTupleArray_F64(DOF);
+
+		TupleDesc_F64 a = createDesc();
+		alg.append(a);
+		alg.reserve(100);
+		assertTrue(alg.data.length >= 100*DOF);
+
+		// original data should not be modified
+		assertEquals(1,alg.size());
+		for( int j = 0; j < DOF; j++ )
+			assertEquals(a.value[j],alg.data[j],0);
+
+		alg.reset();
+		assertEquals(0,alg.size());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void append_wrongLength() {
+		PackedTupleArray_F64 alg = new PackedTupleArray_F64(DOF);
+		alg.append(new TupleDesc_F64(DOF+1));
+	}
+
+	private TupleDesc_F64 createDesc() {
+		TupleDesc_F64 d = new TupleDesc_F64(DOF);
+		for( int i = 0; i < DOF; i++ )
+			d.value[i] = rand.nextDouble();
+		return d;
+	}
+}
@@ -23,6 +23,8 @@ import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
 import boofcv.alg.interpolate.InterpolateRectangle;
 import boofcv.alg.tracker.klt.*;
 import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidDiscrete;
@@ -33,8 +35,17 @@ import java.util.List;
 
 
 /**
+ * <p>
  * Wrapper around {@link boofcv.alg.tracker.klt.PyramidKltTracker} for {@link PointTracker}.  Every track
  * will have the same size and shaped descriptor.  If any fault is encountered the track will be dropped.
+ * </p>
+ *
+ * <p>
+ * Active tracks are split into blocks which are tracked in parallel, see {@link BoofConcurrency}.  Each
+ * block has its own tracker and interpolation, created with {@link InterpolateRectangle#copy()}.  The active
+ * and dropped lists are then updated in the original order of the tracks, so the results do not depend on
+ * the number of threads.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -66,6 +77,13 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 
 	// the tracker
 	protected PyramidKltTracker<I, D> tracker;
+	// trackers used to track blocks of features in parallel.  The first element is 'tracker'
+	protected List<PyramidKltTracker<I, D>> blockTrackers = new ArrayList<PyramidKltTracker<I, D>>();
+	// interpolation which is copied when a new tracker is needed
+	protected InterpolateRectangle<I> interpInput;
+	protected InterpolateRectangle<D> interpDeriv;
+	// outcome of tracking each feature
+	protected KltTrackFault faults[] = new KltTrackFault[0];
 
 	// selects point features
 	private GeneralFeatureDetector<I, D> detector;
@@ -111,8 +129,12 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 		this.gradient = gradient;
 		this.basePyramid = pyramid;
 
+		this.interpInput = interpInput;
+		this.interpDeriv = interpDeriv;
+
 		KltTracker<I, D> klt = new KltTracker<I, D>(interpInput, interpDeriv, config);
 		tracker = new PyramidKltTracker<I, D>(klt);
+		blockTrackers.add(tracker);
 	}
 
 	private void addTrackToUnused() {
@@ -236,21 +258,75 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 
 		// track features
 		tracker.setImage(basePyramid,derivX,derivY);
-		for( int i = 0; i < active.size(); ) {
+		trackFeatures(active,true);
+
+		// update the lists in the same order the features were tracked
+		int numActive = 0;
+		for( int i = 0; i < active.size(); i++ ) {
 			PyramidKltFeature t = active.get(i);
-			KltTrackFault ret = tracker.track(t);
 
-			if( ret == KltTrackFault.SUCCESS ) {
-				tracker.setDescription(t);
-				PointTrack p = t.getCookie();
-				p.set(t.x,t.y);
-				i++;
+			if( faults[i] == KltTrackFault.SUCCESS ) {
+				active.set(numActive++,t);
 			} else {
-				active.remove(i);
 				dropped.add( t );
 				unused.add( t );
 			}
 		}
+		while( active.size() > numActive )
+			active.remove(active.size()-1);
+	}
+
+	/**
+	 * Tracks each feature and saves the outcome in {@link #faults}.  If a feature is successfully tracked then
+	 * its {@link PointTrack} location is updated.  The features are split into blocks which are processed in
+	 * parallel, each with its own tracker.  {@link #tracker} must already have the current image.
+	 *
+	 * @param features Features which are to be tracked.
+	 * @param updateDescription If true the description of successfully tracked features is updated.
+	 */
+	protected void trackFeatures( final List<PyramidKltFeature> features , final boolean updateDescription ) {
+		final int N = features.size();
+		if( faults.length < N )
+			faults = new KltTrackFault[N];
+
+		// approximate cost of tracking a single feature
+		int templateWidth = 2*templateRadius+1;
+		final int numBlocks = BoofConcurrency.computeBlocks(N,
+				BoofConcurrency.minimumRows(templateWidth*templateWidth*Math.max(1,config.maxIterations)));
+
+		while( blockTrackers.size() < numBlocks ) {
+			KltTracker<I, D> klt = new KltTracker<I, D>(interpInput.copy(), interpDeriv.copy(), config);
+			blockTrackers.add(new PyramidKltTracker<I, D>(klt));
+		}
+		for( int i = 1; i < numBlocks; i++ )
+			blockTrackers.get(i).setImage(basePyramid,derivX,derivY);
+
+		BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int i0 = (int)((long)N*block/numBlocks);
+					int i1 = (int)((long)N*(block+1)/numBlocks);
+					trackBlock(blockTrackers.get(block),features,i0,i1,updateDescription);
+				}
+			}
+		});
+	}
+
+	private void trackBlock( PyramidKltTracker<I, D> blockTracker , List<PyramidKltFeature> features ,
+							 int i0 , int i1 , boolean updateDescription ) {
+		for( int i = i0; i < i1; i++ ) {
+			PyramidKltFeature t = features.get(i);
+			KltTrackFault ret = blockTracker.track(t);
+
+			if( ret == KltTrackFault.SUCCESS ) {
+				if( updateDescription )
+					blockTracker.setDescription(t);
+				PointTrack p = t.getCookie();
+				p.set(t.x,t.y);
+			}
+			faults[i] = ret;
+		}
 	}
 
 	@Override
@@ -83,18 +83,7 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageSingleBand,D extends I
 		active.clear();
 
 		tracker.setImage(basePyramid,derivX,derivY);
-		for( int i = 0; i < originalActive.size(); i++ ) {
-			PyramidKltFeature t = originalActive.get(i);
-			KltTrackFault ret = tracker.track(t);
-
-			if( ret == KltTrackFault.SUCCESS ) {
-				active.add(t);
-				PointTrack p = t.getCookie();
-				p.set(t.x,t.y);
-			} else {
-				candidateDrop.add(t);
-			}
-		}
+		trackOriginal();
 	}
 
 	@Override
@@ -102,14 +91,20 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageSingleBand,D extends I
 		candidateDrop.clear();
 		active.clear();
 
+		trackOriginal();
+	}
+
+	/**
+	 * Tracks all the features in the original active list and sorts them into the active or candidate drop list.
+	 */
+	private void trackOriginal() {
+		trackFeatures(originalActive,false);
+
 		for( int i = 0; i < originalActive.size(); i++ ) {
 			PyramidKltFeature t = originalActive.get(i);
-			KltTrackFault ret = tracker.track(t);
 
-			if( ret == KltTrackFault.SUCCESS ) {
+			if( faults[i] == KltTrackFault.SUCCESS ) {
 				active.add(t);
-				PointTrack p = t.getCookie();
-				p.set(t.x,t.y);
 			} else {
 				candidateDrop.add(t);
 			}
@@ -20,12 +20,16 @@ package boofcv.abst.feature.tracker;
 
 import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.tracker.klt.KltFeature;
 import boofcv.alg.tracker.klt.PyramidKltFeature;
 import boofcv.factory.feature.tracker.FactoryPointTracker;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -130,4 +134,53 @@ public class TestPointTrackerKltPyramid extends StandardPointTracker<ImageFloat3
 			assertTrue(f.Gxx != 0 );
 		}
 	}
+
+	/**
+	 * Tracking features in parallel should produce the same results, in the same order, as a single thread
+	 */
+	@Test
+	public void concurrent() {
+		final PointTrackerKltPyramid<ImageFloat32,ImageFloat32> expected =
+				(PointTrackerKltPyramid<ImageFloat32,ImageFloat32>)createTracker();
+		final PointTrackerKltPyramid<ImageFloat32,ImageFloat32> found =
+				(PointTrackerKltPyramid<ImageFloat32,ImageFloat32>)createTracker();
+
+		expected.process(image);
+		expected.spawnTracks();
+		found.process(image);
+		found.spawnTracks();
+		assertTrue(expected.active.size() > 20);
+
+		// shift the image and erase part of it so that some tracks are dropped
+		final ImageFloat32 moved = new ImageFloat32(width,height);
+		ImageMiscOps.copy(0,0,1,0,width-1,height,image,moved);
+		ImageMiscOps.fillRectangle(moved,0,0,0,width/3,height);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				expected.process(moved);
+			}
+		}, new Runnable() {
+			public void run() {
+				found.process(moved);
+			}
+		});
+
+		assertTrue(expected.active.size() > 0);
+		assertTrue(expected.dropped.size() > 0);
+		checkSame(expected.getActiveTracks(null),found.getActiveTracks(null));
+		checkSame(expected.getDroppedTracks(null),found.getDroppedTracks(null));
+	}
+
+	private void checkSame( List<PointTrack> expected , List<PointTrack> found ) {
+		assertEquals(expected.size(),found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			PointTrack a = expected.get(i);
+			PointTrack b = found.get(i);
+
+			assertEquals(a.featureId,b.featureId);
+			assertEquals(a.x,b.x,0);
+			assertEquals(a.y,b.y,0);
+		}
+	}
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io;
+
+import boofcv.struct.distort.PixelTransformCached_F32;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * Saves and loads {@link PixelTransformCached_F32} using a raw binary format.  Precomputing a transform,
+ * e.g. one used to rectify a stereo pair with a fixed calibration, and loading it at startup is much faster
+ * than computing it again.  The file is memory mapped when loaded so that the map is copied directly into
+ * the array without any parsing.
+ * </p>
+ *
+ * <p>
+ * File format: int32 marker, int32 width, int32 height, followed by width*height*2 float32 with x and y
+ * interleaved.  All values are in little endian byte order.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class UtilDistortIO {
+
+	/**
+	 * Value at the start of the file used to identify the file type
+	 */
+	public static final int MARKER = 0x424F4D50;
+
+	private static final int HEADER_BYTES = 12;
+
+	/**
+	 * Saves the transform to a file
+	 *
+	 * @param transform The transform which is to be saved.  Not modified.
+	 * @param file Output file.
+	 */
+	public static void save( PixelTransformCached_F32 transform , File file ) throws IOException {
+		float map[] = transform.getMap();
+		long length = HEADER_BYTES + map.length*4L;
+
+		RandomAccessFile raf = new RandomAccessFile(file,"rw");
+		try {
+			raf.setLength(length);
+			FileChannel channel = raf.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE,0,length);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(MARKER);
+			buffer.putInt(transform.getWidth());
+			buffer.putInt(transform.getHeight());
+			buffer.asFloatBuffer().put(map);
+			buffer.force();
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * Loads a transform which was saved using {@link #save}.
+	 *
+	 * @param file Input file.
+	 * @return The transform
+	 */
+	public static PixelTransformCached_F32 load( File file ) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file,"r");
+		try {
+			FileChannel channel = raf.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			return read(buffer,channel.size());
+		} finally {
+			raf.close();
+		}
+	}
+
+	private static PixelTransformCached_F32 read( ByteBuffer buffer , long size ) throws IOException {
+		if( size < HEADER_BYTES || buffer.getInt() != MARKER )
+			throw new IOException("Not a transform file");
+
+		int width = buffer.getInt();
+		int height = buffer.getInt();
+
+		if( width < 0 || height < 0 || size != HEADER_BYTES + width*(long)height*8L )
+			throw new IOException("Unexpected file size");
+
+		float map[] = new float[ width*height*2 ];
+		buffer.asFloatBuffer().get(map);
+
+		return new PixelTransformCached_F32(width,height,map);
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io;
+
+import boofcv.struct.distort.PixelTransformCached_F32;
+import boofcv.struct.distort.PixelTransform_F32;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestUtilDistortIO {
+
+	@Test
+	public void saveLoad() throws IOException {
+		PixelTransformCached_F32 expected = new PixelTransformCached_F32(30,20,new PixelTransform_F32() {
+			@Override
+			public void compute(int x, int y) {
+				distX = x*1.5f - 2;
+				distY = y*0.5f + x;
+			}
+		});
+
+		File file = File.createTempFile("distort",".bin");
+		try {
+			UtilDistortIO.save(expected,file);
+			PixelTransformCached_F32 found = UtilDistortIO.load(file);
+
+			assertEquals(expected.getWidth(),found.getWidth());
+			assertEquals(expected.getHeight(),found.getHeight());
+			for( int i = 0; i < expected.getMap().length; i++ )
+				assertEquals(expected.getMap()[i],found.getMap()[i],1e-8);
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void load_wrongFormat() throws IOException {
+		File file = File.createTempFile("distort",".bin");
+		try {
+			FileOutputStream out = new FileOutputStream(file);
+			out.write(new byte[]{1,2,3,4,5,6,7,8,9,10,11,12,13});
+			out.close();
+
+			try {
+				UtilDistortIO.load(file);
+				fail("Should have thrown an exception");
+			} catch( IOException ignore ) {}
+		} finally {
+			file.delete();
+		}
+	}
+}
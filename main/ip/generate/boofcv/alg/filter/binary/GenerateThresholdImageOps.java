@@ -233,7 +233,7 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\n" +
 				"\t\t"+imageName+" blur = storage1;\n" +
 				"\n" +
-				"\t\tBlurImageOps.gaussian(input,blur,-1,radius,storage2);\n" +
+				"\t\tBlurImageOps.gaussian(input,blur,-1,radius);\n" +
 				"\n" +
 				"\t\tif( down ) {\n" +
 				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
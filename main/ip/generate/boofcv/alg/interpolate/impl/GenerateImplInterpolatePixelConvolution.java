@@ -49,7 +49,7 @@ public class GenerateImplInterpolatePixelConvolution extends CodeGeneratorBase {
 
 		printPreamble(className);
 
-		printFuncs();
+		printFuncs(className);
 
 		out.print("\n" +
 				"}\n");
@@ -92,7 +92,7 @@ public class GenerateImplInterpolatePixelConvolution extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
-	private void printFuncs() {
+	private void printFuncs( String className ) {
 
 		String bitWise = inputType.getBitWise();
 
@@ -200,6 +200,11 @@ public class GenerateImplInterpolatePixelConvolution extends CodeGeneratorBase {
 				"\t@Override\n" +
 				"\tpublic int getUnsafeBorderY() {\n" +
 				"\t\treturn kernel.getRadius();\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic InterpolatePixel<"+inputType.getSingleBandName()+"> copy() {\n" +
+				"\t\treturn new "+className+"(kernel,min,max);\n" +
 				"\t}\n");
 	}
 
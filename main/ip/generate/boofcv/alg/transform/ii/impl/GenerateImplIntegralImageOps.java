@@ -82,7 +82,10 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 
 	private void printTwoInput( AutoTypeImage imageIn , AutoTypeImage imageOut ) {
 		printTransform(imageIn,imageOut);
-
+		printTransformRows(imageIn,imageOut);
+		// the column pass only depends on the output type
+		if( imageIn == imageOut )
+			printTransformColumns(imageOut);
 	}
 
 	private void singleInput(AutoTypeImage image) {
@@ -126,6 +129,51 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printTransformRows( AutoTypeImage imageIn , AutoTypeImage imageOut ) {
+
+		String sumType = imageOut.getSumType();
+		String bitWise = imageIn.getBitWise();
+		String typeCast = imageOut.getTypeCastFromSum();
+
+		out.print("\t/**\n" +
+				"\t * First pass of the integral image.  Computes the sum along each row for rows y0 to y1-1.\n" +
+				"\t */\n" +
+				"\tpublic static void transformRows( final "+imageIn.getSingleBandName()+" input , final "+imageOut.getSingleBandName()+" transformed ,\n" +
+				"\t\t\t\t\t\t\t\t\t  int y0 , int y1 )\n" +
+				"\t{\n" +
+				"\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\tint indexSrc = input.startIndex + input.stride*y;\n" +
+				"\t\t\tint indexDst = transformed.startIndex + transformed.stride*y;\n" +
+				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
+				"\t\t\t\ttransformed.data[indexDst++] = "+typeCast+"total += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printTransformColumns( AutoTypeImage image ) {
+
+		out.print("\t/**\n" +
+				"\t * Second pass of the integral image.  Adds the previous row to each row for columns x0 to x1-1.  The\n" +
+				"\t * result is identical to {@link #transform} since the same numbers are added together in the same order.\n" +
+				"\t */\n" +
+				"\tpublic static void transformColumns( final "+image.getSingleBandName()+" transformed , int x0 , int x1 )\n" +
+				"\t{\n" +
+				"\t\tfor( int y = 1; y < transformed.height; y++ ) {\n" +
+				"\t\t\tint indexDst = transformed.startIndex + transformed.stride*y + x0;\n" +
+				"\t\t\tint indexPrev = indexDst - transformed.stride;\n" +
+				"\t\t\tint end = indexDst + x1 - x0;\n" +
+				"\n" +
+				"\t\t\tfor( ; indexDst < end; indexDst++ ) {\n" +
+				"\t\t\t\ttransformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
 	private void printConvolve( AutoTypeImage imageIn , AutoTypeImage imageOut) {
 		out.print("\tpublic static void convolve( "+imageIn.getSingleBandName()+" integral ,\n" +
 				"\t\t\t\t\t\t\t\t IntegralKernel kernel,\n" +
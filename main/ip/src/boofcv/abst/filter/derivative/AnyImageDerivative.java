@@ -26,6 +26,7 @@ import boofcv.factory.filter.convolve.FactoryConvolve;
 import boofcv.struct.BoofDefaults;
 import boofcv.struct.convolve.Kernel1D;
 import boofcv.struct.convolve.Kernel2D;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
@@ -59,6 +60,9 @@ public class AnyImageDerivative<I extends ImageSingleBand, D extends ImageSingle
 
 	private ImageGenerator<D> derivGen;
 
+	// if not null then derivative images are drawn from and recycled into this pool
+	private ImagePool pool;
+
 	/**
 	 * Constructor for 1D kernels.
 	 *
@@ -121,6 +125,19 @@ public class AnyImageDerivative<I extends ImageSingleBand, D extends ImageSingle
 		this.derivDerivY = derivYY;
 	}
 
+	public ImagePool getImagePool() {
+		return pool;
+	}
+
+	/**
+	 * Specifies a pool which derivative images are drawn from and recycled into when the input image changes shape.
+	 *
+	 * @param pool The image pool or null to declare new images.
+	 */
+	public void setImagePool(ImagePool pool) {
+		this.pool = pool;
+	}
+
 	/**
 	 * Sets the new input image from which the image derivatives are computed from.
 	 *
@@ -158,11 +175,7 @@ public class AnyImageDerivative<I extends ImageSingleBand, D extends ImageSingle
 
 			if( stale[level][index] ) {
 				stale[level][index] = false;
-				if( derivatives[level][index] == null ) {
-					derivatives[level][index] = derivGen.createInstance(inputImage.getWidth(),inputImage.getHeight());
-				} else {
-					derivatives[level][index].reshape(inputImage.getWidth(),inputImage.getHeight());
-				}
+				derivatives[level][index] = declareDerivative(derivatives[level][index]);
 
 				if( level == 0 ) {
 					if( isX[level]) {
@@ -185,6 +198,28 @@ public class AnyImageDerivative<I extends ImageSingleBand, D extends ImageSingle
 		return derivatives[isX.length-1][index];
 	}
 
+	/**
+	 * Makes sure the derivative image has the same shape as the input image.  If there is an image pool
+	 * then images of the wrong shape are recycled into it instead of being reshaped.
+	 */
+	private D declareDerivative( D image ) {
+		int width = inputImage.getWidth();
+		int height = inputImage.getHeight();
+
+		if( image != null && image.width == width && image.height == height )
+			return image;
+
+		if( pool == null ) {
+			if( image == null )
+				return derivGen.createInstance(width,height);
+			image.reshape(width,height);
+			return image;
+		} else {
+			pool.recycle(image);
+			return pool.get(derivGen.getType(),width,height);
+		}
+	}
+
 	private void declareTree( int maxDerivativeOrder ) {
 		derivatives = (D[][])new ImageSingleBand[maxDerivativeOrder][];
 		stale = new boolean[maxDerivativeOrder][];
@@ -26,6 +26,8 @@ import boofcv.struct.image.ImageSingleBand;
 /**
  * Most basic implementation of {@link ImageDistort}. Computes the distortion from the dst to src image
  * for each pixel.  The dst pixel value is then set to the interpolated value of the src image.
+ * Pixels are processed by a single thread since {@link PixelTransform_F32} is not thread safe.  Use
+ * {@link ImageDistortCache} to process the image in parallel.
  *
  * @author Peter Abeles
  */
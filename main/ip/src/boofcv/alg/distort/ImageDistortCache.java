@@ -20,26 +20,47 @@ package boofcv.alg.distort;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.core.image.border.ImageBorder;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.distort.PixelTransformCached_F32;
 import boofcv.struct.distort.PixelTransform_F32;
 import boofcv.struct.image.ImageSingleBand;
-import georegression.struct.point.Point2D_F32;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
+ * <p>
  * Except for very simple functions, computing the per pixel distortion is an expensive operation.
  * To overcome this problem the distortion is computed once and cached.  Then when the image is distorted
  * again the save results are simply recalled and not computed again.
+ * </p>
+ *
+ * <p>
+ * The cache is stored in a {@link PixelTransformCached_F32}, which packs the distorted coordinates into a single
+ * float array.  If the model is already a {@link PixelTransformCached_F32}, e.g. one loaded from disk, then it is
+ * used directly and no cache is computed.  The cache is discarded each time a new model is specified.
+ * </p>
+ *
+ * <p>
+ * Since the cache is only read once it has been computed, the destination image is split into blocks of rows
+ * which are processed in parallel, see {@link BoofConcurrency}.  Each thread is given its own copy of the
+ * interpolation and border, which are created once and then reused.  The output is the same as when concurrency
+ * is disabled.
+ * </p>
  *
  * @author Peter Abeles
  */
 public abstract class ImageDistortCache<T extends ImageSingleBand> implements ImageDistort<T> {
 
-	// size of output image
-	private int width=-1,height=-1;
-	private Point2D_F32 map[];
+	// precomputed transform.  null if it has not been computed yet
+	private PixelTransformCached_F32 cached;
 	// sub pixel interpolation
 	private InterpolatePixelS<T> interp;
 	// handle the image border
 	private ImageBorder<T> border;
+	// interpolation and border instances which are not being used by a thread
+	private final List<Worker<T>> workers = new ArrayList<Worker<T>>();
 
 	// transform
 	private PixelTransform_F32 dstToSrc;
@@ -60,23 +81,21 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 							 ImageBorder<T> border) {
 		this.interp = interp;
 		this.border = border;
+		workers.add(new Worker<T>(interp,border));
 	}
 
 	@Override
 	public void setModel(PixelTransform_F32 dstToSrc) {
 		this.dstToSrc = dstToSrc;
+		if( dstToSrc instanceof PixelTransformCached_F32 )
+			cached = (PixelTransformCached_F32)dstToSrc;
+		else
+			cached = null;
 	}
 
 	@Override
 	public void apply(T srcImg, T dstImg) {
-		init(srcImg, dstImg);
-
-		x0 = 0;y0 = 0;x1 = dstImg.width;y1 = dstImg.height;
-
-		if( border != null )
-			applyBorder();
-		else
-			applyNoBorder();
+		apply(srcImg, dstImg, 0, 0, dstImg.width, dstImg.height);
 	}
 
 	@Override
@@ -85,38 +104,66 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 
 		x0 = dstX0;y0 = dstY0;x1 = dstX1;y1 = dstY1;
 
-		if( border != null )
-			applyBorder();
-		else
-			applyNoBorder();
+		BoofConcurrency.loopRows(y0, y1, x1 - x0, new IntRangeTask() {
+			@Override
+			public void process(int rowStart, int rowEnd) {
+				Worker<T> worker = takeWorker();
+				try {
+					if( worker.border != null )
+						applyBorder(worker.interp, worker.border, rowStart, rowEnd);
+					else
+						applyNoBorder(worker.interp, rowStart, rowEnd);
+				} finally {
+					releaseWorker(worker);
+				}
+			}
+		});
 	}
 
 	private void init(T srcImg, T dstImg) {
-		if( width == -1 ) {
-			width = dstImg.width;
-			height = dstImg.height;
-			map = new Point2D_F32[width*height];
-			for( int i = 0; i < map.length; i++ ) {
-				map[i] = new Point2D_F32();
-			}
-
-			int index = 0;
-			for( int y = 0; y < height; y++ ) {
-				for( int x = 0; x < width; x++ ) {
-					dstToSrc.compute(x,y);
-					map[index++].set(dstToSrc.distX,dstToSrc.distY);
-				}
-			}
-		} else if( dstImg.width != width || dstImg.height != height )
+		if( cached == null ) {
+			cached = new PixelTransformCached_F32(dstImg.width,dstImg.height,dstToSrc);
+		} else if( dstImg.width != cached.getWidth() || dstImg.height != cached.getHeight() )
 			throw new IllegalArgumentException("Unexpected dstImg dimension");
 
 		this.srcImg = srcImg;
 		this.dstImg = dstImg;
-		interp.setImage(srcImg);
+	}
+
+	/**
+	 * Returns interpolation and border instances which can only be used by the calling thread.  New copies are
+	 * created only when all the existing ones are in use.
+	 */
+	private Worker<T> takeWorker() {
+		Worker<T> worker;
+		synchronized ( workers ) {
+			if( workers.isEmpty() )
+				worker = new Worker<T>(interp.copy(), border == null ? null : border.copy());
+			else
+				worker = workers.remove(workers.size()-1);
+		}
+		worker.interp.setImage(srcImg);
+		if( worker.border != null )
+			worker.border.setImage(srcImg);
+		return worker;
+	}
+
+	private void releaseWorker( Worker<T> worker ) {
+		synchronized ( workers ) {
+			workers.add(worker);
+		}
 	}
 
 	public void applyBorder() {
+		applyBorder(interp, border, y0, y1);
+	}
+
+	/**
+	 * Distorts the rows in the range [rowStart,rowEnd) using the provided interpolation and border.
+	 */
+	protected void applyBorder( InterpolatePixelS<T> interp , ImageBorder<T> border , int rowStart , int rowEnd ) {
 
+		interp.setImage(srcImg);
 		border.setImage(srcImg);
 
 		final float minInterpX = interp.getFastBorderX();
@@ -127,24 +174,39 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 		final float widthF = srcImg.getWidth();
 		final float heightF = srcImg.getHeight();
 
-		for( int y = y0; y < y1; y++ ) {
+		final float map[] = cached.getMap();
+		final int mapWidth = cached.getWidth();
+
+		for( int y = rowStart; y < rowEnd; y++ ) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = (y*mapWidth + x0)*2;
 			for( int x = x0; x < x1; x++ , indexDst++ ) {
-				Point2D_F32 s = map[indexDst];
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
 
-				if( s.x < minInterpX || s.x >= maxInterpX || s.y < minInterpY || s.y >= maxInterpY ) {
-					if( s.x < 0f || s.x >= widthF || s.y < 0f || s.y >= heightF )
-						assign(indexDst,(float)border.getGeneral((int)s.x,(int)s.y));
+				if( sx < minInterpX || sx >= maxInterpX || sy < minInterpY || sy >= maxInterpY ) {
+					if( sx < 0f || sx >= widthF || sy < 0f || sy >= heightF )
+						assign(indexDst,(float)border.getGeneral((int)sx,(int)sy));
 					else
-						assign(indexDst,interp.get(s.x, s.y));
+						assign(indexDst,interp.get(sx, sy));
 				} else {
-					assign(indexDst,interp.get_fast(s.x, s.y));
+					assign(indexDst,interp.get_fast(sx, sy));
 				}
 			}
 		}
 	}
 
 	public void applyNoBorder() {
+		applyNoBorder(interp, y0, y1);
+	}
+
+	/**
+	 * Distorts the rows in the range [rowStart,rowEnd) using the provided interpolation.
+	 */
+	protected void applyNoBorder( InterpolatePixelS<T> interp , int rowStart , int rowEnd ) {
+
+		interp.setImage(srcImg);
+
 		final float minInterpX = interp.getFastBorderX();
 		final float minInterpY = interp.getFastBorderY();
 		final float maxInterpX = srcImg.getWidth()-interp.getFastBorderX();
@@ -153,20 +215,46 @@ public abstract class ImageDistortCache<T extends ImageSingleBand> implements Im
 		final float widthF = srcImg.getWidth();
 		final float heightF = srcImg.getHeight();
 
-		for( int y = y0; y < y1; y++ ) {
+		final float map[] = cached.getMap();
+		final int mapWidth = cached.getWidth();
+
+		for( int y = rowStart; y < rowEnd; y++ ) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = (y*mapWidth + x0)*2;
 			for( int x = x0; x < x1; x++ , indexDst++ ) {
-				Point2D_F32 s = map[indexDst];
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
 
-				if( s.x < minInterpX || s.x >= maxInterpX || s.y < minInterpY || s.y >= maxInterpY ) {
-					if( s.x >= 0f && s.x < widthF && s.y >= 0f && s.y < heightF )
-						assign(indexDst,interp.get(s.x, s.y));
+				if( sx < minInterpX || sx >= maxInterpX || sy < minInterpY || sy >= maxInterpY ) {
+					if( sx >= 0f && sx < widthF && sy >= 0f && sy < heightF )
+						assign(indexDst,interp.get(sx, sy));
 				} else {
-					assign(indexDst,interp.get_fast(s.x, s.y));
+					assign(indexDst,interp.get_fast(sx, sy));
 				}
 			}
 		}
 	}
 
+	/**
+	 * Returns the cached transform.  It can be saved and later passed to {@link #setModel} so that the cache
+	 * doesn't need to be recomputed.  Will be null if it has not been computed yet.
+	 */
+	public PixelTransformCached_F32 getCached() {
+		return cached;
+	}
+
 	protected abstract void assign( int indexDst , float value );
+
+	/**
+	 * Interpolation and border instances used by a single thread
+	 */
+	private static class Worker<T extends ImageSingleBand> {
+		InterpolatePixelS<T> interp;
+		ImageBorder<T> border;
+
+		private Worker(InterpolatePixelS<T> interp, ImageBorder<T> border) {
+			this.interp = interp;
+			this.border = border;
+		}
+	}
 }
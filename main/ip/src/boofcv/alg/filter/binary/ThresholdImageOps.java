@@ -420,7 +420,7 @@ public class ThresholdImageOps {
 
 		ImageUInt8 blur = storage1;
 
-		BlurImageOps.gaussian(input,blur,-1,radius,storage2);
+		BlurImageOps.gaussian(input,blur,-1,radius);
 
 		if( down ) {
 			for( int y = 0; y < input.height; y++ ) {
@@ -552,7 +552,7 @@ public class ThresholdImageOps {
 
 		ImageFloat32 blur = storage1;
 
-		BlurImageOps.gaussian(input,blur,-1,radius,storage2);
+		BlurImageOps.gaussian(input,blur,-1,radius);
 
 		if( down ) {
 			for( int y = 0; y < input.height; y++ ) {
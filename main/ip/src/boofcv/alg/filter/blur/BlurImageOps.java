@@ -19,25 +19,46 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
+import boofcv.alg.filter.blur.impl.ImplMedianQuantized;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.filter.convolve.noborder.ConvolveImageRowBands;
+import boofcv.alg.misc.ConcurrentImageStatistics;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 
 /**
+ * <p>
  * Catch all class for function which "blur" an image, typically used to "reduce" the amount
  * of noise in the image.
+ * </p>
+ *
+ * <p>
+ * Large images are split up into bands of rows which are processed in parallel using the thread pool in
+ * {@link BoofConcurrency}.  Mean blur does this for both its horizontal and vertical passes.  Gaussian blur computes
+ * both passes together inside of each band, without a full size intermediate image.  The output is the same as when
+ * concurrency is disabled.
+ * </p>
  *
  * @author Peter Abeles
  */
 public class BlurImageOps {
 
+	/**
+	 * Median filters with a radius this size or larger use an algorithm which runs in constant time with respect
+	 * to the radius.
+	 */
+	public static final int MEDIAN_CONSTANT_RADIUS = 6;
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -62,14 +83,15 @@ public class BlurImageOps {
 	}
 
 	/**
-	 * Applies a median filter.
+	 * Applies a median filter.  If the radius is {@link #MEDIAN_CONSTANT_RADIUS} or more then
+	 * {@link ImplMedianHistogramConstant}, which runs in constant time with respect to the radius, is used.
 	 *
 	 * @param input Input image.  Not modified.
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
 	 * @param radius Radius of the median blur function.
 	 * @return Output blurred image.
 	 */
-	public static ImageUInt8 median(ImageUInt8 input, ImageUInt8 output, int radius) {
+	public static ImageUInt8 median(ImageUInt8 input, ImageUInt8 output, final int radius) {
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
 
@@ -77,9 +99,17 @@ public class BlurImageOps {
 
 		int w = radius*2+1;
 		int offset[] = new int[ w*w ];
-		int histogram[] = new int[ 256 ];
 
-		ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
+		// each band has its own histogram and offset storage
+		ConvolveImageRowBands.convolve(input, output, radius, new ConvolveImageRowBands.Band<ImageUInt8,ImageUInt8>() {
+			@Override
+			public void process(ImageUInt8 input, ImageUInt8 output, boolean includeBorder) {
+				if( radius >= MEDIAN_CONSTANT_RADIUS )
+					ImplMedianHistogramConstant.process(input, output, radius, null);
+				else
+					ImplMedianHistogramInner.process(input, output, radius, null, null);
+			}
+		});
 		ImplMedianSortEdgeNaive.process(input, output, radius, offset);
 
 		return output;
@@ -92,18 +122,32 @@ public class BlurImageOps {
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
 	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
 	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
-	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @param storage Not used.
 	 * @return Output blurred image.
+	 * @deprecated The horizontal and vertical passes are fused and don't need storage.  Use
+	 * {@link #gaussian(ImageUInt8, ImageUInt8, double, int)} instead.
 	 */
+	@Deprecated
 	public static ImageUInt8 gaussian(ImageUInt8 input, ImageUInt8 output, double sigma , int radius,
 									  ImageUInt8 storage ) {
+		return gaussian(input,output,sigma,radius);
+	}
+
+	/**
+	 * Applies Gaussian blur.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 gaussian(ImageUInt8 input, ImageUInt8 output, double sigma , int radius ) {
 		output = InputSanityCheck.checkDeclare(input,output);
-		storage = InputSanityCheck.checkDeclare(input,storage);
 
 		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,sigma,radius);
 
-		ConvolveNormalized.horizontal(kernel,input,storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		ConvolveNormalized.horizontalVertical(kernel,input,output);
 
 		return output;
 	}
@@ -139,14 +183,72 @@ public class BlurImageOps {
 	 * @param radius Radius of the median blur function.
 	 * @return Output blurred image.
 	 */
-	public static ImageFloat32 median(ImageFloat32 input, ImageFloat32 output, int radius) {
+	public static ImageFloat32 median(final ImageFloat32 input, ImageFloat32 output, final int radius) {
 
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
 
 		output = InputSanityCheck.checkDeclare(input,output);
 
-		ImplMedianSortNaive.process(input,output,radius,null);
+		final ImageFloat32 _output = output;
+		BoofConcurrency.loopRows(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplMedianSortNaive.process(input, _output, radius, y0, y1, null);
+			}
+		});
+
+		return output;
+	}
+
+	/**
+	 * Applies an approximate median filter which is much faster than {@link #median(ImageFloat32, ImageFloat32, int)}
+	 * for large radii.  The image is quantized into 256 levels between its minimum and maximum pixel values,
+	 * filtered using the 8-bit median filter, and then converted back, see {@link ImplMedianQuantized}.  The
+	 * result will differ from the exact median by up to (max-min)/510, so a few extreme pixel values will
+	 * reduce the accuracy everywhere in the image.  If the minimum or maximum is not finite then the exact
+	 * median filter is used instead.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @return Output blurred image.
+	 */
+	public static ImageFloat32 medianQuantized(final ImageFloat32 input, ImageFloat32 output, int radius) {
+
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		final float min = (float)ConcurrentImageStatistics.min(input);
+		final float max = (float)ConcurrentImageStatistics.max(input);
+
+		if( Float.isInfinite(max-min) || Float.isNaN(max-min) )
+			return median(input, output, radius);
+
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		if( min == max ) {
+			output.setTo(input);
+			return output;
+		}
+
+		final ImageUInt8 quantized = new ImageUInt8(input.width,input.height);
+		BoofConcurrency.loopRows(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplMedianQuantized.quantize(input, min, max, quantized, y0, y1);
+			}
+		});
+
+		final ImageUInt8 filtered = median(quantized, null, radius);
+
+		final ImageFloat32 _output = output;
+		BoofConcurrency.loopRows(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplMedianQuantized.dequantize(filtered, min, max, _output, y0, y1);
+			}
+		});
 
 		return output;
 	}
@@ -158,19 +260,32 @@ public class BlurImageOps {
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
 	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
 	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
-	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @param storage Not used.
 	 * @return Output blurred image.
+	 * @deprecated The horizontal and vertical passes are fused and don't need storage.  Use
+	 * {@link #gaussian(ImageFloat32, ImageFloat32, double, int)} instead.
 	 */
-	public static ImageFloat32 gaussian(ImageFloat32 input, ImageFloat32 output,
-										double sigma , int radius,
+	@Deprecated
+	public static ImageFloat32 gaussian(ImageFloat32 input, ImageFloat32 output, double sigma , int radius,
 										ImageFloat32 storage ) {
+		return gaussian(input,output,sigma,radius);
+	}
+
+	/**
+	 * Applies Gaussian blur.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @return Output blurred image.
+	 */
+	public static ImageFloat32 gaussian(ImageFloat32 input, ImageFloat32 output, double sigma , int radius ) {
 		output = InputSanityCheck.checkDeclare(input,output);
-		storage = InputSanityCheck.checkDeclare(input,storage);
 
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma, radius);
 
-		ConvolveNormalized.horizontal(kernel,input,storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		ConvolveNormalized.horizontalVertical(kernel,input,output);
 
 		return output;
 	}
@@ -25,7 +25,7 @@ import boofcv.struct.image.ImageUInt8;
 
 /**
  * Generalized functions for applying different image blur operators.  Invokes functions
- * from {@link BlurImageOps}, which provides type specific functions.
+ * from {@link BlurImageOps}, which provides type specific functions and processes large images in parallel.
  *
  * @author Peter Abeles
  */
@@ -79,16 +79,34 @@ public class GBlurImageOps {
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
 	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
 	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
-	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @param storage Not used.
 	 * @param <T> Input image type.
 	 * @return Output blurred image.
+	 * @deprecated The horizontal and vertical passes are fused and don't need storage.  Use
+	 * {@link #gaussian(ImageSingleBand, ImageSingleBand, double, int)} instead.
 	 */
+	@Deprecated
 	public static <T extends ImageSingleBand>
 	T gaussian(T input, T output, double sigma , int radius, T storage ) {
+		return gaussian(input,output,sigma,radius);
+	}
+
+	/**
+	 * Applies Gaussian blur.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param <T> Input image type.
+	 * @return Output blurred image.
+	 */
+	public static <T extends ImageSingleBand>
+	T gaussian(T input, T output, double sigma , int radius ) {
 		if( input instanceof ImageUInt8 ) {
-			return (T)BlurImageOps.gaussian((ImageUInt8)input,(ImageUInt8)output,sigma,radius,(ImageUInt8)storage);
+			return (T)BlurImageOps.gaussian((ImageUInt8)input,(ImageUInt8)output,sigma,radius);
 		} else if( input instanceof ImageFloat32) {
-			return (T)BlurImageOps.gaussian((ImageFloat32)input,(ImageFloat32)output,sigma,radius,(ImageFloat32)storage);
+			return (T)BlurImageOps.gaussian((ImageFloat32)input,(ImageFloat32)output,sigma,radius);
 		} else  {
 			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
 		}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Median filter which runs in constant time with respect to the filter's radius.  Only the inner portion of the image
+ * is processed, see {@link ImplMedianHistogramInner}.  A histogram is maintained for each column of the image, which
+ * is updated once per row by adding the new bottom pixel and removing the old top pixel.  The histogram of the
+ * kernel is then updated as it moves along the row by adding the column histogram on its right and subtracting the
+ * one on its left.
+ * </p>
+ *
+ * <p>
+ * To reduce the cost of the kernel update, each histogram is split into a coarse level with 16 bins and a fine level
+ * with 256 bins.  The coarse level is updated for every pixel and used to find which group of 16 fine bins contains
+ * the median.  Fine bins are only updated when they are needed, which is rarely since the median of neighboring
+ * pixels tends to fall inside the same group.
+ * </p>
+ *
+ * <p>
+ * Perreault, S. and Hebert, P. "Median Filtering in Constant Time" IEEE Trans. Image Processing, 16(9), 2007
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant {
+
+	/**
+	 * Applies a median image filter to the inner portion of the image.  The output is identical to
+	 * {@link ImplMedianHistogramInner}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param columns (Optional) Storage for column histograms.  Resized if too small.  Can be null.
+	 * @return Storage for column histograms.
+	 */
+	public static int[] process( ImageUInt8 input , ImageUInt8 output , int radius , int columns[] ) {
+		final int width = input.width;
+		final int height = input.height;
+		final int w = 2*radius+1;
+
+		if( width < w || height < w )
+			return columns;
+
+		final int threshold = (w*w)/2+1;
+
+		// column histograms, fine bins for all the columns followed by the coarse bins
+		final int offsetCoarse = width*256;
+		if( columns == null || columns.length < width*(256+16) )
+			columns = new int[ width*(256+16) ];
+		Arrays.fill(columns,0,width*(256+16),0);
+
+		// histogram of the kernel
+		final int kernelFine[] = new int[256];
+		final int kernelCoarse[] = new int[16];
+		// x-coordinate each group of fine bins was last updated at
+		final int updated[] = new int[16];
+
+		for( int y = 0; y < w-1; y++ ) {
+			addRow(input,y,columns,offsetCoarse,1);
+		}
+
+		for( int y = radius; y < height-radius; y++ ) {
+			addRow(input,y+radius,columns,offsetCoarse,1);
+			if( y > radius )
+				addRow(input,y-radius-1,columns,offsetCoarse,-1);
+
+			Arrays.fill(kernelCoarse,0);
+			for( int col = 0; col < w; col++ ) {
+				int index = offsetCoarse + col*16;
+				for( int i = 0; i < 16; i++ ) {
+					kernelCoarse[i] += columns[index+i];
+				}
+			}
+			// none of the fine bins are valid at the start of a row
+			Arrays.fill(updated,-w);
+
+			int indexOut = output.startIndex + y*output.stride + radius;
+			for( int x = radius; x < width-radius; x++ ) {
+				if( x > radius ) {
+					int indexAdd = offsetCoarse + (x+radius)*16;
+					int indexRemove = offsetCoarse + (x-radius-1)*16;
+					for( int i = 0; i < 16; i++ ) {
+						kernelCoarse[i] += columns[indexAdd+i] - columns[indexRemove+i];
+					}
+				}
+
+				// find which group of fine bins contains the median
+				int count = 0;
+				int group = 0;
+				for( ; group < 16; group++ ) {
+					if( count + kernelCoarse[group] >= threshold )
+						break;
+					count += kernelCoarse[group];
+				}
+
+				// bring the fine bins in the group up to date
+				final int bin0 = group*16;
+				final int last = updated[group];
+				if( x - last > radius ) {
+					// cheaper to recompute from scratch
+					for( int i = 0; i < 16; i++ ) {
+						kernelFine[bin0+i] = 0;
+					}
+					for( int col = x-radius; col <= x+radius; col++ ) {
+						int index = col*256 + bin0;
+						for( int i = 0; i < 16; i++ ) {
+							kernelFine[bin0+i] += columns[index+i];
+						}
+					}
+				} else {
+					for( int p = last+1; p <= x; p++ ) {
+						int indexAdd = (p+radius)*256 + bin0;
+						int indexRemove = (p-radius-1)*256 + bin0;
+						for( int i = 0; i < 16; i++ ) {
+							kernelFine[bin0+i] += columns[indexAdd+i] - columns[indexRemove+i];
+						}
+					}
+				}
+				updated[group] = x;
+
+				int median = bin0;
+				for( ; median < bin0+15; median++ ) {
+					count += kernelFine[median];
+					if( count >= threshold )
+						break;
+				}
+
+				output.data[indexOut++] = (byte)median;
+			}
+		}
+
+		return columns;
+	}
+
+	/**
+	 * Adds or removes the pixels in a row to the column histograms
+	 */
+	private static void addRow( ImageUInt8 input , int y , int columns[] , int offsetCoarse , int amount ) {
+		int indexIn = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			int value = input.data[indexIn++] & 0xFF;
+			columns[x*256 + value] += amount;
+			columns[offsetCoarse + x*16 + (value >> 4)] += amount;
+		}
+	}
+}
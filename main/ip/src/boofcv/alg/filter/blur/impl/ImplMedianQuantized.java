@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Functions for applying a median filter to a floating point image using an 8-bit median filter.  The image is
+ * quantized into 256 evenly spaced levels between its minimum and maximum value, filtered, then converted back.
+ * Since the median is an order statistic and quantization preserves the order of pixels, the result only differs
+ * from the exact median by the quantization error, which is at most (max-min)/510.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianQuantized {
+
+	/**
+	 * Quantizes the rows in the range [y0,y1) into 256 levels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param min Minimum pixel value in the input image.
+	 * @param max Maximum pixel value in the input image.  Must be more than min.
+	 * @param output Quantized image. Modified.
+	 * @param y0 First row, inclusive.
+	 * @param y1 Last row, exclusive.
+	 */
+	public static void quantize( ImageFloat32 input , float min , float max , ImageUInt8 output , int y0 , int y1 ) {
+		final float scale = 255.0f/(max-min);
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int x = 0; x < input.width; x++ ) {
+				int level = (int)((input.data[indexIn++]-min)*scale + 0.5f);
+				if( level > 255 ) level = 255;
+				output.data[indexOut++] = (byte)level;
+			}
+		}
+	}
+
+	/**
+	 * Converts the quantized levels in the rows [y0,y1) back into floating point values.
+	 *
+	 * @param input Quantized image. Not modified.
+	 * @param min Minimum pixel value in the original image.
+	 * @param max Maximum pixel value in the original image.
+	 * @param output Floating point image. Modified.
+	 * @param y0 First row, inclusive.
+	 * @param y1 Last row, exclusive.
+	 */
+	public static void dequantize( ImageUInt8 input , float min , float max , ImageFloat32 output , int y0 , int y1 ) {
+		final float scale = (max-min)/255.0f;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int x = 0; x < input.width; x++ ) {
+				output.data[indexOut++] = min + (input.data[indexIn++] & 0xFF)*scale;
+			}
+		}
+	}
+}
@@ -45,6 +45,21 @@ public class ImplMedianSortNaive {
 	 * @param storage Array used for storage.  If null a new array is declared internally.
 	 */
 	public static void process( ImageInteger input, ImageInteger output, int radius , int[] storage ) {
+		process(input, output, radius, 0, input.height, storage);
+	}
+
+	/**
+	 * Performs a median filter on a range of rows.  Pixels outside of the rows are used as input but
+	 * are not modified in the output.
+	 *
+	 * @param input Raw input image.
+	 * @param output Filtered image.
+	 * @param radius Size of the filter's region.
+	 * @param y0 First row which is processed, inclusive.
+	 * @param y1 Last row which is processed, exclusive.
+	 * @param storage Array used for storage.  If null a new array is declared internally.
+	 */
+	public static void process( ImageInteger input, ImageInteger output, int radius , int y0 , int y1 , int[] storage ) {
 
 		int w = 2*radius+1;
 		if( storage == null ) {
@@ -53,7 +68,7 @@ public class ImplMedianSortNaive {
 			throw new IllegalArgumentException("'storage' must be at least of length "+(w*w));
 		}
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int minI = y - radius;
 			int maxI = y + radius+1;
 
@@ -93,6 +108,21 @@ public class ImplMedianSortNaive {
 	 * @param storage Array used for storage.  If null a new array is declared internally.
 	 */
 	public static void process(ImageFloat32 input, ImageFloat32 output, int radius , float[] storage ) {
+		process(input, output, radius, 0, input.height, storage);
+	}
+
+	/**
+	 * Performs a median filter on a range of rows.  Pixels outside of the rows are used as input but
+	 * are not modified in the output.
+	 *
+	 * @param input Raw input image.
+	 * @param output Filtered image.
+	 * @param radius Size of the filter's region.
+	 * @param y0 First row which is processed, inclusive.
+	 * @param y1 Last row which is processed, exclusive.
+	 * @param storage Array used for storage.  If null a new array is declared internally.
+	 */
+	public static void process(ImageFloat32 input, ImageFloat32 output, int radius , int y0 , int y1 , float[] storage ) {
 
 		int w = 2*radius+1;
 		if( storage == null ) {
@@ -101,7 +131,7 @@ public class ImplMedianSortNaive {
 			throw new IllegalArgumentException("'storage' must be at least of length "+(w*w));
 		}
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int minI = y - radius;
 			int maxI = y + radius+1;
 
@@ -19,9 +19,12 @@
 package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.noborder.ConvolveImageRowBands;
 import boofcv.alg.filter.convolve.noborder.ImplConvolveMean;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
 import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.*;
@@ -32,8 +35,14 @@ import boofcv.struct.image.*;
  * Convolves a mean filter across the image.  The mean value of all the pixels are computed inside the kernel.
  * </p>
  *
+ * <p>
+ * Large images are processed in parallel, see {@link BoofConcurrency}.  Results are identical to the single
+ * threaded results.
+ * </p>
+ *
  * @author Peter Abeles
  */
+@SuppressWarnings({"unchecked"})
 public class ConvolveImageMean {
 
 	/**
@@ -44,12 +53,18 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void horizontal(ImageFloat32 input, ImageFloat32 output, int radius) {
+	public static void horizontal(ImageFloat32 input, ImageFloat32 output, final int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
 		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
 		ConvolveNormalized_JustBorder.horizontal(kernel, input ,output );
-		ImplConvolveMean.horizontal(input, output, radius, true);
+		ConvolveImageRowBands.horizontal(input, output, radius, true,
+				new ConvolveImageRowBands.Band<ImageFloat32,ImageFloat32>() {
+			@Override
+			public void process(ImageFloat32 input, ImageFloat32 output, boolean includeBorder) {
+				ImplConvolveMean.horizontal(input, output, radius, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -60,12 +75,18 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void vertical(ImageFloat32 input, ImageFloat32 output, int radius) {
+	public static void vertical(ImageFloat32 input, ImageFloat32 output, final int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
 		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
 		ConvolveNormalized_JustBorder.vertical(kernel, input ,output );
-		ImplConvolveMean.vertical(input, output, radius, true);
+		verticalColumnBands(input, output,
+				new ConvolveImageRowBands.Band<ImageFloat32,ImageFloat32>() {
+			@Override
+			public void process(ImageFloat32 input, ImageFloat32 output, boolean includeBorder) {
+				ImplConvolveMean.vertical(input, output, radius, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -76,12 +97,18 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void horizontal(ImageUInt8 input, ImageInt8 output, int radius) {
+	public static void horizontal(ImageUInt8 input, ImageInt8 output, final int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveNormalized_JustBorder.horizontal(kernel, input, output);
-		ImplConvolveMean.horizontal(input, output, radius, true);
+		ConvolveImageRowBands.horizontal(input, output, radius, true,
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageInt8>() {
+			@Override
+			public void process(ImageUInt8 input, ImageInt8 output, boolean includeBorder) {
+				ImplConvolveMean.horizontal(input, output, radius, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -92,12 +119,18 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void vertical(ImageUInt8 input, ImageInt8 output, int radius) {
+	public static void vertical(ImageUInt8 input, ImageInt8 output, final int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveNormalized_JustBorder.vertical(kernel, input, output);
-		ImplConvolveMean.vertical(input, output, radius, true);
+		verticalColumnBands(input, output,
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageInt8>() {
+			@Override
+			public void process(ImageUInt8 input, ImageInt8 output, boolean includeBorder) {
+				ImplConvolveMean.vertical(input, output, radius, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -108,12 +141,18 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void horizontal(ImageSInt16 input, ImageInt16 output, int radius) {
+	public static void horizontal(ImageSInt16 input, ImageInt16 output, final int radius) {
 		InputSanityCheck.checkSameShape(input , output);
 
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveNormalized_JustBorder.horizontal(kernel, input, output);
-		ImplConvolveMean.horizontal(input, output, radius, true);
+		ConvolveImageRowBands.horizontal(input, output, radius, true,
+				new ConvolveImageRowBands.Band<ImageSInt16,ImageInt16>() {
+			@Override
+			public void process(ImageSInt16 input, ImageInt16 output, boolean includeBorder) {
+				ImplConvolveMean.horizontal(input, output, radius, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -124,11 +163,39 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void vertical(ImageSInt16 input, ImageInt16 output, int radius ) {
+	public static void vertical(ImageSInt16 input, ImageInt16 output, final int radius ) {
 		InputSanityCheck.checkSameShape(input , output);
 
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		ConvolveNormalized_JustBorder.vertical(kernel, input, output);
-		ImplConvolveMean.vertical(input, output, radius, true);
+		verticalColumnBands(input, output,
+				new ConvolveImageRowBands.Band<ImageSInt16,ImageInt16>() {
+			@Override
+			public void process(ImageSInt16 input, ImageInt16 output, boolean includeBorder) {
+				ImplConvolveMean.vertical(input, output, radius, includeBorder);
+			}
+		});
+	}
+
+	/**
+	 * The vertical mean is computed using a running sum down each column, so the image is split up into bands of
+	 * columns instead of rows.  That way each pixel is computed exactly as it would be in a single thread.
+	 */
+	private static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void verticalColumnBands( final I input , final O output , final ConvolveImageRowBands.Band<I,O> band ) {
+		int minColumns = Math.max(1,BoofConcurrency.getMinimumPixels()/Math.max(1,input.height));
+
+		BoofConcurrency.loopBlocks(0,input.width,minColumns,new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				if( x0 == 0 && x1 == input.width ) {
+					band.process(input,output,true);
+				} else {
+					I bandInput = (I)input.subimage(x0,0,x1,input.height,null);
+					O bandOutput = (O)output.subimage(x0,0,x1,output.height,null);
+					band.process(bandInput,bandOutput,true);
+				}
+			}
+		});
 	}
 }
@@ -44,6 +44,12 @@ import boofcv.struct.image.*;
  * handle image edges specialized functions are provided.
  * </p>
  *
+ * <p>
+ * Concurrency: Large images are split into bands of rows which are convolved in parallel, see
+ * {@link ConvolveImageRowBands}.  The output is identical to the single threaded output.  To process everything
+ * in the calling thread call {@link boofcv.misc.BoofConcurrency#setEnabled(boolean)}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"ForLoopReplaceableByForEach"})
@@ -59,13 +65,19 @@ public class ConvolveImageNoBorder {
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_F32 kernel,
+	public static void horizontal(final Kernel1D_F32 kernel,
 								  ImageFloat32 input,  ImageFloat32 output,
 								  boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_F32_F32.horizontal(kernel, input, output, includeVerticalBorder))
-			ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
+		ConvolveImageRowBands.horizontal(input, output, kernel.getRadius(), includeVerticalBorder,
+				new ConvolveImageRowBands.Band<ImageFloat32,ImageFloat32>() {
+			@Override
+			public void process(ImageFloat32 input, ImageFloat32 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_F32_F32.horizontal(kernel, input, output, includeBorder))
+					ConvolveImageStandard.horizontal(kernel, input, output, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -79,12 +91,18 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	The value that the convolved image is divided by.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageUInt8 input,  ImageInt8 output, int divisor, boolean includeVerticalBorder) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  ImageUInt8 input,  ImageInt8 output, final int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel, input,  output, divisor, includeVerticalBorder))
-			ConvolveImageStandard.horizontal(kernel, input,  output, divisor, includeVerticalBorder);
+		ConvolveImageRowBands.horizontal(input, output, kernel.getRadius(), includeVerticalBorder,
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageInt8>() {
+			@Override
+			public void process(ImageUInt8 input, ImageInt8 output, boolean includeBorder) {
+				if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel, input,  output, divisor, includeBorder))
+					ConvolveImageStandard.horizontal(kernel, input,  output, divisor, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -97,12 +115,18 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
+	public static void horizontal(final Kernel1D_I32 kernel,
 								  ImageUInt8 input,  ImageInt16 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_U8_I16.horizontal(kernel, input,  output, includeVerticalBorder))
-			ConvolveImageStandard.horizontal(kernel, input,  output, includeVerticalBorder);
+		ConvolveImageRowBands.horizontal(input, output, kernel.getRadius(), includeVerticalBorder,
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageInt16>() {
+			@Override
+			public void process(ImageUInt8 input, ImageInt16 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_U8_I16.horizontal(kernel, input,  output, includeBorder))
+					ConvolveImageStandard.horizontal(kernel, input,  output, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -115,12 +139,18 @@ public class ConvolveImageNoBorder {
 	 * @param kernel	The kernel that is being convolved. Not modified.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
+	public static void horizontal(final Kernel1D_I32 kernel,
 								  ImageUInt8 input, ImageSInt32 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unroll
-		ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
+		ConvolveImageRowBands.horizontal(input, output, kernel.getRadius(), includeVerticalBorder,
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageSInt32>() {
+			@Override
+			public void process(ImageUInt8 input, ImageSInt32 output, boolean includeBorder) {
+				// todo add unroll
+				ConvolveImageStandard.horizontal(kernel, input, output, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -133,12 +163,18 @@ public class ConvolveImageNoBorder {
 	 * @param kernel	The kernel that is being convolved. Not modified.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
+	public static void horizontal(final Kernel1D_I32 kernel,
 								  ImageSInt16 input, ImageInt16 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S16_I16.horizontal(kernel, input, output, includeVerticalBorder))
-			ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
+		ConvolveImageRowBands.horizontal(input, output, kernel.getRadius(), includeVerticalBorder,
+				new ConvolveImageRowBands.Band<ImageSInt16,ImageInt16>() {
+			@Override
+			public void process(ImageSInt16 input, ImageInt16 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_S16_I16.horizontal(kernel, input, output, includeBorder))
+					ConvolveImageStandard.horizontal(kernel, input, output, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -152,12 +188,18 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageSInt16 input, ImageInt16 output, int divisor, boolean includeVerticalBorder) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  ImageSInt16 input, ImageInt16 output, final int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S16_I16_Div.horizontal(kernel, input, output, divisor, includeVerticalBorder))
-			ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeVerticalBorder);
+		ConvolveImageRowBands.horizontal(input, output, kernel.getRadius(), includeVerticalBorder,
+				new ConvolveImageRowBands.Band<ImageSInt16,ImageInt16>() {
+			@Override
+			public void process(ImageSInt16 input, ImageInt16 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_S16_I16_Div.horizontal(kernel, input, output, divisor, includeBorder))
+					ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -171,12 +213,18 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeVerticalBorder Should the vertical border of the image be processed?
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageSInt32 input, ImageSInt32 output, int divisor, boolean includeVerticalBorder) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  ImageSInt32 input, ImageSInt32 output, final int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S32_S32_Div.horizontal(kernel, input, output, divisor, includeVerticalBorder))
-			ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeVerticalBorder);
+		ConvolveImageRowBands.horizontal(input, output, kernel.getRadius(), includeVerticalBorder,
+				new ConvolveImageRowBands.Band<ImageSInt32,ImageSInt32>() {
+			@Override
+			public void process(ImageSInt32 input, ImageSInt32 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_S32_S32_Div.horizontal(kernel, input, output, divisor, includeBorder))
+					ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -189,13 +237,19 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_F32 kernel,
+	public static void vertical(final Kernel1D_F32 kernel,
 								ImageFloat32 input,  ImageFloat32 output,
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_F32_F32.vertical(kernel, input,  output, includeHorizontalBorder))
-			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
+		ConvolveImageRowBands.vertical(input, output, kernel.getRadius(), includeHorizontalBorder,
+				new ConvolveImageRowBands.Band<ImageFloat32,ImageFloat32>() {
+			@Override
+			public void process(ImageFloat32 input, ImageFloat32 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_F32_F32.vertical(kernel, input,  output, includeBorder))
+					ConvolveImageStandard.vertical(kernel, input,  output, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -209,12 +263,18 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
-								ImageUInt8 input,  ImageInt8 output, int divisor, boolean includeHorizontalBorder) {
+	public static void vertical(final Kernel1D_I32 kernel,
+								ImageUInt8 input,  ImageInt8 output, final int divisor, boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel, input,  output, divisor, includeHorizontalBorder))
-			ConvolveImageStandard.vertical(kernel, input,  output, divisor, includeHorizontalBorder);
+		ConvolveImageRowBands.vertical(input, output, kernel.getRadius(), includeHorizontalBorder,
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageInt8>() {
+			@Override
+			public void process(ImageUInt8 input, ImageInt8 output, boolean includeBorder) {
+				if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel, input,  output, divisor, includeBorder))
+					ConvolveImageStandard.vertical(kernel, input,  output, divisor, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -227,13 +287,19 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageUInt8 input,  ImageInt16 output,
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_U8_I16.vertical(kernel, input,  output, includeHorizontalBorder))
-			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
+		ConvolveImageRowBands.vertical(input, output, kernel.getRadius(), includeHorizontalBorder,
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageInt16>() {
+			@Override
+			public void process(ImageUInt8 input, ImageInt16 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_U8_I16.vertical(kernel, input,  output, includeBorder))
+					ConvolveImageStandard.vertical(kernel, input,  output, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -246,13 +312,19 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageUInt8 input,  ImageSInt32 output,
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unroll
-		ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
+		ConvolveImageRowBands.vertical(input, output, kernel.getRadius(), includeHorizontalBorder,
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageSInt32>() {
+			@Override
+			public void process(ImageUInt8 input, ImageSInt32 output, boolean includeBorder) {
+				// todo add unroll
+				ConvolveImageStandard.vertical(kernel, input,  output, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -265,13 +337,19 @@ public class ConvolveImageNoBorder {
 	 * @param kernel		The kernel that is being convolved. Not modified.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageSInt16 input,  ImageInt16 output,
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S16_I16.vertical(kernel, input,  output, includeHorizontalBorder))
-			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
+		ConvolveImageRowBands.vertical(input, output, kernel.getRadius(), includeHorizontalBorder,
+				new ConvolveImageRowBands.Band<ImageSInt16,ImageInt16>() {
+			@Override
+			public void process(ImageSInt16 input, ImageInt16 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_S16_I16.vertical(kernel, input,  output, includeBorder))
+					ConvolveImageStandard.vertical(kernel, input,  output, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -285,13 +363,19 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageSInt16 input,  ImageInt16 output,
-								int divisor , boolean includeHorizontalBorder) {
+								final int divisor , boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S16_I16_Div.vertical(kernel, input, output, divisor, includeHorizontalBorder))
-			ConvolveImageStandard.vertical(kernel, input, output, divisor, includeHorizontalBorder);
+		ConvolveImageRowBands.vertical(input, output, kernel.getRadius(), includeHorizontalBorder,
+				new ConvolveImageRowBands.Band<ImageSInt16,ImageInt16>() {
+			@Override
+			public void process(ImageSInt16 input, ImageInt16 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_S16_I16_Div.vertical(kernel, input, output, divisor, includeBorder))
+					ConvolveImageStandard.vertical(kernel, input, output, divisor, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -305,13 +389,19 @@ public class ConvolveImageNoBorder {
 	 * @param divisor	   The value that the convolved image is divided by.
 	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
+	public static void vertical(final Kernel1D_I32 kernel,
 								ImageSInt32 input,  ImageSInt32 output,
-								int divisor , boolean includeHorizontalBorder) {
+								final int divisor , boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S32_S32_Div.vertical(kernel, input, output, divisor, includeHorizontalBorder))
-			ConvolveImageStandard.vertical(kernel, input, output, divisor, includeHorizontalBorder);
+		ConvolveImageRowBands.vertical(input, output, kernel.getRadius(), includeHorizontalBorder,
+				new ConvolveImageRowBands.Band<ImageSInt32,ImageSInt32>() {
+			@Override
+			public void process(ImageSInt32 input, ImageSInt32 output, boolean includeBorder) {
+				if (!ConvolveImageUnrolled_S32_S32_Div.vertical(kernel, input, output, divisor, includeBorder))
+					ConvolveImageStandard.vertical(kernel, input, output, divisor, includeBorder);
+			}
+		});
 	}
 
 	/**
@@ -321,11 +411,17 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_F32 kernel, ImageFloat32 input,  ImageFloat32 output) {
+	public static void convolve(final Kernel2D_F32 kernel, ImageFloat32 input,  ImageFloat32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_F32_F32.convolve(kernel,input,output))
-			ConvolveImageStandard.convolve(kernel, input,  output);
+		ConvolveImageRowBands.convolve(input, output, kernel.getRadius(),
+				new ConvolveImageRowBands.Band<ImageFloat32,ImageFloat32>() {
+			@Override
+			public void process(ImageFloat32 input, ImageFloat32 output, boolean includeBorder) {
+				if( !ConvolveImageUnrolled_F32_F32.convolve(kernel,input,output))
+					ConvolveImageStandard.convolve(kernel, input,  output);
+			}
+		});
 	}
 
 	/**
@@ -336,12 +432,18 @@ public class ConvolveImageNoBorder {
 	 * @param output	The results of the convolution
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void convolve(Kernel2D_I32 kernel,
-								ImageUInt8 input,  ImageInt8 output, int divisor) {
+	public static void convolve(final Kernel2D_I32 kernel,
+								ImageUInt8 input,  ImageInt8 output, final int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_U8_I8_Div.convolve(kernel,input,output,divisor))
-			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+		ConvolveImageRowBands.convolve(input, output, kernel.getRadius(),
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageInt8>() {
+			@Override
+			public void process(ImageUInt8 input, ImageInt8 output, boolean includeBorder) {
+				if( !ConvolveImageUnrolled_U8_I8_Div.convolve(kernel,input,output,divisor))
+					ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+			}
+		});
 	}
 
 	/**
@@ -351,11 +453,17 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageInt16 output) {
+	public static void convolve(final Kernel2D_I32 kernel, ImageUInt8 input,  ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_U8_I16.convolve(kernel,input,output))
-			ConvolveImageStandard.convolve(kernel, input,  output);
+		ConvolveImageRowBands.convolve(input, output, kernel.getRadius(),
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageInt16>() {
+			@Override
+			public void process(ImageUInt8 input, ImageInt16 output, boolean includeBorder) {
+				if( !ConvolveImageUnrolled_U8_I16.convolve(kernel,input,output))
+					ConvolveImageStandard.convolve(kernel, input,  output);
+			}
+		});
 	}
 
 	/**
@@ -365,11 +473,17 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageSInt32 output) {
+	public static void convolve(final Kernel2D_I32 kernel, ImageUInt8 input,  ImageSInt32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unrolled
-		ConvolveImageStandard.convolve(kernel, input,  output);
+		ConvolveImageRowBands.convolve(input, output, kernel.getRadius(),
+				new ConvolveImageRowBands.Band<ImageUInt8,ImageSInt32>() {
+			@Override
+			public void process(ImageUInt8 input, ImageSInt32 output, boolean includeBorder) {
+				// todo add unrolled
+				ConvolveImageStandard.convolve(kernel, input,  output);
+			}
+		});
 	}
 
 	/**
@@ -379,11 +493,17 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output) {
+	public static void convolve(final Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_S16_I16.convolve(kernel,input,output))
-			ConvolveImageStandard.convolve(kernel, input,  output);
+		ConvolveImageRowBands.convolve(input, output, kernel.getRadius(),
+				new ConvolveImageRowBands.Band<ImageSInt16,ImageInt16>() {
+			@Override
+			public void process(ImageSInt16 input, ImageInt16 output, boolean includeBorder) {
+				if( !ConvolveImageUnrolled_S16_I16.convolve(kernel,input,output))
+					ConvolveImageStandard.convolve(kernel, input,  output);
+			}
+		});
 	}
 
 	/**
@@ -394,10 +514,16 @@ public class ConvolveImageNoBorder {
 	 * @param output   The results of the convolution
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output, int divisor ) {
+	public static void convolve(final Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output, final int divisor ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel,input,output,divisor))
-			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+		ConvolveImageRowBands.convolve(input, output, kernel.getRadius(),
+				new ConvolveImageRowBands.Band<ImageSInt16,ImageInt16>() {
+			@Override
+			public void process(ImageSInt16 input, ImageInt16 output, boolean includeBorder) {
+				if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel,input,output,divisor))
+					ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+			}
+		});
 	}
 }
\ No newline at end of file
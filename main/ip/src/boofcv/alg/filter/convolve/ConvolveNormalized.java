@@ -20,7 +20,10 @@ package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedSeparable;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -34,6 +37,22 @@ import boofcv.struct.image.*;
  * @author Peter Abeles
  */
 public class ConvolveNormalized {
+
+	// strips of horizontally convolved rows used by horizontalVertical().  Each thread has its own strip, which
+	// is reused between calls to avoid declaring new memory
+	private static final ThreadLocal<ImageFloat32> stripF32 = new ThreadLocal<ImageFloat32>() {
+		@Override
+		protected ImageFloat32 initialValue() {
+			return new ImageFloat32(1,1);
+		}
+	};
+	private static final ThreadLocal<ImageUInt8> stripU8 = new ThreadLocal<ImageUInt8>() {
+		@Override
+		protected ImageUInt8 initialValue() {
+			return new ImageUInt8(1,1);
+		}
+	};
+
 	/**
 	 * Performs a horizontal 1D convolution across the image while re-normalizing the kernel depending on its
 	 * overlap with the image.
@@ -72,6 +91,47 @@ public class ConvolveNormalized {
 		}
 	}
 
+	/**
+	 * Convolves the kernel horizontally and then vertically across the image while re-normalizing the kernel
+	 * depending on its overlap with the image.  Produces the same output as calling {@link #horizontal} and then
+	 * {@link #vertical}, but only a few rows of intermediate results are stored and the image is traversed once.
+	 * The intermediate rows are stored in a buffer owned by the calling thread which is reused between calls.
+	 * See {@link ConvolveNormalizedSeparable}.
+	 *
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontalVertical(final Kernel1D_F32 kernel, final ImageFloat32 image, final ImageFloat32 dest ) {
+		horizontalVertical(kernel, image, dest, null);
+	}
+
+	/**
+	 * Same as {@link #horizontalVertical(Kernel1D_F32, ImageFloat32, ImageFloat32)} but the intermediate rows are
+	 * stored in the provided image when the image is processed as a single block.
+	 *
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param strip (Optional) Storage for intermediate results.  Reshaped.  Ignored if null or a sub-image.
+	 */
+	public static void horizontalVertical(final Kernel1D_F32 kernel, final ImageFloat32 image, final ImageFloat32 dest ,
+										  ImageFloat32 strip ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		int minRows = Math.max(kernel.width,BoofConcurrency.minimumRows(image.width));
+		if( strip != null && !strip.isSubimage() && BoofConcurrency.computeBlocks(image.height, minRows) == 1 ) {
+			ConvolveNormalizedSeparable.convolve(kernel, image, dest, 0, image.height, strip);
+			return;
+		}
+		BoofConcurrency.loopBlocks(0, image.height, minRows, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ConvolveNormalizedSeparable.convolve(kernel, image, dest, y0, y1, stripF32.get());
+			}
+		});
+	}
+
 	/**
 	 * Performs a 2D convolution across the image while re-normalizing the kernel depending on its
 	 * overlap with the image.
@@ -129,6 +189,47 @@ public class ConvolveNormalized {
 		}
 	}
 
+	/**
+	 * Convolves the kernel horizontally and then vertically across the image while re-normalizing the kernel
+	 * depending on its overlap with the image.  Produces the same output as calling {@link #horizontal} and then
+	 * {@link #vertical}, but only a few rows of intermediate results are stored and the image is traversed once.
+	 * The intermediate rows are stored in a buffer owned by the calling thread which is reused between calls.
+	 * See {@link ConvolveNormalizedSeparable}.
+	 *
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontalVertical(final Kernel1D_I32 kernel, final ImageUInt8 image, final ImageInt8 dest ) {
+		horizontalVertical(kernel, image, dest, null);
+	}
+
+	/**
+	 * Same as {@link #horizontalVertical(Kernel1D_I32, ImageUInt8, ImageInt8)} but the intermediate rows are
+	 * stored in the provided image when the image is processed as a single block.
+	 *
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param strip (Optional) Storage for intermediate results.  Reshaped.  Ignored if null or a sub-image.
+	 */
+	public static void horizontalVertical(final Kernel1D_I32 kernel, final ImageUInt8 image, final ImageInt8 dest ,
+										  ImageUInt8 strip ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		int minRows = Math.max(kernel.width,BoofConcurrency.minimumRows(image.width));
+		if( strip != null && !strip.isSubimage() && BoofConcurrency.computeBlocks(image.height, minRows) == 1 ) {
+			ConvolveNormalizedSeparable.convolve(kernel, image, dest, 0, image.height, strip);
+			return;
+		}
+		BoofConcurrency.loopBlocks(0, image.height, minRows, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ConvolveNormalizedSeparable.convolve(kernel, image, dest, y0, y1, stripU8.get());
+			}
+		});
+	}
+
 	/**
 	 * Performs a 2D convolution across the image while re-normalizing the kernel depending on its
 	 * overlap with the image.
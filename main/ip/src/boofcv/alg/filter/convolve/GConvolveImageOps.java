@@ -25,7 +25,7 @@ import boofcv.struct.convolve.*;
 import boofcv.struct.image.*;
 
 /**
- * Image type agnostic convolution functions
+ * Image type agnostic convolution functions.  Concurrency is handled the same as in {@link ConvolveImageNoBorder}.
  */
 public class GConvolveImageOps {
 
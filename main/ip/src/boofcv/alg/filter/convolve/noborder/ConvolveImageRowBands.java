@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve.noborder;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Splits a convolution up into horizontal bands of rows which are processed in parallel using {@link BoofConcurrency}.
+ * Each band is a sub-image of the input and output images and is passed to a {@link Band}, which invokes the
+ * single threaded convolution on it.  The number of rows in a band is determined by
+ * {@link BoofConcurrency#getMinimumPixels()}.  Input bands include the rows above and below which the kernel
+ * needs, while output bands only contain the rows owned by that band.  No two bands write to the same pixel and every
+ * pixel is computed using the same code as the single threaded algorithm, so the results are identical.
+ * </p>
+ *
+ * <p>
+ * The image border is handled independently by each band.  Rows inside the vertical border are only processed if
+ * the convolution would have processed them, columns in the horizontal border are handled by the band's
+ * convolution as usual.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class ConvolveImageRowBands {
+
+	/**
+	 * Performs a horizontal convolution.  Rows are independent so each band only contains the rows being
+	 * written to.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Radius of the kernel.
+	 * @param includeVerticalBorder Should the vertical border of the image be processed?
+	 * @param band Performs the convolution on a band
+	 */
+	public static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void horizontal( final I input , final O output , int radius , boolean includeVerticalBorder ,
+					 final Band<I,O> band )
+	{
+		int yBorder = includeVerticalBorder ? 0 : radius;
+		int y0 = yBorder;
+		int y1 = input.height - yBorder;
+
+		if( BoofConcurrency.computeBlocks(y1-y0,BoofConcurrency.minimumRows(input.width)) <= 1 ) {
+			band.process(input,output,includeVerticalBorder);
+			return;
+		}
+
+		BoofConcurrency.loopRows(y0,y1,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				I bandInput = (I)input.subimage(0,y0,input.width,y1,null);
+				O bandOutput = (O)output.subimage(0,y0,output.width,y1,null);
+				// the vertical border has already been excluded from the band
+				band.process(bandInput,bandOutput,true);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical convolution.  Input bands are extended by the kernel's radius above and below.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Radius of the kernel.
+	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
+	 * @param band Performs the convolution on a band
+	 */
+	public static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void vertical( I input , O output , int radius , boolean includeHorizontalBorder , Band<I,O> band )
+	{
+		if( BoofConcurrency.computeBlocks(input.height-2*radius,BoofConcurrency.minimumRows(input.width)) <= 1 ) {
+			band.process(input,output,includeHorizontalBorder);
+			return;
+		}
+
+		processPadded(input,output,radius,includeHorizontalBorder,band);
+	}
+
+	/**
+	 * Performs a 2D convolution.  Input bands are extended by the kernel's radius above and below.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Radius of the kernel.
+	 * @param band Performs the convolution on a band
+	 */
+	public static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void convolve( I input , O output , int radius , Band<I,O> band )
+	{
+		if( BoofConcurrency.computeBlocks(input.height-2*radius,BoofConcurrency.minimumRows(input.width)) <= 1 ) {
+			band.process(input,output,false);
+			return;
+		}
+
+		processPadded(input,output,radius,false,band);
+	}
+
+	/**
+	 * Processes rows which are at least 'radius' away from the top and bottom image border.  Each input band
+	 * includes 'radius' extra rows above and below the output band.
+	 */
+	private static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void processPadded( final I input , final O output , final int radius , final boolean includeBorder ,
+						final Band<I,O> band )
+	{
+		BoofConcurrency.loopRows(radius,input.height-radius,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				I bandInput = (I)input.subimage(0,y0-radius,input.width,y1+radius,null);
+				O bandOutput = (O)output.subimage(0,y0-radius,output.width,y1+radius,null);
+				band.process(bandInput,bandOutput,includeBorder);
+			}
+		});
+	}
+
+	/**
+	 * Invokes a single threaded convolution on a band inside the image.
+	 */
+	public static interface Band<I extends ImageSingleBand, O extends ImageSingleBand> {
+		/**
+		 * Convolves the band.
+		 *
+		 * @param input Band in the input image
+		 * @param output Band in the output image
+		 * @param includeBorder Value of the include border flag for 1D convolutions.  Ignored for 2D.
+		 */
+		public void process( I input , O output , boolean includeBorder );
+	}
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve.normalized;
+
+import boofcv.alg.filter.convolve.noborder.ConvolveImageStandard;
+import boofcv.alg.filter.convolve.noborder.ConvolveImageUnrolled_F32_F32;
+import boofcv.alg.filter.convolve.noborder.ConvolveImageUnrolled_U8_I8_Div;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInt8;
+import boofcv.struct.image.ImageSInt8;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Convolves the same 1D kernel along the image's rows and then its columns, while re-normalizing the kernel along
+ * the image border.  Instead of saving the horizontal pass into a full size image, the image is processed in blocks
+ * of rows.  The horizontal pass for a block is saved in a strip which is small enough to stay inside the CPU's
+ * cache, then the vertical pass reads from the strip and writes to the output image.  Rows at the bottom of the strip
+ * which the next block needs are moved to the top of the strip instead of being recomputed.
+ * </p>
+ *
+ * <p>
+ * The output is identical to calling {@link boofcv.alg.filter.convolve.ConvolveNormalized#horizontal} and then
+ * {@link boofcv.alg.filter.convolve.ConvolveNormalized#vertical} since the same code is used to convolve the
+ * image's inner region and the kernel is only re-normalized along the image border.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveNormalizedSeparable {
+
+	/**
+	 * Approximate number of pixels in the strip of horizontally convolved rows
+	 */
+	public static int STRIP_PIXELS = 1 << 16;
+
+	/**
+	 * Convolves the rows in the range [y0,y1).  Horizontal rows above and below the range which the vertical
+	 * kernel overlaps are computed too, so different ranges can be processed independently.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param y0 First row in the output image, inclusive.
+	 * @param y1 Last row in the output image, exclusive.
+	 * @param strip (Optional) Storage for horizontally convolved rows.  Reshaped if needed.  Can be null.
+	 * @return Storage for horizontally convolved rows.
+	 */
+	public static ImageFloat32 convolve( Kernel1D_F32 kernel , ImageFloat32 input , ImageFloat32 output ,
+										 int y0 , int y1 , ImageFloat32 strip ) {
+		final int radius = kernel.getRadius();
+		final int width = input.width;
+		final int height = input.height;
+
+		int blockRows = Math.max(kernel.width,STRIP_PIXELS/Math.max(1,width));
+		// no need for the strip to be larger than the rows being processed
+		blockRows = Math.max(1,Math.min(blockRows,y1-y0));
+		if( strip == null )
+			strip = new ImageFloat32(width,blockRows+2*radius);
+		else
+			strip.reshape(width,blockRows+2*radius);
+
+		// the vertical kernel is only applied without normalization if it fits entirely inside the image
+		final boolean verticalInside = kernel.width < height;
+
+		// range of rows in the input image which have been convolved and saved in the strip
+		int stripY0 = 0, stripY1 = 0;
+
+		for( int blockY0 = y0; blockY0 < y1; blockY0 += blockRows ) {
+			int blockY1 = Math.min(y1,blockY0+blockRows);
+
+			int needY0 = Math.max(0,blockY0-radius);
+			int needY1 = Math.min(height,blockY1+radius);
+
+			// move rows which have already been computed to the top of the strip
+			if( stripY1 > needY0 && stripY0 <= needY0 ) {
+				System.arraycopy(strip.data,(needY0-stripY0)*strip.stride,
+						strip.data,0,(stripY1-needY0)*strip.stride);
+			} else {
+				stripY1 = needY0;
+			}
+			stripY0 = needY0;
+
+			if( stripY1 < needY1 ) {
+				horizontal(kernel,
+						input.subimage(0,stripY1,width,needY1,null),
+						strip.subimage(0,stripY1-stripY0,width,needY1-stripY0,null));
+				stripY1 = needY1;
+			}
+
+			// rows where the kernel is entirely inside the image
+			int innerY0 = verticalInside ? Math.max(blockY0,radius) : blockY1;
+			int innerY1 = verticalInside ? Math.min(blockY1,height-radius) : blockY1;
+			if( innerY0 < innerY1 ) {
+				ImageFloat32 src = strip.subimage(0,innerY0-radius-stripY0,width,innerY1+radius-stripY0,null);
+				ImageFloat32 dst = output.subimage(0,innerY0-radius,width,innerY1+radius,null);
+				if( !ConvolveImageUnrolled_F32_F32.vertical(kernel,src,dst,true) )
+					ConvolveImageStandard.vertical(kernel,src,dst,true);
+			} else {
+				innerY0 = innerY1 = blockY1;
+			}
+
+			for( int y = blockY0; y < innerY0; y++ ) {
+				verticalBorder(kernel,strip,stripY0,height,output,y);
+			}
+			for( int y = innerY1; y < blockY1; y++ ) {
+				verticalBorder(kernel,strip,stripY0,height,output,y);
+			}
+		}
+
+		return strip;
+	}
+
+	/**
+	 * Horizontal convolution with re-normalization along the image border
+	 */
+	private static void horizontal( Kernel1D_F32 kernel , ImageFloat32 input , ImageFloat32 output ) {
+		if( kernel.width >= input.width ) {
+			ConvolveNormalizedNaive.horizontal(kernel,input,output);
+		} else {
+			if( !ConvolveImageUnrolled_F32_F32.horizontal(kernel,input,output,true) )
+				ConvolveImageStandard.horizontal(kernel,input,output,true);
+			ConvolveNormalized_JustBorder.horizontal(kernel,input,output);
+		}
+	}
+
+	/**
+	 * Computes a single output row with the vertical kernel re-normalized
+	 */
+	private static void verticalBorder( Kernel1D_F32 kernel , ImageFloat32 strip , int stripY0 , int height ,
+										ImageFloat32 output , int y ) {
+		final float[] dataKer = kernel.data;
+		final float[] dataStrip = strip.data;
+		final float[] dataDst = output.data;
+
+		final int radius = kernel.getRadius();
+		final int width = output.width;
+
+		int rowStart = y-radius;
+		int kStart = Math.max(0,-rowStart);
+		int kEnd = Math.min(kernel.width,height-rowStart);
+
+		float weight = 0;
+		for( int k = kStart; k < kEnd; k++ ) {
+			weight += dataKer[k];
+		}
+
+		int indexDst = output.startIndex + y*output.stride;
+		int indexStart = strip.startIndex + (rowStart+kStart-stripY0)*strip.stride;
+		for( int x = 0; x < width; x++ ) {
+			float total = 0;
+			int indexSrc = indexStart + x;
+			for( int k = kStart; k < kEnd; k++, indexSrc += strip.stride ) {
+				total += (dataStrip[indexSrc]) * dataKer[k];
+			}
+			dataDst[indexDst++] = (total/weight);
+		}
+	}
+
+	/**
+	 * Convolves the rows in the range [y0,y1).  Horizontal rows above and below the range which the vertical
+	 * kernel overlaps are computed too, so different ranges can be processed independently.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param y0 First row in the output image, inclusive.
+	 * @param y1 Last row in the output image, exclusive.
+	 * @param strip (Optional) Storage for horizontally convolved rows.  Reshaped if needed.  Can be null.
+	 * @return Storage for horizontally convolved rows.
+	 */
+	public static ImageUInt8 convolve( Kernel1D_I32 kernel , ImageUInt8 input , ImageInt8<?> output ,
+									   int y0 , int y1 , ImageUInt8 strip ) {
+		final int radius = kernel.getRadius();
+		final int width = input.width;
+		final int height = input.height;
+		final int divisor = kernel.computeSum();
+
+		int blockRows = Math.max(kernel.width,STRIP_PIXELS/Math.max(1,width));
+		// no need for the strip to be larger than the rows being processed
+		blockRows = Math.max(1,Math.min(blockRows,y1-y0));
+		if( strip == null )
+			strip = new ImageUInt8(width,blockRows+2*radius);
+		else
+			strip.reshape(width,blockRows+2*radius);
+
+		// the vertical kernel is only applied without normalization if it fits entirely inside the image
+		final boolean verticalInside = kernel.width < height;
+
+		// range of rows in the input image which have been convolved and saved in the strip
+		int stripY0 = 0, stripY1 = 0;
+
+		for( int blockY0 = y0; blockY0 < y1; blockY0 += blockRows ) {
+			int blockY1 = Math.min(y1,blockY0+blockRows);
+
+			int needY0 = Math.max(0,blockY0-radius);
+			int needY1 = Math.min(height,blockY1+radius);
+
+			// move rows which have already been computed to the top of the strip
+			if( stripY1 > needY0 && stripY0 <= needY0 ) {
+				System.arraycopy(strip.data,(needY0-stripY0)*strip.stride,
+						strip.data,0,(stripY1-needY0)*strip.stride);
+			} else {
+				stripY1 = needY0;
+			}
+			stripY0 = needY0;
+
+			if( stripY1 < needY1 ) {
+				horizontal(kernel,divisor,
+						input.subimage(0,stripY1,width,needY1,null),
+						strip.subimage(0,stripY1-stripY0,width,needY1-stripY0,null));
+				stripY1 = needY1;
+			}
+
+			// rows where the kernel is entirely inside the image
+			int innerY0 = verticalInside ? Math.max(blockY0,radius) : blockY1;
+			int innerY1 = verticalInside ? Math.min(blockY1,height-radius) : blockY1;
+			if( innerY0 < innerY1 ) {
+				ImageUInt8 src = strip.subimage(0,innerY0-radius-stripY0,width,innerY1+radius-stripY0,null);
+				ImageInt8<?> dst = subimageRows(output,innerY0-radius,innerY1+radius);
+				if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel,src,dst,divisor,true) )
+					ConvolveImageStandard.vertical(kernel,src,dst,divisor,true);
+			} else {
+				innerY0 = innerY1 = blockY1;
+			}
+
+			for( int y = blockY0; y < innerY0; y++ ) {
+				verticalBorder(kernel,strip,stripY0,height,output,y);
+			}
+			for( int y = innerY1; y < blockY1; y++ ) {
+				verticalBorder(kernel,strip,stripY0,height,output,y);
+			}
+		}
+
+		return strip;
+	}
+
+	/**
+	 * Sub-image which contains the specified rows
+	 */
+	private static ImageInt8<?> subimageRows( ImageInt8<?> image , int y0 , int y1 ) {
+		if( image instanceof ImageUInt8 )
+			return ((ImageUInt8)image).subimage(0,y0,image.width,y1,null);
+		else
+			return ((ImageSInt8)image).subimage(0,y0,image.width,y1,null);
+	}
+
+	/**
+	 * Horizontal convolution with re-normalization along the image border
+	 */
+	private static void horizontal( Kernel1D_I32 kernel , int divisor , ImageUInt8 input , ImageInt8<?> output ) {
+		if( kernel.width >= input.width ) {
+			ConvolveNormalizedNaive.horizontal(kernel,input,output);
+		} else {
+			if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel,input,output,divisor,true) )
+				ConvolveImageStandard.horizontal(kernel,input,output,divisor,true);
+			ConvolveNormalized_JustBorder.horizontal(kernel,input,output);
+		}
+	}
+
+	/**
+	 * Computes a single output row with the vertical kernel re-normalized
+	 */
+	private static void verticalBorder( Kernel1D_I32 kernel , ImageUInt8 strip , int stripY0 , int height ,
+										ImageInt8<?> output , int y ) {
+		final int[] dataKer = kernel.data;
+		final byte[] dataStrip = strip.data;
+		final byte[] dataDst = output.data;
+
+		final int radius = kernel.getRadius();
+		final int width = output.width;
+
+		int rowStart = y-radius;
+		int kStart = Math.max(0,-rowStart);
+		int kEnd = Math.min(kernel.width,height-rowStart);
+
+		int weight = 0;
+		for( int k = kStart; k < kEnd; k++ ) {
+			weight += dataKer[k];
+		}
+		final int halfWeight = weight/2;
+
+		int indexDst = output.startIndex + y*output.stride;
+		int indexStart = strip.startIndex + (rowStart+kStart-stripY0)*strip.stride;
+		for( int x = 0; x < width; x++ ) {
+			int total = 0;
+			int indexSrc = indexStart + x;
+			for( int k = kStart; k < kEnd; k++, indexSrc += strip.stride ) {
+				total += (dataStrip[indexSrc] & 0xFF) * dataKer[k];
+			}
+			dataDst[indexDst++] = (byte)((total+halfWeight)/weight);
+		}
+	}
+}
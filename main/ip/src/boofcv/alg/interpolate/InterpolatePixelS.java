@@ -48,4 +48,13 @@ public interface InterpolatePixelS<T extends ImageSingleBand> extends Interpolat
 	 * @return Interpolated intensity value.
 	 */
 	public float get_fast(float x, float y);
+
+	/**
+	 * Creates a new instance of this interpolation algorithm with the same configuration.  The image being
+	 * interpolated is not copied and must be specified using {@link #setImage}.  Used when each thread needs
+	 * its own instance.
+	 *
+	 * @return New instance
+	 */
+	public InterpolatePixelS<T> copy();
 }
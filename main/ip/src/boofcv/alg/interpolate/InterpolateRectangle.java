@@ -53,4 +53,12 @@ public interface InterpolateRectangle<T extends ImageSingleBand> {
 	 */
 	public void region(float tl_x, float tl_y, ImageFloat32 dest );
 //	public void region(float tl_x, float tl_y, float[] results, int regWidth, int regHeight);
+
+	/**
+	 * Creates a new instance with the same configuration.  The image is not copied and must be specified
+	 * using {@link #setImage}.  Allows regions to be interpolated by several threads at once.
+	 *
+	 * @return New instance
+	 */
+	public InterpolateRectangle<T> copy();
 }
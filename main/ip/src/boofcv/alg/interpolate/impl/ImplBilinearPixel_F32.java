@@ -19,6 +19,7 @@
 package boofcv.alg.interpolate.impl;
 
 import boofcv.alg.interpolate.BilinearPixel;
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.struct.image.ImageFloat32;
 
 
@@ -92,4 +93,8 @@ public class ImplBilinearPixel_F32 extends BilinearPixel<ImageFloat32> {
 		return val;
 	}
 
+	@Override
+	public InterpolatePixelS<ImageFloat32> copy() {
+		return new ImplBilinearPixel_F32();
+	}
 }
@@ -19,6 +19,7 @@
 package boofcv.alg.interpolate.impl;
 
 import boofcv.alg.interpolate.BilinearPixel;
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.struct.image.ImageSInt16;
 
 
@@ -92,4 +93,8 @@ public class ImplBilinearPixel_S16 extends BilinearPixel<ImageSInt16> {
 		return val;
 	}
 
+	@Override
+	public InterpolatePixelS<ImageSInt16> copy() {
+		return new ImplBilinearPixel_S16();
+	}
 }
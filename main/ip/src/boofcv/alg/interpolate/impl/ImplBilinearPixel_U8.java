@@ -19,6 +19,7 @@
 package boofcv.alg.interpolate.impl;
 
 import boofcv.alg.interpolate.BilinearPixel;
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.struct.image.ImageUInt8;
 
 
@@ -92,4 +93,8 @@ public class ImplBilinearPixel_U8 extends BilinearPixel<ImageUInt8> {
 		return val;
 	}
 
+	@Override
+	public InterpolatePixelS<ImageUInt8> copy() {
+		return new ImplBilinearPixel_U8();
+	}
 }
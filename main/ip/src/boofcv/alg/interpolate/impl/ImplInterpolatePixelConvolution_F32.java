@@ -156,4 +156,8 @@ public class ImplInterpolatePixelConvolution_F32 implements InterpolatePixelS<Im
 		return kernel.getRadius();
 	}
 
+	@Override
+	public InterpolatePixelS<ImageFloat32> copy() {
+		return new ImplInterpolatePixelConvolution_F32(kernel,min,max);
+	}
 }
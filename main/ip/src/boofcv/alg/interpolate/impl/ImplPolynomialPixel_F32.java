@@ -18,6 +18,7 @@
 
 package boofcv.alg.interpolate.impl;
 
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.PolynomialPixel;
 import boofcv.struct.image.ImageFloat32;
 
@@ -105,4 +106,8 @@ public class ImplPolynomialPixel_F32 extends PolynomialPixel<ImageFloat32> {
 		return ret;
 	}
 
+	@Override
+	public InterpolatePixelS<ImageFloat32> copy() {
+		return new ImplPolynomialPixel_F32(M,min,max);
+	}
 }
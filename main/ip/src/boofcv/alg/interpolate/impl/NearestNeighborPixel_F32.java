@@ -18,6 +18,7 @@
 
 package boofcv.alg.interpolate.impl;
 
+import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.NearestNeighborPixel;
 import boofcv.struct.image.ImageFloat32;
 
@@ -61,4 +62,9 @@ public class NearestNeighborPixel_F32 extends NearestNeighborPixel<ImageFloat32>
 
 		return data[ orig.startIndex + yy*stride + xx];
 	}
+
+	@Override
+	public InterpolatePixelS<ImageFloat32> copy() {
+		return new NearestNeighborPixel_F32();
+	}
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageBase;
+
+import static boofcv.alg.misc.ConcurrentPixelMath.rows;
+
+/**
+ * Concurrent version of functions in {@link GImageMiscOps}.  The image is split up into bands of rows and each
+ * band is processed in a different thread.  Output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class ConcurrentImageMiscOps {
+
+	/**
+	 * Concurrent version of {@link GImageMiscOps#copy(int, int, int, int, int, int, ImageBase, ImageBase)}
+	 */
+	public static void copy( final int srcX , final int srcY , final int dstX , final int dstY ,
+							 final int width , int height ,
+							 final ImageBase input , final ImageBase output ) {
+		if( input.width < srcX+width || input.height < srcY+height )
+			throw new IllegalArgumentException("Copy region must be contained input image");
+		if( output.width < dstX+width || output.height < dstY+height )
+			throw new IllegalArgumentException("Copy region must be contained output image");
+
+		BoofConcurrency.loopRows(0,height,width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GImageMiscOps.copy(srcX,srcY+y0,dstX,dstY+y0,width,y1-y0,input,output);
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GImageMiscOps#fill(ImageBase, double)}
+	 */
+	public static void fill( final ImageBase input , final double value ) {
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GImageMiscOps.fill(rows(input,y0,y1),value);
+			}
+		});
+	}
+}
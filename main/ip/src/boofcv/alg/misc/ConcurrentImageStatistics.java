@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageSingleBand;
+
+import static boofcv.alg.misc.ConcurrentPixelMath.rows;
+
+/**
+ * <p>
+ * Concurrent version of {@link GImageStatistics}.  The image is split up into bands of rows and each thread computes
+ * a partial result for its band using {@link GImageStatistics}.  Partial results are stored by band and combined
+ * in the same order every time, so the output is deterministic.
+ * </p>
+ *
+ * <p>
+ * Integer results are identical to the single threaded version, unless the single threaded version overflows.
+ * Partial results are combined using doubles, so the sum of a large integer image is less likely to overflow.
+ * Floating point results can differ from the single threaded version by round off error since the order the
+ * pixels are summed in is different.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConcurrentImageStatistics {
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#maxAbs(ImageSingleBand)}
+	 */
+	public static double maxAbs( final ImageSingleBand input ) {
+		double[] partial = reduce(input, new Reduction() {
+			@Override
+			public double process(int y0, int y1) {
+				return GImageStatistics.maxAbs(rows(input, y0, y1));
+			}
+		});
+
+		double max = partial[0];
+		for( int i = 1; i < partial.length; i++ )
+			max = Math.max(max,partial[i]);
+		return max;
+	}
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#max(ImageSingleBand)}
+	 */
+	public static double max( final ImageSingleBand input ) {
+		double[] partial = reduce(input, new Reduction() {
+			@Override
+			public double process(int y0, int y1) {
+				return GImageStatistics.max(rows(input, y0, y1));
+			}
+		});
+
+		double max = partial[0];
+		for( int i = 1; i < partial.length; i++ )
+			max = Math.max(max,partial[i]);
+		return max;
+	}
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#min(ImageSingleBand)}
+	 */
+	public static double min( final ImageSingleBand input ) {
+		double[] partial = reduce(input, new Reduction() {
+			@Override
+			public double process(int y0, int y1) {
+				return GImageStatistics.min(rows(input, y0, y1));
+			}
+		});
+
+		double min = partial[0];
+		for( int i = 1; i < partial.length; i++ )
+			min = Math.min(min,partial[i]);
+		return min;
+	}
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#sum(ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> double sum( final T input ) {
+		double[] partial = reduce(input, new Reduction() {
+			@Override
+			public double process(int y0, int y1) {
+				return GImageStatistics.sum(rows(input, y0, y1));
+			}
+		});
+
+		return total(partial);
+	}
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#mean(ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> double mean( T input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#variance(ImageSingleBand, double)}
+	 */
+	public static <T extends ImageSingleBand> double variance( final T input , final double mean ) {
+		double[] partial = reduce(input, new Reduction() {
+			@Override
+			public double process(int y0, int y1) {
+				// convert back into a sum so that it can be weighted correctly
+				return GImageStatistics.variance(rows(input, y0, y1),mean)*(y1-y0);
+			}
+		});
+
+		return total(partial)/input.height;
+	}
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#meanDiffSq(ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> double meanDiffSq( final T inputA , final T inputB ) {
+		InputSanityCheck.checkSameShape(inputA,inputB);
+
+		double[] partial = reduce(inputA, new Reduction() {
+			@Override
+			public double process(int y0, int y1) {
+				return GImageStatistics.meanDiffSq(rows(inputA, y0, y1),rows(inputB, y0, y1))*(y1-y0);
+			}
+		});
+
+		return total(partial)/inputA.height;
+	}
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#meanDiffAbs(ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> double meanDiffAbs( final T inputA , final T inputB ) {
+		InputSanityCheck.checkSameShape(inputA,inputB);
+
+		double[] partial = reduce(inputA, new Reduction() {
+			@Override
+			public double process(int y0, int y1) {
+				return GImageStatistics.meanDiffAbs(rows(inputA, y0, y1),rows(inputB, y0, y1))*(y1-y0);
+			}
+		});
+
+		return total(partial)/inputA.height;
+	}
+
+	/**
+	 * Concurrent version of {@link GImageStatistics#histogram(ImageSingleBand, int, int[])}.  Each band computes
+	 * its own histogram which are then added together.
+	 */
+	public static void histogram( final ImageSingleBand input , final int minValue , final int histogram[] ) {
+		final int numBlocks = BoofConcurrency.computeBlocks(input.height,BoofConcurrency.minimumRows(input.width));
+
+		if( numBlocks <= 1 ) {
+			GImageStatistics.histogram(input,minValue,histogram);
+			return;
+		}
+
+		// the first band writes directly into the output histogram
+		final int[][] partial = new int[numBlocks][];
+		partial[0] = histogram;
+		for( int i = 1; i < numBlocks; i++ )
+			partial[i] = new int[histogram.length];
+
+		BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					int y0 = rowStart(input.height,numBlocks,block);
+					int y1 = rowStart(input.height,numBlocks,block+1);
+					GImageStatistics.histogram(rows(input,y0,y1),minValue,partial[block]);
+				}
+			}
+		});
+
+		for( int i = 1; i < numBlocks; i++ ) {
+			int[] h = partial[i];
+			for( int j = 0; j < histogram.length; j++ )
+				histogram[j] += h[j];
+		}
+	}
+
+	/**
+	 * Splits the image's rows up into bands and computes a partial result for each band.  The partial results are
+	 * returned in the order of the bands.
+	 */
+	private static double[] reduce( ImageSingleBand input , final Reduction op ) {
+		final int height = input.height;
+		final int numBlocks = BoofConcurrency.computeBlocks(height,BoofConcurrency.minimumRows(input.width));
+		final double[] results = new double[numBlocks];
+
+		if( numBlocks <= 1 ) {
+			results[0] = op.process(0,height);
+			return results;
+		}
+
+		BoofConcurrency.loopBlocks(0,numBlocks,1,new IntRangeTask() {
+			@Override
+			public void process(int block0, int block1) {
+				for( int block = block0; block < block1; block++ ) {
+					results[block] = op.process(rowStart(height,numBlocks,block),rowStart(height,numBlocks,block+1));
+				}
+			}
+		});
+
+		return results;
+	}
+
+	private static int rowStart( int height , int numBlocks , int block ) {
+		return (int)((long)height*block/numBlocks);
+	}
+
+	private static double total( double[] partial ) {
+		double total = 0;
+		for( int i = 0; i < partial.length; i++ )
+			total += partial[i];
+		return total;
+	}
+
+	/**
+	 * Computes a partial result for a band of rows
+	 */
+	private static interface Reduction {
+		public double process( int y0 , int y1 );
+	}
+}
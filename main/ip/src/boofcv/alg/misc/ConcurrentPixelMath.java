@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Concurrent version of {@link GPixelMath}.  The image is split up into bands of rows and each band is processed
+ * in a different thread by the equivalent function in {@link GPixelMath}.  All operations are pixel-wise, so the
+ * output is identical to the single threaded output.  Images with too few pixels are processed in the calling
+ * thread, see {@link BoofConcurrency}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConcurrentPixelMath {
+
+	/**
+	 * Concurrent version of {@link GPixelMath#abs(ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void abs( final T input , final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.abs(rows(input,y0,y1),rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#invert(ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void invert( final T input , final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.invert(rows(input,y0,y1),rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#divide(ImageSingleBand, double, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void divide( final T input , final double denominator ,
+														   final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.divide(rows(input,y0,y1),denominator,rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#divide(ImageSingleBand, double, double, double, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void divide( final T input , final double denominator ,
+														   final double lower , final double upper ,
+														   final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.divide(rows(input,y0,y1),denominator,lower,upper,rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#divide(ImageSingleBand, ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void divide( final T imgA , final T imgB , final T output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		BoofConcurrency.loopRows(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.divide(rows(imgA,y0,y1),rows(imgB,y0,y1),rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#multiply(ImageSingleBand, double, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void multiply( final T input , final double value ,
+															 final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.multiply(rows(input,y0,y1),value,rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#multiply(ImageSingleBand, double, double, double, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void multiply( final T input , final double value ,
+															 final double lower , final double upper ,
+															 final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.multiply(rows(input,y0,y1),value,lower,upper,rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#multiply(ImageSingleBand, ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void multiply( final T imgA , final T imgB , final T output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		BoofConcurrency.loopRows(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.multiply(rows(imgA,y0,y1),rows(imgB,y0,y1),rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#log(ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void log( final T input , final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.log(rows(input,y0,y1),rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#plus(ImageSingleBand, double, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void plus( final T input , final double value , final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.plus(rows(input,y0,y1),value,rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#plus(ImageSingleBand, double, double, double, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void plus( final T input , final double value ,
+														 final double lower , final double upper ,
+														 final T output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.plus(rows(input,y0,y1),value,lower,upper,rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#add(ImageSingleBand, ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand, O extends ImageSingleBand>
+	void add( final T inputA , final T inputB , final O output ) {
+		InputSanityCheck.checkSameShape(inputA,inputB,output);
+
+		BoofConcurrency.loopRows(0,inputA.height,inputA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.add(rows(inputA,y0,y1),rows(inputB,y0,y1),rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#subtract(ImageSingleBand, ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand, O extends ImageSingleBand>
+	void subtract( final T inputA , final T inputB , final O output ) {
+		InputSanityCheck.checkSameShape(inputA,inputB,output);
+
+		BoofConcurrency.loopRows(0,inputA.height,inputA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.subtract(rows(inputA,y0,y1),rows(inputB,y0,y1),rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#boundImage(ImageSingleBand, double, double)}
+	 */
+	public static <T extends ImageSingleBand> void boundImage( final T input , final double min , final double max ) {
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.boundImage(rows(input,y0,y1),min,max);
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link GPixelMath#diffAbs(ImageSingleBand, ImageSingleBand, ImageSingleBand)}
+	 */
+	public static <T extends ImageSingleBand> void diffAbs( final T inputA , final T inputB , final T output ) {
+		InputSanityCheck.checkSameShape(inputA,inputB,output);
+
+		BoofConcurrency.loopRows(0,inputA.height,inputA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GPixelMath.diffAbs(rows(inputA,y0,y1),rows(inputB,y0,y1),rows(output,y0,y1));
+			}
+		});
+	}
+
+	/**
+	 * Returns a sub-image which contains the specified rows.  If all the rows are requested then the
+	 * image itself is returned.
+	 *
+	 * @param image The image
+	 * @param y0 First row, inclusive
+	 * @param y1 Last row, exclusive
+	 * @return Image containing the rows.
+	 */
+	@SuppressWarnings({"unchecked"})
+	static <T extends ImageBase> T rows( T image , int y0 , int y1 ) {
+		if( y0 == 0 && y1 == image.height )
+			return image;
+		return (T)image.subimage(0,y0,image.width,y1,null);
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * The census transform describes each pixel using a bit string.  Each bit corresponds to a pixel inside a
+ * square window around it and is set to 1 if that pixel is darker than the center pixel.  Pixels are
+ * compared in row-major order, with the first pixel in the most significant bit.  The center pixel is skipped,
+ * so a window with radius r has (2r+1)<sup>2</sup>-1 bits.  Two census values are compared using the Hamming
+ * distance, e.g. Long.bitCount(a^b).  Since only the relative intensity is used the transform is insensitive
+ * to changes in gain and bias.
+ * </p>
+ *
+ * <p>
+ * Pixels outside the image are set to the value of the closest pixel inside the image, so every pixel
+ * has a valid census value.
+ * </p>
+ *
+ * <p>
+ * Large images are transformed in parallel, see {@link BoofConcurrency}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CensusTransform {
+
+	/**
+	 * Computes the census transform with up to 48 bits.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param radius Radius of the square window. 1 to 3, inclusive.
+	 * @param output Census transform of each pixel. If null a new image will be created. Modified.
+	 * @return Census transform
+	 */
+	public static ImageSInt64 square( final ImageUInt8 input , final int radius , ImageSInt64 output ) {
+		if( radius < 1 || radius > 3 )
+			throw new IllegalArgumentException("Radius must be from 1 to 3, inclusive");
+		final ImageSInt64 out = InputSanityCheck.checkDeclare(input, output, ImageSInt64.class);
+
+		BoofConcurrency.loopRows(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int offsets[] = windowOffsets(input, radius);
+				for( int y = y0; y < y1; y++ ) {
+					squareRow(input, radius, offsets, y, out.data, out.startIndex + y*out.stride);
+				}
+			}
+		});
+
+		return out;
+	}
+
+	/**
+	 * Computes the census transform with up to 24 bits.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param radius Radius of the square window. 1 or 2.
+	 * @param output Census transform of each pixel. If null a new image will be created. Modified.
+	 * @return Census transform
+	 */
+	public static ImageSInt32 square( final ImageUInt8 input , final int radius , ImageSInt32 output ) {
+		if( radius < 1 || radius > 2 )
+			throw new IllegalArgumentException("Radius must be 1 or 2");
+		final ImageSInt32 out = InputSanityCheck.checkDeclare(input, output, ImageSInt32.class);
+
+		BoofConcurrency.loopRows(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int offsets[] = windowOffsets(input, radius);
+				long row[] = new long[input.width];
+				for( int y = y0; y < y1; y++ ) {
+					squareRow(input, radius, offsets, y, row, 0);
+					int indexOut = out.startIndex + y*out.stride;
+					for( int x = 0; x < input.width; x++ ) {
+						out.data[indexOut++] = (int)row[x];
+					}
+				}
+			}
+		});
+
+		return out;
+	}
+
+	/**
+	 * Computes the census transform for a band of rows and writes it into an array.  Pixels outside the band
+	 * are used, so the results are the same as transforming the whole image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param radius Radius of the square window. 1 to 3, inclusive.
+	 * @param y0 First row in the band. Inclusive.
+	 * @param y1 Last row in the band. Exclusive.
+	 * @param output Storage for the census transform.  Pixel (x,y) is written to offset + (y-y0)*width + x.
+	 * @param offset Index of the first element in output.
+	 */
+	public static void squareRows( ImageUInt8 input , int radius , int y0 , int y1 ,
+								   long output[] , int offset ) {
+		if( radius < 1 || radius > 3 )
+			throw new IllegalArgumentException("Radius must be from 1 to 3, inclusive");
+		int offsets[] = windowOffsets(input, radius);
+
+		for( int y = y0; y < y1; y++ ) {
+			squareRow(input, radius, offsets, y, output, offset + (y-y0)*input.width);
+		}
+	}
+
+	/**
+	 * Offsets of pixels in the window relative to the center pixel, excluding the center
+	 */
+	private static int[] windowOffsets( ImageUInt8 input , int radius ) {
+		int offsets[] = new int[(2*radius+1)*(2*radius+1)-1];
+		int index = 0;
+		for( int i = -radius; i <= radius; i++ ) {
+			for( int j = -radius; j <= radius; j++ ) {
+				if( i != 0 || j != 0 )
+					offsets[index++] = i*input.stride + j;
+			}
+		}
+		return offsets;
+	}
+
+	/**
+	 * Computes the census transform for a single row
+	 */
+	private static void squareRow( ImageUInt8 input , int radius , int offsets[] , int y ,
+								   long output[] , int indexOut ) {
+		final int w = input.width;
+		final int h = input.height;
+		final int numBits = offsets.length;
+
+		int indexCenter = input.startIndex + y*input.stride;
+		boolean innerRow = y >= radius && y < h-radius;
+
+		for( int x = 0; x < w; x++ , indexCenter++ ) {
+			int center = input.data[indexCenter] & 0xFF;
+			long bits = 0;
+
+			if( innerRow && x >= radius && x < w-radius ) {
+				for( int k = 0; k < numBits; k++ ) {
+					bits <<= 1;
+					if( (input.data[indexCenter+offsets[k]] & 0xFF) < center )
+						bits |= 1;
+				}
+			} else {
+				// the window goes outside the image
+				for( int i = -radius; i <= radius; i++ ) {
+					int yy = Math.min(h-1,Math.max(0,y+i));
+					int indexRow = input.startIndex + yy*input.stride;
+					for( int j = -radius; j <= radius; j++ ) {
+						if( i == 0 && j == 0 )
+							continue;
+						int xx = Math.min(w-1,Math.max(0,x+j));
+						bits <<= 1;
+						if( (input.data[indexRow+xx] & 0xFF) < center )
+							bits |= 1;
+					}
+				}
+			}
+			output[indexOut+x] = bits;
+		}
+	}
+}
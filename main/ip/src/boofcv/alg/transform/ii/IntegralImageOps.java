@@ -20,6 +20,8 @@ package boofcv.alg.transform.ii;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.misc.IntRangeTask;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
@@ -29,6 +31,12 @@ import boofcv.struct.image.*;
  * Common operations for dealing with integral images.
  * </p>
  *
+ * <p>
+ * Large images are transformed in parallel, see {@link BoofConcurrency}.  First the sum along each row is found
+ * in bands of rows, then the previous row is added in bands of columns.  Results are identical to the single
+ * threaded results.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class IntegralImageOps {
@@ -43,7 +51,7 @@ public class IntegralImageOps {
 	public static ImageFloat32 transform( ImageFloat32 input , ImageFloat32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		transformAny(input,transformed);
 
 		return transformed;
 	}
@@ -58,7 +66,7 @@ public class IntegralImageOps {
 	public static ImageFloat64 transform( ImageFloat64 input , ImageFloat64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		transformAny(input,transformed);
 
 		return transformed;
 	}
@@ -73,7 +81,7 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageUInt8 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		transformAny(input,transformed);
 
 		return transformed;
 	}
@@ -88,7 +96,7 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageSInt32 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		transformAny(input,transformed);
 
 		return transformed;
 	}
@@ -103,11 +111,66 @@ public class IntegralImageOps {
 	public static ImageSInt64 transform( ImageSInt64 input , ImageSInt64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt64.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		transformAny(input,transformed);
 
 		return transformed;
 	}
 
+	/**
+	 * Selects between the single threaded and concurrent integral image algorithms.
+	 */
+	private static void transformAny( final ImageSingleBand input , final ImageSingleBand transformed ) {
+		int blocks = BoofConcurrency.computeBlocks(input.height,BoofConcurrency.minimumRows(input.width));
+
+		if( blocks <= 1 ) {
+			if( input instanceof ImageFloat32 ) {
+				ImplIntegralImageOps.transform((ImageFloat32)input,(ImageFloat32)transformed);
+			} else if( input instanceof ImageFloat64 ) {
+				ImplIntegralImageOps.transform((ImageFloat64)input,(ImageFloat64)transformed);
+			} else if( input instanceof ImageUInt8 ) {
+				ImplIntegralImageOps.transform((ImageUInt8)input,(ImageSInt32)transformed);
+			} else if( input instanceof ImageSInt32 ) {
+				ImplIntegralImageOps.transform((ImageSInt32)input,(ImageSInt32)transformed);
+			} else {
+				ImplIntegralImageOps.transform((ImageSInt64)input,(ImageSInt64)transformed);
+			}
+			return;
+		}
+
+		BoofConcurrency.loopRows(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( input instanceof ImageFloat32 ) {
+					ImplIntegralImageOps.transformRows((ImageFloat32)input,(ImageFloat32)transformed,y0,y1);
+				} else if( input instanceof ImageFloat64 ) {
+					ImplIntegralImageOps.transformRows((ImageFloat64)input,(ImageFloat64)transformed,y0,y1);
+				} else if( input instanceof ImageUInt8 ) {
+					ImplIntegralImageOps.transformRows((ImageUInt8)input,(ImageSInt32)transformed,y0,y1);
+				} else if( input instanceof ImageSInt32 ) {
+					ImplIntegralImageOps.transformRows((ImageSInt32)input,(ImageSInt32)transformed,y0,y1);
+				} else {
+					ImplIntegralImageOps.transformRows((ImageSInt64)input,(ImageSInt64)transformed,y0,y1);
+				}
+			}
+		});
+
+		int minColumns = Math.max(1,BoofConcurrency.getMinimumPixels()/Math.max(1,input.height));
+		BoofConcurrency.loopBlocks(0,input.width,minColumns,new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				if( transformed instanceof ImageFloat32 ) {
+					ImplIntegralImageOps.transformColumns((ImageFloat32)transformed,x0,x1);
+				} else if( transformed instanceof ImageFloat64 ) {
+					ImplIntegralImageOps.transformColumns((ImageFloat64)transformed,x0,x1);
+				} else if( transformed instanceof ImageSInt32 ) {
+					ImplIntegralImageOps.transformColumns((ImageSInt32)transformed,x0,x1);
+				} else {
+					ImplIntegralImageOps.transformColumns((ImageSInt64)transformed,x0,x1);
+				}
+			}
+		});
+	}
+
 	/**
 	 * General code for convolving a box filter across an image using the integral image.
 	 *
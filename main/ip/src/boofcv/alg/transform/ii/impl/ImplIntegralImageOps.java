@@ -62,6 +62,41 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row for rows y0 to y1-1.
+	 */
+	public static void transformRows( final ImageFloat32 input , final ImageFloat32 transformed ,
+									  int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			float total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Second pass of the integral image.  Adds the previous row to each row for columns x0 to x1-1.  The
+	 * result is identical to {@link #transform} since the same numbers are added together in the same order.
+	 */
+	public static void transformColumns( final ImageFloat32 transformed , int x0 , int x1 )
+	{
+		for( int y = 1; y < transformed.height; y++ ) {
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
+
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+			}
+		}
+	}
+
 	public static void transform( final ImageFloat64 input , final ImageFloat64 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -88,6 +123,41 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row for rows y0 to y1-1.
+	 */
+	public static void transformRows( final ImageFloat64 input , final ImageFloat64 transformed ,
+									  int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			double total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Second pass of the integral image.  Adds the previous row to each row for columns x0 to x1-1.  The
+	 * result is identical to {@link #transform} since the same numbers are added together in the same order.
+	 */
+	public static void transformColumns( final ImageFloat64 transformed , int x0 , int x1 )
+	{
+		for( int y = 1; y < transformed.height; y++ ) {
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
+
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+			}
+		}
+	}
+
 	public static void transform( final ImageUInt8 input , final ImageSInt32 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -114,6 +184,24 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row for rows y0 to y1-1.
+	 */
+	public static void transformRows( final ImageUInt8 input , final ImageSInt32 transformed ,
+									  int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			int total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+			}
+		}
+	}
+
 	public static void transform( final ImageSInt32 input , final ImageSInt32 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -140,6 +228,41 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row for rows y0 to y1-1.
+	 */
+	public static void transformRows( final ImageSInt32 input , final ImageSInt32 transformed ,
+									  int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			int total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Second pass of the integral image.  Adds the previous row to each row for columns x0 to x1-1.  The
+	 * result is identical to {@link #transform} since the same numbers are added together in the same order.
+	 */
+	public static void transformColumns( final ImageSInt32 transformed , int x0 , int x1 )
+	{
+		for( int y = 1; y < transformed.height; y++ ) {
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
+
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+			}
+		}
+	}
+
 	public static void transform( final ImageSInt64 input , final ImageSInt64 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -166,6 +289,41 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row for rows y0 to y1-1.
+	 */
+	public static void transformRows( final ImageSInt64 input , final ImageSInt64 transformed ,
+									  int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			long total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Second pass of the integral image.  Adds the previous row to each row for columns x0 to x1-1.  The
+	 * result is identical to {@link #transform} since the same numbers are added together in the same order.
+	 */
+	public static void transformColumns( final ImageSInt64 transformed , int x0 , int x1 )
+	{
+		for( int y = 1; y < transformed.height; y++ ) {
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
+
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+			}
+		}
+	}
+
 	public static void convolve( ImageFloat32 integral ,
 								 IntegralKernel kernel,
 								 ImageFloat32 output )
@@ -162,6 +162,21 @@ public class GeneralizedImageOps {
 		throw new RuntimeException("Unknown type: "+type.getSimpleName());
 	}
 
+	/**
+	 * Creates a single band image by first checking to see if one can be recycled from the pool.
+	 *
+	 * @param type Type of image
+	 * @param width Image width
+	 * @param height Image height
+	 * @param pool Pool that the image is drawn from.  If null a new image is declared.
+	 * @return The image.  If it came from the pool then its contents are not defined.
+	 */
+	public static <T extends ImageSingleBand> T createSingleBand(Class<T> type, int width, int height, ImagePool pool) {
+		if( pool == null )
+			return createSingleBand(type,width,height);
+		return pool.get(type,width,height);
+	}
+
 	public static <T extends ImageInterleaved> T createInterleaved(ImageDataType type, int width, int height , int numBands) {
 		Class<T> typeClass = ImageType.getImageClass(ImageType.Family.INTERLEAVED, type);
 		return createInterleaved(typeClass,width,height,numBands);
@@ -36,5 +36,10 @@ public abstract class BorderIndex1D {
 
 	public abstract int getIndex( int index );
 
+	/**
+	 * Creates a new instance of the same type.  The length is not copied.
+	 */
+	public abstract BorderIndex1D copy();
+
 	protected int length;
 }
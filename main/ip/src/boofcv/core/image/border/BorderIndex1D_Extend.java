@@ -33,4 +33,9 @@ public class BorderIndex1D_Extend extends BorderIndex1D {
 			return length-1;
 		return index;
 	}
+
+	@Override
+	public BorderIndex1D copy() {
+		return new BorderIndex1D_Extend();
+	}
 }
@@ -32,4 +32,9 @@ public class BorderIndex1D_Wrap extends BorderIndex1D {
 		else
 			return index;
 	}
+
+	@Override
+	public BorderIndex1D copy() {
+		return new BorderIndex1D_Wrap();
+	}
 }
@@ -49,4 +49,10 @@ public abstract class ImageBorder<T extends ImageSingleBand> {
 	 * Generalized non image type specific set.  This can be very slow
 	 */
 	public abstract double getGeneral( int x , int y );
+
+	/**
+	 * Creates a new instance of this border with the same configuration.  The image is not copied and must be
+	 * specified using {@link #setImage}.  Useful when each thread needs its own instance.
+	 */
+	public abstract ImageBorder<T> copy();
 }
@@ -74,4 +74,9 @@ public class ImageBorder1D_I32<T extends ImageInteger> extends ImageBorder_I32<T
 	public void setOutside(int x, int y, int val) {
 		image.set(colWrap.getIndex(x) , rowWrap.getIndex(y),val);
 	}
+
+	@Override
+	public ImageBorder1D_I32<T> copy() {
+		return new ImageBorder1D_I32<T>(rowWrap.copy(),colWrap.copy());
+	}
 }
@@ -74,4 +74,9 @@ public class ImageBorder1D_I64 extends ImageBorder_I64 {
 	public void setOutside(int x, int y, long val) {
 		image.set(colWrap.getIndex(x) , rowWrap.getIndex(y),val);
 	}
+
+	@Override
+	public ImageBorder1D_I64 copy() {
+		return new ImageBorder1D_I64(rowWrap.copy(),colWrap.copy());
+	}
 }
@@ -73,6 +73,11 @@ public class ImageBorderValue {
 			return value;
 		}
 
+		@Override
+		public ImageBorder_I64 copy() {
+			return new Value_I64(value);
+		}
+
 		@Override
 		public void setOutside(int x, int y, long val) {
 			// do nothing since it is a constant value
@@ -96,6 +101,11 @@ public class ImageBorderValue {
 			return value;
 		}
 
+		@Override
+		public ImageBorder_F64 copy() {
+			return new Value_F64(value);
+		}
+
 		@Override
 		public void setOutside(int x, int y, double val) {
 			// do nothing since it is a constant value
@@ -119,6 +129,11 @@ public class ImageBorderValue {
 			return value;
 		}
 
+		@Override
+		public ImageBorder_F32 copy() {
+			return new Value_F32(value);
+		}
+
 		@Override
 		public void setOutside(int x, int y, float val) {
 			// do nothing since it is a constant value
@@ -142,6 +157,11 @@ public class ImageBorderValue {
 			return value;
 		}
 
+		@Override
+		public ImageBorder_I32 copy() {
+			return new Value_I(value);
+		}
+
 		@Override
 		public void setOutside(int x, int y, int value) {
 			// do nothing since it is a constant
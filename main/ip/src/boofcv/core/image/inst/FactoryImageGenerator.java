@@ -19,6 +19,7 @@
 package boofcv.core.image.inst;
 
 import boofcv.core.image.ImageGenerator;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
 
 import java.lang.reflect.Array;
@@ -37,6 +38,11 @@ public class FactoryImageGenerator {
 		return new SingleBandGenerator(type);
 	}
 
+	public static <T extends ImageSingleBand> ImageGenerator<T> create( Class<T> type , ImagePool pool )
+	{
+		return new PoolImageGenerator<T>(type,pool);
+	}
+
 	public static <T extends ImageSingleBand> ImageGenerator<T> create( T original )
 	{
 		return new WrapImage(original);
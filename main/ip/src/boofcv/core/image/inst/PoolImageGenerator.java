@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image.inst;
+
+import boofcv.core.image.ImageGenerator;
+import boofcv.struct.image.ImagePool;
+import boofcv.struct.image.ImageSingleBand;
+
+import java.lang.reflect.Array;
+
+
+/**
+ * Creates single band images by drawing them from an {@link ImagePool}.  The contents of images
+ * it creates are not defined.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class PoolImageGenerator<T extends ImageSingleBand> implements ImageGenerator<T> {
+
+	Class<T> type;
+
+	ImagePool pool;
+
+	public PoolImageGenerator(Class<T> type, ImagePool pool) {
+		this.type = type;
+		this.pool = pool;
+	}
+
+	@Override
+	public T[] createArray(int number) {
+		return (T[])Array.newInstance(type,number);
+	}
+
+	@Override
+	public T createInstance(int width, int height) {
+		return pool.get(type,width,height);
+	}
+
+	@Override
+	public Class<T> getType() {
+		return type;
+	}
+
+	public ImagePool getPool() {
+		return pool;
+	}
+}
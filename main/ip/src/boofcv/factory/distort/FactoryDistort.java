@@ -94,4 +94,23 @@ public class FactoryDistort {
 			throw new IllegalArgumentException("Image type not supported: "+imageType.getSimpleName());
 		}
 	}
+
+	/**
+	 * Creates a {@link boofcv.alg.distort.ImageDistort} for multi-spectral images which caches the distortion.
+	 * The cache is shared by all the bands.
+	 *
+	 * @see #distortCached
+	 *
+	 * @param interp Which interpolation algorithm should be used.
+	 * @param border Specifies how requests to pixels outside the image should be handled.  If null then no change
+	 * @param imageType Type of image being processed.
+	 * @return Image distort which caches the distortion.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageDistort<MultiSpectral<T>> distortCachedMS(InterpolatePixelS<T> interp, ImageBorder border ,
+												   Class<T> imageType)
+	{
+		ImageDistort<T> distortSingle = distortCached(interp,border,imageType);
+		return new ImplImageDistort_MS<T>(distortSingle);
+	}
 }
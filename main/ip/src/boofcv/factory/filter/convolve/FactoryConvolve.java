@@ -34,6 +34,10 @@ import java.lang.reflect.Method;
 
 
 /**
+ * Factory for creating {@link ConvolveInterface}.  Filters are invoked using the functions in
+ * {@link ConvolveImageNoBorder}, {@link ConvolveWithBorder}, and {@link ConvolveNormalized}, which process large images
+ * in parallel when {@link boofcv.misc.BoofConcurrency} is enabled.
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
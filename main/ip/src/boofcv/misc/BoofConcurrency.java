@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ * Library wide settings for algorithms which can split their work across multiple threads and the thread pool
+ * they share.  Work is broken up into contiguous blocks of indexes (e.g. rows in an image) with each block
+ * being processed by a different thread.  The calling thread always processes one of the blocks itself.
+ * </p>
+ *
+ * <p>
+ * Concurrency can be turned off by calling {@link #setEnabled(boolean)}, in which case all work is done in the
+ * calling thread and the results are identical to the single threaded implementations.  Calls which are
+ * made from inside a worker thread are also processed in that thread, which prevents nested loops from waiting
+ * on themselves.
+ * </p>
+ *
+ * <p>
+ * Image operations will not create a block with fewer than {@link #getMinimumPixels()} pixels in it, so small
+ * images are processed in the calling thread where the overhead of switching threads would dominate.  By default
+ * a pool of daemon threads is created when first needed.  An application which already manages its own threads can
+ * provide its own pool using {@link #setExecutor(java.util.concurrent.ExecutorService)}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	// if false then all work is done in the calling thread
+	private static volatile boolean enabled = true;
+
+	// maximum number of threads, including the calling thread, that can work on a single task
+	private static int maxThreads = Runtime.getRuntime().availableProcessors();
+
+	// minimum number of pixels an image operation will give to a single thread
+	private static volatile int minimumPixels = 40000;
+
+	// pool of worker threads.  Lazily created if not provided by the user
+	private static ExecutorService pool;
+	// true if the pool was provided by the user and should not be shutdown
+	private static boolean userPool = false;
+
+	// true if the current thread is processing a block submitted by this class
+	private static final ThreadLocal<Boolean> insideTask = new ThreadLocal<Boolean>() {
+		@Override
+		protected Boolean initialValue() {
+			return false;
+		}
+	};
+
+	/**
+	 * Turns concurrent processing on or off.  When off all algorithms run in the calling thread.
+	 *
+	 * @param enabled true to enable concurrency or false to run everything in the calling thread.
+	 */
+	public static void setEnabled( boolean enabled ) {
+		BoofConcurrency.enabled = enabled;
+	}
+
+	/**
+	 * Returns true if concurrent processing is enabled.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Specifies the maximum number of threads which can work on a single task, including the calling thread.
+	 * The shared thread pool is discarded and will be recreated with the new size when next needed.
+	 *
+	 * @param maxThreads Maximum number of threads.  Must be &ge; 1.
+	 */
+	public static synchronized void setMaxThreads( int maxThreads ) {
+		if( maxThreads < 1 )
+			throw new IllegalArgumentException("Number of threads must be at least one");
+		BoofConcurrency.maxThreads = maxThreads;
+		if( pool != null && !userPool ) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Returns the maximum number of threads which can work on a single task, including the calling thread.
+	 */
+	public static synchronized int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Specifies the thread pool which blocks are submitted to.  The pool should have at least
+	 * {@link #getMaxThreads()}-1 threads.  If null then the internal pool is used.  A pool provided by the user
+	 * is never shutdown.
+	 *
+	 * @param executor The thread pool or null for the internal pool.
+	 */
+	public static synchronized void setExecutor( ExecutorService executor ) {
+		if( pool != null && !userPool )
+			pool.shutdown();
+		pool = executor;
+		userPool = executor != null;
+	}
+
+	/**
+	 * Specifies the minimum number of pixels an image operation will assign to a single thread.  Images with
+	 * fewer than twice this number of pixels are processed entirely in the calling thread.
+	 *
+	 * @param minimumPixels Minimum number of pixels in a block.  Must be &ge; 1.
+	 */
+	public static void setMinimumPixels( int minimumPixels ) {
+		if( minimumPixels < 1 )
+			throw new IllegalArgumentException("Minimum number of pixels must be at least one");
+		BoofConcurrency.minimumPixels = minimumPixels;
+	}
+
+	/**
+	 * Returns the minimum number of pixels an image operation will assign to a single thread.
+	 */
+	public static int getMinimumPixels() {
+		return minimumPixels;
+	}
+
+	/**
+	 * Minimum number of rows in a block for an image of the specified width, as determined by
+	 * {@link #getMinimumPixels()}.
+	 *
+	 * @param width Number of pixels in each row.
+	 * @return Minimum number of rows in a block.
+	 */
+	public static int minimumRows( int width ) {
+		return Math.max(1,minimumPixels/Math.max(1,width));
+	}
+
+	/**
+	 * Returns true if the current thread is processing a block which was submitted by this class.
+	 */
+	public static boolean isWorkerThread() {
+		return insideTask.get();
+	}
+
+	/**
+	 * Computes how many blocks the range of indexes will be broken up into.  Returns 1 if concurrency is
+	 * disabled or if the calling thread is a worker thread.
+	 *
+	 * @param length Number of indexes in the range.
+	 * @param minBlockSize Minimum number of indexes in a block.
+	 * @return Number of blocks.
+	 */
+	public static int computeBlocks( int length , int minBlockSize ) {
+		if( !enabled || length <= 0 || isWorkerThread() )
+			return 1;
+
+		int blocks = length/Math.max(1,minBlockSize);
+		return Math.max(1,Math.min(blocks,getMaxThreads()));
+	}
+
+	/**
+	 * Breaks a range of image rows up into blocks and processes each block in a different thread.  Each block
+	 * will contain at least {@link #getMinimumPixels()} pixels.
+	 *
+	 * @see #loopBlocks(int, int, int, IntRangeTask)
+	 *
+	 * @param y0 First row, inclusive.
+	 * @param y1 Last row, exclusive.
+	 * @param width Number of pixels in each row.
+	 * @param task Processes a block of rows.
+	 */
+	public static void loopRows( int y0 , int y1 , int width , IntRangeTask task ) {
+		loopBlocks(y0, y1, minimumRows(width), task);
+	}
+
+	/**
+	 * Breaks the range of indexes up into contiguous blocks and processes each block in a different thread.
+	 * Returns after all blocks have been processed.  If a block throws an exception then it is rethrown
+	 * in the calling thread.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param minBlockSize Minimum number of indexes in a block.  Used to avoid splitting up small tasks.
+	 * @param task Processes a block of indexes.
+	 */
+	public static void loopBlocks( int start , int end , int minBlockSize , final IntRangeTask task ) {
+		int length = end-start;
+		int numBlocks = computeBlocks(length,minBlockSize);
+
+		if( numBlocks <= 1 ) {
+			if( length > 0 )
+				task.process(start,end);
+			return;
+		}
+
+		ExecutorService pool = getPool();
+
+		// submit all but the first block to the pool, the first block is processed by this thread
+		List<Future<?>> futures = new ArrayList<Future<?>>(numBlocks-1);
+		for( int i = 1; i < numBlocks; i++ ) {
+			final int index0 = start + (int)((long)length*i/numBlocks);
+			final int index1 = start + (int)((long)length*(i+1)/numBlocks);
+			futures.add(pool.submit(new Runnable() {
+				@Override
+				public void run() {
+					insideTask.set(true);
+					try {
+						task.process(index0, index1);
+					} finally {
+						insideTask.set(false);
+					}
+				}
+			}));
+		}
+
+		RuntimeException localException = null;
+		insideTask.set(true);
+		try {
+			task.process(start, start + length/numBlocks);
+		} catch( RuntimeException e ) {
+			localException = e;
+		} finally {
+			insideTask.set(false);
+		}
+
+		// wait for all the blocks to finish, even if one failed, so that no thread is still writing
+		Throwable failure = localException;
+		boolean interrupted = false;
+		for( Future<?> f : futures ) {
+			while( true ) {
+				try {
+					f.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					if( failure == null )
+						failure = e.getCause();
+					break;
+				}
+			}
+		}
+		if( interrupted )
+			Thread.currentThread().interrupt();
+
+		if( failure != null ) {
+			if( failure instanceof RuntimeException )
+				throw (RuntimeException)failure;
+			if( failure instanceof Error )
+				throw (Error)failure;
+			throw new RuntimeException(failure);
+		}
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if( pool == null ) {
+			pool = Executors.newFixedThreadPool(Math.max(1,maxThreads-1),new ThreadFactory() {
+				int count = 0;
+				@Override
+				public Thread newThread(Runnable r) {
+					return new Worker(r,"BoofCV-worker-"+(count++));
+				}
+			});
+		}
+		return pool;
+	}
+
+	/**
+	 * Threads in the internal pool.  They are daemon threads so that they don't keep the application alive.
+	 */
+	private static class Worker extends Thread {
+		public Worker(Runnable target, String name) {
+			super(target, name);
+			setDaemon(true);
+		}
+	}
+}
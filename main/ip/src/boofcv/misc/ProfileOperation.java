@@ -19,6 +19,10 @@
 package boofcv.misc;
 
 /**
+ * Simple timing of an operation by running it in a loop.  There is no warmup control or fork isolation, so it's
+ * only good for rough comparisons.  Benchmarks which are used to track performance between releases should
+ * be written for the JMH benchmark module in main/jmh instead.
+ *
  * @author Peter Abeles
  */
 public class ProfileOperation {
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.distort;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * Precomputed {@link PixelTransform_F32} for every pixel inside an image.  The distorted coordinates are
+ * stored in a single float array with x and y interleaved, (x,y) of pixel (i,j) is at index (j*width + i)*2.
+ * Compared to an array of points this avoids creating an object per pixel and the array can be saved
+ * and loaded directly, avoiding the need to recompute expensive transforms.
+ * </p>
+ *
+ * <p>
+ * Only pixels inside the image can be computed.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PixelTransformCached_F32 extends PixelTransform_F32 implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// size of the image the transform was computed for
+	private int width;
+	private int height;
+	// distorted pixel coordinates with x and y interleaved
+	private float map[];
+
+	/**
+	 * Computes the transform for every pixel in the image
+	 *
+	 * @param width Image width
+	 * @param height Image height
+	 * @param transform The transform which is to be cached.  Not modified.
+	 */
+	public PixelTransformCached_F32( int width , int height , PixelTransform_F32 transform ) {
+		this(width,height,new float[width*height*2]);
+
+		int index = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				transform.compute(x,y);
+				map[index++] = transform.distX;
+				map[index++] = transform.distY;
+			}
+		}
+	}
+
+	/**
+	 * Creates a transform from a precomputed map.  The array is saved internally and not copied.
+	 *
+	 * @param width Image width
+	 * @param height Image height
+	 * @param map Distorted pixel coordinates with x and y interleaved.  Must have a length of width*height*2.
+	 */
+	public PixelTransformCached_F32( int width , int height , float map[] ) {
+		if( map.length != width*height*2 )
+			throw new IllegalArgumentException("Expected map to have a length of "+(width*height*2));
+		this.width = width;
+		this.height = height;
+		this.map = map;
+	}
+
+	public PixelTransformCached_F32() {
+	}
+
+	@Override
+	public void compute(int x, int y) {
+		int index = (y*width + x)*2;
+		distX = map[index];
+		distY = map[index+1];
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the internal array.  Distorted pixel coordinates with x and y interleaved.
+	 */
+	public float[] getMap() {
+		return map;
+	}
+}
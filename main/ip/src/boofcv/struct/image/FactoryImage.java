@@ -45,4 +45,17 @@ public class FactoryImage {
 			throw new IllegalArgumentException("Unknown image type: "+type);
 		}
 	}
+
+	/**
+	 * Creates an image of the specified type, recycling one from the pool if possible.
+	 *
+	 * @param pool Pool that the image is drawn from.  If null a new image is declared.
+	 * @return The image.  If it came from the pool then its contents are not defined.
+	 */
+	public static <T extends ImageSingleBand> T create( Class<T> type , int width , int height , ImagePool pool )
+	{
+		if( pool == null )
+			return create(type,width,height);
+		return pool.get(type,width,height);
+	}
 }
@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.testing.BoofTesting;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Array;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * <p>
+ * Recycles images so that algorithms which need temporary or per-frame images do not have to keep on declaring new
+ * memory.  Images are requested with {@link #get} and handed back with {@link #recycle} once they are no longer
+ * needed.  A request is only satisfied from the pool if an image of the exact same type and shape has been
+ * recycled, otherwise a new image is declared.  The contents of an image returned by the pool are not defined.
+ * </p>
+ *
+ * <p>
+ * Retained images are released when the total number of bytes exceeds {@link #getMaxBytes()}, oldest first.
+ * They are also only softly referenced, which allows the garbage collector to reclaim them when memory is low.
+ * Counters for hits, misses, evictions, and bytes retained are provided to help tune how the pool is used.
+ * </p>
+ *
+ * <p>
+ * All functions are synchronized and a single pool can be shared between threads.  Sub-images can't be recycled
+ * since they don't own their data.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class ImagePool {
+
+	// retained images organized by type and shape.  Most recently recycled is at the end
+	private Map<Key,LinkedList<Entry>> available = new HashMap<Key,LinkedList<Entry>>();
+	// all retained images in the order they were recycled.  Oldest is at the front
+	private LinkedList<Entry> recycled = new LinkedList<Entry>();
+	// soft references to images which the garbage collector has reclaimed
+	private ReferenceQueue<ImageBase> collected = new ReferenceQueue<ImageBase>();
+
+	// maximum number of bytes it will retain
+	private long maxBytes;
+
+	// statistics
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long bytesRetained;
+
+	/**
+	 * Creates a pool with the specified memory limit
+	 *
+	 * @param maxBytes Maximum number of bytes in images that it will retain.
+	 */
+	public ImagePool(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Creates a pool which is only limited by available memory.
+	 */
+	public ImagePool() {
+		this(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Returns a single band image of the specified type and shape.
+	 *
+	 * @param type Type of single band image
+	 * @param width Image width
+	 * @param height Image height
+	 * @return Recycled or newly declared image.  Contents are not defined.
+	 */
+	public synchronized <T extends ImageSingleBand> T get( Class<T> type , int width , int height ) {
+		type = BoofTesting.convertGenericToSpecificType(type);
+
+		T found = (T)take(new Key(type, null, 1, width, height));
+		if( found != null )
+			return found;
+
+		return GeneralizedImageOps.createSingleBand(type, width, height);
+	}
+
+	/**
+	 * Returns an image of the specified type and shape.
+	 *
+	 * @param type Type of image
+	 * @param width Image width
+	 * @param height Image height
+	 * @return Recycled or newly declared image.  Contents are not defined.
+	 */
+	public synchronized <T extends ImageBase> T get( ImageType<T> type , int width , int height ) {
+		Key key;
+		switch( type.getFamily() ) {
+			case SINGLE_BAND:
+				key = new Key(type.getImageClass(),null,1,width,height);
+				break;
+
+			case INTERLEAVED:
+				key = new Key(type.getImageClass(),null,type.getNumBands(),width,height);
+				break;
+
+			case MULTI_SPECTRAL:
+				key = new Key(MultiSpectral.class,type.getImageClass(),type.getNumBands(),width,height);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Type not yet supported");
+		}
+
+		T found = (T)take(key);
+		if( found != null )
+			return found;
+
+		return type.createImage(width,height);
+	}
+
+	/**
+	 * Hands an image back to the pool so that it can be returned by a future call to get.  The image must not be
+	 * used by the caller after it has been recycled.  An image which is already in the pool can't be recycled
+	 * again, since it would then be handed out to two different callers.
+	 *
+	 * @param image The image being recycled.  If null then nothing happens.
+	 */
+	public synchronized void recycle( ImageBase image ) {
+		if( image == null )
+			return;
+		if( image.isSubimage() )
+			throw new IllegalArgumentException("Sub-images can't be recycled");
+
+		purgeCollected();
+
+		Key key = keyFor(image);
+		LinkedList<Entry> list = available.get(key);
+		if( list != null ) {
+			for( Entry e : list ) {
+				if( e.get() == image )
+					throw new IllegalArgumentException("Image has already been recycled");
+			}
+		}
+
+		Entry e = new Entry(image,key,computeBytes(image),collected);
+		if( e.bytes > maxBytes ) {
+			e.clear();
+			evictions++;
+			return;
+		}
+
+		if( list == null ) {
+			list = new LinkedList<Entry>();
+			available.put(e.key,list);
+		}
+		list.add(e);
+		recycled.add(e);
+		bytesRetained += e.bytes;
+
+		while( bytesRetained > maxBytes ) {
+			discard(recycled.getFirst());
+			evictions++;
+		}
+	}
+
+	/**
+	 * Releases all retained images.  Statistics are not modified.
+	 */
+	public synchronized void clear() {
+		for( Entry e : recycled ) {
+			e.removed = true;
+			e.clear();
+		}
+		recycled.clear();
+		available.clear();
+		bytesRetained = 0;
+	}
+
+	/**
+	 * Sets the hit, miss, and eviction counters back to zero.
+	 */
+	public synchronized void resetStatistics() {
+		hits = misses = evictions = 0;
+	}
+
+	/**
+	 * Removes the newest image which matches the key and returns it, or null if there is none
+	 */
+	private ImageBase take( Key key ) {
+		purgeCollected();
+
+		LinkedList<Entry> list = available.get(key);
+		while( list != null && list.size() > 0 ) {
+			Entry e = list.getLast();
+			ImageBase image = e.get();
+			discard(e);
+			if( image != null ) {
+				hits++;
+				return image;
+			}
+			// reclaimed by the garbage collector but not enqueued yet
+			evictions++;
+			list = available.get(key);
+		}
+
+		misses++;
+		return null;
+	}
+
+	/**
+	 * Removes images which have been reclaimed by the garbage collector
+	 */
+	private void purgeCollected() {
+		Entry e;
+		while( (e = (Entry)collected.poll()) != null ) {
+			if( !e.removed ) {
+				discard(e);
+				evictions++;
+			}
+		}
+	}
+
+	/**
+	 * Removes the entry from all data structures
+	 */
+	private void discard( Entry e ) {
+		e.removed = true;
+		e.clear();
+		bytesRetained -= e.bytes;
+
+		LinkedList<Entry> list = available.get(e.key);
+		list.remove(e);
+		if( list.isEmpty() )
+			available.remove(e.key);
+
+		Iterator<Entry> iter = recycled.iterator();
+		while( iter.hasNext() ) {
+			if( iter.next() == e ) {
+				iter.remove();
+				break;
+			}
+		}
+	}
+
+	private static Key keyFor( ImageBase image ) {
+		if( image instanceof ImageSingleBand ) {
+			return new Key(image.getClass(),null,1,image.width,image.height);
+		} else if( image instanceof ImageInterleaved ) {
+			ImageInterleaved ii = (ImageInterleaved)image;
+			return new Key(image.getClass(),null,ii.numBands,image.width,image.height);
+		} else if( image instanceof MultiSpectral ) {
+			MultiSpectral ms = (MultiSpectral)image;
+			return new Key(MultiSpectral.class,ms.type,ms.getNumBands(),image.width,image.height);
+		} else {
+			throw new IllegalArgumentException("Image type not supported: "+image.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Number of bytes used by the image's internal arrays
+	 */
+	private static long computeBytes( ImageBase image ) {
+		if( image instanceof ImageSingleBand ) {
+			return arrayBytes(((ImageSingleBand) image)._getData());
+		} else if( image instanceof ImageInterleaved ) {
+			return arrayBytes(((ImageInterleaved) image)._getData());
+		} else {
+			MultiSpectral ms = (MultiSpectral)image;
+			long total = 0;
+			for( int i = 0; i < ms.getNumBands(); i++ ) {
+				total += arrayBytes(ms.getBand(i)._getData());
+			}
+			return total;
+		}
+	}
+
+	private static long arrayBytes( Object data ) {
+		Class type = data.getClass().getComponentType();
+		int size;
+		if( type == byte.class )
+			size = 1;
+		else if( type == short.class )
+			size = 2;
+		else if( type == int.class || type == float.class )
+			size = 4;
+		else
+			size = 8;
+
+		return (long)Array.getLength(data)*size;
+	}
+
+	/**
+	 * Number of times get() returned a recycled image
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Number of times get() had to declare a new image
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Number of recycled images which were released because of the memory limit or reclaimed by the garbage
+	 * collector.
+	 */
+	public synchronized long getEvictions() {
+		purgeCollected();
+		return evictions;
+	}
+
+	/**
+	 * Total number of bytes in the images currently retained by the pool
+	 */
+	public synchronized long getBytesRetained() {
+		purgeCollected();
+		return bytesRetained;
+	}
+
+	/**
+	 * Number of images currently retained by the pool
+	 */
+	public synchronized int getImagesRetained() {
+		purgeCollected();
+		return recycled.size();
+	}
+
+	public synchronized long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Changes the memory limit.  If the limit is reduced then the oldest images are released until it is satisfied.
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		this.maxBytes = maxBytes;
+		while( bytesRetained > maxBytes ) {
+			discard(recycled.getFirst());
+			evictions++;
+		}
+	}
+
+	/**
+	 * Type and shape of an image
+	 */
+	private static class Key {
+		Class imageType;
+		// type of band in a MultiSpectral image
+		Class bandType;
+		int numBands;
+		int width;
+		int height;
+
+		private Key(Class imageType, Class bandType, int numBands, int width, int height) {
+			this.imageType = imageType;
+			this.bandType = bandType;
+			this.numBands = numBands;
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof Key) )
+				return false;
+			Key k = (Key)o;
+			return imageType == k.imageType && bandType == k.bandType && numBands == k.numBands &&
+					width == k.width && height == k.height;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = imageType.hashCode();
+			result = 31*result + (bandType != null ? bandType.hashCode() : 0);
+			result = 31*result + numBands;
+			result = 31*result + width;
+			result = 31*result + height;
+			return result;
+		}
+	}
+
+	/**
+	 * Soft reference to a recycled image
+	 */
+	private static class Entry extends SoftReference<ImageBase> {
+		Key key;
+		long bytes;
+		// true if it has already been removed from the pool
+		boolean removed = false;
+
+		private Entry(ImageBase image, Key key, long bytes, ReferenceQueue<ImageBase> queue) {
+			super(image, queue);
+			this.key = key;
+			this.bytes = bytes;
+		}
+	}
+}
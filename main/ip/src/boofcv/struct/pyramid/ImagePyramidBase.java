@@ -20,6 +20,7 @@ package boofcv.struct.pyramid;
 
 import boofcv.core.image.ImageGenerator;
 import boofcv.core.image.inst.FactoryImageGenerator;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
@@ -54,6 +55,9 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 	// creates new images
 	protected ImageGenerator<T> generator;
 
+	// if not null then layers are drawn from and recycled into this pool
+	protected ImagePool pool;
+
 	/**
 	 * Specifies input image size and behavior of top most layer.
 	 *
@@ -77,6 +81,8 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 		if( bottomWidth == width && bottomHeight == height )
 			return;
 
+		recycleLayers();
+
 		this.bottomWidth = width;
 		this.bottomHeight = height;
 		layers = generator.createArray(getNumLayers());
@@ -84,18 +90,51 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 
 		if (scaleFactor == 1) {
 			if (!saveOriginalReference) {
-				layers[0] = generator.createInstance(bottomWidth, bottomHeight);
+				layers[0] = createLayer(bottomWidth, bottomHeight);
 			}
 		} else {
-			layers[0] = generator.createInstance((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[0] = createLayer((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
 		}
 
 		for (int i = 1; i < layers.length; i++) {
 			scaleFactor = getScale(i);
-			layers[i] = generator.createInstance((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[i] = createLayer((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+		}
+	}
+
+	private T createLayer( int width , int height ) {
+		if( pool == null )
+			return generator.createInstance(width,height);
+		return pool.get(generator.getType(),width,height);
+	}
+
+	/**
+	 * If an image pool has been specified, all the layers which it owns are handed back to the pool.
+	 * A reference to the original input image is never recycled.
+	 */
+	protected void recycleLayers() {
+		if( pool == null || layers == null )
+			return;
+
+		int start = saveOriginalReference && getScale(0) == 1 ? 1 : 0;
+		for( int i = start; i < layers.length; i++ ) {
+			pool.recycle(layers[i]);
+			layers[i] = null;
 		}
 	}
 
+	/**
+	 * Hands all the layers back to the image pool.  After this function is called the pyramid must be
+	 * initialized again before it can be used.  Does nothing if no pool has been specified.
+	 */
+	public void release() {
+		if( pool == null )
+			return;
+		recycleLayers();
+		layers = null;
+		bottomWidth = bottomHeight = 0;
+	}
+
 	/**
 	 * Used to internally check that the provided scales are valid.
 	 */
@@ -158,6 +197,19 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 		return bottomHeight;
 	}
 
+	public ImagePool getImagePool() {
+		return pool;
+	}
+
+	/**
+	 * Specifies a pool which layers are drawn from and recycled into when the input image changes shape.
+	 *
+	 * @param pool The image pool or null to declare new images.
+	 */
+	public void setImagePool(ImagePool pool) {
+		this.pool = pool;
+	}
+
 	public boolean isSaveOriginalReference() {
 		return saveOriginalReference;
 	}
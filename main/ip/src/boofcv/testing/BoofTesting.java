@@ -21,6 +21,7 @@ package boofcv.testing;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.*;
 import sun.awt.image.ByteInterleavedRaster;
 import sun.awt.image.IntegerInterleavedRaster;
@@ -1029,6 +1030,35 @@ public class BoofTesting {
 		}
 	}
 
+	/**
+	 * Runs the sequential task with concurrency turned off and then the parallel task with concurrency forced on,
+	 * using several threads even when the image is small.  The original {@link BoofConcurrency} settings are
+	 * restored afterwards, even if a task fails.
+	 *
+	 * @param sequential Task which is run in a single thread.  If null it is skipped.
+	 * @param parallel Task which is run with the work split across multiple threads.
+	 */
+	public static void checkConcurrent( Runnable sequential , Runnable parallel ) {
+		boolean enabled = BoofConcurrency.isEnabled();
+		int minimumPixels = BoofConcurrency.getMinimumPixels();
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			if( sequential != null ) {
+				BoofConcurrency.setEnabled(false);
+				sequential.run();
+			}
+
+			BoofConcurrency.setEnabled(true);
+			BoofConcurrency.setMinimumPixels(1);
+			BoofConcurrency.setMaxThreads(4);
+			parallel.run();
+		} finally {
+			BoofConcurrency.setEnabled(enabled);
+			BoofConcurrency.setMinimumPixels(minimumPixels);
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
 	public static void printDiff(ImageSingleBand imgA, ImageSingleBand imgB) {
 
 		GImageSingleBand a = FactoryGImageSingleBand.wrap(imgA);
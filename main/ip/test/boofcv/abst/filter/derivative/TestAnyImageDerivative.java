@@ -25,11 +25,15 @@ import boofcv.core.image.inst.SingleBandGenerator;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePool;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Peter Abeles
  */
@@ -61,6 +65,34 @@ public class TestAnyImageDerivative {
 		alg.getDerivative(true);
 	}
 
+	@Test
+	public void imagePool() {
+		ImagePool pool = new ImagePool();
+		Kernel1D_F32 kernelX = (Kernel1D_F32)GradientThree.getKernelX(false);
+		AnyImageDerivative<ImageFloat32,ImageFloat32> alg = new AnyImageDerivative<ImageFloat32,ImageFloat32>(kernelX,ImageFloat32.class,generator);
+		alg.setImagePool(pool);
+
+		GImageMiscOps.fillUniform(original, rand, 0, 40);
+		alg.setInput(original);
+		ImageFloat32 found = alg.getDerivative(true);
+		assertEquals(1,pool.getMisses());
+
+		// compare against an image which was computed without the pool
+		AnyImageDerivative<ImageFloat32,ImageFloat32> expected = new AnyImageDerivative<ImageFloat32,ImageFloat32>(kernelX,ImageFloat32.class,generator);
+		expected.setInput(original);
+		BoofTesting.assertEquals(expected.getDerivative(true),found,1e-4);
+
+		// changing the shape should recycle the old derivative
+		alg.setInput(new ImageFloat32(width-5,height-5));
+		ImageFloat32 smaller = alg.getDerivative(true);
+		assertEquals(width-5,smaller.width);
+		assertEquals(1,pool.getImagesRetained());
+
+		alg.setInput(original);
+		assertTrue(found == alg.getDerivative(true));
+		assertEquals(1,pool.getHits());
+	}
+
 	@Test
 	public void test() {
 		ImageGradient<ImageFloat32,ImageFloat32> g =  FactoryDerivative.three_F32();
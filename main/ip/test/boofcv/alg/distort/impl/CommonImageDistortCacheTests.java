@@ -28,6 +28,7 @@ import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.distort.PixelTransformCached_F32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.testing.BoofTesting;
 import georegression.struct.affine.Affine2D_F32;
@@ -35,6 +36,8 @@ import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Peter Abeles
  */
@@ -96,6 +99,110 @@ public abstract class CommonImageDistortCacheTests<T extends ImageSingleBand> {
 		BoofTesting.assertEquals(dst0, dst1, 1e-4);
 	}
 	
+	/**
+	 * Pass in a precomputed transform as the model
+	 */
+	@Test
+	public void precomputedModel() {
+		ImageDistort<T> standard = FactoryDistort.distort(interp,border,imageType);
+		ImageDistortCache<T> alg = create(interp,border,imageType);
+
+		PixelTransformCached_F32 cached = new PixelTransformCached_F32(dst1.width,dst1.height,tran);
+
+		standard.setModel(tran);
+		alg.setModel(cached);
+
+		standard.apply(src,dst0);
+		alg.apply(src,dst1);
+
+		BoofTesting.assertEquals(dst0, dst1, 1e-4);
+		assertTrue(cached == alg.getCached());
+	}
+
+	/**
+	 * Changing the model should cause the cache to be recomputed
+	 */
+	@Test
+	public void changeModel() {
+		ImageDistort<T> standard = FactoryDistort.distort(interp,border,imageType);
+		ImageDistortCache<T> alg = create(interp,border,imageType);
+
+		alg.setModel(tran);
+		alg.apply(src,dst1);
+
+		PixelTransformAffine_F32 tran2 = new PixelTransformAffine_F32(new Affine2D_F32(1,0,0,1,2,3));
+		standard.setModel(tran2);
+		alg.setModel(tran2);
+
+		standard.apply(src,dst0);
+		alg.apply(src,dst1);
+
+		BoofTesting.assertEquals(dst0, dst1, 1e-4);
+	}
+
+	/**
+	 * The output image is a sub-image
+	 */
+	@Test
+	public void subimage() {
+		ImageDistort<T> standard = FactoryDistort.distort(interp,border,imageType);
+		ImageDistortCache<T> alg = create(interp,border,imageType);
+
+		standard.setModel(tran);
+		alg.setModel(tran);
+
+		T sub = BoofTesting.createSubImageOf(dst1);
+
+		standard.apply(src,dst0,10,30,80,60);
+		alg.apply(src,sub,10,30,80,60);
+
+		BoofTesting.assertEquals(dst0, sub, 1e-4);
+	}
+
+	/**
+	 * Results should be identical when the image is processed by multiple threads, with and without a border
+	 */
+	@Test
+	public void concurrent() {
+		concurrent(border);
+		concurrent(null);
+	}
+
+	private void concurrent( ImageBorder<T> border ) {
+		final ImageDistortCache<T> alg = create(interp,border,imageType);
+		alg.setModel(tran);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				GImageMiscOps.fill(dst0, 0);
+				alg.apply(src, dst0);
+			}
+		}, new Runnable() {
+			public void run() {
+				// apply it twice to make sure the per thread interpolation and border are reused correctly
+				for( int i = 0; i < 2; i++ ) {
+					GImageMiscOps.fill(dst1, 0);
+					alg.apply(src, dst1);
+					BoofTesting.assertEquals(dst0, dst1, 0);
+				}
+			}
+		});
+
+		// cropped region
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				GImageMiscOps.fill(dst0, 0);
+				alg.apply(src, dst0, 10, 30, 80, 60);
+			}
+		}, new Runnable() {
+			public void run() {
+				GImageMiscOps.fill(dst1, 0);
+				alg.apply(src, dst1, 10, 30, 80, 60);
+				BoofTesting.assertEquals(dst0, dst1, 0);
+			}
+		});
+	}
+
 	public abstract ImageDistortCache<T> 
 	create(InterpolatePixelS<T> interp, ImageBorder<T> border , Class<T> imageType );
 }
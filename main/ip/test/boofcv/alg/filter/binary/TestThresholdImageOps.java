@@ -181,14 +181,51 @@ public class TestThresholdImageOps {
 		}
 	}
 
+	/**
+	 * The same storage images are passed in several times.  Their shape should not be changed by the blur.
+	 */
+	@Test
+	public void adaptiveGaussian_reuseStorage() throws InvocationTargetException, IllegalAccessException {
+		int total = 0;
+		Method[] list = ThresholdImageOps.class.getMethods();
+
+		for( Method m : list ) {
+			if( !m.getName().equals("adaptiveGaussian"))
+				continue;
+
+			Class param[] = m.getParameterTypes();
+
+			int w = 100, h = 100, radius = 3;
+			ImageSingleBand input = GeneralizedImageOps.createSingleBand(param[0], w, h);
+			ImageSingleBand storage1 = GeneralizedImageOps.createSingleBand(param[5], w, h);
+			ImageSingleBand storage2 = GeneralizedImageOps.createSingleBand(param[6], w, h);
+			ImageUInt8 output = new ImageUInt8(w,h);
+			ImageUInt8 expected = new ImageUInt8(w,h);
+
+			for( int trial = 0; trial < 2; trial++ ) {
+				GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+				m.invoke(null,input,output,radius,10,true,storage1,storage2);
+				naiveAdaptiveGaussian(input, expected, radius, 10, true);
+
+				BoofTesting.assertEquals(expected,output,0);
+				assertEquals(w,storage2.width);
+				assertEquals(h,storage2.height);
+			}
+			total++;
+		}
+
+		assertEquals(2, total);
+	}
+
 	public void naiveAdaptiveGaussian( ImageSingleBand input , ImageUInt8 output ,
 									   int radius , double bias , boolean down ) {
 
 		ImageSingleBand blur;
 		if( input instanceof ImageUInt8 ) {
-			blur = BlurImageOps.gaussian((ImageUInt8) input, null, -1, radius, null);
+			blur = BlurImageOps.gaussian((ImageUInt8) input, null, -1, radius);
 		} else {
-			blur = BlurImageOps.gaussian((ImageFloat32) input, null, -1, radius, null);
+			blur = BlurImageOps.gaussian((ImageFloat32) input, null, -1, radius);
 		}
 
 		for( int y = 0; y < input.height; y++ ) {
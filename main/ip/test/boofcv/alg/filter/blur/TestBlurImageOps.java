@@ -23,14 +23,18 @@ import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -129,6 +133,89 @@ public class TestBlurImageOps {
 		}
 	}
 
+	/**
+	 * Large radius which uses the constant time median filter
+	 */
+	@Test
+	public void median_U8_constant() {
+		ImageUInt8 input = new ImageUInt8(40,35);
+		ImageUInt8 found = new ImageUInt8(40,35);
+		ImageUInt8 expected = new ImageUInt8(40,35);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		for( int radius = BlurImageOps.MEDIAN_CONSTANT_RADIUS; radius <= BlurImageOps.MEDIAN_CONSTANT_RADIUS+2; radius++ ) {
+			ImplMedianSortNaive.process(input,expected,radius,null);
+			BlurImageOps.median(input,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * Large radius should still produce the exact median
+	 */
+	@Test
+	public void median_F32_large() {
+		ImageFloat32 input = new ImageFloat32(40,35);
+		ImageFloat32 found = new ImageFloat32(40,35);
+		ImageFloat32 expected = new ImageFloat32(40,35);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+		input.set(5,6,10000);
+
+		int radius = BlurImageOps.MEDIAN_CONSTANT_RADIUS;
+		ImplMedianSortNaive.process(input,expected,radius,null);
+		BlurImageOps.median(input,found,radius);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Quantized median.  Results should be within the quantization error
+	 */
+	@Test
+	public void medianQuantized() {
+		ImageFloat32 input = new ImageFloat32(40,35);
+		ImageFloat32 found = new ImageFloat32(40,35);
+		ImageFloat32 expected = new ImageFloat32(40,35);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+		float min = ImageStatistics.min(input);
+		float max = ImageStatistics.max(input);
+
+		for( int radius = BlurImageOps.MEDIAN_CONSTANT_RADIUS; radius <= BlurImageOps.MEDIAN_CONSTANT_RADIUS+2; radius++ ) {
+			ImplMedianSortNaive.process(input,expected,radius,null);
+			BlurImageOps.medianQuantized(input,found,radius);
+
+			BoofTesting.assertEquals(expected,found,(max-min)/510.0+1e-4);
+		}
+
+		// constant image
+		ImageMiscOps.fill(input,3);
+		BlurImageOps.medianQuantized(input,found,BlurImageOps.MEDIAN_CONSTANT_RADIUS);
+		BoofTesting.assertEquals(input,found,0);
+	}
+
+	/**
+	 * If the image has values which are not finite then the exact median should be used
+	 */
+	@Test
+	public void medianQuantized_notFinite() {
+		ImageFloat32 input = new ImageFloat32(40,35);
+		ImageFloat32 found = new ImageFloat32(40,35);
+		ImageFloat32 expected = new ImageFloat32(40,35);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+		input.set(5,6,Float.POSITIVE_INFINITY);
+
+		int radius = BlurImageOps.MEDIAN_CONSTANT_RADIUS;
+		ImplMedianSortNaive.process(input,expected,radius,null);
+		BlurImageOps.medianQuantized(input,found,radius);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
 	@Test
 	public void gaussian_U8() {
 		ImageUInt8 input = new ImageUInt8(width,height);
@@ -148,7 +235,7 @@ public class TestBlurImageOps {
 
 			double sigma = FactoryKernelGaussian.sigmaForRadius(radius,0);
 
-			BlurImageOps.gaussian(input,found,sigma,radius,null);
+			BlurImageOps.gaussian(input,found,sigma,radius);
 
 			BoofTesting.assertEquals(expected,found,0);
 		}
@@ -171,9 +258,50 @@ public class TestBlurImageOps {
 
 			double sigma = FactoryKernelGaussian.sigmaForRadius(radius,0);
 
-			BlurImageOps.gaussian(input,found,sigma,radius,null);
+			BlurImageOps.gaussian(input,found,sigma,radius);
 
 			BoofTesting.assertEquals(expected,found,1e-4);
 		}
 	}
+
+	/**
+	 * Splits the image up into many blocks and sees if the results are identical to the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		checkConcurrent(new ImageUInt8(40,35));
+		checkConcurrent(new ImageFloat32(40,35));
+	}
+
+	private <T extends ImageSingleBand> void checkConcurrent( final T input ) {
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			for( int which = 0; which < 3; which++ ) {
+				final int _radius = radius;
+				final int _which = which;
+				final List<T> results = new ArrayList<T>();
+
+				BoofTesting.checkConcurrent(new Runnable() {
+					public void run() {
+						results.add(blur(_which, input, _radius));
+					}
+				}, new Runnable() {
+					public void run() {
+						results.add(blur(_which, input, _radius));
+					}
+				});
+
+				BoofTesting.assertEquals(results.get(0),results.get(1),0);
+			}
+		}
+	}
+
+	private <T extends ImageSingleBand> T blur( int which , T input , int radius ) {
+		switch( which ) {
+			case 0: return GBlurImageOps.mean(input, null, radius, null);
+			case 1: return GBlurImageOps.median(input, null, radius);
+			default: return GBlurImageOps.gaussian(input, null, -1, radius);
+		}
+	}
 }
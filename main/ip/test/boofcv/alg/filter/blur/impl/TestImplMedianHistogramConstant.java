@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToInner() {
+		ImageUInt8 image = new ImageUInt8(40,35);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToInner", true, image, found, expected);
+	}
+
+	public void compareToInner(ImageUInt8 image, ImageUInt8 found, ImageUInt8 expected) {
+		int columns[] = null;
+		for( int radius = 1; radius <= 10; radius++ ) {
+			ImageMiscOps.fill(found,0);
+			ImageMiscOps.fill(expected,0);
+
+			columns = ImplMedianHistogramConstant.process(image,found,radius,columns);
+			ImplMedianHistogramInner.process(image,expected,radius,null,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * Only a few values so that the median often falls on the edge of a coarse bin and many pixels share the
+	 * same value.
+	 */
+	@Test
+	public void fewValues() {
+		ImageUInt8 image = new ImageUInt8(50,40);
+		for( int i = 0; i < image.data.length; i++ ) {
+			image.data[i] = (byte)(rand.nextInt(4)*16 + 15*rand.nextInt(2));
+		}
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		compareToInner(image, found, expected);
+	}
+
+	/**
+	 * The image is too small for the inner region to contain any pixels
+	 */
+	@Test
+	public void smallImage() {
+		ImageUInt8 image = new ImageUInt8(6,20);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+
+		ImplMedianHistogramConstant.process(image,found,3,null);
+
+		BoofTesting.assertEquals(new ImageUInt8(6,20),found,0);
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianQuantized {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void quantize_dequantize() {
+		ImageFloat32 input = new ImageFloat32(20,15);
+		ImageMiscOps.fillUniform(input,rand,-5,20);
+		input.set(2,3,-5);
+		input.set(4,3,20);
+
+		ImageUInt8 quantized = new ImageUInt8(20,15);
+		ImageFloat32 found = new ImageFloat32(20,15);
+
+		ImplMedianQuantized.quantize(input,-5,20,quantized,0,15);
+		ImplMedianQuantized.dequantize(quantized,-5,20,found,0,15);
+
+		assertEquals(0,quantized.get(2,3));
+		assertEquals(255,quantized.get(4,3));
+
+		float tol = 25.0f/510.0f + 1e-5f;
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				assertEquals(input.get(x,y),found.get(x,y),tol);
+			}
+		}
+	}
+
+	/**
+	 * Only process a range of rows
+	 */
+	@Test
+	public void rowRange() {
+		ImageFloat32 input = new ImageFloat32(20,15);
+		ImageMiscOps.fillUniform(input,rand,0,10);
+
+		ImageUInt8 quantized = new ImageUInt8(20,15);
+		ImageFloat32 found = new ImageFloat32(20,15);
+
+		ImplMedianQuantized.quantize(input,0,10,quantized,3,7);
+		ImplMedianQuantized.dequantize(quantized,0,10,found,3,7);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				if( y < 3 || y >= 7 ) {
+					assertEquals(0,quantized.get(x,y));
+					assertEquals(0,found.get(x,y),1e-8);
+				} else {
+					assertEquals(input.get(x,y),found.get(x,y),10.0f/510.0f+1e-5f);
+				}
+			}
+		}
+	}
+}
@@ -18,9 +18,11 @@
 
 package boofcv.alg.filter.blur.impl;
 
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.testing.BoofTesting;
@@ -28,6 +30,7 @@ import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 
@@ -54,6 +57,9 @@ public class TestImplMedianSortNaive {
 				continue;
 
 			Class params[] = m.getParameterTypes();
+			// skip the variants which process a range of rows
+			if( params.length != 4 )
+				continue;
 
 			ImageSingleBand input = GeneralizedImageOps.createSingleBand(params[0], 4, 4);
 			ImageSingleBand found = GeneralizedImageOps.createSingleBand(params[1], 4, 4);
@@ -67,6 +73,30 @@ public class TestImplMedianSortNaive {
 		assertEquals(2,numFound);
 	}
 
+	/**
+	 * Only the specified rows should be modified and they should be the same as when the whole image is processed
+	 */
+	@Test
+	public void rowRange() {
+		ImageFloat32 input = new ImageFloat32(12,15);
+		ImageFloat32 expected = new ImageFloat32(12,15);
+		ImageFloat32 found = new ImageFloat32(12,15);
+		ImageMiscOps.fillUniform(input, new Random(234), 0, 100);
+		ImageMiscOps.fill(found, -1);
+
+		ImplMedianSortNaive.process(input, expected, 2, null);
+		ImplMedianSortNaive.process(input, found, 2, 3, 9, null);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				if( y >= 3 && y < 9 )
+					assertEquals(expected.get(x,y), found.get(x,y), 1e-8);
+				else
+					assertEquals(-1, found.get(x,y), 1e-8);
+			}
+		}
+	}
+
 	public void trivialTest( Method m , ImageSingleBand _image, ImageSingleBand _found ) {
 
 		try {
@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.convolve;
 
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 /**
@@ -30,4 +31,17 @@ public class TestConvolveImageNoBorder {
 		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
 		a.performTests(20);
 	}
+
+	/**
+	 * Force the image to be split up into many bands and see if the results are still identical
+	 */
+	@Test
+	public void compareToStandard_bands() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
+				a.performTests(20);
+			}
+		});
+	}
 }
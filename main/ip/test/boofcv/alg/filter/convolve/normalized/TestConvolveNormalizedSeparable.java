@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve.normalized;
+
+import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveNormalizedSeparable {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Output should be identical to a horizontal pass followed by a vertical pass.  Includes kernels which are
+	 * larger than the image.
+	 */
+	@Test
+	public void compareToTwoPass_F32() {
+		for( int radius = 1; radius <= 8; radius++ ) {
+			compareToTwoPass_F32(radius, 30, 25);
+			compareToTwoPass_F32(radius, 15, 20);
+			compareToTwoPass_F32(radius, 20, 15);
+		}
+	}
+
+	private void compareToTwoPass_F32( int radius , int width , int height ) {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,radius);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		ImageFloat32 storage = new ImageFloat32(width,height);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,expected);
+
+		ImageFloat32 found = new ImageFloat32(width,height);
+		BoofTesting.checkSubImage(this, "checkAll", true, kernel, input, found, expected);
+	}
+
+	public void checkAll( Kernel1D_F32 kernel , ImageFloat32 input , ImageFloat32 found , ImageFloat32 expected ) {
+		ImageMiscOps.fill(found,0);
+		ConvolveNormalizedSeparable.convolve(kernel,input,found,0,input.height,null);
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	@Test
+	public void compareToTwoPass_U8() {
+		for( int radius = 1; radius <= 8; radius++ ) {
+			compareToTwoPass_U8(radius, 30, 25);
+			compareToTwoPass_U8(radius, 15, 20);
+			compareToTwoPass_U8(radius, 20, 15);
+		}
+	}
+
+	private void compareToTwoPass_U8( int radius , int width , int height ) {
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,-1,radius);
+
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		ImageUInt8 storage = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,expected);
+
+		ImageUInt8 found = new ImageUInt8(width,height);
+		BoofTesting.checkSubImage(this, "checkAll", true, kernel, input, found, expected);
+	}
+
+	public void checkAll( Kernel1D_I32 kernel , ImageUInt8 input , ImageUInt8 found , ImageUInt8 expected ) {
+		ImageMiscOps.fill(found,0);
+		ConvolveNormalizedSeparable.convolve(kernel,input,found,0,input.height,null);
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Process the image in several independent blocks of rows and see if the results are the same
+	 */
+	@Test
+	public void rowBlocks() {
+		Kernel1D_F32 kernelF = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+		Kernel1D_I32 kernelI = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,-1,3);
+
+		ImageFloat32 inputF = new ImageFloat32(30,40);
+		ImageUInt8 inputI = new ImageUInt8(30,40);
+		ImageMiscOps.fillUniform(inputF,rand,0,100);
+		ImageMiscOps.fillUniform(inputI,rand,0,255);
+
+		ImageFloat32 expectedF = new ImageFloat32(30,40);
+		ImageUInt8 expectedI = new ImageUInt8(30,40);
+		ConvolveNormalizedSeparable.convolve(kernelF,inputF,expectedF,0,40,null);
+		ConvolveNormalizedSeparable.convolve(kernelI,inputI,expectedI,0,40,null);
+
+		ImageFloat32 foundF = new ImageFloat32(30,40);
+		ImageUInt8 foundI = new ImageUInt8(30,40);
+		int blocks[] = new int[]{0,2,3,17,38,40};
+		ImageFloat32 ringF = null;
+		for( int i = 1; i < blocks.length; i++ ) {
+			ringF = ConvolveNormalizedSeparable.convolve(kernelF,inputF,foundF,blocks[i-1],blocks[i],ringF);
+			ConvolveNormalizedSeparable.convolve(kernelI,inputI,foundI,blocks[i-1],blocks[i],null);
+		}
+
+		BoofTesting.assertEquals(expectedF,foundF,0);
+		BoofTesting.assertEquals(expectedI,foundI,0);
+	}
+
+	/**
+	 * Compare the concurrent version in ConvolveNormalized against the single threaded one
+	 */
+	@Test
+	public void concurrent() {
+		final Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,2);
+		final ImageFloat32 input = new ImageFloat32(30,60);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		final ImageFloat32 expected = new ImageFloat32(30,60);
+		final ImageFloat32 found = new ImageFloat32(30,60);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				ConvolveNormalizedSeparable.convolve(kernel,input,expected,0,60,null);
+			}
+		}, new Runnable() {
+			public void run() {
+				ConvolveNormalized.horizontalVertical(kernel,input,found);
+				BoofTesting.assertEquals(expected,found,0);
+
+				// provided storage is ignored when processed in multiple blocks
+				ImageMiscOps.fill(found,0);
+				ConvolveNormalized.horizontalVertical(kernel,input,found,new ImageFloat32(30,60));
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		});
+	}
+
+	/**
+	 * When storage is provided it should be used for the intermediate rows and produce the same results
+	 */
+	@Test
+	public void providedStrip() {
+		boolean origEnabled = BoofConcurrency.isEnabled();
+		try {
+			BoofConcurrency.setEnabled(false);
+
+			Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,-1,2);
+			ImageUInt8 input = new ImageUInt8(300,400);
+			ImageMiscOps.fillUniform(input,rand,0,100);
+
+			ImageUInt8 expected = new ImageUInt8(300,400);
+			ImageUInt8 found = new ImageUInt8(300,400);
+			ImageUInt8 strip = new ImageUInt8(300,400);
+			byte[] stripData = strip.data;
+
+			ConvolveNormalizedSeparable.convolve(kernel,input,expected,0,400,null);
+			ConvolveNormalized.horizontalVertical(kernel,input,found,strip);
+
+			BoofTesting.assertEquals(expected,found,0);
+			// the strip was used and no new memory was declared
+			assertTrue(stripData == strip.data);
+			assertTrue(strip.height < input.height);
+
+			// sub-images can't be reshaped and are ignored
+			ImageMiscOps.fill(found,0);
+			ConvolveNormalized.horizontalVertical(kernel,input,found,BoofTesting.createSubImageOf(strip));
+			BoofTesting.assertEquals(expected,found,0);
+		} finally {
+			BoofConcurrency.setEnabled(origEnabled);
+		}
+	}
+}
@@ -145,6 +145,27 @@ public abstract class GeneralChecksInterpolationPixelS< T extends ImageSingleBan
 		assertTrue(img == interp.getImage());
 	}
 
+	/**
+	 * The copy should produce the same results as the original and not share the image
+	 */
+	@Test
+	public void copy() {
+		T img = createImage(width, height);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+		InterpolatePixelS<T> interp = wrap(img, 0, 100);
+
+		InterpolatePixelS<T> found = interp.copy();
+		assertTrue(found != interp);
+		assertTrue(found.getImage() == null);
+
+		found.setImage(img);
+		assertEquals(interp.get(10, 10), found.get(10, 10), 1e-6);
+		assertEquals(interp.get(10.8f, 10.6f), found.get(10.8f, 10.6f), 1e-6);
+		assertEquals(interp.get_fast(12.1f, 14.3f), found.get_fast(12.1f, 14.3f), 1e-6);
+		assertEquals(interp.getFastBorderX(), found.getFastBorderX());
+		assertEquals(interp.getFastBorderY(), found.getFastBorderY());
+	}
+
 	/**
 	 * Scans through the whole image and for each pixel which is "safe" it compares the safe
 	 * value to the unsafe value.
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConcurrentImageMiscOps {
+
+	Random rand = new Random(234);
+	int width = 35;
+	int height = 41;
+
+	@Test
+	public void fill() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				ImageUInt8 expected = new ImageUInt8(width,height);
+				ImageUInt8 found = new ImageUInt8(width,height);
+
+				GImageMiscOps.fill(expected,45);
+				ConcurrentImageMiscOps.fill(found, 45);
+				BoofTesting.assertEquals(expected,found,0);
+
+				MultiSpectral<ImageFloat32> msExpected = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+				MultiSpectral<ImageFloat32> msFound = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+				GImageMiscOps.fill(msExpected,2.5);
+				ConcurrentImageMiscOps.fill(msFound,2.5);
+				BoofTesting.assertEquals(msExpected,msFound,0);
+			}
+		});
+	}
+
+	@Test
+	public void copy() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				ImageFloat32 input = new ImageFloat32(width,height);
+				GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+				ImageFloat32 expected = new ImageFloat32(width,height);
+				ImageFloat32 found = new ImageFloat32(width,height);
+
+				GImageMiscOps.copy(2,3,4,1,20,30,input,expected);
+				ConcurrentImageMiscOps.copy(2,3,4,1,20,30,input,found);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		});
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConcurrentImageStatistics {
+
+	Random rand = new Random(234);
+	int width = 35;
+	int height = 41;
+
+	Class types[] = new Class[]{ImageUInt8.class,ImageSInt16.class,ImageSInt32.class,ImageFloat32.class,ImageFloat64.class};
+
+	@Test
+	public void compareToSingleThread() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				for( Class type : types ) {
+					boolean integer = GeneralizedImageOps.isFloatingPoint(type) == false;
+					double tol = integer ? 0 : 1e-4;
+
+					ImageSingleBand a = GeneralizedImageOps.createSingleBand(type, width, height);
+					ImageSingleBand b = GeneralizedImageOps.createSingleBand(type, width, height);
+					GImageMiscOps.fillUniform(a, rand, 0, 100);
+					GImageMiscOps.fillUniform(b, rand, 0, 100);
+
+					assertEquals(GImageStatistics.maxAbs(a),ConcurrentImageStatistics.maxAbs(a),0);
+					assertEquals(GImageStatistics.max(a),ConcurrentImageStatistics.max(a),0);
+					assertEquals(GImageStatistics.min(a),ConcurrentImageStatistics.min(a),0);
+
+					double sum = GImageStatistics.sum(a);
+					assertEquals(sum,ConcurrentImageStatistics.sum(a),Math.abs(sum)*tol);
+					double mean = GImageStatistics.mean(a);
+					assertEquals(mean,ConcurrentImageStatistics.mean(a),mean*1e-4);
+					double variance = GImageStatistics.variance(a, mean);
+					assertEquals(variance,ConcurrentImageStatistics.variance(a,mean),variance*1e-4);
+
+					double diffSq = GImageStatistics.meanDiffSq(a, b);
+					assertEquals(diffSq,ConcurrentImageStatistics.meanDiffSq(a,b),diffSq*1e-4);
+					double diffAbs = GImageStatistics.meanDiffAbs(a, b);
+					assertEquals(diffAbs,ConcurrentImageStatistics.meanDiffAbs(a,b),diffAbs*1e-4);
+
+					if( integer ) {
+						int expected[] = new int[ 100 ];
+						int found[] = new int[ 100 ];
+						// make sure it's cleared
+						found[5] = 10;
+						GImageStatistics.histogram(a,0,expected);
+						ConcurrentImageStatistics.histogram(a,0,found);
+						assertArrayEquals(expected,found);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * The result should be the same no matter how many threads the work is split across
+	 */
+	@Test
+	public void deterministic() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				ImageFloat32 a = new ImageFloat32(width,height);
+				GImageMiscOps.fillUniform(a, rand, 0, 100);
+
+				double expected = ConcurrentImageStatistics.sum(a);
+				for( int trial = 0; trial < 10; trial++ ) {
+					assertEquals(expected,ConcurrentImageStatistics.sum(a),0);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConcurrentPixelMath {
+
+	Random rand = new Random(234);
+	int width = 35;
+	int height = 41;
+
+	Class types[] = new Class[]{ImageUInt8.class,ImageSInt16.class,ImageSInt32.class,ImageFloat32.class,ImageFloat64.class};
+
+	/**
+	 * Compare each function against the single threaded version.  The results should be identical
+	 */
+	@Test
+	public void compareToSingleThread() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				for( Class type : types ) {
+					ImageSingleBand a = create(type, 1, 100);
+					ImageSingleBand b = create(type, 1, 100);
+
+					ImageSingleBand expected = GeneralizedImageOps.createSingleBand(type, width, height);
+					ImageSingleBand found = GeneralizedImageOps.createSingleBand(type, width, height);
+
+					// only defined for signed images
+					if( type != ImageUInt8.class ) {
+						GPixelMath.abs(a,expected); ConcurrentPixelMath.abs(a,found);
+						BoofTesting.assertEquals(expected,found,0);
+
+						GPixelMath.invert(a,expected); ConcurrentPixelMath.invert(a,found);
+						BoofTesting.assertEquals(expected,found,0);
+					}
+
+					GPixelMath.divide(a,3,expected); ConcurrentPixelMath.divide(a,3,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					GPixelMath.divide(a,3,2,20,expected); ConcurrentPixelMath.divide(a,3,2,20,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					GPixelMath.multiply(a,2,expected); ConcurrentPixelMath.multiply(a,2,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					GPixelMath.multiply(a,2,5,50,expected); ConcurrentPixelMath.multiply(a,2,5,50,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					GPixelMath.plus(a,4,expected); ConcurrentPixelMath.plus(a,4,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					GPixelMath.plus(a,4,10,60,expected); ConcurrentPixelMath.plus(a,4,10,60,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					GPixelMath.diffAbs(a,b,expected); ConcurrentPixelMath.diffAbs(a,b,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					// these functions only support images where the output is the same type as the input
+					if( type == ImageSInt32.class || GeneralizedImageOps.isFloatingPoint(type) ) {
+						GPixelMath.add(a,b,expected); ConcurrentPixelMath.add(a,b,found);
+						BoofTesting.assertEquals(expected,found,0);
+
+						GPixelMath.subtract(a,b,expected); ConcurrentPixelMath.subtract(a,b,found);
+						BoofTesting.assertEquals(expected,found,0);
+					}
+
+					// only defined for floating point images
+					if( GeneralizedImageOps.isFloatingPoint(type) ) {
+						GPixelMath.divide(a,b,expected); ConcurrentPixelMath.divide(a,b,found);
+						BoofTesting.assertEquals(expected,found,0);
+
+						GPixelMath.multiply(a,b,expected); ConcurrentPixelMath.multiply(a,b,found);
+						BoofTesting.assertEquals(expected,found,0);
+
+						GPixelMath.log(a,expected); ConcurrentPixelMath.log(a,found);
+						BoofTesting.assertEquals(expected,found,0);
+					}
+
+					expected.setTo(a); found.setTo(a);
+					GPixelMath.boundImage(expected,10,40); ConcurrentPixelMath.boundImage(found,10,40);
+					BoofTesting.assertEquals(expected,found,0);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sub-images should be handled correctly
+	 */
+	@Test
+	public void subimage() {
+		BoofTesting.checkConcurrent(null, new Runnable() {
+			public void run() {
+				ImageFloat32 a = (ImageFloat32)create(ImageFloat32.class, 1, 100);
+				ImageFloat32 b = (ImageFloat32)create(ImageFloat32.class, 1, 100);
+				ImageFloat32 expected = new ImageFloat32(width,height);
+				ImageFloat32 found = BoofTesting.createSubImageOf(expected);
+
+				GPixelMath.add(a,b,expected);
+				ConcurrentPixelMath.add(BoofTesting.createSubImageOf(a),BoofTesting.createSubImageOf(b),found);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		});
+	}
+
+	private ImageSingleBand create( Class type , double min , double max ) {
+		ImageSingleBand img = GeneralizedImageOps.createSingleBand(type, width, height);
+		GImageMiscOps.fillUniform(img, rand, min, max);
+		return img;
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCensusTransform {
+
+	Random rand = new Random(234);
+
+	int w = 25, h = 20;
+
+	@Test
+	public void square_S64() {
+		ImageUInt8 input = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(input, rand, 0, 50);
+
+		for( int radius = 1; radius <= 3; radius++ ) {
+			ImageSInt64 found = CensusTransform.square(input, radius, (ImageSInt64)null);
+
+			for( int y = 0; y < h; y++ ) {
+				for( int x = 0; x < w; x++ ) {
+					assertEquals(naive(input,x,y,radius),found.get(x,y));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void square_S32() {
+		ImageUInt8 input = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(input, rand, 0, 50);
+
+		for( int radius = 1; radius <= 2; radius++ ) {
+			ImageSInt32 found = CensusTransform.square(input, radius, (ImageSInt32)null);
+
+			for( int y = 0; y < h; y++ ) {
+				for( int x = 0; x < w; x++ ) {
+					assertEquals(naive(input,x,y,radius),found.get(x,y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sub-images should produce the same results as regular images
+	 */
+	@Test
+	public void square_subimage() {
+		ImageUInt8 input = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(input, rand, 0, 50);
+
+		ImageSInt64 expected = CensusTransform.square(input, 2, (ImageSInt64)null);
+
+		ImageUInt8 subInput = BoofTesting.createSubImageOf(input);
+		ImageSInt64 found = BoofTesting.createSubImageOf(new ImageSInt64(w,h));
+		CensusTransform.square(subInput, 2, found);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * A band of rows should have the same census as when the whole image is processed
+	 */
+	@Test
+	public void squareRows() {
+		ImageUInt8 input = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(input, rand, 0, 50);
+
+		int y0 = 3, y1 = 11, offset = 5;
+		long found[] = new long[offset+(y1-y0)*w];
+		CensusTransform.squareRows(input, 3, y0, y1, found, offset);
+
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				assertEquals(naive(input,x,y,3),found[offset+(y-y0)*w+x]);
+			}
+		}
+	}
+
+	@Test
+	public void concurrent() {
+		final ImageUInt8 input = new ImageUInt8(w,h);
+		ImageMiscOps.fillUniform(input, rand, 0, 50);
+
+		final ImageSInt64 expected = new ImageSInt64(w,h);
+		final ImageSInt64 found = new ImageSInt64(w,h);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				CensusTransform.square(input, 3, expected);
+			}
+		}, new Runnable() {
+			public void run() {
+				CensusTransform.square(input, 3, found);
+			}
+		});
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void square_S32_tooLarge() {
+		CensusTransform.square(new ImageUInt8(w,h), 3, (ImageSInt32)null);
+	}
+
+	private long naive( ImageUInt8 image , int x , int y , int radius ) {
+		int center = image.get(x,y);
+		long bits = 0;
+		for( int i = -radius; i <= radius; i++ ) {
+			for( int j = -radius; j <= radius; j++ ) {
+				if( i == 0 && j == 0 )
+					continue;
+				int xx = Math.min(image.width-1,Math.max(0,x+j));
+				int yy = Math.min(image.height-1,Math.max(0,y+i));
+				bits <<= 1;
+				if( image.get(xx,yy) < center )
+					bits |= 1;
+			}
+		}
+		return bits;
+	}
+}
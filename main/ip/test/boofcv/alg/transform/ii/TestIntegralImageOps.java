@@ -18,11 +18,17 @@
 
 package boofcv.alg.transform.ii;
 
+import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
 import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -41,6 +47,33 @@ public class TestIntegralImageOps {
 		assertEquals(expected, found);
 	}
 
+	/**
+	 * Compare results when run in parallel against the single threaded results
+	 */
+	@Test
+	public void transform_concurrent() {
+		Random rand = new Random(234);
+		final ImageFloat32 input = new ImageFloat32(63,47);
+		final ImageUInt8 inputU8 = new ImageUInt8(63,47);
+		GImageMiscOps.fillUniform(input,rand,-10,100);
+		GImageMiscOps.fillUniform(inputU8,rand,0,255);
+
+		final ImageFloat32 expected = new ImageFloat32(63,47);
+		final ImageSInt32 expectedU8 = new ImageSInt32(63,47);
+
+		BoofTesting.checkConcurrent(new Runnable() {
+			public void run() {
+				ImplIntegralImageOps.transform(input,expected);
+				ImplIntegralImageOps.transform(inputU8,expectedU8);
+			}
+		}, new Runnable() {
+			public void run() {
+				BoofTesting.assertEquals(expected,IntegralImageOps.transform(input,null),0);
+				BoofTesting.assertEquals(expectedU8,IntegralImageOps.transform(inputU8,null),0);
+			}
+		});
+	}
+
 	@Test
 	public void convolve() {
 		int expected = countName("convolve",IntegralImageOps.class);
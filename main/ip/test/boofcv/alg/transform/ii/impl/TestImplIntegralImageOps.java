@@ -94,6 +94,38 @@ public class TestImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Computing the integral image in two passes with several bands should produce identical results
+	 */
+	@Test
+	public void transformRows_transformColumns() {
+		int numFound = BoofTesting.findMethodThenCall(this,"transformRows",ImplIntegralImageOps.class,"transformRows");
+		Assert.assertEquals(5, numFound);
+	}
+
+	public void transformRows( Method m ) throws Exception {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class outputType = paramType[1];
+
+		Method transform = ImplIntegralImageOps.class.getMethod("transform",inputType,outputType);
+		Method columns = ImplIntegralImageOps.class.getMethod("transformColumns",outputType,int.class,int.class);
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(inputType, width, height);
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(outputType, width, height);
+		ImageSingleBand found = GeneralizedImageOps.createSingleBand(outputType, width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		transform.invoke(null,input,expected);
+
+		m.invoke(null,input,found,0,7);
+		m.invoke(null,input,found,7,height);
+		columns.invoke(null,found,0,3);
+		columns.invoke(null,found,3,width);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
 	@Test
 	public void convolve() {
 		int numFound = BoofTesting.findMethodThenCall(this,"convolve",ImplIntegralImageOps.class,"convolve");
@@ -57,7 +57,7 @@ public class TestNoCacheScaleSpace {
 				new NoCacheScaleSpace<ImageFloat32,ImageFloat32>(generator,generator);
 
 		int radius = FactoryKernelGaussian.radiusForSigma(1.2,0);
-		ImageFloat32 expected = BlurImageOps.gaussian(original,null,1.2,radius,null);
+		ImageFloat32 expected = BlurImageOps.gaussian(original,null,1.2,radius);
 
 		alg.setScales(1.2,2.3,3.5);
 		alg.setImage(original);
@@ -22,6 +22,7 @@ import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInteger;
 import boofcv.struct.image.ImageUInt8;
 import org.junit.Test;
 
@@ -81,6 +82,37 @@ public abstract class GenericImageBorderTests {
 		checkGet(orig, border);
 	}
 
+	/**
+	 * A copy should behave the same as the original after the image has been set
+	 */
+	@Test
+	public void copy_I8() {
+		ImageUInt8 imgA = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(imgA,rand, 0, 100);
+
+		ImageBorder<ImageInteger> fooA = wrap(imgA).copy();
+		fooA.setImage(imgA);
+
+		GImageSingleBand orig = FactoryGImageSingleBand.wrap(imgA);
+		GImageSingleBand border = FactoryGImageSingleBand.wrap(fooA);
+
+		checkGet(orig, border);
+	}
+
+	@Test
+	public void copy_F32() {
+		ImageFloat32 imgA = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(imgA,rand,0,5);
+
+		ImageBorder<ImageFloat32> fooA = wrap(imgA).copy();
+		fooA.setImage(imgA);
+
+		GImageSingleBand orig = FactoryGImageSingleBand.wrap(imgA);
+		GImageSingleBand border = FactoryGImageSingleBand.wrap(fooA);
+
+		checkGet(orig, border);
+	}
+
 	private void checkGet(GImageSingleBand orig, GImageSingleBand border) {
 		// test the image's inside where there is no border condition
 		assertEquals(orig.get(1,1),border.get(1,1));
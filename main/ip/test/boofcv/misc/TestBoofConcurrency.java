@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	/**
+	 * Makes sure every index is processed exactly once and that multiple threads are used
+	 */
+	@Test
+	public void loopBlocks() {
+		int origThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(3);
+
+			final int counts[] = new int[100];
+			final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+
+			BoofConcurrency.loopBlocks(5,100,10,new IntRangeTask() {
+				@Override
+				public void process(int index0, int index1) {
+					threads.add(Thread.currentThread());
+					for( int i = index0; i < index1; i++ )
+						counts[i]++;
+				}
+			});
+
+			for( int i = 0; i < counts.length; i++ )
+				assertEquals(i < 5 ? 0 : 1, counts[i]);
+			assertEquals(3,threads.size());
+		} finally {
+			BoofConcurrency.setMaxThreads(origThreads);
+		}
+	}
+
+	@Test
+	public void loopBlocks_disabled() {
+		BoofConcurrency.setEnabled(false);
+		try {
+			final Set<Thread> threads = new HashSet<Thread>();
+			BoofConcurrency.loopBlocks(0,1000,1,new IntRangeTask() {
+				@Override
+				public void process(int index0, int index1) {
+					threads.add(Thread.currentThread());
+				}
+			});
+			assertEquals(1,threads.size());
+			assertTrue(threads.contains(Thread.currentThread()));
+		} finally {
+			BoofConcurrency.setEnabled(true);
+		}
+	}
+
+	/**
+	 * Exceptions thrown inside a worker thread should be passed to the caller
+	 */
+	@Test
+	public void loopBlocks_exception() {
+		int origThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(2);
+			BoofConcurrency.loopBlocks(0,10,1,new IntRangeTask() {
+				@Override
+				public void process(int index0, int index1) {
+					if( index0 > 0 )
+						throw new IllegalArgumentException("Expected");
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {
+		} finally {
+			BoofConcurrency.setMaxThreads(origThreads);
+		}
+	}
+
+	@Test
+	public void computeBlocks() {
+		int origThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			assertEquals(1,BoofConcurrency.computeBlocks(10,20));
+			assertEquals(2,BoofConcurrency.computeBlocks(40,20));
+			assertEquals(4,BoofConcurrency.computeBlocks(400,20));
+			assertEquals(1,BoofConcurrency.computeBlocks(0,20));
+		} finally {
+			BoofConcurrency.setMaxThreads(origThreads);
+		}
+	}
+
+	@Test
+	public void minimumRows() {
+		int orig = BoofConcurrency.getMinimumPixels();
+		try {
+			BoofConcurrency.setMinimumPixels(1000);
+			assertEquals(10,BoofConcurrency.minimumRows(100));
+			assertEquals(1,BoofConcurrency.minimumRows(5000));
+		} finally {
+			BoofConcurrency.setMinimumPixels(orig);
+		}
+	}
+
+	/**
+	 * Blocks should be submitted to the user provided pool and nested loops should not block
+	 */
+	@Test
+	public void setExecutor() {
+		int origThreads = BoofConcurrency.getMaxThreads();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			BoofConcurrency.setExecutor(executor);
+			BoofConcurrency.setMaxThreads(3);
+
+			final int counts[] = new int[60];
+			BoofConcurrency.loopBlocks(0,6,1,new IntRangeTask() {
+				@Override
+				public void process(int index0, int index1) {
+					for( int i = index0; i < index1; i++ ) {
+						final int offset = i*10;
+						BoofConcurrency.loopBlocks(0,10,1,new IntRangeTask() {
+							@Override
+							public void process(int index0, int index1) {
+								for( int j = index0; j < index1; j++ )
+									counts[offset+j]++;
+							}
+						});
+					}
+				}
+			});
+
+			for( int i = 0; i < counts.length; i++ )
+				assertEquals(1,counts[i]);
+		} finally {
+			BoofConcurrency.setExecutor(null);
+			BoofConcurrency.setMaxThreads(origThreads);
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.distort;
+
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.Test;
+
+import java.io.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPixelTransformCached_F32 {
+
+	int width = 20;
+	int height = 25;
+
+	PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(1,0.1f,-0.2f,1.1f,5,-3));
+
+	@Test
+	public void compareToOriginal() {
+		PixelTransformCached_F32 alg = new PixelTransformCached_F32(width,height,tran);
+
+		assertEquals(width*height*2,alg.getMap().length);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				tran.compute(x,y);
+				alg.compute(x,y);
+
+				assertEquals(tran.distX,alg.distX,1e-8);
+				assertEquals(tran.distY,alg.distY,1e-8);
+			}
+		}
+	}
+
+	@Test
+	public void constructor_map() {
+		float map[] = new float[width*height*2];
+		map[(2*width+3)*2] = 7;
+		map[(2*width+3)*2+1] = 8;
+
+		PixelTransformCached_F32 alg = new PixelTransformCached_F32(width,height,map);
+		alg.compute(3,2);
+		assertEquals(7,alg.distX,1e-8);
+		assertEquals(8,alg.distY,1e-8);
+
+		try {
+			new PixelTransformCached_F32(width,height+1,map);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void serialize() throws IOException, ClassNotFoundException {
+		PixelTransformCached_F32 alg = new PixelTransformCached_F32(width,height,tran);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(alg);
+		out.close();
+
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		PixelTransformCached_F32 found = (PixelTransformCached_F32)in.readObject();
+
+		assertEquals(width,found.getWidth());
+		assertEquals(height,found.getHeight());
+		for( int i = 0; i < alg.getMap().length; i++ )
+			assertEquals(alg.getMap()[i],found.getMap()[i],1e-8);
+	}
+}
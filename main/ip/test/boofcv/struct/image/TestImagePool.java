@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePool {
+
+	@Test
+	public void get_recycle_single() {
+		ImagePool pool = new ImagePool();
+
+		ImageFloat32 a = pool.get(ImageFloat32.class,20,30);
+		assertEquals(20,a.width);
+		assertEquals(30,a.height);
+		assertEquals(0,pool.getHits());
+		assertEquals(1,pool.getMisses());
+
+		pool.recycle(a);
+		assertEquals(1,pool.getImagesRetained());
+		assertEquals(20*30*4,pool.getBytesRetained());
+
+		// different shape or type should not be a hit
+		assertTrue(a != pool.get(ImageFloat32.class,30,20));
+		pool.get(ImageUInt8.class,20,30);
+		assertEquals(3,pool.getMisses());
+
+		assertTrue(a == pool.get(ImageFloat32.class,20,30));
+		assertEquals(1,pool.getHits());
+		assertEquals(0,pool.getImagesRetained());
+		assertEquals(0,pool.getBytesRetained());
+
+		// it's empty now
+		assertTrue(a != pool.get(ImageFloat32.class,20,30));
+		assertEquals(4,pool.getMisses());
+	}
+
+	@Test
+	public void get_recycle_ImageType() {
+		ImagePool pool = new ImagePool();
+
+		ImageType<MultiSpectral<ImageUInt8>> typeMS = ImageType.ms(3, ImageUInt8.class);
+		MultiSpectral<ImageUInt8> ms = pool.get(typeMS,10,15);
+		assertEquals(3,ms.getNumBands());
+		assertEquals(10,ms.width);
+
+		InterleavedF32 inter = pool.get(new ImageType<InterleavedF32>(ImageType.Family.INTERLEAVED,ImageDataType.F32,2),10,15);
+		assertEquals(2,inter.numBands);
+
+		pool.recycle(ms);
+		pool.recycle(inter);
+		assertEquals(10*15*3 + 10*15*2*4,pool.getBytesRetained());
+
+		// same band type but different number of bands
+		assertTrue(ms != pool.get(ImageType.ms(2, ImageUInt8.class),10,15));
+		assertTrue(ms == pool.get(typeMS,10,15));
+		assertTrue(inter == pool.get(new ImageType<InterleavedF32>(ImageType.Family.INTERLEAVED,ImageDataType.F32,2),10,15));
+
+		// single band images can be requested either way
+		ImageUInt8 gray = new ImageUInt8(5,6);
+		pool.recycle(gray);
+		assertTrue(gray == pool.get(ImageType.single(ImageUInt8.class),5,6));
+	}
+
+	/**
+	 * The oldest images should be released first when the memory limit is exceeded
+	 */
+	@Test
+	public void maxBytes() {
+		ImagePool pool = new ImagePool(250);
+
+		ImageUInt8 a = new ImageUInt8(10,10);
+		ImageUInt8 b = new ImageUInt8(10,10);
+		ImageUInt8 c = new ImageUInt8(10,10);
+
+		pool.recycle(a);
+		pool.recycle(b);
+		assertEquals(0,pool.getEvictions());
+		pool.recycle(c);
+		assertEquals(1,pool.getEvictions());
+		assertEquals(200,pool.getBytesRetained());
+
+		// the most recently recycled is returned first and 'a' is gone
+		assertTrue(c == pool.get(ImageUInt8.class,10,10));
+		assertTrue(b == pool.get(ImageUInt8.class,10,10));
+		assertTrue(a != pool.get(ImageUInt8.class,10,10));
+
+		// too large to ever be retained
+		pool.recycle(new ImageUInt8(20,20));
+		assertEquals(2,pool.getEvictions());
+		assertEquals(0,pool.getImagesRetained());
+
+		// reducing the limit should release images
+		pool.recycle(a);
+		pool.recycle(b);
+		pool.setMaxBytes(100);
+		assertEquals(3,pool.getEvictions());
+		assertEquals(1,pool.getImagesRetained());
+		assertTrue(b == pool.get(ImageUInt8.class,10,10));
+	}
+
+	@Test
+	public void clear_resetStatistics() {
+		ImagePool pool = new ImagePool();
+
+		pool.recycle(pool.get(ImageSInt16.class,10,10));
+		pool.get(ImageSInt16.class,10,10);
+		pool.recycle(new ImageSInt16(10,10));
+
+		pool.clear();
+		assertEquals(0,pool.getImagesRetained());
+		assertEquals(0,pool.getBytesRetained());
+		assertEquals(1,pool.getHits());
+		assertEquals(1,pool.getMisses());
+
+		pool.resetStatistics();
+		assertEquals(0,pool.getHits());
+		assertEquals(0,pool.getMisses());
+		assertEquals(0,pool.getEvictions());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void recycle_subimage() {
+		ImagePool pool = new ImagePool();
+		ImageUInt8 a = new ImageUInt8(10,10);
+		pool.recycle(a.subimage(0,0,5,5,null));
+	}
+
+	/**
+	 * Recycling the same image twice would cause it to be handed out twice
+	 */
+	@Test
+	public void recycle_twice() {
+		ImagePool pool = new ImagePool();
+		ImageUInt8 a = new ImageUInt8(10,10);
+		pool.recycle(a);
+
+		try {
+			pool.recycle(a);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+
+		assertEquals(1,pool.getImagesRetained());
+
+		// once it has been taken back out it can be recycled again
+		assertTrue(a == pool.get(ImageUInt8.class,10,10));
+		pool.recycle(a);
+		assertEquals(1,pool.getImagesRetained());
+	}
+}
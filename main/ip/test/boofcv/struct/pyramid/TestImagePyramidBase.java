@@ -20,6 +20,7 @@ package boofcv.struct.pyramid;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -103,6 +104,42 @@ public class TestImagePyramidBase {
 		assertTrue(pyramid.layers[0] != null);
 	}
 
+	/**
+	 * Layers should be recycled when the shape changes and drawn from the pool
+	 */
+	@Test
+	public void imagePool() {
+		ImagePool pool = new ImagePool();
+		Dummy pyramid = new Dummy(ImageUInt8.class,false);
+		pyramid.setImagePool(pool);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,120);
+		ImageUInt8 layer1 = (ImageUInt8)pyramid.getLayer(1);
+
+		assertEquals(3,pool.getMisses());
+		assertEquals(0,pool.getImagesRetained());
+
+		// the first two layers have the same shape as the old second and third layers
+		pyramid.initialize(50,60);
+		assertTrue(layer1 == pyramid.getLayer(0));
+		assertEquals(2,pool.getHits());
+		assertEquals(4,pool.getMisses());
+		assertEquals(1,pool.getImagesRetained());
+
+		pyramid.release();
+		assertEquals(4,pool.getImagesRetained());
+
+		// the reference to the original image should not be recycled
+		pool = new ImagePool();
+		pyramid = new Dummy(ImageUInt8.class,true);
+		pyramid.setImagePool(pool);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,120);
+		pyramid.setFirstLayer(new ImageUInt8(100,120));
+		pyramid.release();
+		assertEquals(2,pool.getImagesRetained());
+	}
+
 	@Test
 	public void getWidth_Height() {
 		Dummy pyramid = new Dummy(ImageUInt8.class,false);
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for greedy association of randomly generated descriptors.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkAssociateGreedy {
+
+	public static final int DOF = 64;
+	public static final int NUM_BITS = 512;
+
+	@Param({"1000"})
+	public int numFeatures;
+
+	@Param({"false","true"})
+	public boolean backwardsValidation;
+
+	FastQueue<TupleDesc_F64> srcF64;
+	FastQueue<TupleDesc_F64> dstF64;
+	FastQueue<TupleDesc_B> srcB;
+	FastQueue<TupleDesc_B> dstB;
+
+	AssociateDescription<TupleDesc_F64> euclidean;
+	AssociateDescription<TupleDesc_B> hamming;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		srcF64 = createF64(rand);
+		dstF64 = createF64(rand);
+		srcB = createBinary(rand);
+		dstB = createBinary(rand);
+
+		ScoreAssociation<TupleDesc_F64> scoreEuclidean = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class, true);
+		ScoreAssociation<TupleDesc_B> scoreHamming = FactoryAssociation.scoreHamming(TupleDesc_B.class);
+
+		euclidean = FactoryAssociation.greedy(scoreEuclidean, Double.MAX_VALUE, backwardsValidation);
+		hamming = FactoryAssociation.greedy(scoreHamming, Double.MAX_VALUE, backwardsValidation);
+	}
+
+	@Benchmark
+	public int euclidean() {
+		euclidean.setSource(srcF64);
+		euclidean.setDestination(dstF64);
+		euclidean.associate();
+		return euclidean.getMatches().size;
+	}
+
+	@Benchmark
+	public int hamming() {
+		hamming.setSource(srcB);
+		hamming.setDestination(dstB);
+		hamming.associate();
+		return hamming.getMatches().size;
+	}
+
+	private FastQueue<TupleDesc_F64> createF64( Random rand ) {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(numFeatures,TupleDesc_F64.class, true) {
+			@Override
+			protected TupleDesc_F64 createInstance() {
+				return new TupleDesc_F64(DOF);
+			}
+		};
+
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_F64 t = ret.grow();
+			for( int j = 0; j < DOF; j++ ) {
+				t.value[j] = (rand.nextDouble()-0.5)*20;
+			}
+		}
+		return ret;
+	}
+
+	private FastQueue<TupleDesc_B> createBinary( Random rand ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(numFeatures,TupleDesc_B.class, true) {
+			@Override
+			protected TupleDesc_B createInstance() {
+				return new TupleDesc_B(NUM_BITS);
+			}
+		};
+
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_B t = ret.grow();
+			for( int j = 0; j < t.data.length; j++ ) {
+				t.data[j] = rand.nextInt();
+			}
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.filter.convolve.GConvolveImageOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for mean, median, and Gaussian blur.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkBlur {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"2","6"})
+	public int radius;
+
+	ImageSingleBand input;
+	ImageSingleBand output;
+	ImageSingleBand storage;
+	Kernel1D kernel;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> type = BenchmarkImages.imageType(imageType);
+
+		input = BenchmarkImages.random(type, new Random(234));
+		output = GeneralizedImageOps.createSingleBand(type, input.width, input.height);
+		storage = GeneralizedImageOps.createSingleBand(type, input.width, input.height);
+		kernel = FactoryKernelGaussian.gaussian(1, GeneralizedImageOps.isFloatingPoint(type), 32, -1, radius);
+	}
+
+	@Benchmark
+	public ImageSingleBand mean() {
+		return GBlurImageOps.mean(input, output, radius, storage);
+	}
+
+	@Benchmark
+	public ImageSingleBand median() {
+		return GBlurImageOps.median(input, output, radius);
+	}
+
+	@Benchmark
+	public ImageSingleBand gaussian() {
+		return GBlurImageOps.gaussian(input, output, -1, radius);
+	}
+
+	/**
+	 * Gaussian blur computed with separate horizontal and vertical passes through a full size intermediate image.
+	 * Baseline for {@link #gaussian()}.
+	 */
+	@Benchmark
+	public ImageSingleBand gaussianTwoPass() {
+		GConvolveImageOps.horizontalNormalized(kernel, input, storage);
+		GConvolveImageOps.verticalNormalized(kernel, storage, output);
+		return output;
+	}
+}
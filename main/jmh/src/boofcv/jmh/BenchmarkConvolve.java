@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.alg.filter.convolve.GConvolveImageOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel2D;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for convolution with and without image border processing.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkConvolve {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"1","5"})
+	public int radius;
+
+	ImageSingleBand input;
+	ImageSingleBand output;
+	// output for the no border functions.  Integer images need an output with more bits
+	ImageSingleBand outputNoBorder;
+
+	Kernel1D kernel1D;
+	Kernel2D kernel2D;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> type = BenchmarkImages.imageType(imageType);
+		Random rand = new Random(234);
+
+		input = BenchmarkImages.random(type, rand);
+		output = GeneralizedImageOps.createSingleBand(type, input.width, input.height);
+
+		if( input instanceof ImageUInt8 )
+			outputNoBorder = new ImageSInt32(input.width, input.height);
+		else
+			outputNoBorder = new ImageFloat32(input.width, input.height);
+
+		kernel1D = FactoryKernelGaussian.gaussian1D(type, -1, radius);
+		kernel2D = FactoryKernelGaussian.gaussian(2, GeneralizedImageOps.isFloatingPoint(type), 32, -1, radius);
+	}
+
+	@Benchmark
+	public ImageSingleBand horizontal() {
+		GConvolveImageOps.horizontal(kernel1D, input, outputNoBorder, false);
+		return outputNoBorder;
+	}
+
+	@Benchmark
+	public ImageSingleBand vertical() {
+		GConvolveImageOps.vertical(kernel1D, input, outputNoBorder, false);
+		return outputNoBorder;
+	}
+
+	@Benchmark
+	public ImageSingleBand horizontalNormalized() {
+		GConvolveImageOps.horizontalNormalized(kernel1D, input, output);
+		return output;
+	}
+
+	@Benchmark
+	public ImageSingleBand verticalNormalized() {
+		GConvolveImageOps.verticalNormalized(kernel1D, input, output);
+		return output;
+	}
+
+	@Benchmark
+	public ImageSingleBand convolveNormalized() {
+		GConvolveImageOps.convolveNormalized(kernel2D, input, output);
+		return output;
+	}
+}
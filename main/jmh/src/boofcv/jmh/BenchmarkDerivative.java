@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for computing the image gradient.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDerivative {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	ImageSingleBand input;
+	ImageSingleBand derivX;
+	ImageSingleBand derivY;
+
+	ImageGradient<ImageSingleBand,ImageSingleBand> sobel;
+	ImageGradient<ImageSingleBand,ImageSingleBand> three;
+	ImageGradient<ImageSingleBand,ImageSingleBand> prewitt;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> type = BenchmarkImages.imageType(imageType);
+		Class<ImageSingleBand> derivType = GImageDerivativeOps.getDerivativeType(type);
+
+		input = BenchmarkImages.random(type, new Random(234));
+		derivX = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		derivY = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+
+		sobel = FactoryDerivative.sobel(type, derivType);
+		three = FactoryDerivative.three(type, derivType);
+		prewitt = FactoryDerivative.prewitt(type, derivType);
+	}
+
+	@Benchmark
+	public ImageSingleBand sobel() {
+		sobel.process(input, derivX, derivY);
+		return derivX;
+	}
+
+	@Benchmark
+	public ImageSingleBand three() {
+		three.process(input, derivX, derivY);
+		return derivX;
+	}
+
+	@Benchmark
+	public ImageSingleBand prewitt() {
+		prewitt.process(input, derivX, derivY);
+		return derivX;
+	}
+}
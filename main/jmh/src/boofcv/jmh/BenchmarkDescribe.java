@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.describe.ConfigBrief;
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.describe.DescribeRegionPointBatch;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureQueue;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for describing a set of points in an image.  Includes the time to process the image.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDescribe {
+
+	public static final int NUM_POINTS = 512;
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	ImageSingleBand input;
+
+	double x[] = new double[NUM_POINTS];
+	double y[] = new double[NUM_POINTS];
+	double scale[] = new double[NUM_POINTS];
+	double yaw[] = new double[NUM_POINTS];
+
+	DescribeRegionPoint<ImageSingleBand,SurfFeature> surf;
+	DescribeRegionPoint<ImageSingleBand,TupleDesc_B> brief;
+
+	SurfFeature surfDesc;
+	TupleDesc_B briefDesc;
+
+	// inputs and outputs for batch processing
+	List<Point2D_F64> locations = new ArrayList<Point2D_F64>();
+	GrowQueue_F64 scales = new GrowQueue_F64(NUM_POINTS);
+	GrowQueue_F64 yaws = new GrowQueue_F64(NUM_POINTS);
+	FastQueue<SurfFeature> surfDescs;
+	GrowQueue_B success = new GrowQueue_B(NUM_POINTS);
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> type = BenchmarkImages.imageType(imageType);
+		Random rand = new Random(234);
+
+		input = BenchmarkImages.rectangles(type, rand);
+
+		int border = 20;
+		for( int i = 0; i < NUM_POINTS; i++ ) {
+			x[i] = rand.nextInt(input.width-border*2)+border;
+			y[i] = rand.nextInt(input.height-border*2)+border;
+			scale[i] = rand.nextDouble()*3+1;
+			yaw[i] = 2.0*(rand.nextDouble()-0.5)*Math.PI;
+
+			locations.add(new Point2D_F64(x[i],y[i]));
+			scales.push(scale[i]);
+			yaws.push(yaw[i]);
+		}
+
+		surf = FactoryDescribeRegionPoint.surfFast(null, ImageType.single(type));
+		brief = FactoryDescribeRegionPoint.brief(new ConfigBrief(true), type);
+
+		surfDesc = surf.createDescription();
+		briefDesc = brief.createDescription();
+		surfDescs = new SurfFeatureQueue(surfDesc.size());
+	}
+
+	@Benchmark
+	public SurfFeature surf() {
+		surf.setImage(input);
+		for( int i = 0; i < NUM_POINTS; i++ ) {
+			surf.process(x[i], y[i], yaw[i], scale[i], surfDesc);
+		}
+		return surfDesc;
+	}
+
+	@Benchmark
+	public FastQueue<SurfFeature> surfBatch() {
+		surf.setImage(input);
+		((DescribeRegionPointBatch<ImageSingleBand,SurfFeature>)surf).process(locations, yaws, scales, surfDescs, success);
+		return surfDescs;
+	}
+
+	@Benchmark
+	public TupleDesc_B brief() {
+		brief.setImage(input);
+		for( int i = 0; i < NUM_POINTS; i++ ) {
+			brief.process(x[i], y[i], yaw[i], scale[i], briefDesc);
+		}
+		return briefDesc;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.alg.feature.associate.DescriptorDistance;
+import boofcv.struct.feature.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the distance functions in {@link DescriptorDistance}.  Each benchmark computes the distance
+ * between every pair of descriptors in two sets.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDescriptorDistance {
+
+	public static final int DOF = 64;
+	public static final int NUM_BITS = 512;
+
+	@Param({"500"})
+	public int numFeatures;
+
+	TupleDesc_F64 descF64[];
+	TupleDesc_F32 descF32[];
+	TupleDesc_U8 descU8[];
+	TupleDesc_B descB[];
+	PackedTupleArray_B packedB;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		descF64 = new TupleDesc_F64[numFeatures];
+		descF32 = new TupleDesc_F32[numFeatures];
+		descU8 = new TupleDesc_U8[numFeatures];
+		descB = new TupleDesc_B[numFeatures];
+		packedB = new PackedTupleArray_B(NUM_BITS);
+
+		for( int i = 0; i < numFeatures; i++ ) {
+			descF64[i] = new TupleDesc_F64(DOF);
+			descF32[i] = new TupleDesc_F32(DOF);
+			descU8[i] = new TupleDesc_U8(DOF);
+			descB[i] = new TupleDesc_B(NUM_BITS);
+
+			for( int j = 0; j < DOF; j++ ) {
+				descF64[i].value[j] = rand.nextGaussian();
+				descF32[i].value[j] = (float)rand.nextGaussian();
+				descU8[i].value[j] = (byte)rand.nextInt(256);
+			}
+			for( int j = 0; j < descB[i].data.length; j++ ) {
+				descB[i].data[j] = rand.nextInt();
+			}
+			packedB.append(descB[i]);
+		}
+	}
+
+	@Benchmark
+	public double euclideanSq_F64() {
+		double total = 0;
+		for( int i = 0; i < numFeatures; i++ )
+			for( int j = 0; j < numFeatures; j++ )
+				total += DescriptorDistance.euclideanSq(descF64[i],descF64[j]);
+		return total;
+	}
+
+	@Benchmark
+	public double euclideanSq_F32() {
+		double total = 0;
+		for( int i = 0; i < numFeatures; i++ )
+			for( int j = 0; j < numFeatures; j++ )
+				total += DescriptorDistance.euclideanSq(descF32[i],descF32[j]);
+		return total;
+	}
+
+	@Benchmark
+	public int sad_U8() {
+		int total = 0;
+		for( int i = 0; i < numFeatures; i++ )
+			for( int j = 0; j < numFeatures; j++ )
+				total += DescriptorDistance.sad(descU8[i],descU8[j]);
+		return total;
+	}
+
+	@Benchmark
+	public int hamming() {
+		int total = 0;
+		for( int i = 0; i < numFeatures; i++ )
+			for( int j = 0; j < numFeatures; j++ )
+				total += DescriptorDistance.hamming(descB[i],descB[j]);
+		return total;
+	}
+
+	@Benchmark
+	public int hamming_packed() {
+		final int N = packedB.numLongs;
+		int total = 0;
+		for( int i = 0; i < numFeatures; i++ )
+			for( int j = 0; j < numFeatures; j++ )
+				total += DescriptorDistance.hamming(packedB.data,i*N,packedB.data,j*N,N);
+		return total;
+	}
+}
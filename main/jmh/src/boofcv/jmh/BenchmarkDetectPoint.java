@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.detect.interest.ConfigFastHessian;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.feature.detect.interest.InterestPointDetector;
+import boofcv.alg.feature.detect.interest.FastCornerStreamDetector;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.factory.feature.detect.interest.FactoryInterestPoint;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for interest point detectors.  Includes the time to compute any image derivatives that the
+ * detector needs.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDetectPoint {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	ImageSingleBand input;
+
+	InterestPointDetector<ImageSingleBand> fast;
+	FastCornerStreamDetector<ImageSingleBand> fastStream;
+	InterestPointDetector<ImageSingleBand> harris;
+	InterestPointDetector<ImageSingleBand> harrisTiled;
+	InterestPointDetector<ImageSingleBand> fastHessian;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> type = BenchmarkImages.imageType(imageType);
+		Class<ImageSingleBand> derivType = GImageDerivativeOps.getDerivativeType(type);
+
+		input = BenchmarkImages.rectangles(type, new Random(234));
+
+		fast = FactoryInterestPoint.wrapPoint(
+				FactoryDetectPoint.createFast(null, new ConfigGeneralDetector(500, 3, 15), type), 1, type, derivType);
+		fastStream = FactoryDetectPoint.createFastStream(null, new ConfigGeneralDetector(500, 3, 15), type);
+		harris = FactoryInterestPoint.wrapPoint(
+				FactoryDetectPoint.createHarris(new ConfigGeneralDetector(500, 2, 1), false, derivType), 1, type, derivType);
+
+		ConfigGeneralDetector configTiled = new ConfigGeneralDetector(500, 2, 1);
+		configTiled.tileWidth = 128;
+		configTiled.maxFeaturesPerTile = 20;
+		harrisTiled = FactoryInterestPoint.wrapPoint(
+				FactoryDetectPoint.createHarris(configTiled, false, derivType), 1, type, derivType);
+		fastHessian = FactoryInterestPoint.fastHessian(new ConfigFastHessian(1, 2, 500, 1, 9, 4, 4));
+	}
+
+	@Benchmark
+	public int fast() {
+		fast.detect(input);
+		return fast.getNumberOfFeatures();
+	}
+
+	@Benchmark
+	public int fastStream() {
+		fastStream.process(input);
+		return fastStream.getFound().size;
+	}
+
+	@Benchmark
+	public int harris() {
+		harris.detect(input);
+		return harris.getNumberOfFeatures();
+	}
+
+	@Benchmark
+	public int harrisTiled() {
+		harrisTiled.detect(input);
+		return harrisTiled.getNumberOfFeatures();
+	}
+
+	@Benchmark
+	public int fastHessian() {
+		fastHessian.detect(input);
+		return fastHessian.getNumberOfFeatures();
+	}
+}
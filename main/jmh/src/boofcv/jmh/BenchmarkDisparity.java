@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for dense SAD rectangular region stereo disparity.  Run with and without the image
+ * being split into row bands which are processed by different threads.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDisparity {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"RECT","RECT_FIVE"})
+	public String algorithm;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	ImageSingleBand left;
+	ImageSingleBand right;
+
+	StereoDisparity<ImageSingleBand,ImageUInt8> alg;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.setEnabled(concurrent);
+
+		Class<ImageSingleBand> type = BenchmarkImages.imageType(imageType);
+
+		left = BenchmarkImages.rectangles(type, new Random(234));
+		right = GeneralizedImageOps.createSingleBand(type, left.width, left.height);
+		// shift the left image by a known disparity to create the right image
+		GImageMiscOps.copy(10, 0, 0, 0, left.width - 10, left.height, left, right);
+
+		alg = FactoryStereoDisparity.regionWta(DisparityAlgorithms.valueOf(algorithm),
+				0, 60, 3, 3, 20, 1, 0.2, type);
+	}
+
+	@Benchmark
+	public ImageUInt8 process() {
+		alg.process(left, right);
+		return alg.getDisparity();
+	}
+}
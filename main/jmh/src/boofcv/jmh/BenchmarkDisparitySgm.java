@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.disparity.ConfigDisparitySgm;
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Semi-Global Matching (SGM) stereo disparity.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDisparitySgm {
+
+	@Param({"CENSUS","SAD"})
+	public String cost;
+
+	@Param({"4","8"})
+	public int paths;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	ImageUInt8 left;
+	ImageUInt8 right;
+
+	StereoDisparity<ImageUInt8,ImageFloat32> alg;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.setEnabled(concurrent);
+
+		left = BenchmarkImages.rectangles(ImageUInt8.class, new Random(234));
+		right = new ImageUInt8(left.width, left.height);
+		// shift the left image by a known disparity to create the right image
+		ImageMiscOps.copy(10, 0, 0, 0, left.width - 10, left.height, left, right);
+
+		ConfigDisparitySgm config = new ConfigDisparitySgm(0,60);
+		config.cost = ConfigDisparitySgm.CostType.valueOf(cost);
+		config.paths = paths;
+		if( config.cost == ConfigDisparitySgm.CostType.SAD ) {
+			config.costRadius = 1;
+			config.penalty1 = 10;
+			config.penalty2 = 100;
+		}
+
+		alg = FactoryStereoDisparity.sgm(config);
+	}
+
+	@Benchmark
+	public ImageFloat32 process() {
+		alg.process(left, right);
+		return alg.getDisparity();
+	}
+}
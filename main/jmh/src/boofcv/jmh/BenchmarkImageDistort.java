@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.PixelTransformHomography_F32;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.homo.Homography2D_F32;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for rendering an image distorted by a homography using bilinear interpolation.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkImageDistort {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	ImageSingleBand input;
+	ImageSingleBand output;
+
+	ImageDistort<ImageSingleBand> distort;
+	ImageDistort<ImageSingleBand> distortCached;
+
+	@Setup
+	public void setup() {
+		Class<ImageSingleBand> type = BenchmarkImages.imageType(imageType);
+
+		input = BenchmarkImages.random(type, new Random(234));
+		output = GeneralizedImageOps.createSingleBand(type, input.width, input.height);
+
+		// small rotation, scale, and translation
+		Homography2D_F32 H = new Homography2D_F32(
+				0.95f, -0.1f, 20f,
+				0.1f, 0.95f, -10f,
+				0.0001f, 0.00005f, 1f);
+		PixelTransformHomography_F32 transform = new PixelTransformHomography_F32(H);
+
+		distort = create(type, false);
+		distort.setModel(transform);
+		distortCached = create(type, true);
+		distortCached.setModel(transform);
+	}
+
+	private ImageDistort<ImageSingleBand> create( Class<ImageSingleBand> type , boolean cached ) {
+		InterpolatePixelS<ImageSingleBand> interp = FactoryInterpolation.bilinearPixelS(type);
+		ImageBorder<ImageSingleBand> border = FactoryImageBorder.general(type, BorderType.EXTENDED);
+
+		if( cached )
+			return FactoryDistort.distortCached(interp, border, type);
+		else
+			return FactoryDistort.distort(interp, border, type);
+	}
+
+	@Benchmark
+	public ImageSingleBand homography() {
+		distort.apply(input, output);
+		return output;
+	}
+
+	@Benchmark
+	public ImageSingleBand homographyCached() {
+		distortCached.apply(input, output);
+		return output;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+
+import java.util.Random;
+
+/**
+ * Functions and constants shared by the benchmarks.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkImages {
+	/**
+	 * Size of the images used in the benchmarks
+	 */
+	public static final int WIDTH = 640;
+	public static final int HEIGHT = 480;
+
+	/**
+	 * Converts the name of an image type used in a {@link org.openjdk.jmh.annotations.Param} into its class.
+	 *
+	 * @param name Short name of the image type.  U8, S16, S32, or F32
+	 * @return Image class
+	 */
+	@SuppressWarnings("unchecked")
+	public static Class<ImageSingleBand> imageType( String name ) {
+		Class type;
+		if( name.equals("U8") )
+			type = ImageUInt8.class;
+		else if( name.equals("S16") )
+			type = ImageSInt16.class;
+		else if( name.equals("S32") )
+			type = ImageSInt32.class;
+		else if( name.equals("F32") )
+			type = ImageFloat32.class;
+		else
+			throw new IllegalArgumentException("Unknown image type "+name);
+
+		return (Class<ImageSingleBand>)type;
+	}
+
+	/**
+	 * Creates an image of the standard size which is filled with random values.
+	 */
+	public static <T extends ImageSingleBand> T random( Class<T> type , Random rand ) {
+		T image = GeneralizedImageOps.createSingleBand(type, WIDTH, HEIGHT);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+		return image;
+	}
+
+	/**
+	 * Creates an image of the standard size which contains a set of randomly placed rectangles.  Unlike a
+	 * purely random image this has structure that feature detectors and trackers can latch on to.
+	 */
+	public static <T extends ImageSingleBand> T rectangles( Class<T> type , Random rand ) {
+		T image = GeneralizedImageOps.createSingleBand(type, WIDTH, HEIGHT);
+		GImageMiscOps.fillUniform(image, rand, 0, 20);
+
+		for( int i = 0; i < 80; i++ ) {
+			int w = 10 + rand.nextInt(50);
+			int h = 10 + rand.nextInt(50);
+			int x0 = rand.nextInt(WIDTH-w);
+			int y0 = rand.nextInt(HEIGHT-h);
+
+			GImageMiscOps.fillRectangle(image, 50 + rand.nextInt(200), x0, y0, w, h);
+		}
+		return image;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.feature.tracker.PointTracker;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for tracking features with the pyramidal KLT tracker.  Before each invocation the tracker is reset and
+ * features are spawned in the first frame.  Only the time to track those features into the second frame is measured.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkKlt {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"600","1500"})
+	public int maxFeatures;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	ImageSingleBand frame0;
+	ImageSingleBand frame1;
+
+	PointTracker<ImageSingleBand> tracker;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.setEnabled(concurrent);
+
+		Class<ImageSingleBand> type = BenchmarkImages.imageType(imageType);
+		Class<ImageSingleBand> derivType = GImageDerivativeOps.getDerivativeType(type);
+
+		frame0 = BenchmarkImages.rectangles(type, new Random(234));
+		frame1 = GeneralizedImageOps.createSingleBand(type, frame0.width, frame0.height);
+		// the second frame is the first frame shifted by a couple of pixels
+		GImageMiscOps.copy(0, 0, 2, 1, frame0.width - 2, frame0.height - 1, frame0, frame1);
+
+		tracker = FactoryPointTracker.klt(new int[]{1, 2, 4, 8}, new ConfigGeneralDetector(maxFeatures, 3, 1), 3, type, derivType);
+	}
+
+	@Setup(Level.Invocation)
+	public void spawn() {
+		tracker.dropAllTracks();
+		tracker.process(frame0);
+		tracker.spawnTracks();
+	}
+
+	@Benchmark
+	public PointTracker<ImageSingleBand> track() {
+		tracker.process(frame1);
+		return tracker;
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Command line entry point for the JMH benchmarks.  Accepts the same arguments as JMH's own main class,
+ * but by default saves the results in JSON format to {@link #DEFAULT_RESULT_FILE} so that the results
+ * from different releases can be compared against each other.
+ * </p>
+ *
+ * <p>
+ * Example: java -jar benchmarks.jar BenchmarkConvolve -rff convolve.json
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkRunner {
+
+	public static final String DEFAULT_RESULT_FILE = "boofcv-jmh.json";
+
+	public static void main( String args[] ) throws RunnerException {
+		CommandLineOptions cmd;
+		try {
+			cmd = new CommandLineOptions(args);
+		} catch (CommandLineOptionException e) {
+			System.err.println("Error parsing command line:");
+			System.err.println(" " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+
+		if( cmd.shouldHelp() ) {
+			cmd.showHelp();
+			return;
+		}
+
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(cmd);
+
+		if( !cmd.getResultFormat().hasValue() )
+			builder.resultFormat(ResultFormatType.JSON);
+		if( !cmd.getResult().hasValue() )
+			builder.result(DEFAULT_RESULT_FILE);
+
+		Runner runner = new Runner(builder.build());
+
+		if( cmd.shouldList() ) {
+			runner.list();
+		} else {
+			runner.run();
+		}
+	}
+}